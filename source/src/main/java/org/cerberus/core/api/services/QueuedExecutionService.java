@@ -589,23 +589,24 @@ public class QueuedExecutionService {
         // Part 2a: Try to insert all these test cases to the execution queue.
         List<Long> queueInsertedIds = new ArrayList<>();
         List<QueuedEntry> queuedEntries = new ArrayList<>();
+        AnswerList<TestCaseExecutionQueue> inserted = inQueueService.createList(toInserts, TestCaseExecutionQueue.State.QUTEMP);
+        Set<TestCaseExecutionQueue> insertedSet = Collections.newSetFromMap(new IdentityHashMap<>());
+        insertedSet.addAll(inserted.getDataList());
         for (TestCaseExecutionQueue toInsert : toInserts) {
-            try {
-                inQueueService.convert(inQueueService.create(toInsert, true, 0, TestCaseExecutionQueue.State.QUTEMP));
-                nbExe++;
-                queuedEntries.add(
-                        QueuedEntry.builder()
-                                .queueId(toInsert.getId())
-                                .testFolderId(toInsert.getTest())
-                                .testcaseId(toInsert.getTestCase())
-                                .country(toInsert.getCountry())
-                                .environment(toInsert.getEnvironment())
-                                .build());
-                queueInsertedIds.add(toInsert.getId());
-            } catch (CerberusException exception) {
-                LOG.warn(String.format("Unable to insert %s due to %s", toInsert.toString(), exception.getMessage()));
-                throw new FailedInsertOperationException(String.format("Unable to insert %s due to %s", toInsert, exception.getMessage()));
+            if (!insertedSet.contains(toInsert)) {
+                LOG.warn(String.format("Unable to insert %s due to %s", toInsert.toString(), inserted.getMessageDescription()));
+                throw new FailedInsertOperationException(String.format("Unable to insert %s due to %s", toInsert, inserted.getMessageDescription()));
             }
+            nbExe++;
+            queuedEntries.add(
+                    QueuedEntry.builder()
+                            .queueId(toInsert.getId())
+                            .testFolderId(toInsert.getTest())
+                            .testcaseId(toInsert.getTestCase())
+                            .country(toInsert.getCountry())
+                            .environment(toInsert.getEnvironment())
+                            .build());
+            queueInsertedIds.add(toInsert.getId());
         }
 
         // Part 2b: move all the execution queue from tag to QUEUE state.
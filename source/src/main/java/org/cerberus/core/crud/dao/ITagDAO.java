@@ -162,6 +162,8 @@ public interface ITagDAO {
     int lockXRayTestExecution(String tag, Tag object);
 
     /**
+     * Update end of queue date, CI result and lists of the tag. Execution
+     * counters are not written here.
      *
      * @param tag
      * @return
@@ -0,0 +1,97 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.crud.dao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import org.cerberus.core.crud.entity.Tag;
+import org.cerberus.core.crud.entity.TagResultDetail;
+import org.cerberus.core.util.answer.Answer;
+import org.cerberus.core.util.answer.AnswerList;
+
+/**
+ * Manage the tagresultdetail table together with the result counters of the
+ * tag table.
+ */
+public interface ITagResultDetailDAO {
+
+    /**
+     *
+     * @param tag
+     * @return all declinaison results of the tag.
+     */
+    AnswerList<TagResultDetail> readByTag(String tag);
+
+    /**
+     * Merge the execution or queue entry result into the tag declinaison and
+     * update the tag counters accordingly (in 1 single transaction). If the
+     * tag is not aggregated yet, only the tag result version is incremented.
+     *
+     * @param incoming
+     * @return
+     */
+    Answer applyResult(TagResultDetail incoming);
+
+    /**
+     * Flag the tag result as not aggregated. It will be rebuilt from the
+     * executions and queue entries at next read.
+     *
+     * @param tag
+     * @return
+     */
+    Answer invalidate(String tag);
+
+    /**
+     * Flag all tags that still have a queued declinaison as not aggregated.
+     *
+     * @return
+     */
+    Answer invalidateWithQueuedResult();
+
+    /**
+     *
+     * @param tag
+     * @return the result version of the tag or -1 if it could not be read.
+     */
+    long readResultVersion(String tag);
+
+    /**
+     * Replace all declinaison results and counters of the tag, flagging it
+     * as aggregated. Nothing is done if the result version of the tag changed
+     * since fromVersion.
+     *
+     * @param tag
+     * @param details
+     * @param counters
+     * @param fromVersion
+     * @return true if the result was replaced.
+     */
+    boolean replaceAll(String tag, List<TagResultDetail> details, Tag counters, long fromVersion);
+
+    /**
+     *
+     * @param rs
+     * @return
+     * @throws SQLException
+     */
+    TagResultDetail loadFromResultSet(ResultSet rs) throws SQLException;
+
+}
@@ -155,6 +155,15 @@ public interface ITestCaseExecutionQueueDAO {
      */
     AnswerItem<TestCaseExecutionQueue> create(TestCaseExecutionQueue object);
 
+    /**
+     * Insert all queue entries using multiple row inserts. Id of every
+     * inserted object is set.
+     *
+     * @param objectList
+     * @return the list of entries that could be inserted.
+     */
+    AnswerList<TestCaseExecutionQueue> createList(List<TestCaseExecutionQueue> objectList);
+
     /**
      * @param object the {@link org.cerberus.core.crud.entity.AppService} to Update
      * @return {@link AnswerItem}
@@ -168,6 +177,13 @@ public interface ITestCaseExecutionQueueDAO {
      */
     Answer updatePriority(long id, int priority);
 
+    /**
+     * @param queueIds
+     * @param priority
+     * @return
+     */
+    Answer updateListPriority(List<Long> queueIds, int priority);
+
     /**
      * @param id
      * @param comment
@@ -183,6 +199,13 @@ public interface ITestCaseExecutionQueueDAO {
      */
     Answer updateToState(long id, String comment, TestCaseExecutionQueue.State targetState);
 
+    /**
+     * @param queueIds
+     * @param targetState
+     * @return
+     */
+    Answer updateListToState(List<Long> queueIds, TestCaseExecutionQueue.State targetState);
+
     /**
      * @param id
      * @param comment
@@ -204,6 +227,13 @@ public interface ITestCaseExecutionQueueDAO {
      */
     Answer updateToQueuedFromQuWithDep(long id, String comment);
 
+    /**
+     * @param ids
+     * @param comment
+     * @return
+     */
+    Answer updateListToQueuedFromQuWithDep(List<Long> ids, String comment);
+
     /**
      * @param id
      * @return
@@ -111,6 +111,33 @@ public interface ITestCaseExecutionQueueDepDAO {
      */
     AnswerItem<Integer> insertFromTestCaseDep(long queueId, String env, String country, String tag, String test, String testcase);
 
+    /**
+     * Insert the dependencies of all queue entries from their test case
+     * definition using the env, country and tag of each entry.
+     *
+     * @param queueIds
+     * @return the list of queue entries that have at least 1 dependency.
+     */
+    AnswerList<Long> insertFromTestCaseDep(List<Long> queueIds);
+
+    /**
+     * Read all dependencies of the queue entries in the given state together
+     * with the control status of the executions that released them.
+     *
+     * @param state
+     * @return
+     */
+    AnswerList<TestCaseExecutionQueueDep> readByExeQueueState(String state);
+
+    /**
+     * Read all dependencies of the queue entries together with the control
+     * status of the executions that released them.
+     *
+     * @param exeQueueIds
+     * @return
+     */
+    AnswerList<TestCaseExecutionQueueDep> readByExeQueueIdList(List<Long> exeQueueIds);
+
     /**
      *
      * @param queueId
@@ -21,6 +21,7 @@ package org.cerberus.core.crud.dao;
 
 import java.util.List;
 
+import org.cerberus.core.crud.entity.TestCase;
 import org.cerberus.core.crud.entity.TestCaseStepActionControl;
 import org.cerberus.core.exception.CerberusException;
 import org.cerberus.core.util.answer.Answer;
@@ -53,6 +54,15 @@ public interface ITestCaseStepActionControlDAO {
 
     public AnswerList<TestCaseStepActionControl> readByTestTestCase(String test, String testcase);
 
+    /**
+     * Get all the controls of a list of testcases in a single query.
+     *
+     * @param testcases
+     * @return controls sorted by test, testcase, step, action and sort
+     * @throws CerberusException
+     */
+    public List<TestCaseStepActionControl> readByTestCaseList(List<TestCase> testcases) throws CerberusException;
+
     /**
      *
      * @param test
@@ -19,6 +19,7 @@
  */
 package org.cerberus.core.crud.dao;
 
+import org.cerberus.core.crud.entity.TestCase;
 import org.cerberus.core.crud.entity.TestCaseStepAction;
 import org.cerberus.core.exception.CerberusException;
 import org.cerberus.core.util.answer.Answer;
@@ -114,6 +115,15 @@ public interface ITestCaseStepActionDAO {
      */
     AnswerList<TestCaseStepAction> readByTestTestCase(String test, String testcase);
 
+    /**
+     * Get all the actions of a list of testcases in a single query.
+     *
+     * @param testcases
+     * @return actions sorted by test, testcase, step and sort
+     * @throws CerberusException
+     */
+    List<TestCaseStepAction> readByTestCaseList(List<TestCase> testcases) throws CerberusException;
+
     /**
      *
      * @param test
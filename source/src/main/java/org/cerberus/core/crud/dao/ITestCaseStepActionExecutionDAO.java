@@ -44,6 +44,15 @@ public interface ITestCaseStepActionExecutionDAO {
      */
     void updateTestCaseStepActionExecution(TestCaseStepActionExecution testCaseStepActionExecution, HashMap<String, String> secrets);
 
+    /**
+     * Update all the given executions in one batch.
+     *
+     * @param testCaseStepActionExecutionList
+     * @param secrets
+     * @return true if the batch was written
+     */
+    boolean updateTestCaseStepActionExecutionList(List<TestCaseStepActionExecution> testCaseStepActionExecutionList, HashMap<String, String> secrets);
+
     /**
      *
      * @param testCaseStepActionExecution
@@ -51,6 +60,15 @@ public interface ITestCaseStepActionExecutionDAO {
      */
     void insertTestCaseStepActionExecution(TestCaseStepActionExecution testCaseStepActionExecution, HashMap<String, String> secrets);
 
+    /**
+     * Insert all the given executions in one batch.
+     *
+     * @param testCaseStepActionExecutionList
+     * @param secrets
+     * @return true if the batch was written
+     */
+    boolean insertTestCaseStepActionExecutionList(List<TestCaseStepActionExecution> testCaseStepActionExecutionList, HashMap<String, String> secrets);
+
     /**
      *
      * @param idList
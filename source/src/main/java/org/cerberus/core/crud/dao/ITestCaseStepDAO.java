@@ -19,6 +19,7 @@
  */
 package org.cerberus.core.crud.dao;
 
+import org.cerberus.core.crud.entity.TestCase;
 import org.cerberus.core.crud.entity.TestCaseStep;
 import org.cerberus.core.exception.CerberusException;
 import org.cerberus.core.util.answer.Answer;
@@ -158,6 +159,15 @@ public interface ITestCaseStepDAO {
      */
     AnswerList<TestCaseStep> readByTestTestCase(String test, String testcase);
 
+    /**
+     * Get all the steps of a list of testcases in a single query.
+     *
+     * @param testcases
+     * @return steps sorted by test, testcase and sort
+     * @throws CerberusException
+     */
+    List<TestCaseStep> readByTestCaseList(List<TestCase> testcases) throws CerberusException;
+
     /**
      *
      * @param test
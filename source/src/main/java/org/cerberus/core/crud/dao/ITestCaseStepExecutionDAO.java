@@ -43,6 +43,15 @@ public interface ITestCaseStepExecutionDAO {
      */
     void insertTestCaseStepExecution(TestCaseStepExecution testCaseStepExecution, HashMap<String,String> secrets);
 
+    /**
+     * Insert all the given executions in one batch.
+     *
+     * @param testCaseStepExecutionList
+     * @param secrets
+     * @return true if the batch was written
+     */
+    boolean insertTestCaseStepExecutionList(List<TestCaseStepExecution> testCaseStepExecutionList, HashMap<String, String> secrets);
+
     /**
      *
      * @param testCaseStepExecution
@@ -50,6 +59,15 @@ public interface ITestCaseStepExecutionDAO {
      */
     void updateTestCaseStepExecution(TestCaseStepExecution testCaseStepExecution, HashMap<String,String> secrets);
 
+    /**
+     * Update all the given executions in one batch.
+     *
+     * @param testCaseStepExecutionList
+     * @param secrets
+     * @return true if the batch was written
+     */
+    boolean updateTestCaseStepExecutionList(List<TestCaseStepExecution> testCaseStepExecutionList, HashMap<String, String> secrets);
+
     /**
      *
      * @param id
@@ -726,8 +726,7 @@ public class TagDAO implements ITagDAO {
     public Answer updateDateEndQueue(Tag tag) {
         MessageEvent msg;
         StringBuilder query = new StringBuilder();
-        query.append("UPDATE tag SET DateEndQueue = ?, nbExe = ?, nbExeUsefull = ?, nbOK = ?, nbKO = ?, ");
-        query.append("  nbFA = ?, nbNA = ?, nbNE = ?, nbWE = ?, nbPE = ?, nbQU = ?, nbQE = ?, nbCA = ?, ");
+        query.append("UPDATE tag SET DateEndQueue = ?, ");
         query.append("  CIScore = ?, CIScoreThreshold = ?, CIResult = ?, EnvironmentList = ?, CountryList = ?, ");
         query.append("  RobotDecliList = ?, SystemList = ?, ApplicationList = ?  ");
         query.append("WHERE Tag = ?");
@@ -740,18 +739,6 @@ public class TagDAO implements ITagDAO {
 
             int i = 1;
             preStat.setTimestamp(i++, tag.getDateEndQueue());
-            preStat.setInt(i++, tag.getNbExe());
-            preStat.setInt(i++, tag.getNbExeUsefull());
-            preStat.setInt(i++, tag.getNbOK());
-            preStat.setInt(i++, tag.getNbKO());
-            preStat.setInt(i++, tag.getNbFA());
-            preStat.setInt(i++, tag.getNbNA());
-            preStat.setInt(i++, tag.getNbNE());
-            preStat.setInt(i++, tag.getNbWE());
-            preStat.setInt(i++, tag.getNbPE());
-            preStat.setInt(i++, tag.getNbQU());
-            preStat.setInt(i++, tag.getNbQE());
-            preStat.setInt(i++, tag.getNbCA());
             preStat.setInt(i++, tag.getCiScore());
             preStat.setInt(i++, tag.getCiScoreThreshold());
             preStat.setString(i++, tag.getCiResult());
@@ -886,6 +873,13 @@ public class TagDAO implements ITagDAO {
         int nbQU = rs.getInt("tag.nbQU");
         int nbQE = rs.getInt("tag.nbQE");
         int nbCA = rs.getInt("tag.nbCA");
+        int nbKOPrio1 = rs.getInt("tag.nbKOPrio1");
+        int nbKOPrio2 = rs.getInt("tag.nbKOPrio2");
+        int nbKOPrio3 = rs.getInt("tag.nbKOPrio3");
+        int nbKOPrio4 = rs.getInt("tag.nbKOPrio4");
+        int nbKOPrio5 = rs.getInt("tag.nbKOPrio5");
+        int nbRetry = rs.getInt("tag.nbRetry");
+        boolean resultAggregated = rs.getBoolean("tag.isResultAggregated");
         int ciScore = rs.getInt("tag.ciScore");
         int ciScoreThreshold = rs.getInt("tag.ciScoreThreshold");
         String ciResult = rs.getString("tag.ciResult");
@@ -906,7 +900,9 @@ public class TagDAO implements ITagDAO {
                 .campaign(campaign).dateEndQueue(dateEndQueue).nbExe(nbExe)
                 .nbExeUsefull(nbExeUsefull).nbOK(nbOK).nbKO(nbKO).nbFA(nbFA)
                 .nbNA(nbNA).nbNE(nbNE).nbWE(nbWE).nbPE(nbPE).nbQU(nbQU).nbQE(nbQE)
-                .nbCA(nbCA).ciScore(ciScore).ciScoreThreshold(ciScoreThreshold)
+                .nbCA(nbCA).nbKOPrio1(nbKOPrio1).nbKOPrio2(nbKOPrio2).nbKOPrio3(nbKOPrio3)
+                .nbKOPrio4(nbKOPrio4).nbKOPrio5(nbKOPrio5).nbRetry(nbRetry)
+                .resultAggregated(resultAggregated).ciScore(ciScore).ciScoreThreshold(ciScoreThreshold)
                 .ciResult(ciResult).environmentList(environmentList)
                 .countryList(countryList).robotDecliList(robotDecliList)
                 .systemList(systemList).applicationList(applicationList)
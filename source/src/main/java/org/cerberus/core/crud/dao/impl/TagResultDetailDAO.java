@@ -0,0 +1,359 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.crud.dao.impl;
+
+import lombok.AllArgsConstructor;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.cerberus.core.crud.dao.ITagResultDetailDAO;
+import org.cerberus.core.crud.entity.Tag;
+import org.cerberus.core.crud.entity.TagResultDetail;
+import org.cerberus.core.database.DatabaseSpring;
+import org.cerberus.core.engine.entity.MessageEvent;
+import org.cerberus.core.enums.MessageEventEnum;
+import org.cerberus.core.util.ParameterParserUtil;
+import org.cerberus.core.util.answer.Answer;
+import org.cerberus.core.util.answer.AnswerList;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implements methods defined on ITagResultDetailDAO
+ */
+@AllArgsConstructor
+@Repository
+public class TagResultDetailDAO implements ITagResultDetailDAO {
+
+    private final DatabaseSpring databaseSpring;
+    private static final Logger LOG = LogManager.getLogger(TagResultDetailDAO.class);
+    private static final String OBJECT_NAME = "TagResultDetail";
+
+    private static final String QUERY_LOCK_TAG = "SELECT isResultAggregated, ResultVersion FROM tag WHERE Tag = ? FOR UPDATE";
+    private static final String QUERY_LOCK_DETAIL = "SELECT * FROM tagresultdetail trd WHERE Tag = ? AND Test = ? AND TestCase = ? AND Country = ? AND Environment = ? AND RobotDecli = ? FOR UPDATE";
+    private static final String QUERY_REPLACE_DETAIL = "REPLACE INTO tagresultdetail (Tag, Test, TestCase, Country, Environment, RobotDecli, `System`, Application, Priority, ControlStatus, NbExecutions, ExeId, ExeStart, QueueId, Start, `End`) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String QUERY_INCREMENT_TAG = "UPDATE tag SET nbExeUsefull = nbExeUsefull + ?, nbOK = nbOK + ?, nbKO = nbKO + ?, nbFA = nbFA + ?, nbNA = nbNA + ?, "
+            + "nbNE = nbNE + ?, nbWE = nbWE + ?, nbPE = nbPE + ?, nbQU = nbQU + ?, nbQE = nbQE + ?, nbCA = nbCA + ?, "
+            + "nbKOPrio1 = nbKOPrio1 + ?, nbKOPrio2 = nbKOPrio2 + ?, nbKOPrio3 = nbKOPrio3 + ?, nbKOPrio4 = nbKOPrio4 + ?, nbKOPrio5 = nbKOPrio5 + ?, "
+            + "nbRetry = nbRetry + ?, ResultVersion = ResultVersion + 1 WHERE Tag = ?";
+    private static final String QUERY_SET_TAG = "UPDATE tag SET nbExeUsefull = ?, nbOK = ?, nbKO = ?, nbFA = ?, nbNA = ?, "
+            + "nbNE = ?, nbWE = ?, nbPE = ?, nbQU = ?, nbQE = ?, nbCA = ?, "
+            + "nbKOPrio1 = ?, nbKOPrio2 = ?, nbKOPrio3 = ?, nbKOPrio4 = ?, nbKOPrio5 = ?, "
+            + "nbRetry = ?, isResultAggregated = 1, ResultVersion = ResultVersion + 1 WHERE Tag = ?";
+    private static final String QUERY_INCREMENT_VERSION = "UPDATE tag SET ResultVersion = ResultVersion + 1 WHERE Tag = ?";
+
+    @Override
+    public AnswerList<TagResultDetail> readByTag(String tag) {
+        AnswerList<TagResultDetail> ans = new AnswerList<>();
+        MessageEvent msg;
+        List<TagResultDetail> detailList = new ArrayList<>();
+
+        final String query = "SELECT * FROM tagresultdetail trd WHERE Tag = ?";
+
+        LOG.debug("SQL : {}", query);
+        LOG.debug("SQL.param.tag : {}", tag);
+
+        try (Connection connection = this.databaseSpring.connect();
+             PreparedStatement preStat = connection.prepareStatement(query)) {
+            preStat.setString(1, tag);
+            try (ResultSet resultSet = preStat.executeQuery()) {
+                while (resultSet.next()) {
+                    detailList.add(this.loadFromResultSet(resultSet));
+                }
+                msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_OK);
+                msg.setDescription(msg.getDescription().replace("%ITEM%", OBJECT_NAME).replace("%OPERATION%", "SELECT"));
+            }
+        } catch (SQLException exception) {
+            LOG.error("Unable to execute query : {}", exception.toString());
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED);
+            msg.setDescription(msg.getDescription().replace("%DESCRIPTION%", exception.toString()));
+        }
+
+        ans.setDataList(detailList);
+        ans.setTotalRows(detailList.size());
+        ans.setResultMessage(msg);
+        return ans;
+    }
+
+    @Override
+    public Answer applyResult(TagResultDetail incoming) {
+        MessageEvent msg;
+
+        LOG.debug("SQL : {}", QUERY_LOCK_DETAIL);
+        LOG.debug("SQL.param.tag : {} - {}", incoming.getTag(), incoming.getKey());
+
+        try (Connection connection = this.databaseSpring.connect()) {
+            connection.setAutoCommit(false);
+            try {
+                applyResult(connection, incoming);
+                connection.commit();
+            } catch (SQLException exception) {
+                connection.rollback();
+                throw exception;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_OK);
+            msg.setDescription(msg.getDescription().replace("%ITEM%", OBJECT_NAME).replace("%OPERATION%", "UPDATE"));
+        } catch (SQLException exception) {
+            LOG.error("Unable to execute query : {}", exception.toString());
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED);
+            msg.setDescription(msg.getDescription().replace("%DESCRIPTION%", exception.toString()));
+        }
+        return new Answer(msg);
+    }
+
+    private void applyResult(Connection connection, TagResultDetail incoming) throws SQLException {
+        // Lock the tag so that all declinaisons of a tag are updated one after the other.
+        try (PreparedStatement preStat = connection.prepareStatement(QUERY_LOCK_TAG)) {
+            preStat.setString(1, incoming.getTag());
+            try (ResultSet resultSet = preStat.executeQuery()) {
+                if (!resultSet.next()) {
+                    return;
+                }
+                if (!resultSet.getBoolean("isResultAggregated")) {
+                    // Tag will be rebuilt at next read. We only notify that something changed so that a running rebuild is not saved.
+                    executeOnTag(connection, QUERY_INCREMENT_VERSION, incoming.getTag());
+                    return;
+                }
+            }
+        }
+
+        TagResultDetail existing = null;
+        try (PreparedStatement preStat = connection.prepareStatement(QUERY_LOCK_DETAIL)) {
+            int i = 1;
+            preStat.setString(i++, incoming.getTag());
+            preStat.setString(i++, incoming.getTest());
+            preStat.setString(i++, incoming.getTestCase());
+            preStat.setString(i++, incoming.getCountry());
+            preStat.setString(i++, incoming.getEnvironment());
+            preStat.setString(i, incoming.getRobotDecli());
+            try (ResultSet resultSet = preStat.executeQuery()) {
+                if (resultSet.next()) {
+                    existing = this.loadFromResultSet(resultSet);
+                }
+            }
+        }
+
+        TagResultDetail result = existing == null ? incoming : existing.merge(incoming);
+        if (result == null) {
+            return;
+        }
+
+        try (PreparedStatement preStat = connection.prepareStatement(QUERY_REPLACE_DETAIL)) {
+            fillReplaceStatement(preStat, result);
+            preStat.executeUpdate();
+        }
+
+        Tag delta = new Tag();
+        delta.addResult(existing, -1);
+        delta.addResult(result, 1);
+        try (PreparedStatement preStat = connection.prepareStatement(QUERY_INCREMENT_TAG)) {
+            int i = fillCounters(preStat, delta);
+            preStat.setString(i, incoming.getTag());
+            preStat.executeUpdate();
+        }
+    }
+
+    @Override
+    public Answer invalidate(String tag) {
+        final String query = "UPDATE tag SET isResultAggregated = 0, ResultVersion = ResultVersion + 1 WHERE Tag = ?";
+        MessageEvent msg;
+
+        LOG.debug("SQL : {}", query);
+        LOG.debug("SQL.param.tag : {}", tag);
+
+        try (Connection connection = this.databaseSpring.connect()) {
+            executeOnTag(connection, query, tag);
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_OK);
+            msg.setDescription(msg.getDescription().replace("%ITEM%", OBJECT_NAME).replace("%OPERATION%", "UPDATE"));
+        } catch (SQLException exception) {
+            LOG.error("Unable to execute query : {}", exception.toString());
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED);
+            msg.setDescription(msg.getDescription().replace("%DESCRIPTION%", exception.toString()));
+        }
+        return new Answer(msg);
+    }
+
+    @Override
+    public Answer invalidateWithQueuedResult() {
+        final String query = "UPDATE tag SET isResultAggregated = 0, ResultVersion = ResultVersion + 1 WHERE isResultAggregated = 1 "
+                + "AND Tag IN (SELECT DISTINCT trd.Tag FROM tagresultdetail trd WHERE trd.ControlStatus = 'QU')";
+        MessageEvent msg;
+
+        LOG.debug("SQL : {}", query);
+
+        try (Connection connection = this.databaseSpring.connect();
+             PreparedStatement preStat = connection.prepareStatement(query)) {
+            preStat.executeUpdate();
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_OK);
+            msg.setDescription(msg.getDescription().replace("%ITEM%", OBJECT_NAME).replace("%OPERATION%", "UPDATE"));
+        } catch (SQLException exception) {
+            LOG.error("Unable to execute query : {}", exception.toString());
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED);
+            msg.setDescription(msg.getDescription().replace("%DESCRIPTION%", exception.toString()));
+        }
+        return new Answer(msg);
+    }
+
+    @Override
+    public long readResultVersion(String tag) {
+        final String query = "SELECT ResultVersion FROM tag WHERE Tag = ?";
+
+        LOG.debug("SQL : {}", query);
+        LOG.debug("SQL.param.tag : {}", tag);
+
+        try (Connection connection = this.databaseSpring.connect();
+             PreparedStatement preStat = connection.prepareStatement(query)) {
+            preStat.setString(1, tag);
+            try (ResultSet resultSet = preStat.executeQuery()) {
+                if (resultSet.next()) {
+                    return resultSet.getLong("ResultVersion");
+                }
+            }
+        } catch (SQLException exception) {
+            LOG.error("Unable to execute query : {}", exception.toString());
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean replaceAll(String tag, List<TagResultDetail> details, Tag counters, long fromVersion) {
+
+        LOG.debug("SQL : {}", QUERY_SET_TAG);
+        LOG.debug("SQL.param.tag : {} - {} declinaisons", tag, details.size());
+
+        try (Connection connection = this.databaseSpring.connect()) {
+            connection.setAutoCommit(false);
+            try {
+                try (PreparedStatement preStat = connection.prepareStatement(QUERY_LOCK_TAG)) {
+                    preStat.setString(1, tag);
+                    try (ResultSet resultSet = preStat.executeQuery()) {
+                        if (!resultSet.next() || resultSet.getLong("ResultVersion") != fromVersion) {
+                            // Something changed on the tag during the rebuild.
+                            connection.rollback();
+                            return false;
+                        }
+                    }
+                }
+                executeOnTag(connection, "DELETE FROM tagresultdetail WHERE Tag = ?", tag);
+                try (PreparedStatement preStat = connection.prepareStatement(QUERY_REPLACE_DETAIL)) {
+                    for (TagResultDetail detail : details) {
+                        fillReplaceStatement(preStat, detail);
+                        preStat.addBatch();
+                    }
+                    preStat.executeBatch();
+                }
+                try (PreparedStatement preStat = connection.prepareStatement(QUERY_SET_TAG)) {
+                    int i = fillCounters(preStat, counters);
+                    preStat.setString(i, tag);
+                    preStat.executeUpdate();
+                }
+                connection.commit();
+                return true;
+            } catch (SQLException exception) {
+                connection.rollback();
+                throw exception;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException exception) {
+            LOG.error("Unable to execute query : {}", exception.toString());
+        }
+        return false;
+    }
+
+    private void executeOnTag(Connection connection, String query, String tag) throws SQLException {
+        try (PreparedStatement preStat = connection.prepareStatement(query)) {
+            preStat.setString(1, tag);
+            preStat.executeUpdate();
+        }
+    }
+
+    private void fillReplaceStatement(PreparedStatement preStat, TagResultDetail detail) throws SQLException {
+        int i = 1;
+        preStat.setString(i++, detail.getTag());
+        preStat.setString(i++, detail.getTest());
+        preStat.setString(i++, detail.getTestCase());
+        preStat.setString(i++, detail.getCountry());
+        preStat.setString(i++, detail.getEnvironment());
+        preStat.setString(i++, detail.getRobotDecli());
+        preStat.setString(i++, ParameterParserUtil.parseStringParam(detail.getSystem(), ""));
+        preStat.setString(i++, ParameterParserUtil.parseStringParam(detail.getApplication(), ""));
+        preStat.setInt(i++, detail.getPriority());
+        preStat.setString(i++, detail.getControlStatus());
+        preStat.setInt(i++, detail.getNbExecutions());
+        preStat.setLong(i++, detail.getExeId());
+        preStat.setLong(i++, detail.getExeStart());
+        preStat.setLong(i++, detail.getQueueId());
+        preStat.setLong(i++, detail.getStart());
+        preStat.setLong(i, detail.getEnd());
+    }
+
+    private int fillCounters(PreparedStatement preStat, Tag counters) throws SQLException {
+        int i = 1;
+        preStat.setInt(i++, counters.getNbExeUsefull());
+        preStat.setInt(i++, counters.getNbOK());
+        preStat.setInt(i++, counters.getNbKO());
+        preStat.setInt(i++, counters.getNbFA());
+        preStat.setInt(i++, counters.getNbNA());
+        preStat.setInt(i++, counters.getNbNE());
+        preStat.setInt(i++, counters.getNbWE());
+        preStat.setInt(i++, counters.getNbPE());
+        preStat.setInt(i++, counters.getNbQU());
+        preStat.setInt(i++, counters.getNbQE());
+        preStat.setInt(i++, counters.getNbCA());
+        preStat.setInt(i++, counters.getNbKOPrio1());
+        preStat.setInt(i++, counters.getNbKOPrio2());
+        preStat.setInt(i++, counters.getNbKOPrio3());
+        preStat.setInt(i++, counters.getNbKOPrio4());
+        preStat.setInt(i++, counters.getNbKOPrio5());
+        preStat.setInt(i++, counters.getNbRetry());
+        return i;
+    }
+
+    @Override
+    public TagResultDetail loadFromResultSet(ResultSet rs) throws SQLException {
+        return TagResultDetail.builder()
+                .tag(ParameterParserUtil.parseStringParam(rs.getString("trd.Tag"), ""))
+                .test(ParameterParserUtil.parseStringParam(rs.getString("trd.Test"), ""))
+                .testCase(ParameterParserUtil.parseStringParam(rs.getString("trd.TestCase"), ""))
+                .country(ParameterParserUtil.parseStringParam(rs.getString("trd.Country"), ""))
+                .environment(ParameterParserUtil.parseStringParam(rs.getString("trd.Environment"), ""))
+                .robotDecli(ParameterParserUtil.parseStringParam(rs.getString("trd.RobotDecli"), ""))
+                .system(ParameterParserUtil.parseStringParam(rs.getString("trd.System"), ""))
+                .application(ParameterParserUtil.parseStringParam(rs.getString("trd.Application"), ""))
+                .priority(rs.getInt("trd.Priority"))
+                .controlStatus(ParameterParserUtil.parseStringParam(rs.getString("trd.ControlStatus"), ""))
+                .nbExecutions(rs.getInt("trd.NbExecutions"))
+                .exeId(rs.getLong("trd.ExeId"))
+                .exeStart(rs.getLong("trd.ExeStart"))
+                .queueId(rs.getLong("trd.QueueId"))
+                .start(rs.getLong("trd.Start"))
+                .end(rs.getLong("trd.End"))
+                .build();
+    }
+}
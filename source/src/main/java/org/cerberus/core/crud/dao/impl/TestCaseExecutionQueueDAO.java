@@ -62,6 +62,8 @@ public class TestCaseExecutionQueueDAO implements ITestCaseExecutionQueueDAO {
     private static final Logger LOG = LogManager.getLogger(TestCaseExecutionQueueDAO.class);
 
     private static final String TABLE = "testcaseexecutionqueue";
+    // Max number of rows inserted or updated by a single statement.
+    private static final int BATCH_SIZE = 500;
     private static final String TABLE_TEST_CASE = "testcase";
     private static final String TABLE_APPLICATION = "application";
 
@@ -118,6 +120,15 @@ public class TestCaseExecutionQueueDAO implements ITestCaseExecutionQueueDAO {
 
     private final int MAX_ROW_SELECTED = 100000;
     private final String SQL_DUPLICATED_CODE = "23000";
+    private static final String QUERY_INSERT = "INSERT INTO `" + TABLE + "` (`" + COLUMN_SYSTEM + "`, `" + COLUMN_TEST + "`, `" + COLUMN_TEST_CASE + "`, `" + COLUMN_COUNTRY + "`, `" + COLUMN_ENVIRONMENT + "`, `" + COLUMN_ROBOT
+            + "`, `" + COLUMN_ROBOTDECLI + "`, `" + COLUMN_ROBOT_IP + "`, `" + COLUMN_ROBOT_PORT + "`, `" + COLUMN_BROWSER + "`, `" + COLUMN_BROWSER_VERSION + "`, `" + COLUMN_PLATFORM
+            + "`, `" + COLUMN_SCREENSIZE + "`, `" + COLUMN_MANUAL_URL + "`, `" + COLUMN_MANUAL_HOST + "`, `" + COLUMN_MANUAL_CONTEXT_ROOT + "`, `"
+            + COLUMN_MANUAL_LOGIN_RELATIVE_URL + "`, `" + COLUMN_MANUAL_ENV_DATA + "`, `" + COLUMN_TAG + "`, `" + COLUMN_SCREENSHOT + "`, `" + COLUMN_VIDEO + "`, `" + COLUMN_VERBOSE + "`, `"
+            + COLUMN_TIMEOUT + "`, `" + COLUMN_PAGE_SOURCE + "`, `" + COLUMN_ROBOT_LOG + "`, `" + COLUMN_CONSOLE_LOG + "`, `" + COLUMN_RETRIES + "`, `"
+            + COLUMN_MANUAL_EXECUTION + "`, `" + COLUMN_USRCREATED + "`, `" + COLUMN_STATE + "`, `" + COLUMN_COMMENT + "`, `" + COLUMN_DEBUGFLAG + "`, `" + COLUMN_PRIORITY + "`) "
+            + "VALUES ";
+    private static final String QUERY_INSERT_VALUES = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
     private final String OBJECT_NAME = "TestCaseExecutionQueue";
 
     @Override
@@ -1249,13 +1260,7 @@ public class TestCaseExecutionQueueDAO implements ITestCaseExecutionQueueDAO {
         TestCaseExecutionQueue newObject = object;
         MessageEvent msg = null;
         StringBuilder query = new StringBuilder();
-        query.append("INSERT INTO `" + TABLE + "` (`" + COLUMN_SYSTEM + "`, `" + COLUMN_TEST + "`, `" + COLUMN_TEST_CASE + "`, `" + COLUMN_COUNTRY + "`, `" + COLUMN_ENVIRONMENT + "`, `" + COLUMN_ROBOT
-                + "`, `" + COLUMN_ROBOTDECLI + "`, `" + COLUMN_ROBOT_IP + "`, `" + COLUMN_ROBOT_PORT + "`, `" + COLUMN_BROWSER + "`, `" + COLUMN_BROWSER_VERSION + "`, `" + COLUMN_PLATFORM
-                + "`, `" + COLUMN_SCREENSIZE + "`, `" + COLUMN_MANUAL_URL + "`, `" + COLUMN_MANUAL_HOST + "`, `" + COLUMN_MANUAL_CONTEXT_ROOT + "`, `"
-                + COLUMN_MANUAL_LOGIN_RELATIVE_URL + "`, `" + COLUMN_MANUAL_ENV_DATA + "`, `" + COLUMN_TAG + "`, `" + COLUMN_SCREENSHOT + "`, `" + COLUMN_VIDEO + "`, `" + COLUMN_VERBOSE + "`, `"
-                + COLUMN_TIMEOUT + "`, `" + COLUMN_PAGE_SOURCE + "`, `" + COLUMN_ROBOT_LOG + "`, `" + COLUMN_CONSOLE_LOG + "`, `" + COLUMN_RETRIES + "`, `"
-                + COLUMN_MANUAL_EXECUTION + "`, `" + COLUMN_USRCREATED + "`, `" + COLUMN_STATE + "`, `" + COLUMN_COMMENT + "`, `" + COLUMN_DEBUGFLAG + "`, `" + COLUMN_PRIORITY + "`) "
-                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?);");
+        query.append(QUERY_INSERT).append(QUERY_INSERT_VALUES).append(";");
 
         // Debug message on SQL.
         if (LOG.isDebugEnabled()) {
@@ -1271,45 +1276,7 @@ public class TestCaseExecutionQueueDAO implements ITestCaseExecutionQueueDAO {
         try (Connection connection = this.databaseSpring.connect();
              PreparedStatement preStat = connection.prepareStatement(query.toString(), Statement.RETURN_GENERATED_KEYS);) {
 
-            int i = 1;
-            preStat.setString(i++, object.getSystem());
-            preStat.setString(i++, object.getTest());
-            preStat.setString(i++, object.getTestCase());
-            preStat.setString(i++, object.getCountry());
-            preStat.setString(i++, object.getEnvironment());
-            preStat.setString(i++, object.getRobot());
-            preStat.setString(i++, object.getRobotDecli() == null ? "" : object.getRobotDecli());
-            preStat.setString(i++, object.getRobotIP());
-            preStat.setString(i++, object.getRobotPort());
-            preStat.setString(i++, object.getBrowser());
-            preStat.setString(i++, object.getBrowserVersion());
-            preStat.setString(i++, object.getPlatform());
-            preStat.setString(i++, object.getScreenSize());
-            preStat.setInt(i++, object.getManualURL());
-            preStat.setString(i++, object.getManualHost());
-            preStat.setString(i++, object.getManualContextRoot());
-            preStat.setString(i++, object.getManualLoginRelativeURL());
-            preStat.setString(i++, object.getManualEnvData());
-            preStat.setString(i++, object.getTag());
-            preStat.setInt(i++, object.getScreenshot());
-            preStat.setInt(i++, object.getVideo());
-            preStat.setInt(i++, object.getVerbose());
-            preStat.setString(i++, object.getTimeout());
-            preStat.setInt(i++, object.getPageSource());
-            preStat.setInt(i++, object.getRobotLog());
-            preStat.setInt(i++, object.getConsoleLog());
-            preStat.setInt(i++, object.getRetries());
-            preStat.setString(i++, object.getManualExecution() == null ? "N" : object.getManualExecution());
-            String user = object.getUsrCreated() == null ? "" : object.getUsrCreated();
-            preStat.setString(i++, user);
-            if (object.getState() == null) {
-                preStat.setString(i++, object.getState().WAITING.name());
-            } else {
-                preStat.setString(i++, object.getState().name());
-            }
-            preStat.setString(i++, object.getComment());
-            preStat.setString(i++, object.getDebugFlag());
-            preStat.setInt(i++, object.getPriority());
+            fillInsertStatement(preStat, 1, object);
 
             preStat.executeUpdate();
 
@@ -1342,6 +1309,148 @@ public class TestCaseExecutionQueueDAO implements ITestCaseExecutionQueueDAO {
         return new AnswerItem<>(newObject, msg);
     }
 
+    @Override
+    public AnswerList<TestCaseExecutionQueue> createList(List<TestCaseExecutionQueue> objectList) {
+        List<TestCaseExecutionQueue> created = new ArrayList<>();
+        MessageEvent msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_OK);
+        msg.setDescription(msg.getDescription().replace("%ITEM%", OBJECT_NAME).replace("%OPERATION%", "INSERT"));
+
+        try (Connection connection = this.databaseSpring.connect()) {
+            for (int from = 0; from < objectList.size(); from += BATCH_SIZE) {
+                List<TestCaseExecutionQueue> chunk = objectList.subList(from, Math.min(from + BATCH_SIZE, objectList.size()));
+                StringBuilder query = new StringBuilder(QUERY_INSERT);
+                for (int j = 0; j < chunk.size(); j++) {
+                    query.append(j == 0 ? "" : ", ").append(QUERY_INSERT_VALUES);
+                }
+
+                // Debug message on SQL.
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("SQL : " + QUERY_INSERT + QUERY_INSERT_VALUES);
+                    LOG.debug("SQL.param.nb : " + chunk.size());
+                }
+
+                try (PreparedStatement preStat = connection.prepareStatement(query.toString(), Statement.RETURN_GENERATED_KEYS)) {
+                    int i = 1;
+                    for (TestCaseExecutionQueue object : chunk) {
+                        i = fillInsertStatement(preStat, i, object);
+                    }
+                    preStat.executeUpdate();
+
+                    // Keys of a multiple row insert are returned in the order of the rows.
+                    try (ResultSet resultSet = preStat.getGeneratedKeys()) {
+                        int j = 0;
+                        while (j < chunk.size() && resultSet.next()) {
+                            chunk.get(j).setId(resultSet.getLong(1));
+                            created.add(chunk.get(j++));
+                        }
+                    }
+                } catch (SQLException exception) {
+                    LOG.error("Unable to execute query : " + exception.toString());
+                    msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED);
+                    msg.setDescription(msg.getDescription().replace("%DESCRIPTION%", exception.toString()));
+                }
+            }
+        } catch (SQLException exception) {
+            LOG.error("Unable to execute query : " + exception.toString());
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED);
+            msg.setDescription(msg.getDescription().replace("%DESCRIPTION%", exception.toString()));
+        }
+        return new AnswerList<>(created, created.size(), msg);
+    }
+
+    private int fillInsertStatement(PreparedStatement preStat, int i, TestCaseExecutionQueue object) throws SQLException {
+        preStat.setString(i++, object.getSystem());
+        preStat.setString(i++, object.getTest());
+        preStat.setString(i++, object.getTestCase());
+        preStat.setString(i++, object.getCountry());
+        preStat.setString(i++, object.getEnvironment());
+        preStat.setString(i++, object.getRobot());
+        preStat.setString(i++, object.getRobotDecli() == null ? "" : object.getRobotDecli());
+        preStat.setString(i++, object.getRobotIP());
+        preStat.setString(i++, object.getRobotPort());
+        preStat.setString(i++, object.getBrowser());
+        preStat.setString(i++, object.getBrowserVersion());
+        preStat.setString(i++, object.getPlatform());
+        preStat.setString(i++, object.getScreenSize());
+        preStat.setInt(i++, object.getManualURL());
+        preStat.setString(i++, object.getManualHost());
+        preStat.setString(i++, object.getManualContextRoot());
+        preStat.setString(i++, object.getManualLoginRelativeURL());
+        preStat.setString(i++, object.getManualEnvData());
+        preStat.setString(i++, object.getTag());
+        preStat.setInt(i++, object.getScreenshot());
+        preStat.setInt(i++, object.getVideo());
+        preStat.setInt(i++, object.getVerbose());
+        preStat.setString(i++, object.getTimeout());
+        preStat.setInt(i++, object.getPageSource());
+        preStat.setInt(i++, object.getRobotLog());
+        preStat.setInt(i++, object.getConsoleLog());
+        preStat.setInt(i++, object.getRetries());
+        preStat.setString(i++, object.getManualExecution() == null ? "N" : object.getManualExecution());
+        String user = object.getUsrCreated() == null ? "" : object.getUsrCreated();
+        preStat.setString(i++, user);
+        if (object.getState() == null) {
+            preStat.setString(i++, object.getState().WAITING.name());
+        } else {
+            preStat.setString(i++, object.getState().name());
+        }
+        preStat.setString(i++, object.getComment());
+        preStat.setString(i++, object.getDebugFlag());
+        preStat.setInt(i++, object.getPriority());
+        return i;
+    }
+
+    @Override
+    public Answer updateListToState(List<Long> queueIds, TestCaseExecutionQueue.State targetState) {
+        return updateList("SET `" + COLUMN_STATE + "` = '" + targetState.name() + "', `" + COLUMN_REQUEST_DATE + "` = now(), `" + COLUMN_DATEMODIF + "` = now() ", "", queueIds);
+    }
+
+    @Override
+    public Answer updateListPriority(List<Long> queueIds, int priority) {
+        return updateList("SET `" + COLUMN_PRIORITY + "` = " + priority + ", `" + COLUMN_DATEMODIF + "` = now() ", "", queueIds);
+    }
+
+    @Override
+    public Answer updateListToQueuedFromQuWithDep(List<Long> ids, String comment) {
+        return updateList("SET `" + COLUMN_STATE + "` = 'QUEUED', `" + COLUMN_REQUEST_DATE + "` = now(), `" + COLUMN_DATEMODIF + "` = now(), `" + COLUMN_COMMENT + "` = ? ",
+                " AND `" + COLUMN_STATE + "` IN ('QUWITHDEP')", ids, comment);
+    }
+
+    private Answer updateList(String setClause, String stateClause, List<Long> queueIds, String... parameters) {
+        MessageEvent msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_OK);
+        msg.setDescription(msg.getDescription().replace("%ITEM%", OBJECT_NAME).replace("%OPERATION%", "UPDATE"));
+
+        try (Connection connection = this.databaseSpring.connect()) {
+            for (int from = 0; from < queueIds.size(); from += BATCH_SIZE) {
+                String query = "UPDATE `" + TABLE + "` " + setClause
+                        + SqlUtil.createWhereInClauseLong(COLUMN_ID, queueIds.subList(from, Math.min(from + BATCH_SIZE, queueIds.size())), "WHERE ", "")
+                        + stateClause;
+
+                // Debug message on SQL.
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("SQL : " + query);
+                }
+
+                try (PreparedStatement preStat = connection.prepareStatement(query)) {
+                    int i = 1;
+                    for (String parameter : parameters) {
+                        preStat.setString(i++, parameter);
+                    }
+                    preStat.executeUpdate();
+                } catch (SQLException exception) {
+                    LOG.error("Unable to execute query : " + exception.toString());
+                    msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED);
+                    msg.setDescription(msg.getDescription().replace("%DESCRIPTION%", exception.toString()));
+                }
+            }
+        } catch (SQLException exception) {
+            LOG.error("Unable to execute query : " + exception.toString());
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED);
+            msg.setDescription(msg.getDescription().replace("%DESCRIPTION%", exception.toString()));
+        }
+        return new Answer(msg);
+    }
+
     @Override
     public Answer update(TestCaseExecutionQueue object) {
         MessageEvent msg = null;
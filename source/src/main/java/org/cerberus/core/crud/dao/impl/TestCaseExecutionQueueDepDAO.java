@@ -61,6 +61,8 @@ public class TestCaseExecutionQueueDepDAO implements ITestCaseExecutionQueueDepD
     private static final Logger LOG = LogManager.getLogger(TestCaseExecutionQueueDepDAO.class);
 
     private final String OBJECT_NAME = "TestCaseExecutionQueueDep";
+    // Max number of queue entries treated by a single statement.
+    private static final int BATCH_SIZE = 500;
     private final String SQL_DUPLICATED_CODE = "23000";
     private final int MAX_ROW_SELECTED = 100000;
 
@@ -357,6 +359,57 @@ public class TestCaseExecutionQueueDepDAO implements ITestCaseExecutionQueueDepD
         return ans;
     }
 
+    @Override
+    public AnswerList<TestCaseExecutionQueueDep> readByExeQueueState(String state) {
+        return readWithExeControlStatus("JOIN testcaseexecutionqueue exq ON exq.ID=tcd.ExeQueueID WHERE exq.State = ?", state);
+    }
+
+    @Override
+    public AnswerList<TestCaseExecutionQueueDep> readByExeQueueIdList(List<Long> exeQueueIds) {
+        if (exeQueueIds.isEmpty()) {
+            return new AnswerList<>(new ArrayList<>(), 0, new MessageEvent(MessageEventEnum.DATA_OPERATION_OK).resolveDescription("ITEM", OBJECT_NAME).resolveDescription("OPERATION", "SELECT"));
+        }
+        return readWithExeControlStatus(SqlUtil.createWhereInClauseLong("tcd.ExeQueueID", exeQueueIds, "WHERE ", ""), null);
+    }
+
+    private AnswerList<TestCaseExecutionQueueDep> readWithExeControlStatus(String whereClause, String parameter) {
+        AnswerList<TestCaseExecutionQueueDep> ans = new AnswerList<>();
+        MessageEvent msg = null;
+
+        final String query = "SELECT tcd.*, tce.ControlStatus FROM testcaseexecutionqueuedep tcd "
+                + "LEFT OUTER JOIN testcaseexecution tce ON tcd.ExeID=tce.ID " + whereClause;
+
+        // Debug message on SQL.
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("SQL : " + query);
+            LOG.debug("SQL.param : " + parameter);
+        }
+
+        try (Connection connection = databaseSpring.connect();
+                PreparedStatement preStat = connection.prepareStatement(query)) {
+            if (parameter != null) {
+                preStat.setString(1, parameter);
+            }
+            try (ResultSet rs = preStat.executeQuery()) {
+                List<TestCaseExecutionQueueDep> al = new ArrayList<>();
+                while (rs.next()) {
+                    TestCaseExecutionQueueDep dep = loadFromResultSet(rs);
+                    dep.setExeControlStatus(rs.getString("tce.ControlStatus"));
+                    al.add(dep);
+                }
+                ans.setDataList(al);
+                msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_OK).resolveDescription("ITEM", OBJECT_NAME).resolveDescription("OPERATION", "SELECT");
+            }
+        } catch (Exception e) {
+            LOG.error("Unable to execute query : " + e.toString());
+            ans.setDataList(new ArrayList<>());
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED).resolveDescription("DESCRIPTION", e.toString());
+        } finally {
+            ans.setResultMessage(msg);
+        }
+        return ans;
+    }
+
     @Override
     public AnswerList<TestCaseExecutionQueueDep> readByCriteria(int start, int amount, String column, String dir, String searchTerm, Map<String, List<String>> individualSearch) {
         AnswerList<TestCaseExecutionQueueDep> response = new AnswerList<>();
@@ -517,6 +570,48 @@ public class TestCaseExecutionQueueDepDAO implements ITestCaseExecutionQueueDepD
         return ans;
     }
 
+    @Override
+    public AnswerList<Long> insertFromTestCaseDep(List<Long> queueIds) {
+        List<Long> queueIdsWithDep = new ArrayList<>();
+        MessageEvent msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_OK).resolveDescription("ITEM", OBJECT_NAME).resolveDescription("OPERATION", "INSERT");
+
+        try (Connection connection = databaseSpring.connect()) {
+            for (int from = 0; from < queueIds.size(); from += BATCH_SIZE) {
+                List<Long> chunk = queueIds.subList(from, Math.min(from + BATCH_SIZE, queueIds.size()));
+                // Environment, country and tag of the dependencies are the ones of the queue entry.
+                final String query = "INSERT INTO testcaseexecutionqueuedep(ExeQueueID, Environment, Country, Tag, Type, DepTest, DepTestCase, DepEvent, Status) "
+                        + "SELECT exq.ID, exq.Environment, exq.Country, exq.Tag, tcd.Type, tcd.DependencyTest DepTest, tcd.DependencyTestcase DepTestCase, tcd.DependencyEvent DepEvent, 'WAITING' "
+                        + "FROM testcaseexecutionqueue exq "
+                        + "JOIN testcasedep tcd ON tcd.Test=exq.Test and tcd.TestCase=exq.TestCase and tcd.IsActive=1 "
+                        + SqlUtil.createWhereInClauseLong("exq.ID", chunk, "WHERE ", ";");
+
+                // Debug message on SQL.
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("SQL : " + query);
+                }
+
+                try (PreparedStatement preStat = connection.prepareStatement(query)) {
+                    if (preStat.executeUpdate() < 1) {
+                        continue;
+                    }
+                }
+
+                final String querySelect = "SELECT DISTINCT ExeQueueID FROM testcaseexecutionqueuedep "
+                        + SqlUtil.createWhereInClauseLong("ExeQueueID", chunk, "WHERE ", ";");
+                try (PreparedStatement preStat = connection.prepareStatement(querySelect);
+                        ResultSet rs = preStat.executeQuery()) {
+                    while (rs.next()) {
+                        queueIdsWithDep.add(rs.getLong("ExeQueueID"));
+                    }
+                }
+            }
+        } catch (Exception e) {
+            LOG.error("Unable to insert from table: " + e.getMessage());
+            msg = new MessageEvent(MessageEventEnum.DATA_OPERATION_ERROR_UNEXPECTED).resolveDescription("DESCRIPTION", e.toString());
+        }
+        return new AnswerList<>(queueIdsWithDep, queueIdsWithDep.size(), msg);
+    }
+
     @Override
     public AnswerItem<Integer> insertFromExeQueueIdDep(long queueId, long fromExeQueueId) {
         AnswerItem<Integer> ans = new AnswerItem<>();
@@ -66,13 +66,21 @@ public class TestCaseStepActionControlExecutionDAO implements ITestCaseStepActio
 
     private static final Logger LOG = LogManager.getLogger(TestCaseStepActionControlExecutionDAO.class);
 
+    private static final String QUERY_INSERT = "INSERT INTO testcasestepactioncontrolexecution(id, step, `index`, sequence, controlsequence, sort, returncode, "
+            + "conditionOperator, conditionVal1Init, conditionVal2Init, conditionVal3Init, conditionVal1, conditionVal2, conditionVal3, control, "
+            + "value1Init, value2Init, value3Init, value1, value2, value3, fatal, start, END, startlong, endlong, returnmessage, test, testcase, description)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String QUERY_UPDATE = "UPDATE testcasestepactioncontrolexecution SET returncode = ?, conditionOperator = ?, conditionVal1Init = ?, conditionVal2Init = ?, conditionVal3Init = ?, "
+            + "conditionVal1 = ?, conditionVal2 = ?, conditionVal3 = ?, control = ?, "
+            + "value1Init = ?, value2Init = ?, value3Init = ?, value1 = ?, value2 = ?, value3 = ?, fatal = ?, start = ?, END = ?, startlong = ?, endlong = ?"
+            + ", returnmessage = ?, description = ?, sort = ? "
+            + "WHERE id = ? AND test = ? AND testcase = ? AND step = ? AND `index` = ? AND sequence = ? AND controlsequence = ? ";
+
     @Override
     public void insertTestCaseStepActionControlExecution(TestCaseStepActionControlExecution testCaseStepActionControlExecution, HashMap<String, String> secrets) {
 
-        final String query = "INSERT INTO testcasestepactioncontrolexecution(id, step, `index`, sequence, controlsequence, sort, returncode, "
-                + "conditionOperator, conditionVal1Init, conditionVal2Init, conditionVal3Init, conditionVal1, conditionVal2, conditionVal3, control, "
-                + "value1Init, value2Init, value3Init, value1, value2, value3, fatal, start, END, startlong, endlong, returnmessage, test, testcase, description)"
-                + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        final String query = QUERY_INSERT;
 
         // Debug message on SQL.
         if (LOG.isDebugEnabled()) {
@@ -90,46 +98,7 @@ public class TestCaseStepActionControlExecutionDAO implements ITestCaseStepActio
         try {
             PreparedStatement preStat = connection.prepareStatement(query);
             try {
-                int i = 1;
-                preStat.setLong(i++, testCaseStepActionControlExecution.getId());
-                preStat.setInt(i++, testCaseStepActionControlExecution.getStepId());
-                preStat.setInt(i++, testCaseStepActionControlExecution.getIndex());
-                preStat.setInt(i++, testCaseStepActionControlExecution.getActionId());
-                preStat.setInt(i++, testCaseStepActionControlExecution.getControlId());
-                preStat.setInt(i++, testCaseStepActionControlExecution.getSort());
-                preStat.setString(i++, ParameterParserUtil.parseStringParam(testCaseStepActionControlExecution.getReturnCode(), ""));
-                preStat.setString(i++, testCaseStepActionControlExecution.getConditionOperator());
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionControlExecution.getConditionVal1Init(), 65000), secrets));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionControlExecution.getConditionVal2Init(), 65000), secrets));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionControlExecution.getConditionVal3Init(), 65000), secrets));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionControlExecution.getConditionVal1(), 65000), secrets));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionControlExecution.getConditionVal2(), 65000), secrets));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionControlExecution.getConditionVal3(), 65000), secrets));
-                preStat.setString(i++, StringUtil.getLeftString(testCaseStepActionControlExecution.getControl(), 200));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionControlExecution.getValue1Init(), 65000), secrets));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionControlExecution.getValue2Init(), 65000), secrets));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionControlExecution.getValue3Init(), 65000), secrets));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionControlExecution.getValue1(), 65000), secrets));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionControlExecution.getValue2(), 65000), secrets));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionControlExecution.getValue3(), 65000), secrets));
-                preStat.setString(i++, testCaseStepActionControlExecution.getFatal());
-                if (testCaseStepActionControlExecution.getStart() != 0) {
-                    preStat.setTimestamp(i++, new Timestamp(testCaseStepActionControlExecution.getStart()));
-                } else {
-                    preStat.setString(i++, "1970-01-01 01:01:01");
-                }
-                if (testCaseStepActionControlExecution.getEnd() != 0) {
-                    preStat.setTimestamp(i++, new Timestamp(testCaseStepActionControlExecution.getEnd()));
-                } else {
-                    preStat.setString(i++, "1970-01-01 01:01:01");
-                }
-                DateFormat df = new SimpleDateFormat(DateUtil.DATE_FORMAT_TIMESTAMP);
-                preStat.setString(i++, df.format(testCaseStepActionControlExecution.getStart()));
-                preStat.setString(i++, df.format(testCaseStepActionControlExecution.getEnd()));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(ParameterParserUtil.parseStringParam(testCaseStepActionControlExecution.getReturnMessage(), ""), 65000), secrets));
-                preStat.setString(i++, testCaseStepActionControlExecution.getTest());
-                preStat.setString(i++, testCaseStepActionControlExecution.getTestCase());
-                preStat.setString(i++, StringUtil.secureFromSecrets(testCaseStepActionControlExecution.getDescription(), secrets));
+                fillInsertStatement(preStat, testCaseStepActionControlExecution, secrets);
                 preStat.executeUpdate();
 
             } catch (SQLException exception) {
@@ -150,14 +119,37 @@ public class TestCaseStepActionControlExecutionDAO implements ITestCaseStepActio
         }
     }
 
+    @Override
+    public boolean insertTestCaseStepActionControlExecutionList(List<TestCaseStepActionControlExecution> controlExecutionList, HashMap<String, String> secrets) {
+        if (controlExecutionList.isEmpty()) {
+            return true;
+        }
+        final String query = QUERY_INSERT;
+
+        // Debug message on SQL.
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("SQL : " + query);
+            LOG.debug("SQL.param.nb : " + controlExecutionList.size());
+        }
+
+        try (Connection connection = this.databaseSpring.connect();
+                PreparedStatement preStat = connection.prepareStatement(query)) {
+            for (TestCaseStepActionControlExecution controlExecution : controlExecutionList) {
+                fillInsertStatement(preStat, controlExecution, secrets);
+                preStat.addBatch();
+            }
+            preStat.executeBatch();
+            return true;
+        } catch (SQLException exception) {
+            LOG.error("Unable to execute query : " + exception.toString());
+            return false;
+        }
+    }
+
     @Override
     public void updateTestCaseStepActionControlExecution(TestCaseStepActionControlExecution testCaseStepActionControlExecution, HashMap<String, String> secrets) {
 
-        final String query = "UPDATE testcasestepactioncontrolexecution SET returncode = ?, conditionOperator = ?, conditionVal1Init = ?, conditionVal2Init = ?, conditionVal3Init = ?, "
-                + "conditionVal1 = ?, conditionVal2 = ?, conditionVal3 = ?, control = ?, "
-                + "value1Init = ?, value2Init = ?, value3Init = ?, value1 = ?, value2 = ?, value3 = ?, fatal = ?, start = ?, END = ?, startlong = ?, endlong = ?"
-                + ", returnmessage = ?, description = ?, sort = ? "
-                + "WHERE id = ? AND test = ? AND testcase = ? AND step = ? AND `index` = ? AND sequence = ? AND controlsequence = ? ";
+        final String query = QUERY_UPDATE;
 
         // Debug message on SQL.
         if (LOG.isDebugEnabled()) {
@@ -175,47 +167,7 @@ public class TestCaseStepActionControlExecutionDAO implements ITestCaseStepActio
         try {
             PreparedStatement preStat = connection.prepareStatement(query);
             try {
-                int i = 1;
-                preStat.setString(i++, ParameterParserUtil.parseStringParam(testCaseStepActionControlExecution.getReturnCode(), ""));
-                preStat.setString(i++, testCaseStepActionControlExecution.getConditionOperator());
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionControlExecution.getConditionVal1Init(), 65000), secrets));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionControlExecution.getConditionVal2Init(), 65000), secrets));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionControlExecution.getConditionVal3Init(), 65000), secrets));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionControlExecution.getConditionVal1(), 65000), secrets));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionControlExecution.getConditionVal2(), 65000), secrets));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionControlExecution.getConditionVal3(), 65000), secrets));
-                preStat.setString(i++, testCaseStepActionControlExecution.getControl());
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionControlExecution.getValue1Init(), 65000), secrets));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionControlExecution.getValue2Init(), 65000), secrets));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionControlExecution.getValue3Init(), 65000), secrets));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionControlExecution.getValue1(), 65000), secrets));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionControlExecution.getValue2(), 65000), secrets));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionControlExecution.getValue3(), 65000), secrets));
-                preStat.setString(i++, testCaseStepActionControlExecution.getFatal());
-                if (testCaseStepActionControlExecution.getStart() != 0) {
-                    preStat.setTimestamp(i++, new Timestamp(testCaseStepActionControlExecution.getStart()));
-                } else {
-                    preStat.setString(i++, "1970-01-01 01:01:01");
-                }
-                if (testCaseStepActionControlExecution.getEnd() != 0) {
-                    preStat.setTimestamp(i++, new Timestamp(testCaseStepActionControlExecution.getEnd()));
-                } else {
-                    preStat.setString(i++, "1970-01-01 01:01:01");
-                }
-                DateFormat df = new SimpleDateFormat(DateUtil.DATE_FORMAT_TIMESTAMP);
-                preStat.setString(i++, df.format(testCaseStepActionControlExecution.getStart()));
-                preStat.setString(i++, df.format(testCaseStepActionControlExecution.getEnd()));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(ParameterParserUtil.parseStringParam(testCaseStepActionControlExecution.getReturnMessage(), ""), 65000), secrets));
-                preStat.setString(i++, testCaseStepActionControlExecution.getDescription());
-                preStat.setInt(i++, testCaseStepActionControlExecution.getSort());
-                preStat.setLong(i++, testCaseStepActionControlExecution.getId());
-                preStat.setString(i++, testCaseStepActionControlExecution.getTest());
-                preStat.setString(i++, testCaseStepActionControlExecution.getTestCase());
-                preStat.setInt(i++, testCaseStepActionControlExecution.getStepId());
-                preStat.setInt(i++, testCaseStepActionControlExecution.getIndex());
-                preStat.setInt(i++, testCaseStepActionControlExecution.getActionId());
-                preStat.setInt(i++, testCaseStepActionControlExecution.getControlId());
-
+                fillUpdateStatement(preStat, testCaseStepActionControlExecution, secrets);
                 preStat.executeUpdate();
 
             } catch (SQLException exception) {
@@ -236,6 +188,33 @@ public class TestCaseStepActionControlExecutionDAO implements ITestCaseStepActio
         }
     }
 
+    @Override
+    public boolean updateTestCaseStepActionControlExecutionList(List<TestCaseStepActionControlExecution> controlExecutionList, HashMap<String, String> secrets) {
+        if (controlExecutionList.isEmpty()) {
+            return true;
+        }
+        final String query = QUERY_UPDATE;
+
+        // Debug message on SQL.
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("SQL : " + query);
+            LOG.debug("SQL.param.nb : " + controlExecutionList.size());
+        }
+
+        try (Connection connection = this.databaseSpring.connect();
+                PreparedStatement preStat = connection.prepareStatement(query)) {
+            for (TestCaseStepActionControlExecution controlExecution : controlExecutionList) {
+                fillUpdateStatement(preStat, controlExecution, secrets);
+                preStat.addBatch();
+            }
+            preStat.executeBatch();
+            return true;
+        } catch (SQLException exception) {
+            LOG.error("Unable to execute query : " + exception.toString());
+            return false;
+        }
+    }
+
     @Override
     public List<TestCaseStepActionControlExecution> findTestCaseStepActionControlExecutionByCriteria(long id, String test, String testCase, int stepId, int index, int sequence) {
         List<TestCaseStepActionControlExecution> result = null;
@@ -465,4 +444,91 @@ public class TestCaseStepActionControlExecutionDAO implements ITestCaseStepActio
                 conditionVal1, conditionVal2, conditionVal3, control, value1Init, value2Init, value3Init, value1, value2, value3,
                 fatal, start, end, startlong, endlong, description, null, null);
     }
+
+    private void fillInsertStatement(PreparedStatement preStat, TestCaseStepActionControlExecution testCaseStepActionControlExecution, HashMap<String, String> secrets) throws SQLException {
+        int i = 1;
+        preStat.setLong(i++, testCaseStepActionControlExecution.getId());
+        preStat.setInt(i++, testCaseStepActionControlExecution.getStepId());
+        preStat.setInt(i++, testCaseStepActionControlExecution.getIndex());
+        preStat.setInt(i++, testCaseStepActionControlExecution.getActionId());
+        preStat.setInt(i++, testCaseStepActionControlExecution.getControlId());
+        preStat.setInt(i++, testCaseStepActionControlExecution.getSort());
+        preStat.setString(i++, ParameterParserUtil.parseStringParam(testCaseStepActionControlExecution.getReturnCode(), ""));
+        preStat.setString(i++, testCaseStepActionControlExecution.getConditionOperator());
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionControlExecution.getConditionVal1Init(), 65000), secrets));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionControlExecution.getConditionVal2Init(), 65000), secrets));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionControlExecution.getConditionVal3Init(), 65000), secrets));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionControlExecution.getConditionVal1(), 65000), secrets));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionControlExecution.getConditionVal2(), 65000), secrets));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionControlExecution.getConditionVal3(), 65000), secrets));
+        preStat.setString(i++, StringUtil.getLeftString(testCaseStepActionControlExecution.getControl(), 200));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionControlExecution.getValue1Init(), 65000), secrets));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionControlExecution.getValue2Init(), 65000), secrets));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionControlExecution.getValue3Init(), 65000), secrets));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionControlExecution.getValue1(), 65000), secrets));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionControlExecution.getValue2(), 65000), secrets));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionControlExecution.getValue3(), 65000), secrets));
+        preStat.setString(i++, testCaseStepActionControlExecution.getFatal());
+        if (testCaseStepActionControlExecution.getStart() != 0) {
+            preStat.setTimestamp(i++, new Timestamp(testCaseStepActionControlExecution.getStart()));
+        } else {
+            preStat.setString(i++, "1970-01-01 01:01:01");
+        }
+        if (testCaseStepActionControlExecution.getEnd() != 0) {
+            preStat.setTimestamp(i++, new Timestamp(testCaseStepActionControlExecution.getEnd()));
+        } else {
+            preStat.setString(i++, "1970-01-01 01:01:01");
+        }
+        DateFormat df = new SimpleDateFormat(DateUtil.DATE_FORMAT_TIMESTAMP);
+        preStat.setString(i++, df.format(testCaseStepActionControlExecution.getStart()));
+        preStat.setString(i++, df.format(testCaseStepActionControlExecution.getEnd()));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(ParameterParserUtil.parseStringParam(testCaseStepActionControlExecution.getReturnMessage(), ""), 65000), secrets));
+        preStat.setString(i++, testCaseStepActionControlExecution.getTest());
+        preStat.setString(i++, testCaseStepActionControlExecution.getTestCase());
+        preStat.setString(i++, StringUtil.secureFromSecrets(testCaseStepActionControlExecution.getDescription(), secrets));
+    }
+
+    private void fillUpdateStatement(PreparedStatement preStat, TestCaseStepActionControlExecution testCaseStepActionControlExecution, HashMap<String, String> secrets) throws SQLException {
+        int i = 1;
+        preStat.setString(i++, ParameterParserUtil.parseStringParam(testCaseStepActionControlExecution.getReturnCode(), ""));
+        preStat.setString(i++, testCaseStepActionControlExecution.getConditionOperator());
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionControlExecution.getConditionVal1Init(), 65000), secrets));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionControlExecution.getConditionVal2Init(), 65000), secrets));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionControlExecution.getConditionVal3Init(), 65000), secrets));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionControlExecution.getConditionVal1(), 65000), secrets));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionControlExecution.getConditionVal2(), 65000), secrets));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionControlExecution.getConditionVal3(), 65000), secrets));
+        preStat.setString(i++, testCaseStepActionControlExecution.getControl());
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionControlExecution.getValue1Init(), 65000), secrets));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionControlExecution.getValue2Init(), 65000), secrets));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionControlExecution.getValue3Init(), 65000), secrets));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionControlExecution.getValue1(), 65000), secrets));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionControlExecution.getValue2(), 65000), secrets));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionControlExecution.getValue3(), 65000), secrets));
+        preStat.setString(i++, testCaseStepActionControlExecution.getFatal());
+        if (testCaseStepActionControlExecution.getStart() != 0) {
+            preStat.setTimestamp(i++, new Timestamp(testCaseStepActionControlExecution.getStart()));
+        } else {
+            preStat.setString(i++, "1970-01-01 01:01:01");
+        }
+        if (testCaseStepActionControlExecution.getEnd() != 0) {
+            preStat.setTimestamp(i++, new Timestamp(testCaseStepActionControlExecution.getEnd()));
+        } else {
+            preStat.setString(i++, "1970-01-01 01:01:01");
+        }
+        DateFormat df = new SimpleDateFormat(DateUtil.DATE_FORMAT_TIMESTAMP);
+        preStat.setString(i++, df.format(testCaseStepActionControlExecution.getStart()));
+        preStat.setString(i++, df.format(testCaseStepActionControlExecution.getEnd()));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(ParameterParserUtil.parseStringParam(testCaseStepActionControlExecution.getReturnMessage(), ""), 65000), secrets));
+        preStat.setString(i++, testCaseStepActionControlExecution.getDescription());
+        preStat.setInt(i++, testCaseStepActionControlExecution.getSort());
+        preStat.setLong(i++, testCaseStepActionControlExecution.getId());
+        preStat.setString(i++, testCaseStepActionControlExecution.getTest());
+        preStat.setString(i++, testCaseStepActionControlExecution.getTestCase());
+        preStat.setInt(i++, testCaseStepActionControlExecution.getStepId());
+        preStat.setInt(i++, testCaseStepActionControlExecution.getIndex());
+        preStat.setInt(i++, testCaseStepActionControlExecution.getActionId());
+        preStat.setInt(i++, testCaseStepActionControlExecution.getControlId());
+    }
+
 }
@@ -22,8 +22,10 @@ package org.cerberus.core.crud.dao.impl;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.cerberus.core.crud.dao.ITestCaseStepActionDAO;
+import org.cerberus.core.crud.entity.TestCase;
 import org.cerberus.core.crud.entity.TestCaseStepAction;
 import org.cerberus.core.crud.factory.IFactoryTestCaseStepAction;
+import org.cerberus.core.crud.utils.RequestDbUtils;
 import org.cerberus.core.database.DatabaseSpring;
 import org.cerberus.core.engine.entity.MessageEvent;
 import org.cerberus.core.engine.entity.MessageGeneral;
@@ -215,6 +217,40 @@ public class TestCaseStepActionDAO implements ITestCaseStepActionDAO {
         return response;
     }
 
+    @Override
+    public List<TestCaseStepAction> readByTestCaseList(List<TestCase> testcases) throws CerberusException {
+        StringBuilder query = new StringBuilder();
+        query.append("SELECT * FROM testcasestepaction tca WHERE 1=1");
+        if ((testcases != null) && !testcases.isEmpty() && testcases.size() < 5000) {
+            query.append(" AND (");
+            int j = 0;
+            for (TestCase testCase1 : testcases) {
+                if (j != 0) {
+                    query.append(" OR");
+                }
+                query.append(" (tca.`test` = ? and tca.testcase = ?) ");
+                j++;
+            }
+            query.append(" )");
+        } else {
+            query.append(" and 1=0 ");
+        }
+        query.append(" ORDER BY tca.test, tca.testcase, tca.stepId, tca.sort");
+
+        return RequestDbUtils.executeQueryList(databaseSpring, query.toString(),
+                ps -> {
+                    int i = 1;
+                    if ((testcases != null) && !testcases.isEmpty() && testcases.size() < 5000) {
+                        for (TestCase testCaseObj : testcases) {
+                            ps.setString(i++, testCaseObj.getTest());
+                            ps.setString(i++, testCaseObj.getTestcase());
+                        }
+                    }
+                },
+                this::loadFromResultSet
+        );
+    }
+
     @Override
     public AnswerList<TestCaseStepAction> readByVarious1(String test, String testcase, int stepId) {
 
@@ -57,6 +57,18 @@ public class TestCaseStepActionExecutionDAO implements ITestCaseStepActionExecut
 
     private static final Logger LOG = LogManager.getLogger(TestCaseStepActionExecutionDAO.class);
 
+    private static final String QUERY_INSERT = "INSERT INTO testcasestepactionexecution(id, step, `index`, sequence, sort, "
+            + "conditionOperator, conditionVal1Init, conditionVal2Init, conditionVal3Init, conditionVal1, conditionVal2, conditionVal3, ACTION, "
+            + "value1Init, value2Init, value3Init, value1, value2, value3, forceExeStatus, "
+            + "start, END, startlong, endlong, returnCode, returnMessage, test, testcase, description) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String QUERY_UPDATE = "UPDATE testcasestepactionexecution SET ACTION = ?, value1 = ?, value2 = ?, value3 = ?, forceExeStatus = ?, start = ?, END = ?"
+            + ", startlong = ?, endlong = ?, returnCode = ?, returnMessage = ?, description = ?, sort = ?"
+            + ", value1Init = ?, Value2Init = ?, value3Init = ?, conditionOperator = ?, "
+            + "conditionVal1 = ?, conditionVal2 = ?, conditionVal3 = ?, conditionVal1Init = ?, conditionVal2Init = ?, conditionVal3Init = ?"
+            + " WHERE id = ? AND test = ? AND testcase = ? AND step = ? AND `index` = ? AND sequence = ? ;";
+
     private final String OBJECT_NAME = "TestCaseStepActionExecution";
     private final String SQL_DUPLICATED_CODE = "23000";
     private final int MAX_ROW_SELECTED = 100000;
@@ -321,11 +333,7 @@ public class TestCaseStepActionExecutionDAO implements ITestCaseStepActionExecut
     @Override
     public void insertTestCaseStepActionExecution(TestCaseStepActionExecution testCaseStepActionExecution, HashMap<String, String> secrets) {
 
-        final String query = "INSERT INTO testcasestepactionexecution(id, step, `index`, sequence, sort, "
-                + "conditionOperator, conditionVal1Init, conditionVal2Init, conditionVal3Init, conditionVal1, conditionVal2, conditionVal3, ACTION, "
-                + "value1Init, value2Init, value3Init, value1, value2, value3, forceExeStatus, "
-                + "start, END, startlong, endlong, returnCode, returnMessage, test, testcase, description) "
-                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        final String query = QUERY_INSERT;
 
         // Debug message on SQL.
         if (LOG.isDebugEnabled()) {
@@ -342,45 +350,7 @@ public class TestCaseStepActionExecutionDAO implements ITestCaseStepActionExecut
         try {
             PreparedStatement preStat = connection.prepareStatement(query);
             try {
-                int i = 1;
-                preStat.setLong(i++, testCaseStepActionExecution.getId());
-                preStat.setInt(i++, testCaseStepActionExecution.getStepId());
-                preStat.setInt(i++, testCaseStepActionExecution.getIndex());
-                preStat.setInt(i++, testCaseStepActionExecution.getSequence());
-                preStat.setInt(i++, testCaseStepActionExecution.getSort());
-                preStat.setString(i++, testCaseStepActionExecution.getConditionOperator());
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getConditionVal1Init(), 65000), secrets));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getConditionVal2Init(), 65000), secrets));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getConditionVal3Init(), 65000), secrets));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getConditionVal1(), 65000), secrets));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getConditionVal2(), 65000), secrets));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getConditionVal3(), 65000), secrets));
-                preStat.setString(i++, testCaseStepActionExecution.getAction());
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getValue1Init(), 65000), secrets));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getValue2Init(), 65000), secrets));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getValue3Init(), 65000), secrets));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getValue1(), 65000), secrets));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getValue2(), 65000), secrets));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getValue3(), 65000), secrets));
-                preStat.setString(i++, testCaseStepActionExecution.isFatal());
-                if (testCaseStepActionExecution.getStart() != 0) {
-                    preStat.setTimestamp(i++, new Timestamp(testCaseStepActionExecution.getStart()));
-                } else {
-                    preStat.setString(i++, "1970-01-01 01:01:01");
-                }
-                if (testCaseStepActionExecution.getEnd() != 0) {
-                    preStat.setTimestamp(i++, new Timestamp(testCaseStepActionExecution.getEnd()));
-                } else {
-                    preStat.setString(i++, "1970-01-01 01:01:01");
-                }
-                DateFormat df = new SimpleDateFormat(DateUtil.DATE_FORMAT_TIMESTAMP);
-                preStat.setString(i++, df.format(testCaseStepActionExecution.getStart()));
-                preStat.setString(i++, df.format(testCaseStepActionExecution.getEnd()));
-                preStat.setString(i++, testCaseStepActionExecution.getReturnCode());
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getReturnMessage(), 65000), secrets));
-                preStat.setString(i++, testCaseStepActionExecution.getTest());
-                preStat.setString(i++, testCaseStepActionExecution.getTestCase());
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getDescription(), 65000), secrets));
+                fillInsertStatement(preStat, testCaseStepActionExecution, secrets);
                 preStat.executeUpdate();
 
             } catch (SQLException exception) {
@@ -401,14 +371,37 @@ public class TestCaseStepActionExecutionDAO implements ITestCaseStepActionExecut
         }
     }
 
+    @Override
+    public boolean insertTestCaseStepActionExecutionList(List<TestCaseStepActionExecution> actionExecutionList, HashMap<String, String> secrets) {
+        if (actionExecutionList.isEmpty()) {
+            return true;
+        }
+        final String query = QUERY_INSERT;
+
+        // Debug message on SQL.
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("SQL : " + query);
+            LOG.debug("SQL.param.nb : " + actionExecutionList.size());
+        }
+
+        try (Connection connection = this.databaseSpring.connect();
+                PreparedStatement preStat = connection.prepareStatement(query)) {
+            for (TestCaseStepActionExecution actionExecution : actionExecutionList) {
+                fillInsertStatement(preStat, actionExecution, secrets);
+                preStat.addBatch();
+            }
+            preStat.executeBatch();
+            return true;
+        } catch (SQLException exception) {
+            LOG.error("Unable to execute query : " + exception.toString());
+            return false;
+        }
+    }
+
     @Override
     public void updateTestCaseStepActionExecution(TestCaseStepActionExecution testCaseStepActionExecution, HashMap<String, String> secrets) {
 
-        final String query = "UPDATE testcasestepactionexecution SET ACTION = ?, value1 = ?, value2 = ?, value3 = ?, forceExeStatus = ?, start = ?, END = ?"
-                + ", startlong = ?, endlong = ?, returnCode = ?, returnMessage = ?, description = ?, sort = ?"
-                + ", value1Init = ?, Value2Init = ?, value3Init = ?, conditionOperator = ?, "
-                + "conditionVal1 = ?, conditionVal2 = ?, conditionVal3 = ?, conditionVal1Init = ?, conditionVal2Init = ?, conditionVal3Init = ?"
-                + " WHERE id = ? AND test = ? AND testcase = ? AND step = ? AND `index` = ? AND sequence = ? ;";
+        final String query = QUERY_UPDATE;
 
         // Debug message on SQL.
         if (LOG.isDebugEnabled()) {
@@ -425,46 +418,7 @@ public class TestCaseStepActionExecutionDAO implements ITestCaseStepActionExecut
         try {
             PreparedStatement preStat = connection.prepareStatement(query);
             try {
-                int i = 1;
-                preStat.setString(i++, testCaseStepActionExecution.getAction());
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getValue1(), 65000), secrets));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getValue2(), 65000), secrets));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getValue3(), 65000), secrets));
-                preStat.setString(i++, testCaseStepActionExecution.isFatal());
-                if (testCaseStepActionExecution.getStart() != 0) {
-                    preStat.setTimestamp(i++, new Timestamp(testCaseStepActionExecution.getStart()));
-                } else {
-                    preStat.setString(i++, "1970-01-01 01:01:01");
-                }
-                if (testCaseStepActionExecution.getEnd() != 0) {
-                    preStat.setTimestamp(i++, new Timestamp(testCaseStepActionExecution.getEnd()));
-                } else {
-                    preStat.setString(i++, "1970-01-01 01:01:01");
-                }
-                DateFormat df = new SimpleDateFormat(DateUtil.DATE_FORMAT_TIMESTAMP);
-                preStat.setString(i++, df.format(testCaseStepActionExecution.getStart()));
-                preStat.setString(i++, df.format(testCaseStepActionExecution.getEnd()));
-                preStat.setString(i++, testCaseStepActionExecution.getReturnCode());
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getReturnMessage(), 65000), secrets));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getDescription(), 65000), secrets));
-                preStat.setInt(i++, testCaseStepActionExecution.getSort());
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getValue1Init(), 65000), secrets));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getValue2Init(), 65000), secrets));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getValue3Init(), 65000), secrets));
-                preStat.setString(i++, testCaseStepActionExecution.getConditionOperator());
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getConditionVal1(), 65000), secrets));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getConditionVal2(), 65000), secrets));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getConditionVal3(), 65000), secrets));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getConditionVal1Init(), 65000), secrets));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getConditionVal2Init(), 65000), secrets));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getConditionVal3Init(), 65000), secrets));
-                preStat.setLong(i++, testCaseStepActionExecution.getId());
-                preStat.setString(i++, testCaseStepActionExecution.getTest());
-                preStat.setString(i++, testCaseStepActionExecution.getTestCase());
-                preStat.setInt(i++, testCaseStepActionExecution.getStepId());
-                preStat.setInt(i++, testCaseStepActionExecution.getIndex());
-                preStat.setInt(i++, testCaseStepActionExecution.getSequence());
-
+                fillUpdateStatement(preStat, testCaseStepActionExecution, secrets);
                 preStat.executeUpdate();
 
             } catch (SQLException exception) {
@@ -485,6 +439,33 @@ public class TestCaseStepActionExecutionDAO implements ITestCaseStepActionExecut
         }
     }
 
+    @Override
+    public boolean updateTestCaseStepActionExecutionList(List<TestCaseStepActionExecution> actionExecutionList, HashMap<String, String> secrets) {
+        if (actionExecutionList.isEmpty()) {
+            return true;
+        }
+        final String query = QUERY_UPDATE;
+
+        // Debug message on SQL.
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("SQL : " + query);
+            LOG.debug("SQL.param.nb : " + actionExecutionList.size());
+        }
+
+        try (Connection connection = this.databaseSpring.connect();
+                PreparedStatement preStat = connection.prepareStatement(query)) {
+            for (TestCaseStepActionExecution actionExecution : actionExecutionList) {
+                fillUpdateStatement(preStat, actionExecution, secrets);
+                preStat.addBatch();
+            }
+            preStat.executeBatch();
+            return true;
+        } catch (SQLException exception) {
+            LOG.error("Unable to execute query : " + exception.toString());
+            return false;
+        }
+    }
+
     @Override
     public TestCaseStepActionExecution loadFromResultset(ResultSet resultSet) throws SQLException {
         long id = resultSet.getInt("exa.id");
@@ -521,4 +502,88 @@ public class TestCaseStepActionExecutionDAO implements ITestCaseStepActionExecut
 
     }
 
+    private void fillInsertStatement(PreparedStatement preStat, TestCaseStepActionExecution testCaseStepActionExecution, HashMap<String, String> secrets) throws SQLException {
+        int i = 1;
+        preStat.setLong(i++, testCaseStepActionExecution.getId());
+        preStat.setInt(i++, testCaseStepActionExecution.getStepId());
+        preStat.setInt(i++, testCaseStepActionExecution.getIndex());
+        preStat.setInt(i++, testCaseStepActionExecution.getSequence());
+        preStat.setInt(i++, testCaseStepActionExecution.getSort());
+        preStat.setString(i++, testCaseStepActionExecution.getConditionOperator());
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getConditionVal1Init(), 65000), secrets));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getConditionVal2Init(), 65000), secrets));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getConditionVal3Init(), 65000), secrets));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getConditionVal1(), 65000), secrets));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getConditionVal2(), 65000), secrets));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getConditionVal3(), 65000), secrets));
+        preStat.setString(i++, testCaseStepActionExecution.getAction());
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getValue1Init(), 65000), secrets));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getValue2Init(), 65000), secrets));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getValue3Init(), 65000), secrets));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getValue1(), 65000), secrets));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getValue2(), 65000), secrets));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getValue3(), 65000), secrets));
+        preStat.setString(i++, testCaseStepActionExecution.isFatal());
+        if (testCaseStepActionExecution.getStart() != 0) {
+            preStat.setTimestamp(i++, new Timestamp(testCaseStepActionExecution.getStart()));
+        } else {
+            preStat.setString(i++, "1970-01-01 01:01:01");
+        }
+        if (testCaseStepActionExecution.getEnd() != 0) {
+            preStat.setTimestamp(i++, new Timestamp(testCaseStepActionExecution.getEnd()));
+        } else {
+            preStat.setString(i++, "1970-01-01 01:01:01");
+        }
+        DateFormat df = new SimpleDateFormat(DateUtil.DATE_FORMAT_TIMESTAMP);
+        preStat.setString(i++, df.format(testCaseStepActionExecution.getStart()));
+        preStat.setString(i++, df.format(testCaseStepActionExecution.getEnd()));
+        preStat.setString(i++, testCaseStepActionExecution.getReturnCode());
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getReturnMessage(), 65000), secrets));
+        preStat.setString(i++, testCaseStepActionExecution.getTest());
+        preStat.setString(i++, testCaseStepActionExecution.getTestCase());
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getDescription(), 65000), secrets));
+    }
+
+    private void fillUpdateStatement(PreparedStatement preStat, TestCaseStepActionExecution testCaseStepActionExecution, HashMap<String, String> secrets) throws SQLException {
+        int i = 1;
+        preStat.setString(i++, testCaseStepActionExecution.getAction());
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getValue1(), 65000), secrets));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getValue2(), 65000), secrets));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getValue3(), 65000), secrets));
+        preStat.setString(i++, testCaseStepActionExecution.isFatal());
+        if (testCaseStepActionExecution.getStart() != 0) {
+            preStat.setTimestamp(i++, new Timestamp(testCaseStepActionExecution.getStart()));
+        } else {
+            preStat.setString(i++, "1970-01-01 01:01:01");
+        }
+        if (testCaseStepActionExecution.getEnd() != 0) {
+            preStat.setTimestamp(i++, new Timestamp(testCaseStepActionExecution.getEnd()));
+        } else {
+            preStat.setString(i++, "1970-01-01 01:01:01");
+        }
+        DateFormat df = new SimpleDateFormat(DateUtil.DATE_FORMAT_TIMESTAMP);
+        preStat.setString(i++, df.format(testCaseStepActionExecution.getStart()));
+        preStat.setString(i++, df.format(testCaseStepActionExecution.getEnd()));
+        preStat.setString(i++, testCaseStepActionExecution.getReturnCode());
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getReturnMessage(), 65000), secrets));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getDescription(), 65000), secrets));
+        preStat.setInt(i++, testCaseStepActionExecution.getSort());
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getValue1Init(), 65000), secrets));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getValue2Init(), 65000), secrets));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getValue3Init(), 65000), secrets));
+        preStat.setString(i++, testCaseStepActionExecution.getConditionOperator());
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getConditionVal1(), 65000), secrets));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getConditionVal2(), 65000), secrets));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getConditionVal3(), 65000), secrets));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getConditionVal1Init(), 65000), secrets));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getConditionVal2Init(), 65000), secrets));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(testCaseStepActionExecution.getConditionVal3Init(), 65000), secrets));
+        preStat.setLong(i++, testCaseStepActionExecution.getId());
+        preStat.setString(i++, testCaseStepActionExecution.getTest());
+        preStat.setString(i++, testCaseStepActionExecution.getTestCase());
+        preStat.setInt(i++, testCaseStepActionExecution.getStepId());
+        preStat.setInt(i++, testCaseStepActionExecution.getIndex());
+        preStat.setInt(i++, testCaseStepActionExecution.getSequence());
+    }
+
 }
@@ -26,6 +26,7 @@ import org.cerberus.core.crud.entity.TestCase;
 import org.cerberus.core.crud.entity.TestCaseStep;
 import org.cerberus.core.crud.factory.IFactoryTestCase;
 import org.cerberus.core.crud.factory.IFactoryTestCaseStep;
+import org.cerberus.core.crud.utils.RequestDbUtils;
 import org.cerberus.core.database.DatabaseSpring;
 import org.cerberus.core.engine.entity.MessageEvent;
 import org.cerberus.core.engine.entity.MessageGeneral;
@@ -637,6 +638,40 @@ public class TestCaseStepDAO implements ITestCaseStepDAO {
         return response;
     }
 
+    @Override
+    public List<TestCaseStep> readByTestCaseList(List<TestCase> testcases) throws CerberusException {
+        StringBuilder query = new StringBuilder();
+        query.append("SELECT * FROM testcasestep tcs WHERE 1=1");
+        if ((testcases != null) && !testcases.isEmpty() && testcases.size() < 5000) {
+            query.append(" AND (");
+            int j = 0;
+            for (TestCase testCase1 : testcases) {
+                if (j != 0) {
+                    query.append(" OR");
+                }
+                query.append(" (tcs.`test` = ? and tcs.testcase = ?) ");
+                j++;
+            }
+            query.append(" )");
+        } else {
+            query.append(" and 1=0 ");
+        }
+        query.append(" ORDER BY tcs.test, tcs.testcase, tcs.sort");
+
+        return RequestDbUtils.executeQueryList(databaseSpring, query.toString(),
+                ps -> {
+                    int i = 1;
+                    if ((testcases != null) && !testcases.isEmpty() && testcases.size() < 5000) {
+                        for (TestCase testCaseObj : testcases) {
+                            ps.setString(i++, testCaseObj.getTest());
+                            ps.setString(i++, testCaseObj.getTestcase());
+                        }
+                    }
+                },
+                this::loadFromResultSet
+        );
+    }
+
     @Override
     public AnswerList<TestCaseStep> readByLibraryUsed(String test, String testcase, int stepId) {
         AnswerList<TestCaseStep> response = new AnswerList<>();
@@ -66,11 +66,18 @@ public class TestCaseStepExecutionDAO implements ITestCaseStepExecutionDAO {
 
     private static final Logger LOG = LogManager.getLogger(TestCaseStepExecutionDAO.class);
 
+    private static final String QUERY_INSERT = "INSERT INTO testcasestepexecution(id, test, testcase, step, `index`, sort, `loop`, batnumexe, returncode, start, fullstart, end, fullend, "
+            + "returnMessage, description, conditionOperator, conditionVal1Init, conditionVal2Init, conditionVal3Init, conditionVal1, conditionVal2, conditionVal3) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String QUERY_UPDATE = "UPDATE testcasestepexecution SET returncode = ?, start = ?, fullstart = ?, end = ?, fullend = ?, timeelapsed = ?, "
+            + "returnmessage = ?, description = ?, sort = ?, `loop` = ?, conditionOperator = ?, conditionVal1Init = ?, conditionVal2Init = ?, conditionVal3Init = ?, "
+            + "conditionVal1 = ?, conditionVal2 = ?, conditionVal3 = ? "
+            + "WHERE id = ? AND step = ? AND `index` = ? AND test = ? AND testcase = ?";
+
     @Override
     public void insertTestCaseStepExecution(TestCaseStepExecution stepExecution, HashMap<String, String> secrets) {
-        final String query = "INSERT INTO testcasestepexecution(id, test, testcase, step, `index`, sort, `loop`, batnumexe, returncode, start, fullstart, end, fullend, "
-                + "returnMessage, description, conditionOperator, conditionVal1Init, conditionVal2Init, conditionVal3Init, conditionVal1, conditionVal2, conditionVal3) "
-                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        final String query = QUERY_INSERT;
 
         // Debug message on SQL.
         if (LOG.isDebugEnabled()) {
@@ -86,31 +93,7 @@ public class TestCaseStepExecutionDAO implements ITestCaseStepExecutionDAO {
         try {
             PreparedStatement preStat = connection.prepareStatement(query);
             try {
-                int i = 1;
-                preStat.setLong(i++, stepExecution.getId());
-                preStat.setString(i++, stepExecution.getTest());
-                preStat.setString(i++, stepExecution.getTestCase());
-                preStat.setInt(i++, stepExecution.getStepId());
-                preStat.setInt(i++, stepExecution.getIndex());
-                preStat.setInt(i++, stepExecution.getSort());
-                preStat.setString(i++, stepExecution.getLoop());
-                preStat.setString(i++, stepExecution.getBatNumExe());
-                preStat.setString(i++, stepExecution.getReturnCode());
-                preStat.setTimestamp(i++, new Timestamp(stepExecution.getStart()));
-                DateFormat df = new SimpleDateFormat(DateUtil.DATE_FORMAT_TIMESTAMP);
-                preStat.setString(i++, df.format(stepExecution.getStart()));
-                preStat.setTimestamp(i++, new Timestamp(stepExecution.getEnd()));
-                preStat.setString(i++, df.format(stepExecution.getEnd()));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(stepExecution.getReturnMessage(), 65000), secrets));
-                preStat.setString(i++, StringUtil.secureFromSecrets(stepExecution.getDescription(), secrets));
-                preStat.setString(i++, stepExecution.getConditionOperator());
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(stepExecution.getConditionValue1Init(), 65000), secrets));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(stepExecution.getConditionValue2Init(), 65000), secrets));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(stepExecution.getConditionValue3Init(), 65000), secrets));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(stepExecution.getConditionValue1(), 65000), secrets));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(stepExecution.getConditionValue2(), 65000), secrets));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(stepExecution.getConditionValue3(), 65000), secrets));
-
+                fillInsertStatement(preStat, stepExecution, secrets);
                 preStat.executeUpdate();
 
             } catch (SQLException exception) {
@@ -131,12 +114,36 @@ public class TestCaseStepExecutionDAO implements ITestCaseStepExecutionDAO {
         }
     }
 
+    @Override
+    public boolean insertTestCaseStepExecutionList(List<TestCaseStepExecution> stepExecutionList, HashMap<String, String> secrets) {
+        if (stepExecutionList.isEmpty()) {
+            return true;
+        }
+        final String query = QUERY_INSERT;
+
+        // Debug message on SQL.
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("SQL : " + query);
+            LOG.debug("SQL.param.nb : " + stepExecutionList.size());
+        }
+
+        try (Connection connection = this.databaseSpring.connect();
+                PreparedStatement preStat = connection.prepareStatement(query)) {
+            for (TestCaseStepExecution stepExecution : stepExecutionList) {
+                fillInsertStatement(preStat, stepExecution, secrets);
+                preStat.addBatch();
+            }
+            preStat.executeBatch();
+            return true;
+        } catch (SQLException exception) {
+            LOG.error("Unable to execute query : " + exception.toString());
+            return false;
+        }
+    }
+
     @Override
     public void updateTestCaseStepExecution(TestCaseStepExecution stepExecution, HashMap<String, String> secrets) {
-        final String query = "UPDATE testcasestepexecution SET returncode = ?, start = ?, fullstart = ?, end = ?, fullend = ?, timeelapsed = ?, "
-                + "returnmessage = ?, description = ?, sort = ?, `loop` = ?, conditionOperator = ?, conditionVal1Init = ?, conditionVal2Init = ?, conditionVal3Init = ?, "
-                + "conditionVal1 = ?, conditionVal2 = ?, conditionVal3 = ? "
-                + "WHERE id = ? AND step = ? AND `index` = ? AND test = ? AND testcase = ?";
+        final String query = QUERY_UPDATE;
 
         // Debug message on SQL.
         if (LOG.isDebugEnabled()) {
@@ -150,36 +157,9 @@ public class TestCaseStepExecutionDAO implements ITestCaseStepExecutionDAO {
 
         Connection connection = this.databaseSpring.connect();
         try {
-            Timestamp timeStart = new Timestamp(stepExecution.getStart());
-            Timestamp timeEnd = new Timestamp(stepExecution.getEnd());
-
             PreparedStatement preStat = connection.prepareStatement(query);
             try {
-                int i = 1;
-                DateFormat df = new SimpleDateFormat(DateUtil.DATE_FORMAT_TIMESTAMP);
-                preStat.setString(i++, ParameterParserUtil.parseStringParam(stepExecution.getReturnCode(), ""));
-                preStat.setTimestamp(i++, timeStart);
-                preStat.setString(i++, df.format(timeStart));
-                preStat.setTimestamp(i++, timeEnd);
-                preStat.setString(i++, df.format(timeEnd));
-                preStat.setFloat(i++, (timeEnd.getTime() - timeStart.getTime()) / (float) 1000);
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(stepExecution.getReturnMessage(), 65000), secrets));
-                preStat.setString(i++, StringUtil.secureFromSecrets(stepExecution.getDescription(), secrets));
-                preStat.setInt(i++, stepExecution.getSort());
-                preStat.setString(i++, stepExecution.getLoop());
-                preStat.setString(i++, stepExecution.getConditionOperator());
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(stepExecution.getConditionValue1Init(), 65000), secrets));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(stepExecution.getConditionValue2Init(), 65000), secrets));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(stepExecution.getConditionValue3Init(), 65000), secrets));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(stepExecution.getConditionValue1(), 65000), secrets));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(stepExecution.getConditionValue2(), 65000), secrets));
-                preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(stepExecution.getConditionValue3(), 65000), secrets));
-                preStat.setLong(i++, stepExecution.getId());
-                preStat.setInt(i++, stepExecution.getStepId());
-                preStat.setInt(i++, stepExecution.getIndex());
-                preStat.setString(i++, stepExecution.getTest());
-                preStat.setString(i++, stepExecution.getTestCase());
-
+                fillUpdateStatement(preStat, stepExecution, secrets);
                 preStat.executeUpdate();
             } catch (SQLException exception) {
                 LOG.error("Unable to execute query : " + exception.toString());
@@ -199,6 +179,33 @@ public class TestCaseStepExecutionDAO implements ITestCaseStepExecutionDAO {
         }
     }
 
+    @Override
+    public boolean updateTestCaseStepExecutionList(List<TestCaseStepExecution> stepExecutionList, HashMap<String, String> secrets) {
+        if (stepExecutionList.isEmpty()) {
+            return true;
+        }
+        final String query = QUERY_UPDATE;
+
+        // Debug message on SQL.
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("SQL : " + query);
+            LOG.debug("SQL.param.nb : " + stepExecutionList.size());
+        }
+
+        try (Connection connection = this.databaseSpring.connect();
+                PreparedStatement preStat = connection.prepareStatement(query)) {
+            for (TestCaseStepExecution stepExecution : stepExecutionList) {
+                fillUpdateStatement(preStat, stepExecution, secrets);
+                preStat.addBatch();
+            }
+            preStat.executeBatch();
+            return true;
+        } catch (SQLException exception) {
+            LOG.error("Unable to execute query : " + exception.toString());
+            return false;
+        }
+    }
+
     @Override
     public List<TestCaseStepExecution> findTestCaseStepExecutionById(long id) {
         List<TestCaseStepExecution> result = null;
@@ -352,4 +359,62 @@ public class TestCaseStepExecutionDAO implements ITestCaseStepExecutionDAO {
         String description = resultSet.getString("description");
         return factoryTestCaseStepExecution.create(id, test, testcase, stepId, index, sort, loop, conditionOperator, conditionValue1Init, conditionValue2Init, conditionValue3Init, conditionValue1, conditionValue2, conditionValue3, batNumExe, start, end, fullstart, fullend, timeelapsed, returnCode, returnMessage, description);
     }
+
+    private void fillInsertStatement(PreparedStatement preStat, TestCaseStepExecution stepExecution, HashMap<String, String> secrets) throws SQLException {
+        int i = 1;
+        preStat.setLong(i++, stepExecution.getId());
+        preStat.setString(i++, stepExecution.getTest());
+        preStat.setString(i++, stepExecution.getTestCase());
+        preStat.setInt(i++, stepExecution.getStepId());
+        preStat.setInt(i++, stepExecution.getIndex());
+        preStat.setInt(i++, stepExecution.getSort());
+        preStat.setString(i++, stepExecution.getLoop());
+        preStat.setString(i++, stepExecution.getBatNumExe());
+        preStat.setString(i++, stepExecution.getReturnCode());
+        preStat.setTimestamp(i++, new Timestamp(stepExecution.getStart()));
+        DateFormat df = new SimpleDateFormat(DateUtil.DATE_FORMAT_TIMESTAMP);
+        preStat.setString(i++, df.format(stepExecution.getStart()));
+        preStat.setTimestamp(i++, new Timestamp(stepExecution.getEnd()));
+        preStat.setString(i++, df.format(stepExecution.getEnd()));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(stepExecution.getReturnMessage(), 65000), secrets));
+        preStat.setString(i++, StringUtil.secureFromSecrets(stepExecution.getDescription(), secrets));
+        preStat.setString(i++, stepExecution.getConditionOperator());
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(stepExecution.getConditionValue1Init(), 65000), secrets));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(stepExecution.getConditionValue2Init(), 65000), secrets));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(stepExecution.getConditionValue3Init(), 65000), secrets));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(stepExecution.getConditionValue1(), 65000), secrets));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(stepExecution.getConditionValue2(), 65000), secrets));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(stepExecution.getConditionValue3(), 65000), secrets));
+    }
+
+    private void fillUpdateStatement(PreparedStatement preStat, TestCaseStepExecution stepExecution, HashMap<String, String> secrets) throws SQLException {
+        Timestamp timeStart = new Timestamp(stepExecution.getStart());
+        Timestamp timeEnd = new Timestamp(stepExecution.getEnd());
+
+        int i = 1;
+        DateFormat df = new SimpleDateFormat(DateUtil.DATE_FORMAT_TIMESTAMP);
+        preStat.setString(i++, ParameterParserUtil.parseStringParam(stepExecution.getReturnCode(), ""));
+        preStat.setTimestamp(i++, timeStart);
+        preStat.setString(i++, df.format(timeStart));
+        preStat.setTimestamp(i++, timeEnd);
+        preStat.setString(i++, df.format(timeEnd));
+        preStat.setFloat(i++, (timeEnd.getTime() - timeStart.getTime()) / (float) 1000);
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(stepExecution.getReturnMessage(), 65000), secrets));
+        preStat.setString(i++, StringUtil.secureFromSecrets(stepExecution.getDescription(), secrets));
+        preStat.setInt(i++, stepExecution.getSort());
+        preStat.setString(i++, stepExecution.getLoop());
+        preStat.setString(i++, stepExecution.getConditionOperator());
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(stepExecution.getConditionValue1Init(), 65000), secrets));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(stepExecution.getConditionValue2Init(), 65000), secrets));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(stepExecution.getConditionValue3Init(), 65000), secrets));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(stepExecution.getConditionValue1(), 65000), secrets));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(stepExecution.getConditionValue2(), 65000), secrets));
+        preStat.setString(i++, StringUtil.secureFromSecrets(StringUtil.getLeftString(stepExecution.getConditionValue3(), 65000), secrets));
+        preStat.setLong(i++, stepExecution.getId());
+        preStat.setInt(i++, stepExecution.getStepId());
+        preStat.setInt(i++, stepExecution.getIndex());
+        preStat.setString(i++, stepExecution.getTest());
+        preStat.setString(i++, stepExecution.getTestCase());
+    }
+
 }
@@ -0,0 +1,101 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.crud.entity;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable view of all the application objects of an application with the
+ * values that can be used inside a decoded string (%object.X.value%,
+ * %object.X.picturepath% and %object.X.pictureurl%) already calculated.
+ */
+public final class ApplicationObjectCatalog {
+
+    public static final String FIELD_VALUE = "value";
+    public static final String FIELD_PICTUREPATH = "picturepath";
+    public static final String FIELD_PICTUREURL = "pictureurl";
+
+    private final String system;
+    private final String application;
+    private final long version;
+    private final LocalDateTime created;
+    private final Map<String, Map<String, String>> objects;
+
+    /**
+     * @param system
+     * @param application
+     * @param version version of the application catalog at load time
+     * @param objectFields field values by object name and field
+     * (FIELD_VALUE, FIELD_PICTUREPATH, FIELD_PICTUREURL)
+     */
+    public ApplicationObjectCatalog(String system, String application, long version, Map<String, Map<String, String>> objectFields) {
+        this.system = system;
+        this.application = application;
+        this.version = version;
+        this.created = LocalDateTime.now();
+        Map<String, Map<String, String>> copy = new HashMap<>();
+        for (Map.Entry<String, Map<String, String>> entry : objectFields.entrySet()) {
+            copy.put(entry.getKey().toLowerCase(Locale.ROOT), Collections.unmodifiableMap(new HashMap<>(entry.getValue())));
+        }
+        this.objects = Collections.unmodifiableMap(copy);
+    }
+
+    /**
+     * @param object application object name
+     * @param field FIELD_VALUE, FIELD_PICTUREPATH or FIELD_PICTUREURL
+     * @return the value or null if the object or field does not exist.
+     */
+    public String getValue(String object, String field) {
+        if (object == null) {
+            return null;
+        }
+        Map<String, String> fields = objects.get(object.toLowerCase(Locale.ROOT));
+        return fields == null ? null : fields.get(field);
+    }
+
+    public boolean contains(String object) {
+        return object != null && objects.containsKey(object.toLowerCase(Locale.ROOT));
+    }
+
+    public int size() {
+        return objects.size();
+    }
+
+    public String getSystem() {
+        return system;
+    }
+
+    public String getApplication() {
+        return application;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public LocalDateTime getCreated() {
+        return created;
+    }
+
+}
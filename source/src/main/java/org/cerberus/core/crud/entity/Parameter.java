@@ -81,12 +81,21 @@ public class Parameter {
     public static final String VALUE_cerberus_xraydc_url = "cerberus_xraydc_url";
     public static final String VALUE_cerberus_xraydc_token = "cerberus_xraydc_token";
     public static final String VALUE_cerberus_sikuli_typeDelay = "cerberus_sikuli_typeDelay";
+    public static final String VALUE_cerberus_robot_sessionpool_active = "cerberus_robot_sessionpool_active";
+    public static final String VALUE_cerberus_robot_sessionpool_maxuse = "cerberus_robot_sessionpool_maxuse";
+    public static final String VALUE_cerberus_robot_sessionpool_idletimeout = "cerberus_robot_sessionpool_idletimeout";
 
     public static final String SECUREDPARAMINSQLCLAUSE = "(\"cerberus_accountcreation_defaultpassword\",\"cerberus_proxyauthentification_password\",\"cerberus_jenkinsadmin_password\","
             + "\"cerberus_smtp_password\",\"cerberus_executeCerberusCommand_password\",\"cerberus_xraycloud_clientsecret\",\"cerberus_xraycloud_clientid\",\"cerberus_xraydc_token\")";
 
     public static final Integer CACHE_DURATION = 60;
     public static final Integer SHORT_CACHE_DURATION = 2;
+    // Entries are refreshed by 1 thread that duration (in s) before they expire.
+    public static final Integer CACHE_REFRESHAHEAD_DURATION = 10;
+    public static final Integer CACHE_MAXSIZE = 2000;
+    // Period (in s) between 2 checks of parameter version changed by other Cerberus instances.
+    public static final Integer CACHE_VERSIONCHECK_DURATION = 5;
+    public static final String MYVERSION_PARAMETER_VERSION = "parameter_version";
 
     public LocalDateTime getCacheEntryCreation() {
         return cacheEntryCreation;
@@ -65,6 +65,14 @@ public class Tag {
     private int nbQU;
     private int nbQE;
     private int nbCA;
+    private int nbKOPrio1;
+    private int nbKOPrio2;
+    private int nbKOPrio3;
+    private int nbKOPrio4;
+    private int nbKOPrio5;
+    private int nbRetry;
+    // true when counters are maintained from tagresultdetail table.
+    private boolean resultAggregated;
     private int ciScore;
     private int ciScoreThreshold;
     private String ciResult;
@@ -91,6 +99,8 @@ public class Tag {
     // Outside Database Model
     @EqualsAndHashCode.Exclude
     private List<TestCaseExecution> executionsNew;
+    @EqualsAndHashCode.Exclude
+    private List<TagResultDetail> resultDetailList;
 
     public boolean hasSameKey(Tag obj) {
         if (obj == null) {
@@ -102,6 +112,72 @@ public class Tag {
         return Objects.equals(this.tag, obj.tag);
     }
 
+    /**
+     * Add (sign = 1) or remove (sign = -1) a declinaison result from the tag
+     * counters.
+     *
+     * @param detail
+     * @param sign
+     */
+    public void addResult(TagResultDetail detail, int sign) {
+        if (detail == null) {
+            return;
+        }
+        nbExeUsefull += sign;
+        nbRetry += sign * detail.getNbRetry();
+        switch (detail.getControlStatus()) {
+            case TestCaseExecution.CONTROLSTATUS_OK:
+                nbOK += sign;
+                break;
+            case TestCaseExecution.CONTROLSTATUS_KO:
+                nbKO += sign;
+                break;
+            case TestCaseExecution.CONTROLSTATUS_FA:
+                nbFA += sign;
+                break;
+            case TestCaseExecution.CONTROLSTATUS_NA:
+                nbNA += sign;
+                break;
+            case TestCaseExecution.CONTROLSTATUS_NE:
+                nbNE += sign;
+                break;
+            case TestCaseExecution.CONTROLSTATUS_WE:
+                nbWE += sign;
+                break;
+            case TestCaseExecution.CONTROLSTATUS_PE:
+                nbPE += sign;
+                break;
+            case TestCaseExecution.CONTROLSTATUS_QU:
+                nbQU += sign;
+                break;
+            case TestCaseExecution.CONTROLSTATUS_QE:
+                nbQE += sign;
+                break;
+            case TestCaseExecution.CONTROLSTATUS_CA:
+                nbCA += sign;
+                break;
+        }
+        if (detail.isNonOK()) {
+            switch (detail.getPriority()) {
+                case 1:
+                    nbKOPrio1 += sign;
+                    break;
+                case 2:
+                    nbKOPrio2 += sign;
+                    break;
+                case 3:
+                    nbKOPrio3 += sign;
+                    break;
+                case 4:
+                    nbKOPrio4 += sign;
+                    break;
+                case 5:
+                    nbKOPrio5 += sign;
+                    break;
+            }
+        }
+    }
+
     public JSONObject toJsonLight() {
         JSONObject result = new JSONObject();
         try {
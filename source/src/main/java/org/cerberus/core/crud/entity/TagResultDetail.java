@@ -0,0 +1,123 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.crud.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of a tag for 1 testcase declinaison (test, testcase, country,
+ * environment and robot declinaison). It keeps the data of the execution or
+ * queue entry that is considered as the last one for that declinaison (same
+ * rule as the one used by
+ * ITestCaseExecutionService.readLastExecutionAndExecutionInQueueByTag).
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class TagResultDetail {
+
+    private String tag;
+    private String test;
+    private String testCase;
+    private String country;
+    private String environment;
+    private String robotDecli;
+    private String system;
+    private String application;
+    private int priority;
+    private String controlStatus;
+    // Nb of executions done on that declinaison.
+    private int nbExecutions;
+    // Last execution done on that declinaison.
+    private long exeId;
+    private long exeStart;
+    // Queue entry that is the current result (0 if result comes from the last execution).
+    private long queueId;
+    private long start;
+    private long end;
+
+    public String getKey() {
+        return robotDecli + "_" + country + "_" + environment + "_" + test + "_" + testCase;
+    }
+
+    /**
+     * @return true if the detail is counted as a non OK result when
+     * calculating the CI score.
+     */
+    public boolean isNonOK() {
+        return !TestCaseExecution.CONTROLSTATUS_OK.equals(controlStatus)
+                && !TestCaseExecution.CONTROLSTATUS_NE.equals(controlStatus)
+                && !TestCaseExecution.CONTROLSTATUS_PE.equals(controlStatus)
+                && !TestCaseExecution.CONTROLSTATUS_QU.equals(controlStatus);
+    }
+
+    /**
+     * @return the nb of retries that were necessary on that declinaison.
+     */
+    public int getNbRetry() {
+        return (queueId == 0 && nbExecutions > 1) ? nbExecutions - 1 : 0;
+    }
+
+    /**
+     * Merge an execution (exeId > 0) or a queue entry (queueId > 0) into the
+     * current detail.
+     *
+     * @param incoming
+     * @return the new detail or null if the incoming data does not change the
+     * result.
+     */
+    public TagResultDetail merge(TagResultDetail incoming) {
+        TagResultDetail result = this.toBuilder().build();
+        if (incoming.getExeId() > 0) {
+            if (incoming.getExeId() < exeId) {
+                // Older execution, already replaced by a more recent one.
+                return null;
+            }
+            if (incoming.getExeId() > exeId) {
+                result.setNbExecutions(nbExecutions + 1);
+                result.setExeId(incoming.getExeId());
+                result.setExeStart(incoming.getStart());
+            }
+            if (queueId > 0 && incoming.getStart() < start) {
+                // Queue entry was requested after the execution started so it remains the result.
+                return result.equals(this) ? null : result;
+            }
+            result.setQueueId(0);
+        } else {
+            if (incoming.getQueueId() != queueId && incoming.getStart() <= exeStart) {
+                // Execution started after the queue entry request.
+                return null;
+            }
+            result.setQueueId(incoming.getQueueId());
+        }
+        result.setSystem(incoming.getSystem());
+        result.setApplication(incoming.getApplication());
+        result.setPriority(incoming.getPriority());
+        result.setControlStatus(incoming.getControlStatus());
+        result.setStart(incoming.getStart());
+        result.setEnd(incoming.getEnd());
+        return result.equals(this) ? null : result;
+    }
+
+}
@@ -47,7 +47,7 @@ import java.util.Objects;
 @Setter
 @EqualsAndHashCode
 @ToString
-@Builder
+@Builder(toBuilder = true)
 public class TestCaseCountryProperties {
 
     private String test;
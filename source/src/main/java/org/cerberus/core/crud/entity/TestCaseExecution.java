@@ -24,6 +24,7 @@ import org.apache.kafka.common.TopicPartition;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.cerberus.core.engine.entity.MessageGeneral;
+import org.cerberus.core.engine.entity.PropertyGraph;
 import org.cerberus.core.engine.entity.Selenium;
 import org.cerberus.core.engine.entity.Session;
 import org.cerberus.core.service.har.entity.NetworkTrafficIndex;
@@ -141,6 +142,8 @@ public class TestCaseExecution {
     // This is used to keep track of all property calculated within a step/action/control. It is reset each time we enter a step/action/control and the property name is added to the list each time it gets calculated. In case it was already asked for calculation, we stop the execution with FA message.
     private List<String> recursiveAlreadyCalculatedPropertiesList;
     private List<TestCaseCountryProperties> testCaseCountryPropertyList;
+    // Dependency graph of testCaseCountryPropertyList for the country of the execution (built on first property decode).
+    private PropertyGraph propertyGraph;
 
     // List of strings that needs to be secured and hidden from end users.
     private HashMap<String, String> secrets;
@@ -234,13 +237,13 @@ public class TestCaseExecution {
         this.networkTrafficIndexList.add(newIndex);
     }
 
-    public void appendSecret(String secret) {
+    public synchronized void appendSecret(String secret) {
         if (secret != null) {
             this.secrets.put(secret, "");
         }
     }
 
-    public void appendSecrets(List<String> secrets) {
+    public synchronized void appendSecrets(List<String> secrets) {
         secrets.forEach(secret -> {
             this.secrets.put(secret, "");
         });
@@ -289,6 +292,18 @@ public class TestCaseExecution {
      * @return TestCaseExecution in JSONObject format
      */
     public JSONObject toJson(boolean withChildren) {
+        return toJson(withChildren, true);
+    }
+
+    /**
+     * Convert the current TestCaseExecution into JSON format
+     *
+     * @param withChildren boolean that define if childs should be included
+     * @param withSteps boolean that define if step executions should be
+     * included (only used when withChildren is true)
+     * @return TestCaseExecution in JSONObject format
+     */
+    public JSONObject toJson(boolean withChildren, boolean withSteps) {
         JSONObject result = new JSONObject();
         try {
             result.put("type", "testCaseExecution");
@@ -349,12 +364,14 @@ public class TestCaseExecution {
             if (withChildren) {
                 // Looping on ** Step **
                 JSONArray array = new JSONArray();
-                if (this.getTestCaseStepExecutionList() != null) {
-                    for (TestCaseStepExecution testCaseStepExecution : this.getTestCaseStepExecutionList()) {
-                        array.put(testCaseStepExecution.toJson(true, false, this.getSecrets()));
+                if (withSteps) {
+                    if (this.getTestCaseStepExecutionList() != null) {
+                        for (TestCaseStepExecution testCaseStepExecution : this.getTestCaseStepExecutionList()) {
+                            array.put(testCaseStepExecution.toJson(true, false, this.getSecrets()));
+                        }
                     }
+                    result.put("testCaseStepExecutionList", array);
                 }
-                result.put("testCaseStepExecutionList", array);
 
                 array = new JSONArray();
                 if (this.getTestCaseExecutionQueueDepList() != null) {
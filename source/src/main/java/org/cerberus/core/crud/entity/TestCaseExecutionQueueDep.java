@@ -55,6 +55,8 @@ public class TestCaseExecutionQueueDep {
     public static final String STATUS_WAITING = "WAITING"; // Dependency is still open and waiting.
     public static final String STATUS_RELEASED = "RELEASED"; // Dependency has been released and no longuer block any executions.
 
+    private String exeControlStatus; // ControlStatus of the execution that released the dependency.
+
     private static final Logger LOG = LogManager.getLogger(TestCaseExecutionQueueDep.class);
 
     public long getId() {
@@ -200,6 +202,14 @@ public class TestCaseExecutionQueueDep {
     public void setDateModif(Timestamp dateModif) {
         this.dateModif = dateModif;
     }
+
+    public String getExeControlStatus() {
+        return exeControlStatus;
+    }
+
+    public void setExeControlStatus(String exeControlStatus) {
+        this.exeControlStatus = exeControlStatus;
+    }
     /**
      * Convert the current TestCaseExecution into JSON format
      *
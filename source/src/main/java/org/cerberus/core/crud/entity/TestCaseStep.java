@@ -36,7 +36,7 @@ import java.util.List;
  * @author bcivel
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -34,7 +34,7 @@ import java.util.List;
  * @author bcivel
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -33,7 +33,7 @@ import java.sql.Timestamp;
  * @author bcivel
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,63 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.crud.service;
+
+import org.cerberus.core.crud.entity.ApplicationObjectCatalog;
+import org.json.JSONArray;
+
+/**
+ * Cache of the application objects of each application used when decoding
+ * %object.X.Y% variables during executions.
+ */
+public interface IApplicationObjectCatalogService {
+
+    /**
+     * Get the catalog of the application, loading all its objects in a single
+     * query if not already in cache.
+     *
+     * @param system system of the application (used to calculate the picture
+     * urls)
+     * @param application
+     * @return the catalog (empty if the objects could not be read).
+     */
+    ApplicationObjectCatalog getCatalog(String system, String application);
+
+    /**
+     * Remove the catalog of the application. Must be called each time an
+     * application object of the application is created, updated or deleted.
+     *
+     * @param application
+     */
+    void purgeApplication(String application);
+
+    /**
+     * Remove all catalogs.
+     */
+    void purgeAllCacheEntries();
+
+    /**
+     * Return all cache Entry so that we can check from administration services
+     * all values.
+     *
+     * @return
+     */
+    JSONArray getAllCacheEntries();
+
+}
@@ -45,4 +45,15 @@ public interface IDocumentationService {
     List<Documentation> findAllWithEmptyDocLabel(String lang);
     
     JSONObject formatGroupByDocTable(List<Documentation> docList);
+
+    /**
+     * Remove the in memory labels used by findLabel and findLabelHTML (to be
+     * called when documentation table is refreshed).
+     */
+    void purgeCatalog();
+
+    /**
+     * @return the languages and number of labels currently in memory.
+     */
+    JSONObject getCatalogStatistics();
 }
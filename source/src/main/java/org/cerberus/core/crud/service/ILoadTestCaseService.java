@@ -23,6 +23,7 @@ import java.util.List;
 
 import org.cerberus.core.crud.entity.TestCase;
 import org.cerberus.core.crud.entity.TestCaseStep;
+import org.cerberus.core.exception.CerberusException;
 
 /**
  * @author bcivel
@@ -31,4 +32,16 @@ public interface ILoadTestCaseService {
 
     List<TestCaseStep> loadTestCaseStep(TestCase testCase);
 
+    /**
+     * Load the steps with their actions and controls of all the testcases
+     * (including the library steps they use) in a fixed number of queries.
+     * Steps are set on every testcase of the list. Steps of testcases that
+     * did not change since last load are taken from the testcase definition
+     * cache.
+     *
+     * @param testCaseList
+     * @throws CerberusException
+     */
+    void loadTestCaseStep(List<TestCase> testCaseList) throws CerberusException;
+
 }
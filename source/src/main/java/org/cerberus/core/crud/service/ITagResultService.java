@@ -0,0 +1,73 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.crud.service;
+
+import org.cerberus.core.crud.entity.Tag;
+import org.cerberus.core.crud.entity.TestCaseExecution;
+import org.cerberus.core.exception.CerberusException;
+
+/**
+ * Maintain the result of the tags (counters and last result of every
+ * declinaison) incrementally each time an execution or a queue entry
+ * changes.
+ */
+public interface ITagResultService {
+
+    /**
+     * Record the new status of an execution on its tag.
+     *
+     * @param exeId
+     * @param execution
+     */
+    void recordExecution(long exeId, TestCaseExecution execution);
+
+    /**
+     * Record the current state of a queue entry on its tag.
+     *
+     * @param queueId
+     */
+    void recordQueueEntry(long queueId);
+
+    /**
+     * Force the tag result to be rebuilt from executions and queue at next
+     * read.
+     *
+     * @param tag
+     */
+    void invalidate(String tag);
+
+    /**
+     * Force all tags that still have queued declinaisons to be rebuilt at
+     * next read (used after mass updates of the queue).
+     */
+    void invalidateWithQueuedResult();
+
+    /**
+     * Read the tag together with its result counters and declinaison
+     * results (tag.resultDetailList). Result is rebuilt if not aggregated
+     * yet.
+     *
+     * @param tag
+     * @return
+     * @throws CerberusException
+     */
+    Tag readResult(String tag) throws CerberusException;
+
+}
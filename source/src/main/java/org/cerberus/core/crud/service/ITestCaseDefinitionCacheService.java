@@ -0,0 +1,90 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.crud.service;
+
+import java.util.List;
+import org.cerberus.core.crud.entity.TestCase;
+import org.cerberus.core.crud.entity.TestCaseCountryProperties;
+import org.cerberus.core.crud.entity.TestCaseStep;
+import org.json.JSONArray;
+
+/**
+ * Cache of the testcase definitions (Steps with Actions and Controls and
+ * Properties) loaded from database and shared across executions.
+ */
+public interface ITestCaseDefinitionCacheService {
+
+    /**
+     * Get a copy of the Steps (with Actions and Controls) of the testcase.
+     *
+     * @param testCase
+     * @return null if the testcase is not in cache or if the cache entry is
+     * outdated (dateModif of the testcase changed).
+     */
+    List<TestCaseStep> getSteps(TestCase testCase);
+
+    /**
+     * Store a copy of the Steps of the testcase.
+     *
+     * @param testCase
+     * @param steps
+     */
+    void putSteps(TestCase testCase, List<TestCaseStep> steps);
+
+    /**
+     * Get a copy of the Properties of the testcase (all countries).
+     *
+     * @param testCase
+     * @return null if the testcase is not in cache or if the cache entry is
+     * outdated (dateModif of the testcase changed).
+     */
+    List<TestCaseCountryProperties> getProperties(TestCase testCase);
+
+    /**
+     * Store a copy of the Properties of the testcase (all countries).
+     *
+     * @param testCase
+     * @param properties
+     */
+    void putProperties(TestCase testCase, List<TestCaseCountryProperties> properties);
+
+    /**
+     * Remove the cache entries of the testcase and all cache entries of
+     * testcases that use a library step from that testcase.
+     *
+     * @param test
+     * @param testcase
+     */
+    void purgeTestCase(String test, String testcase);
+
+    /**
+     * Remove all cache entries.
+     */
+    void purgeAllCacheEntries();
+
+    /**
+     * Return all cache Entry so that we can check from administration services
+     * all values.
+     *
+     * @return
+     */
+    JSONArray getAllCacheEntries();
+
+}
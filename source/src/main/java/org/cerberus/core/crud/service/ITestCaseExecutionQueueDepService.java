@@ -48,6 +48,15 @@ public interface ITestCaseExecutionQueueDepService {
      */
     AnswerItem<Integer> insertFromTestCaseDep(long queueId, String env, String country, String tag, String test, String testcase);
 
+    /**
+     * Insert execution dependencies of all queueids from test case definition
+     * on the env, country and tag of each queue entry.
+     *
+     * @param queueIds
+     * @return the list of queueids that have at least 1 dependency.
+     */
+    AnswerList<Long> insertFromTestCaseDep(List<Long> queueIds);
+
     /**
      * Insert execution dependencies to queueid from existing ExeQueueId
      *
@@ -132,6 +141,19 @@ public interface ITestCaseExecutionQueueDepService {
      */
     void manageDependenciesEndOfQueueExecution(long idQueue);
 
+    /**
+     * Rebuild the in memory dependency graph from database and release the
+     * queue entries that no longer wait for any dependency.
+     */
+    void reconcileDependencies();
+
+    /**
+     * @return true if the in memory dependency graph is not loaded or not in
+     * line with database and must be reconciled without waiting for the next
+     * periodic reconciliation.
+     */
+    boolean isReconciliationRequired();
+
     /**
      *
      * @param answerItem
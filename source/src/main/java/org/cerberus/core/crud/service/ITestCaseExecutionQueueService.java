@@ -185,6 +185,18 @@ public interface ITestCaseExecutionQueueService {
      */
     AnswerItem<TestCaseExecutionQueue> create(TestCaseExecutionQueue object, boolean withNewDep, long exeQueue, TestCaseExecutionQueue.State targetState);
 
+    /**
+     * Create a list of brand new Queue entries on database with their new not
+     * RELEASED dependencies. Rows are inserted by batch so this is the method
+     * to use when a large number of entries are added at once. Id of every
+     * inserted entry is set.
+     *
+     * @param objectList  the {@link queue entry} list to Create
+     * @param targetState
+     * @return {@link AnswerList} with the entries that could be inserted
+     */
+    AnswerList<TestCaseExecutionQueue> createList(List<TestCaseExecutionQueue> objectList, TestCaseExecutionQueue.State targetState);
+
     /**
      * @param exeQueueId
      * @param tag
@@ -233,6 +245,16 @@ public interface ITestCaseExecutionQueueService {
      */
     Answer updateToQueuedFromQuWithDep(long id, String comment);
 
+    /**
+     * Move all the queue entries of the tag from QUWITHDEP to QUEUED.
+     *
+     * @param tag
+     * @param ids
+     * @param comment
+     * @return
+     */
+    Answer updateListToQueuedFromQuWithDep(String tag, List<Long> ids, String comment);
+
     /**
      * @param tag
      * @param queueIds
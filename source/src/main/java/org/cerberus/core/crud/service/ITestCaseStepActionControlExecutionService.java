@@ -39,12 +39,30 @@ public interface ITestCaseStepActionControlExecutionService {
      */
     void insertTestCaseStepActionControlExecution(TestCaseStepActionControlExecution testCaseStepActionControlExecution, HashMap<String, String> secrets);
 
+    /**
+     * Insert all the given executions in one batch.
+     *
+     * @param testCaseStepActionControlExecutionList
+     * @param secrets
+     * @return true if the batch was written
+     */
+    boolean insertTestCaseStepActionControlExecutionList(List<TestCaseStepActionControlExecution> testCaseStepActionControlExecutionList, HashMap<String, String> secrets);
+
     /**
      *
      * @param testCaseStepActionControlExecution
      * @param secrets
      */
     void updateTestCaseStepActionControlExecution(TestCaseStepActionControlExecution testCaseStepActionControlExecution, HashMap<String, String> secrets);
+
+    /**
+     * Update all the given executions in one batch.
+     *
+     * @param testCaseStepActionControlExecutionList
+     * @param secrets
+     * @return true if the batch was written
+     */
+    boolean updateTestCaseStepActionControlExecutionList(List<TestCaseStepActionControlExecution> testCaseStepActionControlExecutionList, HashMap<String, String> secrets);
     
     /**
      *
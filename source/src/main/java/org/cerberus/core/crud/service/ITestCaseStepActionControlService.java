@@ -19,6 +19,7 @@
  */
 package org.cerberus.core.crud.service;
 
+import org.cerberus.core.crud.entity.TestCase;
 import org.cerberus.core.crud.entity.TestCaseStepActionControl;
 import org.cerberus.core.exception.CerberusException;
 import org.cerberus.core.util.answer.Answer;
@@ -53,6 +54,15 @@ public interface ITestCaseStepActionControlService {
      */
     List<TestCaseStepActionControl> findControlByTestTestCaseStepIdActionId(String test, String testcase, int stepId, int actionId);
 
+    /**
+     * Get the controls of a list of testcases in a single query.
+     *
+     * @param testcases
+     * @return
+     * @throws CerberusException
+     */
+    List<TestCaseStepActionControl> findControlByTestCaseList(List<TestCase> testcases) throws CerberusException;
+
     /**
      *
      * @param test
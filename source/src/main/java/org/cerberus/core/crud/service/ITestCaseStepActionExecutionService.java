@@ -40,6 +40,15 @@ public interface ITestCaseStepActionExecutionService {
      */
     void insertTestCaseStepActionExecution(TestCaseStepActionExecution testCaseStepActionExecution, HashMap<String, String> secrets);
 
+    /**
+     * Insert all the given executions in one batch.
+     *
+     * @param testCaseStepActionExecutionList
+     * @param secrets
+     * @return true if the batch was written
+     */
+    boolean insertTestCaseStepActionExecutionList(List<TestCaseStepActionExecution> testCaseStepActionExecutionList, HashMap<String, String> secrets);
+
     /**
      *
      * @param testCaseStepActionExecution
@@ -47,6 +56,15 @@ public interface ITestCaseStepActionExecutionService {
      */
     void updateTestCaseStepActionExecution(TestCaseStepActionExecution testCaseStepActionExecution, HashMap<String, String> secrets);
 
+    /**
+     * Update all the given executions in one batch.
+     *
+     * @param testCaseStepActionExecutionList
+     * @param secrets
+     * @return true if the batch was written
+     */
+    boolean updateTestCaseStepActionExecutionList(List<TestCaseStepActionExecution> testCaseStepActionExecutionList, HashMap<String, String> secrets);
+
     /**
      *
      * @param id
@@ -19,6 +19,7 @@
  */
 package org.cerberus.core.crud.service;
 
+import org.cerberus.core.crud.entity.TestCase;
 import org.cerberus.core.crud.entity.TestCaseStepAction;
 import org.cerberus.core.exception.CerberusException;
 import org.cerberus.core.util.answer.Answer;
@@ -51,6 +52,15 @@ public interface ITestCaseStepActionService {
      */
     List<TestCaseStepAction> getListOfAction(String test, String testcase, int stepId);
 
+    /**
+     * Get the actions of a list of testcases in a single query.
+     *
+     * @param testcases
+     * @return
+     * @throws CerberusException
+     */
+    List<TestCaseStepAction> getListOfAction(List<TestCase> testcases) throws CerberusException;
+
     /**
      *
      * @param testCaseStepAction
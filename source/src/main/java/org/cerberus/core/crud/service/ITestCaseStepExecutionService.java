@@ -38,6 +38,15 @@ public interface ITestCaseStepExecutionService {
      */
     void insertTestCaseStepExecution(TestCaseStepExecution testCaseStepExecution, HashMap<String,String> secrets);
 
+    /**
+     * Insert all the given executions in one batch.
+     *
+     * @param testCaseStepExecutionList
+     * @param secrets
+     * @return true if the batch was written
+     */
+    boolean insertTestCaseStepExecutionList(List<TestCaseStepExecution> testCaseStepExecutionList, HashMap<String, String> secrets);
+
     /**
      *
      * @param testCaseStepExecution
@@ -45,6 +54,15 @@ public interface ITestCaseStepExecutionService {
      */
     void updateTestCaseStepExecution(TestCaseStepExecution testCaseStepExecution, HashMap<String,String> secrets);
 
+    /**
+     * Update all the given executions in one batch.
+     *
+     * @param testCaseStepExecutionList
+     * @param secrets
+     * @return true if the batch was written
+     */
+    boolean updateTestCaseStepExecutionList(List<TestCaseStepExecution> testCaseStepExecutionList, HashMap<String, String> secrets);
+
     /**
      *
      * @param id
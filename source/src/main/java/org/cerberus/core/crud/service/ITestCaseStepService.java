@@ -19,6 +19,7 @@
  */
 package org.cerberus.core.crud.service;
 
+import org.cerberus.core.crud.entity.TestCase;
 import org.cerberus.core.crud.entity.TestCaseStep;
 import org.cerberus.core.exception.CerberusException;
 import org.cerberus.core.util.answer.Answer;
@@ -41,6 +42,15 @@ public interface ITestCaseStepService {
      */
     List<TestCaseStep> getListOfSteps(String test, String testcase);
 
+    /**
+     * Get the steps of a list of testcases in a single query.
+     *
+     * @param testcases
+     * @return List of TestCaseStep sorted by test, testcase and sort
+     * @throws CerberusException
+     */
+    List<TestCaseStep> getListOfSteps(List<TestCase> testcases) throws CerberusException;
+
     /**
      * FindTestCaseStep
      *
@@ -61,6 +71,16 @@ public interface ITestCaseStepService {
      */
     TestCaseStep modifyTestCaseStepDataFromUsedStep(TestCaseStep masterStep);
 
+    /**
+     * Same as {@link #modifyTestCaseStepDataFromUsedStep(TestCaseStep)} but
+     * with the used step already loaded.
+     *
+     * @param masterStep
+     * @param usedStep
+     * @return masterStep but with data replaced from used step.
+     */
+    TestCaseStep modifyTestCaseStepDataFromUsedStep(TestCaseStep masterStep, TestCaseStep usedStep);
+
     /**
      *
      * @param tcsLeft
@@ -0,0 +1,177 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.crud.service.impl;
+
+import java.io.File;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.cerberus.core.crud.dao.IApplicationObjectDAO;
+import org.cerberus.core.crud.entity.ApplicationObject;
+import org.cerberus.core.crud.entity.ApplicationObjectCatalog;
+import org.cerberus.core.crud.service.IApplicationObjectCatalogService;
+import org.cerberus.core.crud.service.IParameterService;
+import org.cerberus.core.enums.MessageEventEnum;
+import org.cerberus.core.util.answer.AnswerList;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Catalogs of application objects by application. A catalog is loaded with a
+ * single query the first time an object of the application is decoded and is
+ * then used for all decodes until the application objects are changed (the
+ * ApplicationObject CRUD service purges the catalog and increases the version
+ * of the application so that a catalog loaded during the change is not kept).
+ * Catalogs also expire after CACHE_DURATION so that changes done from another
+ * Cerberus instance or on the picture parameters are taken into account.
+ */
+@Service
+public class ApplicationObjectCatalogService implements IApplicationObjectCatalogService {
+
+    private static final Logger LOG = LogManager.getLogger(ApplicationObjectCatalogService.class);
+
+    private static final String CONST_SEPARATOR = "////";
+
+    // Duration in second of a catalog.
+    public static final Integer CACHE_DURATION = 300;
+    // Max number of catalogs. Cache is cleared when reached.
+    public static final Integer CACHE_MAXSIZE = 500;
+
+    @Autowired
+    private IApplicationObjectDAO applicationObjectDAO;
+    @Autowired
+    private IParameterService parameterService;
+
+    private final Map<String, ApplicationObjectCatalog> catalogs = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    @Override
+    public ApplicationObjectCatalog getCatalog(String system, String application) {
+        String key = getKey(system, application);
+        long version = getVersion(application).get();
+        ApplicationObjectCatalog catalog = catalogs.get(key);
+        if (catalog != null
+                && catalog.getVersion() == version
+                && !catalog.getCreated().plusSeconds(CACHE_DURATION).isBefore(LocalDateTime.now())) {
+            return catalog;
+        }
+
+        catalog = loadCatalog(system, application, version);
+        if (catalog == null) {
+            // Not cached so that next decode retries from database.
+            return new ApplicationObjectCatalog(system, application, version, new HashMap<>());
+        }
+        if (catalogs.size() >= CACHE_MAXSIZE) {
+            LOG.debug("Application object catalog cache is full. Clearing it.");
+            catalogs.clear();
+        }
+        // Catalog is only kept if no object of the application changed while it was loaded.
+        if (getVersion(application).get() == version) {
+            catalogs.put(key, catalog);
+        }
+        return catalog;
+    }
+
+    /**
+     * @return the catalog or null if the application objects could not be read
+     * from database.
+     */
+    private ApplicationObjectCatalog loadCatalog(String system, String application, long version) {
+        Map<String, Map<String, String>> objects = new HashMap<>();
+        AnswerList<ApplicationObject> answer = applicationObjectDAO.readByApplication(application);
+        if (!answer.isCodeEquals(MessageEventEnum.DATA_OPERATION_OK.getCode()) || answer.getDataList() == null) {
+            LOG.warn("Could not load application objects of application '" + application + "' : " + answer.getMessageDescription());
+            return null;
+        }
+        String picturePath = parameterService.getParameterStringByKey("cerberus_applicationobject_path", "", "");
+        String cerberusUrl = parameterService.getParameterStringByKey("cerberus_url", system, "");
+        for (ApplicationObject ao : answer.getDataList()) {
+            Map<String, String> fields = new HashMap<>();
+            fields.put(ApplicationObjectCatalog.FIELD_VALUE, ao.getValue());
+            fields.put(ApplicationObjectCatalog.FIELD_PICTUREPATH, picturePath + File.separator + ao.getID() + File.separator + ao.getScreenshotFilename());
+            try {
+                fields.put(ApplicationObjectCatalog.FIELD_PICTUREURL, cerberusUrl
+                        + "/ReadApplicationObjectImage?application=" + URLEncoder.encode(ao.getApplication(), "UTF-8")
+                        + "&object=" + URLEncoder.encode(ao.getObject(), "UTF-8")
+                        + "#xoffset=" + ao.getXOffset() + "|yoffset=" + ao.getYOffset());
+            } catch (UnsupportedEncodingException ex) {
+                LOG.error("Error when encoding string in URL : ", ex);
+            }
+            objects.put(ao.getObject(), fields);
+        }
+        LOG.debug("Application object catalog of application '" + application + "' loaded with " + objects.size() + " object(s).");
+        return new ApplicationObjectCatalog(system, application, version, objects);
+    }
+
+    @Override
+    public void purgeApplication(String application) {
+        if (application == null) {
+            return;
+        }
+        getVersion(application).incrementAndGet();
+        catalogs.values().removeIf(catalog -> application.equals(catalog.getApplication()));
+        LOG.debug("Purged application object catalog of application '" + application + "'.");
+    }
+
+    @Override
+    public void purgeAllCacheEntries() {
+        versions.values().forEach(AtomicLong::incrementAndGet);
+        catalogs.clear();
+        LOG.info("All application object catalogs purged.");
+    }
+
+    @Override
+    public JSONArray getAllCacheEntries() {
+        JSONArray arrayResult = new JSONArray();
+        for (Map.Entry<String, ApplicationObjectCatalog> entry : catalogs.entrySet()) {
+            try {
+                JSONObject objEntry = new JSONObject();
+                objEntry.put("key", entry.getKey());
+                objEntry.put("size", entry.getValue().size());
+                objEntry.put("version", entry.getValue().getVersion());
+                objEntry.put("created", entry.getValue().getCreated().toString());
+                objEntry.put("durationFromCreatedInS", Duration.between(entry.getValue().getCreated(), LocalDateTime.now()).getSeconds());
+                arrayResult.put(objEntry);
+            } catch (JSONException ex) {
+                LOG.error(ex, ex);
+            }
+        }
+        return arrayResult;
+    }
+
+    private AtomicLong getVersion(String application) {
+        return versions.computeIfAbsent(application, k -> new AtomicLong());
+    }
+
+    private String getKey(String system, String application) {
+        return system + CONST_SEPARATOR + application;
+    }
+
+}
@@ -24,6 +24,7 @@ import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.LogManager;
 import org.cerberus.core.crud.dao.IApplicationObjectDAO;
 import org.cerberus.core.crud.entity.ApplicationObject;
+import org.cerberus.core.crud.service.IApplicationObjectCatalogService;
 import org.cerberus.core.crud.service.IApplicationObjectService;
 import org.cerberus.core.util.answer.Answer;
 import org.cerberus.core.util.answer.AnswerItem;
@@ -60,6 +61,8 @@ public class ApplicationObjectService implements IApplicationObjectService {
     private ITestCaseService testcaseService;
     @Autowired
     private ITestCaseCountryPropertiesService propertiesService;
+    @Autowired
+    private IApplicationObjectCatalogService applicationObjectCatalogService;
 
     private static final Logger LOG = LogManager.getLogger("ApplicationObjectService");
 
@@ -102,17 +105,23 @@ public class ApplicationObjectService implements IApplicationObjectService {
 
     @Override
     public Answer create(ApplicationObject object) {
-        return ApplicationObjectDAO.create(object);
+        Answer resp = ApplicationObjectDAO.create(object);
+        applicationObjectCatalogService.purgeApplication(object.getApplication());
+        return resp;
     }
 
     @Override
     public Answer delete(ApplicationObject object) {
-        return ApplicationObjectDAO.delete(object);
+        Answer resp = ApplicationObjectDAO.delete(object);
+        applicationObjectCatalogService.purgeApplication(object.getApplication());
+        return resp;
     }
 
     @Override
     public Answer update(String originalApplication, String originalObject, ApplicationObject object) {
         Answer resp = ApplicationObjectDAO.update(originalApplication, originalObject, object);
+        applicationObjectCatalogService.purgeApplication(originalApplication);
+        applicationObjectCatalogService.purgeApplication(object.getApplication());
         if (resp.isCodeEquals(MessageEventEnum.DATA_OPERATION_OK.getCode())) {
             if (originalObject != null && !originalObject.equals(object.getObject())) {
                 actionService.updateApplicationObject(originalApplication, originalObject, object.getObject());
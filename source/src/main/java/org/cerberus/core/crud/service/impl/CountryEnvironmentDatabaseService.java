@@ -23,6 +23,7 @@ import java.util.ArrayList;
 import java.util.List;
 import org.cerberus.core.crud.dao.ICountryEnvironmentDatabaseDAO;
 import org.cerberus.core.crud.entity.CountryEnvironmentDatabase;
+import org.cerberus.core.database.DatabaseSpring;
 import org.cerberus.core.engine.entity.MessageEvent;
 import org.cerberus.core.engine.entity.MessageGeneral;
 import org.cerberus.core.exception.CerberusException;
@@ -45,6 +46,8 @@ public class CountryEnvironmentDatabaseService implements ICountryEnvironmentDat
 
     @Autowired
     private ICountryEnvironmentDatabaseDAO countryEnvironmentDatabaseDao;
+    @Autowired
+    private DatabaseSpring databaseSpring;
 
     private final String OBJECT_NAME = "CountryEnvironmentDatabase";
 
@@ -67,16 +70,20 @@ public class CountryEnvironmentDatabaseService implements ICountryEnvironmentDat
 
     @Override
     public Answer create(CountryEnvironmentDatabase object) {
+        databaseSpring.invalidateExternalDataSource(object.getConnectionPoolName());
         return countryEnvironmentDatabaseDao.create(object);
     }
 
     @Override
     public Answer delete(CountryEnvironmentDatabase object) {
+        databaseSpring.invalidateExternalDataSource(object.getConnectionPoolName());
         return countryEnvironmentDatabaseDao.delete(object);
     }
 
     @Override
     public Answer update(CountryEnvironmentDatabase object) {
+        // Previous pool name is not known here so all datasources will be resolved again.
+        databaseSpring.invalidateAllExternalDataSources();
         return countryEnvironmentDatabaseDao.update(object);
     }
 
@@ -84,7 +91,7 @@ public class CountryEnvironmentDatabaseService implements ICountryEnvironmentDat
     public Answer createList(List<CountryEnvironmentDatabase> objectList) {
         Answer ans = new Answer(null);
         for (CountryEnvironmentDatabase objectToCreate : objectList) {
-            ans = countryEnvironmentDatabaseDao.create(objectToCreate);
+            ans = this.create(objectToCreate);
         }
         return ans;
     }
@@ -93,7 +100,7 @@ public class CountryEnvironmentDatabaseService implements ICountryEnvironmentDat
     public Answer deleteList(List<CountryEnvironmentDatabase> objectList) {
         Answer ans = new Answer(null);
         for (CountryEnvironmentDatabase objectToDelete : objectList) {
-            ans = countryEnvironmentDatabaseDao.delete(objectToDelete);
+            ans = this.delete(objectToDelete);
         }
         return ans;
     }
@@ -20,12 +20,20 @@
 package org.cerberus.core.crud.service.impl;
 
 import com.google.gson.Gson;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.cerberus.core.crud.dao.IDocumentationDAO;
 import org.cerberus.core.crud.entity.Documentation;
+import org.cerberus.core.crud.entity.MyVersion;
 import org.cerberus.core.crud.service.IDocumentationService;
+import org.cerberus.core.crud.service.IMyVersionService;
+import org.cerberus.core.database.DocumentationDatabaseService;
 import org.cerberus.core.util.StringUtil;
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -42,6 +50,30 @@ public class DocumentationService implements IDocumentationService {
     
     @Autowired
     private IDocumentationDAO documentationDAO;
+    @Autowired
+    private IMyVersionService myVersionService;
+
+    private static final String SEPARATOR = "////";
+    // Period in ms after which the documentation version is checked again (documentation can be refreshed by another Cerberus instance).
+    private static final long VERSION_CHECK_PERIOD_MS = 60000;
+
+    /**
+     * Labels (Documentation with empty DocValue) of one documentation version
+     * by language. Each language is loaded with a single query the first time
+     * it is used and is never modified afterwards.
+     */
+    private static final class Catalog {
+
+        private final String version;
+        private final Map<String, Map<String, Documentation>> labels = new ConcurrentHashMap<>();
+        private volatile long checkedAt = System.currentTimeMillis();
+
+        private Catalog(String version) {
+            this.version = version;
+        }
+    }
+
+    private volatile Catalog catalog;
 
     @Override
     public String findLabel(String docTable, String docField, String defaultLabel, String lang) {
@@ -49,7 +81,7 @@ public class DocumentationService implements IDocumentationService {
         StringBuilder label = new StringBuilder();
 
         String labelFromDB = "";
-        Documentation myDoc = this.documentationDAO.findDocumentationByKey(docTable, docField, "", lang);
+        Documentation myDoc = this.findLabelDocumentation(docTable, docField, lang);
 
         if (myDoc == null) {
             label.append("!!NoDoc!! ");
@@ -71,7 +103,7 @@ public class DocumentationService implements IDocumentationService {
         StringBuilder label = new StringBuilder();
 
         String labelFromDB = "";
-        Documentation myDoc = this.documentationDAO.findDocumentationByKey(docTable, docField, "", lang);
+        Documentation myDoc = this.findLabelDocumentation(docTable, docField, lang);
 
         if (myDoc == null) {
             label.append("!!NoDoc!! ");
@@ -101,6 +133,87 @@ public class DocumentationService implements IDocumentationService {
         return result;
     }
 
+    private Documentation findLabelDocumentation(String docTable, String docField, String lang) {
+        Map<String, Documentation> labels = getLabels(lang);
+        if (labels == null) {
+            // Labels could not be loaded, we read the label directly.
+            return this.documentationDAO.findDocumentationByKey(docTable, docField, "", lang);
+        }
+        return labels.get(getKey(docTable, docField));
+    }
+
+    private Map<String, Documentation> getLabels(String lang) {
+        if (lang == null) {
+            return null;
+        }
+        Catalog current = getCatalog();
+        Map<String, Documentation> labels = current.labels.get(lang);
+        if (labels == null) {
+            Map<String, Documentation> loaded = new HashMap<>();
+            for (Documentation doc : this.documentationDAO.findAllWithEmptyDocValue(lang)) {
+                loaded.putIfAbsent(getKey(doc.getDocTable(), doc.getDocField()), doc);
+            }
+            if (loaded.isEmpty()) {
+                // Database not available or unknown language.
+                return null;
+            }
+            labels = Collections.unmodifiableMap(loaded);
+            current.labels.putIfAbsent(lang, labels);
+            LOG.debug("Documentation labels loaded for lang '" + lang + "' : " + labels.size());
+        }
+        return labels;
+    }
+
+    private Catalog getCatalog() {
+        Catalog current = catalog;
+        long now = System.currentTimeMillis();
+        if (current == null || current.checkedAt + VERSION_CHECK_PERIOD_MS < now) {
+            synchronized (this) {
+                current = catalog;
+                if (current == null || current.checkedAt + VERSION_CHECK_PERIOD_MS < now) {
+                    MyVersion myVersion = myVersionService.findMyVersionByKey(DocumentationDatabaseService.MYVERSION_KEY);
+                    String version = (myVersion == null || myVersion.getValueString() == null) ? "" : myVersion.getValueString();
+                    if (current == null || !version.equals(current.version)) {
+                        current = new Catalog(version);
+                        catalog = current;
+                    } else {
+                        current.checkedAt = now;
+                    }
+                }
+            }
+        }
+        return current;
+    }
+
+    private static String getKey(String docTable, String docField) {
+        return (docTable + SEPARATOR + docField).toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public synchronized void purgeCatalog() {
+        catalog = null;
+        LOG.debug("Documentation labels purged.");
+    }
+
+    @Override
+    public JSONObject getCatalogStatistics() {
+        JSONObject stats = new JSONObject();
+        Catalog current = catalog;
+        try {
+            if (current != null) {
+                stats.put("version", current.version);
+                JSONObject langs = new JSONObject();
+                for (Map.Entry<String, Map<String, Documentation>> entry : current.labels.entrySet()) {
+                    langs.put(entry.getKey(), entry.getValue().size());
+                }
+                stats.put("labels", langs);
+            }
+        } catch (JSONException ex) {
+            LOG.warn(ex);
+        }
+        return stats;
+    }
+
     @Override
     public List<Documentation> findDocumentationsWithNotEmptyValueAndDescription(String docTable, String docField, String lang) {
         return this.documentationDAO.findDocumentationsWithNotEmptyValueAndDescription(docTable, docField, lang);
@@ -32,6 +32,7 @@ import org.cerberus.core.engine.entity.MessageEvent;
 import org.cerberus.core.engine.entity.MessageGeneral;
 import org.cerberus.core.enums.MessageEventEnum;
 import org.cerberus.core.enums.MessageGeneralEnum;
+import org.cerberus.core.event.impl.EventHookIndex;
 import org.cerberus.core.exception.CerberusException;
 import org.cerberus.core.util.answer.Answer;
 import org.cerberus.core.util.answer.AnswerItem;
@@ -49,6 +50,8 @@ public class EventHookService implements IEventHookService {
 
     @Autowired
     private IEventHookDAO eventHookDAO;
+    @Autowired
+    private EventHookIndex eventHookIndex;
 
     private static final Logger LOG = LogManager.getLogger("EventHookService");
 
@@ -94,12 +97,16 @@ public class EventHookService implements IEventHookService {
 
     @Override
     public Answer create(EventHook object) {
-        return eventHookDAO.create(object);
+        Answer ans = eventHookDAO.create(object);
+        eventHookIndex.invalidate();
+        return ans;
     }
 
     @Override
     public Answer delete(EventHook object) {
-        return eventHookDAO.delete(object);
+        Answer ans = eventHookDAO.delete(object);
+        eventHookIndex.invalidate();
+        return ans;
     }
 
     @Override
@@ -109,6 +116,7 @@ public class EventHookService implements IEventHookService {
             for (EventHook object : convert(readByCampaign(campaign))) {
                 ans = eventHookDAO.delete(object);
             }
+            eventHookIndex.invalidate();
             return ans;
         } catch (CerberusException ex) {
             LOG.error(ex.toString(), ex);
@@ -118,7 +126,9 @@ public class EventHookService implements IEventHookService {
 
     @Override
     public Answer update(EventHook object) {
-        return eventHookDAO.update(object);
+        Answer ans = eventHookDAO.update(object);
+        eventHookIndex.invalidate();
+        return ans;
     }
 
     @Override
@@ -159,6 +169,7 @@ public class EventHookService implements IEventHookService {
         for (EventHook objectToDelete : objectList) {
             ans = eventHookDAO.delete(objectToDelete);
         }
+        eventHookIndex.invalidate();
         return ans;
     }
 
@@ -177,6 +188,7 @@ public class EventHookService implements IEventHookService {
                 ans = eventHookDAO.create(objectToCreate);
 
             }
+            eventHookIndex.invalidate();
         }
         return ans;
     }
@@ -20,6 +20,8 @@
 package org.cerberus.core.crud.service.impl;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -32,9 +34,11 @@ import org.cerberus.core.crud.entity.TestCaseStepActionControl;
 import org.cerberus.core.crud.factory.IFactoryTestCaseStep;
 import org.cerberus.core.crud.service.ILoadTestCaseService;
 import org.cerberus.core.crud.service.ITestCaseCountryPropertiesService;
+import org.cerberus.core.crud.service.ITestCaseDefinitionCacheService;
 import org.cerberus.core.crud.service.ITestCaseStepActionControlService;
 import org.cerberus.core.crud.service.ITestCaseStepActionService;
 import org.cerberus.core.crud.service.ITestCaseStepService;
+import org.cerberus.core.exception.CerberusException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -46,6 +50,8 @@ public class LoadTestCaseService implements ILoadTestCaseService {
 
     private static final Logger LOG = LogManager.getLogger(TestCaseStepActionService.class);
 
+    private static final String CONST_SEPARATOR = "////";
+
     @Autowired
     private ITestCaseCountryPropertiesService testCaseCountryPropertiesService;
     @Autowired
@@ -55,6 +61,8 @@ public class LoadTestCaseService implements ILoadTestCaseService {
     @Autowired
     private ITestCaseStepActionControlService testCaseStepActionControlService;
     @Autowired
+    private ITestCaseDefinitionCacheService testCaseDefinitionCacheService;
+    @Autowired
     private IFactoryTestCaseStep factoryTCS;
 
     //@Override
@@ -67,6 +75,147 @@ public class LoadTestCaseService implements ILoadTestCaseService {
 
     @Override
     public List<TestCaseStep> loadTestCaseStep(TestCase testCase) {
+        List<TestCase> testCaseList = new ArrayList<>();
+        testCaseList.add(testCase);
+        try {
+            loadTestCaseStep(testCaseList);
+            return testCase.getSteps();
+        } catch (CerberusException ex) {
+            LOG.warn("Failed to load steps of testcase " + testCase.getTest() + " - " + testCase.getTestcase() + " in a single batch. Loading them one by one.", ex);
+        }
+        return loadTestCaseStepOneByOne(testCase);
+    }
+
+    @Override
+    public void loadTestCaseStep(List<TestCase> testCaseList) throws CerberusException {
+
+        // Steps of testcases already in cache are taken from there.
+        List<TestCase> testCaseToLoadList = new ArrayList<>();
+        for (TestCase testCase : testCaseList) {
+            List<TestCaseStep> steps = testCaseDefinitionCacheService.getSteps(testCase);
+            if (steps != null) {
+                testCase.setSteps(steps);
+            } else {
+                testCaseToLoadList.add(testCase);
+            }
+        }
+        if (testCaseToLoadList.isEmpty()) {
+            return;
+        }
+
+        loadTestCaseStepFromDatabase(testCaseToLoadList);
+        for (TestCase testCase : testCaseToLoadList) {
+            testCaseDefinitionCacheService.putSteps(testCase, testCase.getSteps());
+        }
+    }
+
+    private void loadTestCaseStepFromDatabase(List<TestCase> testCaseList) throws CerberusException {
+
+        // Loading the steps of all testcases.
+        List<TestCaseStep> allSteps = testCaseStepService.getListOfSteps(getDistinctTestCaseList(testCaseList));
+
+        // Loading the library steps used by those steps.
+        List<TestCase> libraryTestCaseList = new ArrayList<>();
+        for (TestCaseStep testCaseStep : allSteps) {
+            if (testCaseStep.isUsingLibraryStep()) {
+                libraryTestCaseList.add(TestCase.builder().test(testCaseStep.getLibraryStepTest()).testcase(testCaseStep.getLibraryStepTestcase()).build());
+            }
+        }
+        libraryTestCaseList = getDistinctTestCaseList(libraryTestCaseList);
+        HashMap<String, TestCaseStep> librarySteps = new HashMap<>();
+        if (!libraryTestCaseList.isEmpty()) {
+            for (TestCaseStep testCaseStep : testCaseStepService.getListOfSteps(libraryTestCaseList)) {
+                librarySteps.put(getKey(testCaseStep.getTest(), testCaseStep.getTestcase(), testCaseStep.getStepId()), testCaseStep);
+            }
+        }
+
+        // Loading all actions and controls of testcases and library testcases.
+        List<TestCase> actionTestCaseList = new ArrayList<>(testCaseList);
+        actionTestCaseList.addAll(libraryTestCaseList);
+        actionTestCaseList = getDistinctTestCaseList(actionTestCaseList);
+
+        HashMap<String, List<TestCaseStepAction>> actionsByStep = new HashMap<>();
+        for (TestCaseStepAction action : testCaseStepActionService.getListOfAction(actionTestCaseList)) {
+            actionsByStep.computeIfAbsent(getKey(action.getTest(), action.getTestcase(), action.getStepId()), k -> new ArrayList<>()).add(action);
+        }
+        HashMap<String, List<TestCaseStepActionControl>> controlsByAction = new HashMap<>();
+        for (TestCaseStepActionControl control : testCaseStepActionControlService.findControlByTestCaseList(actionTestCaseList)) {
+            controlsByAction.computeIfAbsent(getKey(control.getTest(), control.getTestcase(), control.getStepId()) + CONST_SEPARATOR + control.getActionId(), k -> new ArrayList<>()).add(control);
+        }
+
+        // Building the tree in memory.
+        HashMap<String, List<TestCaseStep>> stepsByTestCase = new HashMap<>();
+        for (TestCaseStep testCaseStep : allSteps) {
+            stepsByTestCase.computeIfAbsent(testCaseStep.getTest() + CONST_SEPARATOR + testCaseStep.getTestcase(), k -> new ArrayList<>()).add(testCaseStep);
+        }
+        for (TestCase testCase : testCaseList) {
+            List<TestCaseStep> result = new ArrayList<>();
+            List<TestCaseStep> steps = stepsByTestCase.get(testCase.getTest() + CONST_SEPARATOR + testCase.getTestcase());
+            if (steps != null) {
+                for (TestCaseStep testCaseStep : steps) {
+                    if (!testCaseStep.isUsingLibraryStep()) {
+                        testCaseStep.setActions(buildActions(testCaseStep,
+                                actionsByStep.get(getKey(testCaseStep.getTest(), testCaseStep.getTestcase(), testCaseStep.getStepId())), controlsByAction, false));
+                    } else {
+                        // Step is used from another testcase. Actions and controls are copied as the library step can be used several times.
+                        testCaseStep.setActions(buildActions(testCaseStep,
+                                actionsByStep.get(getKey(testCaseStep.getLibraryStepTest(), testCaseStep.getLibraryStepTestcase(), testCaseStep.getLibraryStepStepId())), controlsByAction, true));
+                        // Copy the usedStep property to main step. Loop and conditionOperator are taken from used step.
+                        testCaseStep = testCaseStepService.modifyTestCaseStepDataFromUsedStep(testCaseStep,
+                                librarySteps.get(getKey(testCaseStep.getLibraryStepTest(), testCaseStep.getLibraryStepTestcase(), testCaseStep.getLibraryStepStepId())));
+                    }
+                    result.add(testCaseStep);
+                }
+            }
+            testCase.setSteps(result);
+        }
+        LOG.debug("Steps of " + testCaseList.size() + " testcase(s) loaded with " + libraryTestCaseList.size() + " library testcase(s).");
+    }
+
+    private List<TestCaseStepAction> buildActions(TestCaseStep testCaseStep, List<TestCaseStepAction> actions, HashMap<String, List<TestCaseStepActionControl>> controlsByAction, boolean copy) {
+        List<TestCaseStepAction> result = new ArrayList<>();
+        if (actions == null) {
+            return result;
+        }
+        /**
+         * In case of useStep, print the test,testcase,step of the executed
+         * test instead of the used step
+         */
+        for (TestCaseStepAction action : actions) {
+            List<TestCaseStepActionControl> controls = controlsByAction.get(getKey(action.getTest(), action.getTestcase(), action.getStepId()) + CONST_SEPARATOR + action.getActionId());
+            TestCaseStepAction testCaseStepAction = copy ? action.toBuilder().build() : action;
+            List<TestCaseStepActionControl> tcsacList = new ArrayList<>();
+            if (controls != null) {
+                for (TestCaseStepActionControl control : controls) {
+                    TestCaseStepActionControl testCaseStepActionControl = copy ? control.toBuilder().build() : control;
+                    testCaseStepActionControl.setTest(testCaseStep.getTest());
+                    testCaseStepActionControl.setTestcase(testCaseStep.getTestcase());
+                    testCaseStepActionControl.setStepId(testCaseStep.getStepId());
+                    tcsacList.add(testCaseStepActionControl);
+                }
+            }
+            testCaseStepAction.setControls(tcsacList);
+            testCaseStepAction.setTest(testCaseStep.getTest());
+            testCaseStepAction.setTestcase(testCaseStep.getTestcase());
+            testCaseStepAction.setStepId(testCaseStep.getStepId());
+            result.add(testCaseStepAction);
+        }
+        return result;
+    }
+
+    private List<TestCase> getDistinctTestCaseList(List<TestCase> testCaseList) {
+        HashMap<String, TestCase> distinct = new LinkedHashMap<>();
+        for (TestCase testCase : testCaseList) {
+            distinct.putIfAbsent(testCase.getTest() + CONST_SEPARATOR + testCase.getTestcase(), testCase);
+        }
+        return new ArrayList<>(distinct.values());
+    }
+
+    private String getKey(String test, String testcase, Integer stepId) {
+        return test + CONST_SEPARATOR + testcase + CONST_SEPARATOR + stepId;
+    }
+
+    private List<TestCaseStep> loadTestCaseStepOneByOne(TestCase testCase) {
         List<TestCaseStep> result = new ArrayList<>();
         for (TestCaseStep testCaseStep : this.testCaseStepService.getListOfSteps(testCase.getTest(), testCase.getTestcase())) {
             /**
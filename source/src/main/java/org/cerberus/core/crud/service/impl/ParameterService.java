@@ -20,17 +20,22 @@
 package org.cerberus.core.crud.service.impl;
 
 import java.time.LocalDateTime;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.ConcurrentModificationException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.servlet.http.HttpServletRequest;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.LogManager;
 import org.cerberus.core.config.Property;
 import org.cerberus.core.crud.dao.IParameterDAO;
+import org.cerberus.core.crud.entity.MyVersion;
 import org.cerberus.core.crud.entity.Parameter;
 import org.cerberus.core.crud.factory.IFactoryParameter;
+import org.cerberus.core.crud.service.IMyVersionService;
 import org.cerberus.core.crud.service.IParameterService;
 import org.cerberus.core.engine.entity.MessageEvent;
 import org.cerberus.core.engine.queuemanagement.IExecutionThreadPoolService;
@@ -57,75 +62,100 @@ public class ParameterService implements IParameterService {
     private IFactoryParameter factoryParameter;
     @Autowired
     private IExecutionThreadPoolService executionThreadPoolService;
-
-    private HashMap<String, Parameter> cacheEntry = new HashMap<>();
+    @Autowired
+    private IMyVersionService myVersionService;
+
+    // Parameter cache entries. Read and written by all execution threads.
+    private final ConcurrentHashMap<String, Parameter> cacheEntry = new ConcurrentHashMap<>();
+    // Lock per cache key so that only 1 thread load a given parameter from database.
+    private final ConcurrentHashMap<String, Object> cacheLoadLock = new ConcurrentHashMap<>();
+    // Cache keys currently refreshed before their expiry.
+    private final Set<String> cacheRefreshing = ConcurrentHashMap.newKeySet();
+    // Incremented on every purge so that a value loaded before a purge is not inserted after it.
+    private final AtomicLong cacheGeneration = new AtomicLong(0);
+    // Parameter version (myversion table) seen by the instance. Changed by any instance that update a parameter.
+    private volatile String instanceParameterVersion = null;
+    private final AtomicLong lastParameterVersionCheck = new AtomicLong(0);
 
     private static final Logger LOG = LogManager.getLogger(ParameterService.class);
 
     @Override
     public HashMap<String, Parameter> getCacheEntry() {
-        return cacheEntry;
+        return new HashMap<>(cacheEntry);
     }
 
     @Override
     public void purgeCacheEntry(String parameter) {
+        cacheGeneration.incrementAndGet();
         if (StringUtil.isEmpty(parameter)) {
             cacheEntry.clear();
             LOG.debug("All Parameter cache entries purged.");
         } else {
-            try {
-                for (Map.Entry<String, Parameter> entry : cacheEntry.entrySet()) {
-                    String key = entry.getKey();
-                    Parameter value = entry.getValue();
-                    if (parameter == null || key.contains(parameter)) {
-                        cacheEntry.remove(key);
-                        LOG.debug("Purged Parameter " + key + " from cache entries.");
-
-                    }
+            cacheEntry.keySet().removeIf(key -> {
+                if (key.contains(parameter)) {
+                    LOG.debug("Purged Parameter " + key + " from cache entries.");
+                    return true;
                 }
-            } catch (ConcurrentModificationException e) {
-                // If we failed to removed the parameter entries (ConcurrentModificationException) , we purge everything ;-).
-                cacheEntry.clear();
-                LOG.debug("All Parameter cache entries purged. (specific parameter execution failed).");
-            }
+                return false;
+            });
         }
     }
 
     @Override
     public Parameter findParameterByKey(String key, String system) throws CerberusException {
-        Parameter myParameter;
         /**
          * We try to get the parameter using the system parameter but if it does
          * not exist or empty, we get it with system="" which correspond to the
          * default global Cerberus Parameter.
          */
-        LocalDateTime currentTime = LocalDateTime.now();
         String cacheKey = key + '#' + system;
-        if (cacheEntry == null) {
-            cacheEntry = new HashMap<>();
+
+        if (Parameter.CACHE_DURATION <= 0 || Parameter.VALUE_cerberus_queueexecution_enable.equals(key)) {
+            return loadParameter(key, system, cacheKey, false);
         }
 
-        /*
-        if (Parameter.SHORT_CACHE_DURATION > 0 && Parameter.VALUE_cerberus_splashpage_enable.equals(key)) {
-            if (cacheEntry.containsKey(cacheKey)
-                    && cacheEntry.get(cacheKey) != null
-                    && cacheEntry.get(cacheKey).getCacheEntryCreation() != null
-                    && cacheEntry.get(cacheKey).getCacheEntryCreation().plusSeconds(Parameter.SHORT_CACHE_DURATION).isAfter(currentTime)) {
-                LOG.debug("Return parameter from short cache Value.");
-                return cacheEntry.get(cacheKey);
+        checkParameterVersion();
+
+        LocalDateTime currentTime = LocalDateTime.now();
+        Parameter cachedParameter = cacheEntry.get(cacheKey);
+        if (isCacheEntryValid(cachedParameter, currentTime, 0)) {
+            if (!isCacheEntryValid(cachedParameter, currentTime, Parameter.CACHE_REFRESHAHEAD_DURATION) && cacheRefreshing.add(cacheKey)) {
+                // Entry will soon expire. Only this thread refresh it from database, the other ones keep the cached value.
+                try {
+                    LOG.debug("Refresh parameter cache Value.");
+                    return loadParameter(key, system, cacheKey, true);
+                } catch (CerberusException ex) {
+                    LOG.warn("Failed to refresh parameter : '" + key + "' for system : '" + system + "'. Cached value returned.", ex);
+                    return cachedParameter;
+                } finally {
+                    cacheRefreshing.remove(cacheKey);
+                }
             }
-        }*/
-
-        if (Parameter.CACHE_DURATION > 0 && !Parameter.VALUE_cerberus_queueexecution_enable.equals(key)) {
-            if (cacheEntry.containsKey(cacheKey)
-                    && cacheEntry.get(cacheKey) != null
-                    && cacheEntry.get(cacheKey).getCacheEntryCreation() != null
-                    && cacheEntry.get(cacheKey).getCacheEntryCreation().plusSeconds(Parameter.CACHE_DURATION).isAfter(currentTime)) {
-                LOG.debug("Return parameter from cache Value.");
-                return cacheEntry.get(cacheKey);
+            LOG.debug("Return parameter from cache Value.");
+            return cachedParameter;
+        }
+
+        // Entry does not exist or expired. Only 1 thread per key load it from database.
+        synchronized (cacheLoadLock.computeIfAbsent(cacheKey, k -> new Object())) {
+            cachedParameter = cacheEntry.get(cacheKey);
+            if (isCacheEntryValid(cachedParameter, LocalDateTime.now(), 0)) {
+                LOG.debug("Return parameter from cache Value (loaded by another thread).");
+                return cachedParameter;
             }
+            return loadParameter(key, system, cacheKey, true);
         }
+    }
 
+    private boolean isCacheEntryValid(Parameter parameter, LocalDateTime currentTime, int secondsBeforeExpiry) {
+        return parameter != null
+                && parameter.getCacheEntryCreation() != null
+                && parameter.getCacheEntryCreation().plusSeconds(Parameter.CACHE_DURATION - secondsBeforeExpiry).isAfter(currentTime);
+    }
+
+    private Parameter loadParameter(String key, String system, String cacheKey, boolean toCache) throws CerberusException {
+        Parameter myParameter;
+        LocalDateTime currentTime = LocalDateTime.now();
+        long generation = cacheGeneration.get();
         try {
             LOG.debug("Trying to retrieve parameter : " + key + " - [" + system + "]");
             myParameter = parameterDao.findParameterByKey(system, key);
@@ -135,21 +165,57 @@ public class ParameterService implements IParameterService {
         } catch (CerberusException ex) {
             LOG.debug("Trying to retrieve parameter (default value) : " + key + " - []");
             myParameter = parameterDao.findParameterByKey("", key);
-            if (myParameter != null) {
-                LOG.debug("Insert parameter to cache.");
-                myParameter.setCacheEntryCreation(currentTime);
-                cacheEntry.put(cacheKey, myParameter);
-            }
-            return myParameter;
         }
-        if (myParameter != null) {
+        if (myParameter != null && toCache && generation == cacheGeneration.get()) {
             LOG.debug("Insert parameter to cache.");
             myParameter.setCacheEntryCreation(currentTime);
+            if (cacheEntry.size() >= Parameter.CACHE_MAXSIZE) {
+                cacheEntry.clear();
+                LOG.debug("Parameter cache full. All entries purged.");
+            }
             cacheEntry.put(cacheKey, myParameter);
         }
         return myParameter;
     }
 
+    /**
+     * Purge the cache when the parameter version stored in database changed
+     * meaning that a parameter was updated from another Cerberus instance.
+     * Database is checked at most every CACHE_VERSIONCHECK_DURATION seconds.
+     */
+    private void checkParameterVersion() {
+        long now = System.currentTimeMillis();
+        long lastCheck = lastParameterVersionCheck.get();
+        if ((now - lastCheck) < (Parameter.CACHE_VERSIONCHECK_DURATION * 1000L) || !lastParameterVersionCheck.compareAndSet(lastCheck, now)) {
+            return;
+        }
+        try {
+            MyVersion databaseVersion = myVersionService.findMyVersionByKey(Parameter.MYVERSION_PARAMETER_VERSION);
+            if (databaseVersion != null && databaseVersion.getValueString() != null) {
+                if (instanceParameterVersion != null && !instanceParameterVersion.equals(databaseVersion.getValueString())) {
+                    LOG.info("Parameters changed from another instance. Purging Parameter cache entries.");
+                    purgeCacheEntry(null);
+                }
+                instanceParameterVersion = databaseVersion.getValueString();
+            }
+        } catch (Exception ex) {
+            LOG.warn("Failed to check parameter version.", ex);
+        }
+    }
+
+    /**
+     * Purge the parameter from the local cache and notify the other Cerberus
+     * instances (through the parameter version) that they must purge their
+     * cache.
+     */
+    private void purgeCacheEntryOnAllInstances(String parameter) {
+        purgeCacheEntry(parameter);
+        String newVersion = String.valueOf(new Date().getTime());
+        if (myVersionService.updateMyVersionString(Parameter.MYVERSION_PARAMETER_VERSION, newVersion)) {
+            instanceParameterVersion = newVersion;
+        }
+    }
+
     @Override
     public boolean getParameterBooleanByKey(String key, String system, boolean defaultValue) {
         Parameter myParameter;
@@ -273,8 +339,8 @@ public class ParameterService implements IParameterService {
         Answer answer = parameterDao.update(object);
         if (MessageEventEnum.DATA_OPERATION_OK.equals(answer.getResultMessage().getSource())) {
 
-            // A parameter is changed so we purge the cache.
-            purgeCacheEntry(object.getParam());
+            // A parameter is changed so we purge the cache (on all instances).
+            purgeCacheEntryOnAllInstances(object.getParam());
 
             // If we activate the parameter to active the job, we trigger it directly.
             if (Parameter.VALUE_cerberus_queueexecution_enable.equals(object.getParam()) && ParameterParserUtil.parseBooleanParam(object.getValue(), false)) {
@@ -294,8 +360,8 @@ public class ParameterService implements IParameterService {
         Answer answer = parameterDao.setParameter(parameterKey, system, value);
         if (MessageEventEnum.DATA_OPERATION_OK.equals(answer.getResultMessage().getSource())) {
 
-            // A parameter is changed so we purge the cache.
-            purgeCacheEntry(parameterKey);
+            // A parameter is changed so we purge the cache (on all instances).
+            purgeCacheEntryOnAllInstances(parameterKey);
 
             // If we activate the parameter to active the job, we trigger it directly.
             if (Parameter.VALUE_cerberus_queueexecution_enable.equals(parameterKey) && ParameterParserUtil.parseBooleanParam(value, false)) {
@@ -314,7 +380,7 @@ public class ParameterService implements IParameterService {
     public Answer create(Parameter object) {
         Answer answer = parameterDao.create(object);
         if (MessageEventEnum.DATA_OPERATION_OK.equals(answer.getResultMessage().getSource())) {
-            purgeCacheEntry(object.getParam());
+            purgeCacheEntryOnAllInstances(object.getParam());
         }
         return answer;
     }
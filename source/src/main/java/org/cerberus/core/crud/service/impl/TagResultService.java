@@ -0,0 +1,247 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.crud.service.impl;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.cerberus.core.crud.dao.ITagResultDetailDAO;
+import org.cerberus.core.crud.entity.Tag;
+import org.cerberus.core.crud.entity.TagResultDetail;
+import org.cerberus.core.crud.entity.TestCase;
+import org.cerberus.core.crud.entity.TestCaseExecution;
+import org.cerberus.core.crud.entity.TestCaseExecutionQueue;
+import org.cerberus.core.crud.service.ITagResultService;
+import org.cerberus.core.crud.service.ITagService;
+import org.cerberus.core.crud.service.ITestCaseExecutionQueueService;
+import org.cerberus.core.crud.service.ITestCaseExecutionService;
+import org.cerberus.core.crud.service.ITestCaseService;
+import org.cerberus.core.exception.CerberusException;
+import org.cerberus.core.util.StringUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Tag results are stored on tagresultdetail table (1 line per declinaison)
+ * and the counters are stored on tag table. Both are updated in 1 transaction
+ * each time an execution or a queue entry changes so that reading the result
+ * of a tag no longer requires to read and dedup all executions and queue
+ * entries of the tag. Changes that cannot be applied incrementally
+ * (cancellation, deletion, mass updates) flag the tag as not aggregated and
+ * the result is rebuilt from executions and queue at next read.
+ */
+@Service
+public class TagResultService implements ITagResultService {
+
+    private static final Logger LOG = LogManager.getLogger(TagResultService.class);
+
+    private static final int MAX_REBUILD_ATTEMPT = 3;
+    // Max number of running executions with a recorded status. Map is cleared when reached (executions that never ended would stay forever).
+    private static final int RECORDED_STATUS_MAXSIZE = 10000;
+
+    @Autowired
+    private ITagResultDetailDAO tagResultDetailDAO;
+    @Autowired
+    private ITagService tagService;
+    @Autowired
+    private ITestCaseService testCaseService;
+    @Autowired
+    private ITestCaseExecutionService testCaseExecutionService;
+    @Autowired
+    private ITestCaseExecutionQueueService testCaseExecutionQueueService;
+
+    // Last status recorded per running execution (executions are updated many times with the same status).
+    private final Map<Long, String> recordedExecutionStatus = new ConcurrentHashMap<>();
+
+    @Override
+    public void recordExecution(long exeId, TestCaseExecution execution) {
+        if (exeId <= 0 || StringUtil.isEmpty(execution.getTag()) || StringUtil.isEmpty(execution.getControlStatus())) {
+            return;
+        }
+        String status = execution.getControlStatus();
+        if (TestCaseExecution.CONTROLSTATUS_PE.equals(status)) {
+            if (recordedExecutionStatus.size() >= RECORDED_STATUS_MAXSIZE) {
+                LOG.debug("Recorded execution status map is full. Clearing it.");
+                recordedExecutionStatus.clear();
+            }
+            if (status.equals(recordedExecutionStatus.put(exeId, status))) {
+                return;
+            }
+        } else {
+            recordedExecutionStatus.remove(exeId);
+        }
+        TagResultDetail detail = toDetail(execution);
+        detail.setExeId(exeId);
+        detail.setExeStart(detail.getStart());
+        detail.setNbExecutions(1);
+        tagResultDetailDAO.applyResult(detail);
+    }
+
+    @Override
+    public void recordQueueEntry(long queueId) {
+        try {
+            TestCaseExecutionQueue entry = testCaseExecutionQueueService.readByKey(queueId, false).getItem();
+            if (entry == null || StringUtil.isEmpty(entry.getTag())) {
+                return;
+            }
+            switch (entry.getState()) {
+                case QUWITHDEP:
+                case QUEUED:
+                case WAITING:
+                case STARTING:
+                case ERROR:
+                    break;
+                case CANCELLED:
+                    // Previous execution of the declinaison (if any) becomes the result again.
+                    invalidate(entry.getTag());
+                    return;
+                default:
+                    // QUTEMP entries are not yet part of the tag and EXECUTING/DONE entries are replaced by their execution.
+                    return;
+            }
+            if (entry.getTestCaseObj() == null) {
+                TestCase testCase = testCaseService.readByKey(entry.getTest(), entry.getTestCase()).getItem();
+                entry.setTestCaseObj(testCase);
+            }
+            TestCaseExecution execution = testCaseExecutionQueueService.convertToTestCaseExecution(entry);
+            execution.setSystem(entry.getSystem());
+            if (StringUtil.isEmpty(execution.getApplication()) && entry.getTestCaseObj() != null) {
+                execution.setApplication(entry.getTestCaseObj().getApplication());
+            }
+            TagResultDetail detail = toDetail(execution);
+            detail.setQueueId(queueId);
+            tagResultDetailDAO.applyResult(detail);
+        } catch (Exception ex) {
+            LOG.warn("Could not record queue entry " + queueId + " on tag result.", ex);
+        }
+    }
+
+    @Override
+    public void invalidate(String tag) {
+        if (!StringUtil.isEmpty(tag)) {
+            tagResultDetailDAO.invalidate(tag);
+        }
+    }
+
+    @Override
+    public void invalidateWithQueuedResult() {
+        tagResultDetailDAO.invalidateWithQueuedResult();
+    }
+
+    @Override
+    public Tag readResult(String tag) throws CerberusException {
+        List<TagResultDetail> details = null;
+        for (int attempt = 0; attempt < MAX_REBUILD_ATTEMPT; attempt++) {
+            Tag myTag = tagService.convert(tagService.readByKey(tag));
+            if (myTag.isResultAggregated()) {
+                myTag.setResultDetailList(tagResultDetailDAO.readByTag(tag).getDataList());
+                return myTag;
+            }
+
+            LOG.debug("Rebuilding result of tag : " + tag);
+            long fromVersion = tagResultDetailDAO.readResultVersion(tag);
+            details = readDetailsFromExecutions(tag);
+            Tag counters = getCounters(details);
+            if (tagResultDetailDAO.replaceAll(tag, details, counters, fromVersion)) {
+                return copyResult(myTag, counters, details);
+            }
+        }
+        // Tag keeps changing during the rebuild. Result is calculated in memory from the last read.
+        LOG.info("Result of tag " + tag + " could not be saved after " + MAX_REBUILD_ATTEMPT + " attempts.");
+        Tag myTag = tagService.convert(tagService.readByKey(tag));
+        return copyResult(myTag, getCounters(details), details);
+    }
+
+    private List<TagResultDetail> readDetailsFromExecutions(String tag) throws CerberusException {
+        List<TestCaseExecution> executions;
+        try {
+            executions = testCaseExecutionService.readLastExecutionAndExecutionInQueueByTag(tag);
+        } catch (ParseException ex) {
+            LOG.error(ex, ex);
+            executions = new ArrayList<>();
+        }
+        List<TagResultDetail> details = new ArrayList<>();
+        for (TestCaseExecution execution : executions) {
+            TagResultDetail detail = toDetail(execution);
+            if (StringUtil.isEmpty(execution.getQueueState())) {
+                detail.setNbExecutions(execution.getNbExecutions() == null ? 1 : execution.getNbExecutions());
+                detail.setExeId(execution.getId());
+                detail.setExeStart(execution.getStart());
+            } else {
+                // Result comes from a queue entry.
+                detail.setQueueId(execution.getQueueID());
+            }
+            details.add(detail);
+        }
+        return details;
+    }
+
+    private TagResultDetail toDetail(TestCaseExecution execution) {
+        return TagResultDetail.builder()
+                .tag(execution.getTag())
+                .test(execution.getTest())
+                .testCase(execution.getTestCase())
+                .country(execution.getCountry())
+                .environment(execution.getEnvironment())
+                .robotDecli(StringUtil.isEmpty(execution.getRobotDecli()) ? "" : execution.getRobotDecli())
+                .system(execution.getSystem())
+                .application(execution.getApplication())
+                .priority(execution.getTestCaseObj() == null ? 0 : execution.getTestCaseObj().getPriority())
+                .controlStatus(execution.getControlStatus())
+                .start(execution.getStart())
+                .end(execution.getEnd())
+                .build();
+    }
+
+    private Tag getCounters(List<TagResultDetail> details) {
+        Tag counters = new Tag();
+        for (TagResultDetail detail : details) {
+            counters.addResult(detail, 1);
+        }
+        return counters;
+    }
+
+    private Tag copyResult(Tag myTag, Tag counters, List<TagResultDetail> details) {
+        myTag.setNbExeUsefull(counters.getNbExeUsefull());
+        myTag.setNbOK(counters.getNbOK());
+        myTag.setNbKO(counters.getNbKO());
+        myTag.setNbFA(counters.getNbFA());
+        myTag.setNbNA(counters.getNbNA());
+        myTag.setNbNE(counters.getNbNE());
+        myTag.setNbWE(counters.getNbWE());
+        myTag.setNbPE(counters.getNbPE());
+        myTag.setNbQU(counters.getNbQU());
+        myTag.setNbQE(counters.getNbQE());
+        myTag.setNbCA(counters.getNbCA());
+        myTag.setNbKOPrio1(counters.getNbKOPrio1());
+        myTag.setNbKOPrio2(counters.getNbKOPrio2());
+        myTag.setNbKOPrio3(counters.getNbKOPrio3());
+        myTag.setNbKOPrio4(counters.getNbKOPrio4());
+        myTag.setNbKOPrio5(counters.getNbKOPrio5());
+        myTag.setNbRetry(counters.getNbRetry());
+        myTag.setResultDetailList(details);
+        return myTag;
+    }
+
+}
@@ -198,6 +198,7 @@ public class TagService implements ITagService {
             mytag.setSystemList(sortJsonArray(jsonResponse.getJSONArray("system_list")).toString());
             mytag.setApplicationList(sortJsonArray(jsonResponse.getJSONArray("application_list")).toString());
 
+            // Counters are only used for the event payload, the tag row counters are maintained incrementally by the tag result.
             mytag.setNbOK(jsonResponse.getInt("status_OK_nbOfExecution"));
             mytag.setNbKO(jsonResponse.getInt("status_KO_nbOfExecution"));
             mytag.setNbFA(jsonResponse.getInt("status_FA_nbOfExecution"));
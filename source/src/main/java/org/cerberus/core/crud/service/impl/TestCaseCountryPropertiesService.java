@@ -32,6 +32,7 @@ import org.cerberus.core.crud.factory.IFactoryTestCase;
 import org.cerberus.core.crud.service.IInvariantService;
 import org.cerberus.core.crud.service.IParameterService;
 import org.cerberus.core.crud.service.ITestCaseCountryPropertiesService;
+import org.cerberus.core.crud.service.ITestCaseDefinitionCacheService;
 import org.cerberus.core.crud.service.ITestCaseDepService;
 import org.cerberus.core.crud.service.ITestCaseService;
 import org.cerberus.core.database.DatabaseSpring;
@@ -74,6 +75,8 @@ public class TestCaseCountryPropertiesService implements ITestCaseCountryPropert
     IInvariantService invariantService;
     @Autowired
     IFactoryTestCase factoryTestCase;
+    @Autowired
+    ITestCaseDefinitionCacheService testCaseDefinitionCacheService;
 
     private final String OBJECT_NAME = "TestCaseCountryProperties";
     private static final String SEPARATOR = "%#/";
@@ -172,6 +175,7 @@ public class TestCaseCountryPropertiesService implements ITestCaseCountryPropert
     @Override
     public void insertTestCaseCountryProperties(TestCaseCountryProperties testCaseCountryProperties) throws CerberusException {
         testCaseCountryPropertiesDAO.insertTestCaseCountryProperties(testCaseCountryProperties);
+        testCaseDefinitionCacheService.purgeTestCase(testCaseCountryProperties.getTest(), testCaseCountryProperties.getTestcase());
     }
 
     @Override
@@ -190,6 +194,7 @@ public class TestCaseCountryPropertiesService implements ITestCaseCountryPropert
     @Override
     public void updateTestCaseCountryProperties(TestCaseCountryProperties testCaseCountryProperties) throws CerberusException {
         testCaseCountryPropertiesDAO.updateTestCaseCountryProperties(testCaseCountryProperties);
+        testCaseDefinitionCacheService.purgeTestCase(testCaseCountryProperties.getTest(), testCaseCountryProperties.getTestcase());
     }
 
     @Override
@@ -202,6 +207,7 @@ public class TestCaseCountryPropertiesService implements ITestCaseCountryPropert
         } catch (CerberusException ex) {
             LOG.warn(ex, ex);
         }
+        testCaseDefinitionCacheService.purgeAllCacheEntries();
     }
 
     @Override
@@ -219,6 +225,7 @@ public class TestCaseCountryPropertiesService implements ITestCaseCountryPropert
     @Override
     public void deleteTestCaseCountryProperties(TestCaseCountryProperties tccp) throws CerberusException {
         testCaseCountryPropertiesDAO.deleteTestCaseCountryProperties(tccp);
+        testCaseDefinitionCacheService.purgeTestCase(tccp.getTest(), tccp.getTestcase());
     }
 
     @Override
@@ -253,8 +260,13 @@ public class TestCaseCountryPropertiesService implements ITestCaseCountryPropert
             List<TestCaseCountryProperties> tccpListPerCountry = new ArrayList<>();
 
             for (TestCase tcase : tcList) {
-                tccpList.addAll(testCaseCountryPropertiesDAO.findListOfPropertyPerTestTestCase(tcase.getTest(), tcase.getTestcase()));
-                tccpListPerCountry.addAll(testCaseCountryPropertiesDAO.findListOfPropertyPerTestTestCaseCountry(tcase.getTest(), tcase.getTestcase(), country));
+                List<TestCaseCountryProperties> tcaseProperties = findListOfPropertyPerTestCaseWithCache(tcase);
+                tccpList.addAll(tcaseProperties);
+                for (TestCaseCountryProperties tccp : tcaseProperties) {
+                    if (country.equals(tccp.getCountry())) {
+                        tccpListPerCountry.add(tccp);
+                    }
+                }
             }
 
             //Keep only one property by name
@@ -281,7 +293,7 @@ public class TestCaseCountryPropertiesService implements ITestCaseCountryPropert
 
             // find all properties of those TC
             for (TestCase tcase : tcList) {
-                tccpList.addAll(testCaseCountryPropertiesDAO.findListOfPropertyPerTestTestCase(tcase.getTest(), tcase.getTestcase()));
+                tccpList.addAll(findListOfPropertyPerTestCaseWithCache(tcase));
             }
 
             /**
@@ -316,6 +328,19 @@ public class TestCaseCountryPropertiesService implements ITestCaseCountryPropert
         }
     }
 
+    /**
+     * Properties (all countries) of the testcase taken from the testcase
+     * definition cache when the testcase did not change since last load.
+     */
+    private List<TestCaseCountryProperties> findListOfPropertyPerTestCaseWithCache(TestCase testCase) throws CerberusException {
+        List<TestCaseCountryProperties> result = testCaseDefinitionCacheService.getProperties(testCase);
+        if (result == null) {
+            result = testCaseCountryPropertiesDAO.findListOfPropertyPerTestTestCase(testCase.getTest(), testCase.getTestcase());
+            testCaseDefinitionCacheService.putProperties(testCase, result);
+        }
+        return result;
+    }
+
     @Override
     public AnswerList<TestListDTO> findTestCaseCountryPropertiesByValue1(int testDataLibID, String name, String country, String propertyType) {
         return testCaseCountryPropertiesDAO.findTestCaseCountryPropertiesByValue1(testDataLibID, name, country, propertyType);
@@ -326,6 +351,9 @@ public class TestCaseCountryPropertiesService implements ITestCaseCountryPropert
 
         dbmanager.beginTransaction();
         Answer answer = testCaseCountryPropertiesDAO.createTestCaseCountryPropertiesBatch(objectList);
+        for (TestCaseCountryProperties object : objectList) {
+            testCaseDefinitionCacheService.purgeTestCase(object.getTest(), object.getTestcase());
+        }
 
         if (!answer.isCodeEquals(MessageEventEnum.DATA_OPERATION_OK.getCode())) {
             dbmanager.abortTransaction();
@@ -337,17 +365,23 @@ public class TestCaseCountryPropertiesService implements ITestCaseCountryPropert
 
     @Override
     public Answer create(TestCaseCountryProperties object) {
-        return testCaseCountryPropertiesDAO.create(object);
+        Answer ans = testCaseCountryPropertiesDAO.create(object);
+        testCaseDefinitionCacheService.purgeTestCase(object.getTest(), object.getTestcase());
+        return ans;
     }
 
     @Override
     public Answer delete(TestCaseCountryProperties object) {
-        return testCaseCountryPropertiesDAO.delete(object);
+        Answer ans = testCaseCountryPropertiesDAO.delete(object);
+        testCaseDefinitionCacheService.purgeTestCase(object.getTest(), object.getTestcase());
+        return ans;
     }
 
     @Override
     public Answer update(TestCaseCountryProperties object) {
-        return testCaseCountryPropertiesDAO.update(object);
+        Answer ans = testCaseCountryPropertiesDAO.update(object);
+        testCaseDefinitionCacheService.purgeTestCase(object.getTest(), object.getTestcase());
+        return ans;
     }
 
     @Override
@@ -355,6 +389,7 @@ public class TestCaseCountryPropertiesService implements ITestCaseCountryPropert
         Answer ans = new Answer(null);
         for (TestCaseCountryProperties objectToCreate : objectList) {
             ans = testCaseCountryPropertiesDAO.create(objectToCreate);
+            testCaseDefinitionCacheService.purgeTestCase(objectToCreate.getTest(), objectToCreate.getTestcase());
         }
         return ans;
     }
@@ -364,6 +399,7 @@ public class TestCaseCountryPropertiesService implements ITestCaseCountryPropert
         Answer ans = new Answer(null);
         for (TestCaseCountryProperties objectToDelete : objectList) {
             ans = testCaseCountryPropertiesDAO.delete(objectToDelete);
+            testCaseDefinitionCacheService.purgeTestCase(objectToDelete.getTest(), objectToDelete.getTestcase());
         }
         return ans;
     }
@@ -0,0 +1,226 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.crud.service.impl;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.cerberus.core.crud.entity.TestCase;
+import org.cerberus.core.crud.entity.TestCaseCountryProperties;
+import org.cerberus.core.crud.entity.TestCaseStep;
+import org.cerberus.core.crud.entity.TestCaseStepAction;
+import org.cerberus.core.crud.entity.TestCaseStepActionControl;
+import org.cerberus.core.crud.service.ITestCaseDefinitionCacheService;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.springframework.stereotype.Service;
+
+/**
+ * Shared cache of testcase definitions (Steps and Properties) loaded from
+ * database. Entries are stored with the dateModif of the testcase (updated
+ * each time the testcase is saved) and are purged by the CRUD services when
+ * the testcase, its steps, actions, controls or properties are changed. Entries also expire
+ * after CACHE_DURATION so that changes done on library steps from another
+ * Cerberus instance are taken into account. Objects are copied when stored
+ * and when returned so that executions never share the cached instances.
+ */
+@Service
+public class TestCaseDefinitionCacheService implements ITestCaseDefinitionCacheService {
+
+    private static final Logger LOG = LogManager.getLogger(TestCaseDefinitionCacheService.class);
+
+    private static final String CONST_SEPARATOR = "////";
+
+    // Duration in second of a cache entry.
+    public static final Integer CACHE_DURATION = 300;
+    // Max number of entries per cache. Cache is cleared when reached.
+    public static final Integer CACHE_MAXSIZE = 2000;
+
+    private final Map<String, CacheEntry<TestCaseStep>> stepCache = new ConcurrentHashMap<>();
+    private final Map<String, CacheEntry<TestCaseCountryProperties>> propertyCache = new ConcurrentHashMap<>();
+
+    @Override
+    public List<TestCaseStep> getSteps(TestCase testCase) {
+        CacheEntry<TestCaseStep> entry = getValidEntry(stepCache, testCase);
+        if (entry == null) {
+            return null;
+        }
+        LOG.debug("Steps of testcase " + testCase.getTest() + " - " + testCase.getTestcase() + " returned from cache.");
+        return copySteps(entry.values);
+    }
+
+    @Override
+    public void putSteps(TestCase testCase, List<TestCaseStep> steps) {
+        if (steps == null) {
+            return;
+        }
+        Set<String> dependencies = new HashSet<>();
+        for (TestCaseStep step : steps) {
+            if (step.isUsingLibraryStep()) {
+                dependencies.add(getKey(step.getLibraryStepTest(), step.getLibraryStepTestcase()));
+            }
+        }
+        putEntry(stepCache, testCase, copySteps(steps), dependencies);
+    }
+
+    @Override
+    public List<TestCaseCountryProperties> getProperties(TestCase testCase) {
+        CacheEntry<TestCaseCountryProperties> entry = getValidEntry(propertyCache, testCase);
+        if (entry == null) {
+            return null;
+        }
+        LOG.debug("Properties of testcase " + testCase.getTest() + " - " + testCase.getTestcase() + " returned from cache.");
+        return copyProperties(entry.values);
+    }
+
+    @Override
+    public void putProperties(TestCase testCase, List<TestCaseCountryProperties> properties) {
+        if (properties == null) {
+            return;
+        }
+        putEntry(propertyCache, testCase, copyProperties(properties), new HashSet<>());
+    }
+
+    @Override
+    public void purgeTestCase(String test, String testcase) {
+        String key = getKey(test, testcase);
+        purgeKey(stepCache, key);
+        purgeKey(propertyCache, key);
+        LOG.debug("Purged testcase " + key + " from definition cache entries.");
+    }
+
+    @Override
+    public void purgeAllCacheEntries() {
+        stepCache.clear();
+        propertyCache.clear();
+        LOG.info("All testcase definition cache entries purged.");
+    }
+
+    @Override
+    public JSONArray getAllCacheEntries() {
+        JSONArray arrayResult = new JSONArray();
+        putCacheEntries(arrayResult, stepCache, "steps");
+        putCacheEntries(arrayResult, propertyCache, "properties");
+        return arrayResult;
+    }
+
+    private <T> void putCacheEntries(JSONArray arrayResult, Map<String, CacheEntry<T>> cache, String type) {
+        for (Map.Entry<String, CacheEntry<T>> entry : cache.entrySet()) {
+            try {
+                JSONObject objEntry = new JSONObject();
+                objEntry.put("key", entry.getKey());
+                objEntry.put("type", type);
+                objEntry.put("size", entry.getValue().values.size());
+                objEntry.put("dateModif", String.valueOf(entry.getValue().dateModif));
+                objEntry.put("created", entry.getValue().created.toString());
+                objEntry.put("durationFromCreatedInS", Duration.between(entry.getValue().created, LocalDateTime.now()).getSeconds());
+                arrayResult.put(objEntry);
+            } catch (JSONException ex) {
+                LOG.error(ex, ex);
+            }
+        }
+    }
+
+    private <T> CacheEntry<T> getValidEntry(Map<String, CacheEntry<T>> cache, TestCase testCase) {
+        String key = getKey(testCase.getTest(), testCase.getTestcase());
+        CacheEntry<T> entry = cache.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.created.plusSeconds(CACHE_DURATION).isBefore(LocalDateTime.now())
+                || (testCase.getDateModif() != null && !Objects.equals(testCase.getDateModif(), entry.dateModif))) {
+            // Entry expired or testcase changed since the entry was created.
+            cache.remove(key, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    private <T> void putEntry(Map<String, CacheEntry<T>> cache, TestCase testCase, List<T> values, Set<String> dependencies) {
+        if (cache.size() >= CACHE_MAXSIZE) {
+            LOG.debug("Testcase definition cache is full. Clearing it.");
+            cache.clear();
+        }
+        cache.put(getKey(testCase.getTest(), testCase.getTestcase()), new CacheEntry<>(testCase.getDateModif(), values, dependencies));
+    }
+
+    private <T> void purgeKey(Map<String, CacheEntry<T>> cache, String key) {
+        cache.remove(key);
+        cache.entrySet().removeIf(entry -> entry.getValue().dependencies.contains(key));
+    }
+
+    private List<TestCaseStep> copySteps(List<TestCaseStep> steps) {
+        List<TestCaseStep> result = new ArrayList<>();
+        for (TestCaseStep step : steps) {
+            List<TestCaseStepAction> actions = new ArrayList<>();
+            if (step.getActions() != null) {
+                for (TestCaseStepAction action : step.getActions()) {
+                    List<TestCaseStepActionControl> controls = new ArrayList<>();
+                    if (action.getControls() != null) {
+                        for (TestCaseStepActionControl control : action.getControls()) {
+                            controls.add(control.toBuilder().build());
+                        }
+                    }
+                    actions.add(action.toBuilder().controls(controls).build());
+                }
+            }
+            result.add(step.toBuilder().actions(actions).build());
+        }
+        return result;
+    }
+
+    private List<TestCaseCountryProperties> copyProperties(List<TestCaseCountryProperties> properties) {
+        List<TestCaseCountryProperties> result = new ArrayList<>();
+        for (TestCaseCountryProperties property : properties) {
+            result.add(property.toBuilder().build());
+        }
+        return result;
+    }
+
+    private String getKey(String test, String testcase) {
+        return test + CONST_SEPARATOR + testcase;
+    }
+
+    private static final class CacheEntry<T> {
+
+        private final Timestamp dateModif;
+        private final LocalDateTime created;
+        private final List<T> values;
+        private final Set<String> dependencies;
+
+        private CacheEntry(Timestamp dateModif, List<T> values, Set<String> dependencies) {
+            this.dateModif = dateModif;
+            this.created = LocalDateTime.now();
+            this.values = values;
+            this.dependencies = dependencies;
+        }
+    }
+
+}
@@ -28,6 +28,7 @@ import org.cerberus.core.crud.entity.TestCaseExecutionQueueDep;
 import org.cerberus.core.crud.service.ITestCaseExecutionQueueDepService;
 import org.cerberus.core.crud.service.ITestCaseExecutionQueueService;
 import org.cerberus.core.engine.entity.MessageGeneral;
+import org.cerberus.core.engine.queuemanagement.impl.ExecutionQueueDependencyGraph;
 import org.cerberus.core.enums.MessageEventEnum;
 import org.cerberus.core.enums.MessageGeneralEnum;
 import org.cerberus.core.exception.CerberusException;
@@ -38,10 +39,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Supplier;
 
 /**
  * @author bcivel
@@ -53,6 +56,8 @@ public class TestCaseExecutionQueueDepService implements ITestCaseExecutionQueue
     private ITestCaseExecutionQueueDepDAO testCaseExecutionQueueDepDAO;
     @Autowired
     private ITestCaseExecutionQueueService executionQueueService;
+    @Autowired
+    private ExecutionQueueDependencyGraph dependencyGraph;
 
     private static final Logger LOG = LogManager.getLogger("TestCaseExecutionQueueDepService");
 
@@ -60,12 +65,33 @@ public class TestCaseExecutionQueueDepService implements ITestCaseExecutionQueue
 
     @Override
     public AnswerItem<Integer> insertFromTestCaseDep(long queueId, String env, String country, String tag, String test, String testcase) {
-        return testCaseExecutionQueueDepDAO.insertFromTestCaseDep(queueId, env, country, tag, test, testcase);
+        AnswerItem<Integer> ans = testCaseExecutionQueueDepDAO.insertFromTestCaseDep(queueId, env, country, tag, test, testcase);
+        if (ans.getItem() != null && ans.getItem() > 0) {
+            addToDependencyGraph(Collections.singletonList(queueId));
+        }
+        return ans;
+    }
+
+    @Override
+    public AnswerList<Long> insertFromTestCaseDep(List<Long> queueIds) {
+        AnswerList<Long> ans = testCaseExecutionQueueDepDAO.insertFromTestCaseDep(queueIds);
+        addToDependencyGraph(ans.getDataList());
+        return ans;
     }
 
     @Override
     public AnswerItem<Integer> insertFromExeQueueIdDep(long queueId, long fromQueueId) {
-        return testCaseExecutionQueueDepDAO.insertFromExeQueueIdDep(queueId, fromQueueId);
+        AnswerItem<Integer> ans = testCaseExecutionQueueDepDAO.insertFromExeQueueIdDep(queueId, fromQueueId);
+        if (ans.getItem() != null && ans.getItem() > 0) {
+            addToDependencyGraph(Collections.singletonList(queueId));
+        }
+        return ans;
+    }
+
+    private void addToDependencyGraph(List<Long> queueIds) {
+        if (dependencyGraph.isLoaded() && !queueIds.isEmpty()) {
+            dependencyGraph.add(testCaseExecutionQueueDepDAO.readByExeQueueIdList(queueIds).getDataList());
+        }
     }
 
     @Override
@@ -119,14 +145,8 @@ public class TestCaseExecutionQueueDepService implements ITestCaseExecutionQueue
             int nbdep = (int) ansNbDep.getItem();
             // Only check status of each Queue Entries if we RELEASED at least 1 entry.
             if (nbdep > 0) {
-                // Getting the list of impacted Queue Entries where we released dependencies.
-                List<Long> al = new ArrayList<>();
-                AnswerList<Long> ansQueueId = readExeQueueIdByExeId(tCExecution.getId());
-                al = ansQueueId.getDataList();
-                // For each exequeue entry we just updated, we move status from QUWITHDEP to QUEUED in case there are no more WAITING dependency.
-                for (Long long1 : al) {
-                    executionQueueService.checkAndReleaseQueuedEntry(long1, tCExecution.getTag());
-                }
+                releaseDependencies(tCExecution.getTag(), tCExecution.getEnvironment(), tCExecution.getCountry(), tCExecution.getTest(), tCExecution.getTestCase(),
+                        TestCaseExecution.CONTROLSTATUS_OK.equals(tCExecution.getControlStatus()), nbdep, () -> readExeQueueIdByExeId(tCExecution.getId()));
             }
         }
     }
@@ -145,20 +165,67 @@ public class TestCaseExecutionQueueDepService implements ITestCaseExecutionQueue
             int nbdep = (int) ansNbDep.getItem();
             // Only check status of each Queue Entries if we RELEASED at least 1 entry.
             if (nbdep > 0) {
-                // Getting the list of impacted Queue Entries where we released dependencies.
-                List<Long> al = new ArrayList<>();
-                AnswerList<Long> ansQueueId = readExeQueueIdByQueueId(idQueue);
-                al = ansQueueId.getDataList();
-                // For each exequeue entry we just updated, we move status from QUWITHDEP to QUEUED in case there are no more WAITING dependency.
-                for (Long long1 : al) {
-                    executionQueueService.checkAndReleaseQueuedEntry(long1, queueEntry.getTag());
-                }
+                releaseDependencies(queueEntry.getTag(), queueEntry.getEnvironment(), queueEntry.getCountry(), queueEntry.getTest(), queueEntry.getTestCase(),
+                        false, nbdep, () -> readExeQueueIdByQueueId(idQueue));
             }
         } catch (CerberusException ex) {
             LOG.error("Exception when release dep from Queue Error.", ex);
         }
     }
 
+    @Override
+    public void reconcileDependencies() {
+        dependencyGraph.startLoad();
+        AnswerList<TestCaseExecutionQueueDep> ansDep = testCaseExecutionQueueDepDAO.readByExeQueueState(TestCaseExecutionQueue.State.QUWITHDEP.name());
+        if (!ansDep.isCodeEquals(MessageEventEnum.DATA_OPERATION_OK.getCode())) {
+            LOG.warn("Unable to load queue dependencies : " + ansDep.getMessageDescription());
+            dependencyGraph.invalidate();
+            return;
+        }
+        // Queue entries that no longer wait for anything (released from another instance or missed release) are released now.
+        releaseReadyNodes(dependencyGraph.load(ansDep.getDataList()));
+    }
+
+    @Override
+    public boolean isReconciliationRequired() {
+        return dependencyGraph.isReloadRequired();
+    }
+
+    /**
+     * Release the queue entries waiting for the execution (or queue entry)
+     * that just ended. Impacted queue entries are taken from the in memory
+     * dependency graph. If the graph is not available or not in line with
+     * database, each impacted entry is checked from database.
+     */
+    private void releaseDependencies(String tag, String environment, String country, String test, String testCase, boolean ok, int nbReleased, Supplier<AnswerList<Long>> impactedQueueIds) {
+        List<ExecutionQueueDependencyGraph.DependencyNode> readyNodes = dependencyGraph.release(tag, environment, country, test, testCase, ok, nbReleased);
+        if (readyNodes == null) {
+            // For each exequeue entry we just updated, we move status from QUWITHDEP to QUEUED in case there are no more WAITING dependency.
+            for (Long exeQueueId : impactedQueueIds.get().getDataList()) {
+                executionQueueService.checkAndReleaseQueuedEntry(exeQueueId, tag);
+            }
+            return;
+        }
+        releaseReadyNodes(readyNodes);
+    }
+
+    private void releaseReadyNodes(List<ExecutionQueueDependencyGraph.DependencyNode> readyNodes) {
+        Map<String, List<Long>> toQueueByTag = new HashMap<>();
+        for (ExecutionQueueDependencyGraph.DependencyNode node : readyNodes) {
+            if (node.getNbReleasedNOK() <= 0) {
+                toQueueByTag.computeIfAbsent(node.getTag(), k -> new ArrayList<>()).add(node.getExeQueueId());
+            } else {
+                // At least 1 dependency not OK, entry is moved to ERROR.
+                executionQueueService.checkAndReleaseQueuedEntry(node.getExeQueueId(), node.getTag());
+            }
+        }
+        // All entries with every dependency OK are moved from QUWITHDEP to QUEUED at once.
+        for (Map.Entry<String, List<Long>> entry : toQueueByTag.entrySet()) {
+            LOG.debug("Release " + entry.getValue().size() + " Queue entries from QUWITHDEP to QUEUED on tag : " + entry.getKey());
+            executionQueueService.updateListToQueuedFromQuWithDep(entry.getKey(), entry.getValue(), "All Dependencies RELEASED.");
+        }
+    }
+
     @Override
     public TestCaseExecutionQueueDep convert(AnswerItem<TestCaseExecutionQueueDep> answerItem) throws CerberusException {
         if (answerItem.isCodeEquals(MessageEventEnum.DATA_OPERATION_OK.getCode())) {
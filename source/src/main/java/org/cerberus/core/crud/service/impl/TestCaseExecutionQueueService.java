@@ -30,12 +30,14 @@ import org.cerberus.core.crud.entity.TestCaseExecutionQueueDep;
 import org.cerberus.core.crud.factory.IFactoryTagSystem;
 import org.cerberus.core.crud.factory.IFactoryTestCaseExecution;
 import org.cerberus.core.crud.service.IParameterService;
+import org.cerberus.core.crud.service.ITagResultService;
 import org.cerberus.core.crud.service.ITagService;
 import org.cerberus.core.crud.service.ITagSystemService;
 import org.cerberus.core.crud.service.ITestCaseExecutionQueueDepService;
 import org.cerberus.core.crud.service.ITestCaseExecutionQueueService;
 import org.cerberus.core.engine.entity.MessageGeneral;
 import org.cerberus.core.engine.queuemanagement.entity.TestCaseExecutionQueueToTreat;
+import org.cerberus.core.engine.queuemanagement.impl.ExecutionQueueDispatcher;
 import org.cerberus.core.enums.MessageEventEnum;
 import org.cerberus.core.enums.MessageGeneralEnum;
 import org.cerberus.core.exception.CerberusException;
@@ -47,8 +49,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Default {@link ITestCaseExecutionQueueService} implementation
@@ -72,6 +76,10 @@ public class TestCaseExecutionQueueService implements ITestCaseExecutionQueueSer
     private ITagService tagService;
     @Autowired
     private ITestCaseExecutionQueueDepService testCaseExecutionQueueDepService;
+    @Autowired
+    private ExecutionQueueDispatcher queueDispatcher;
+    @Autowired
+    private ITagResultService tagResultService;
 
     private static final Logger LOG = LogManager.getLogger(TestCaseExecutionQueueService.class);
 
@@ -218,6 +226,63 @@ public class TestCaseExecutionQueueService implements ITestCaseExecutionQueueSer
             }
         }
 
+        if (ret.getItem() != null) {
+            queueDispatcher.notifyQueued();
+            tagResultService.recordQueueEntry(ret.getItem().getId());
+        }
+        return ret;
+    }
+
+    @Override
+    public AnswerList<TestCaseExecutionQueue> createList(List<TestCaseExecutionQueue> objectList, TestCaseExecutionQueue.State targetState) {
+
+        LOG.debug("Creating " + objectList.size() + " Queue entries targetState : " + targetState.toString());
+        // We create the links between the tags and the systems only once per tag and system.
+        Set<String> tagSystems = new HashSet<>();
+        Set<String> tags = new HashSet<>();
+        for (TestCaseExecutionQueue object : objectList) {
+            if (tagSystems.add(object.getTag() + ExecutionQueueDispatcher.CONST_SEPARATOR + object.getSystem())) {
+                tagSystemService.createIfNotExist(object.getTag(), object.getSystem(), object.getUsrCreated());
+            }
+            if (!StringUtil.isEmpty(object.getTag())) {
+                // Inserting the records into the Queue forcing their state to QUWITHDEP (in order to secure they dont get triggered).
+                object.setState(TestCaseExecutionQueue.State.QUWITHDEP);
+                tags.add(object.getTag());
+            }
+        }
+
+        AnswerList<TestCaseExecutionQueue> ret = testCaseExecutionInQueueDAO.createList(objectList);
+
+        // Adding dependencies to all inserted entries that have a tag.
+        List<Long> insertedQueueIds = new ArrayList<>();
+        for (TestCaseExecutionQueue object : ret.getDataList()) {
+            if (!StringUtil.isEmpty(object.getTag())) {
+                insertedQueueIds.add(object.getId());
+            }
+        }
+        if (!insertedQueueIds.isEmpty()) {
+            Set<Long> queueIdsWithDep = new HashSet<>(testCaseExecutionQueueDepService.insertFromTestCaseDep(insertedQueueIds).getDataList());
+            LOG.debug("Dep inserted on " + queueIdsWithDep.size() + " entries.");
+            List<Long> queueIdsWithoutDep = new ArrayList<>();
+            for (TestCaseExecutionQueue object : ret.getDataList()) {
+                if (queueIdsWithDep.contains(object.getId())) {
+                    // In case there is at least 1 dependency, we leave the state to QUWITHDEP but move the prio to high so that when dependencies are released execution is triggered ASAP.
+                    object.setPriority(TestCaseExecutionQueue.PRIORITY_WHENDEPENDENCY);
+                } else if (!StringUtil.isEmpty(object.getTag())) {
+                    queueIdsWithoutDep.add(object.getId());
+                }
+            }
+            // In case there are no dependencies, we release the executions moving to targetState State
+            testCaseExecutionInQueueDAO.updateListToState(queueIdsWithoutDep, targetState);
+            testCaseExecutionInQueueDAO.updateListPriority(new ArrayList<>(queueIdsWithDep), TestCaseExecutionQueue.PRIORITY_WHENDEPENDENCY);
+        }
+
+        if (!ret.getDataList().isEmpty()) {
+            queueDispatcher.notifyQueued();
+            for (String tag : tags) {
+                tagResultService.invalidate(tag);
+            }
+        }
         return ret;
     }
 
@@ -264,22 +329,44 @@ public class TestCaseExecutionQueueService implements ITestCaseExecutionQueueSer
 
     @Override
     public Answer updateToState(long id, String comment, TestCaseExecutionQueue.State targetState) {
-        return testCaseExecutionInQueueDAO.updateToState(id, comment, targetState);
+        Answer ans = testCaseExecutionInQueueDAO.updateToState(id, comment, targetState);
+        if (TestCaseExecutionQueue.State.QUEUED.equals(targetState)) {
+            queueDispatcher.notifyQueued();
+        }
+        tagResultService.recordQueueEntry(id);
+        return ans;
     }
 
     @Override
     public Answer updateToQueued(long id, String comment) {
-        return testCaseExecutionInQueueDAO.updateToQueued(id, comment);
+        Answer ans = testCaseExecutionInQueueDAO.updateToQueued(id, comment);
+        queueDispatcher.notifyQueued();
+        tagResultService.recordQueueEntry(id);
+        return ans;
     }
 
     @Override
     public Answer updateAllTagToQueuedFromQuTemp(String tag, List<Long> queueIds) {
-        return testCaseExecutionInQueueDAO.updateAllTagToQueuedFromQuTemp(tag, queueIds);
+        Answer ans = testCaseExecutionInQueueDAO.updateAllTagToQueuedFromQuTemp(tag, queueIds);
+        queueDispatcher.notifyQueued();
+        tagResultService.invalidate(tag);
+        return ans;
     }
 
     @Override
     public Answer updateToQueuedFromQuWithDep(long id, String comment) {
-        return testCaseExecutionInQueueDAO.updateToQueuedFromQuWithDep(id, comment);
+        Answer ans = testCaseExecutionInQueueDAO.updateToQueuedFromQuWithDep(id, comment);
+        queueDispatcher.notifyQueued();
+        tagResultService.recordQueueEntry(id);
+        return ans;
+    }
+
+    @Override
+    public Answer updateListToQueuedFromQuWithDep(String tag, List<Long> ids, String comment) {
+        Answer ans = testCaseExecutionInQueueDAO.updateListToQueuedFromQuWithDep(ids, comment);
+        queueDispatcher.notifyQueued();
+        // QUWITHDEP and QUEUED entries have the same result (QU) so tag result does not change.
+        return ans;
     }
 
     @Override
@@ -299,42 +386,70 @@ public class TestCaseExecutionQueueService implements ITestCaseExecutionQueueSer
 
     @Override
     public void updateToError(long id, String comment) throws CerberusException {
-        testCaseExecutionInQueueDAO.updateToError(id, comment);
+        try {
+            testCaseExecutionInQueueDAO.updateToError(id, comment);
+        } finally {
+            queueDispatcher.notifyEnded(id);
+            tagResultService.recordQueueEntry(id);
+        }
     }
 
     @Override
     public void updateToErrorFromQuWithDep(long id, String comment) throws CerberusException {
         testCaseExecutionInQueueDAO.updateToErrorFromQuWithDep(id, comment);
+        tagResultService.recordQueueEntry(id);
     }
 
     @Override
     public void updateToDone(long id, String comment, long exeId) throws CerberusException {
-        testCaseExecutionInQueueDAO.updateToDone(id, comment, exeId);
+        try {
+            testCaseExecutionInQueueDAO.updateToDone(id, comment, exeId);
+        } finally {
+            queueDispatcher.notifyEnded(id);
+        }
     }
 
     @Override
     public Answer updateToCancelled(long id, String comment) {
-        return testCaseExecutionInQueueDAO.updateToCancelled(id, comment);
+        Answer ans = testCaseExecutionInQueueDAO.updateToCancelled(id, comment);
+        queueDispatcher.notifyEnded(id);
+        tagResultService.recordQueueEntry(id);
+        return ans;
     }
 
     @Override
     public Answer updateToCancelledForce(long id, String comment) {
-        return testCaseExecutionInQueueDAO.updateToCancelledForce(id, comment);
+        Answer ans = testCaseExecutionInQueueDAO.updateToCancelledForce(id, comment);
+        queueDispatcher.notifyEnded(id);
+        tagResultService.recordQueueEntry(id);
+        return ans;
     }
 
     @Override
     public Answer updateToErrorForce(long id, String comment) {
-        return testCaseExecutionInQueueDAO.updateToErrorForce(id, comment);
+        Answer ans = testCaseExecutionInQueueDAO.updateToErrorForce(id, comment);
+        queueDispatcher.notifyEnded(id);
+        tagResultService.recordQueueEntry(id);
+        return ans;
     }
 
     @Override
     public Answer delete(TestCaseExecutionQueue object) {
-        return testCaseExecutionInQueueDAO.delete(object);
+        Answer ans = testCaseExecutionInQueueDAO.delete(object);
+        queueDispatcher.notifyEnded(object.getId());
+        tagResultService.invalidate(object.getTag());
+        return ans;
     }
 
     @Override
     public Answer delete(Long id) {
-        return testCaseExecutionInQueueDAO.delete(id);
+        TestCaseExecutionQueue entry = testCaseExecutionInQueueDAO.readByKey(id).getItem();
+        Answer ans = testCaseExecutionInQueueDAO.delete(id);
+        queueDispatcher.notifyEnded(id);
+        if (entry != null) {
+            tagResultService.invalidate(entry.getTag());
+        }
+        return ans;
     }
 
     @Override
@@ -345,6 +460,8 @@ public class TestCaseExecutionQueueService implements ITestCaseExecutionQueueSer
          */
         Integer timeout = parameterService.getParameterIntegerByKey("cerberus_automaticqueuecancellationjob_timeout", "", 3600);
         testCaseExecutionInQueueDAO.updateToCancelledOldRecord(timeout, "Cancelled by automatic job.");
+        queueDispatcher.requestResync();
+        tagResultService.invalidateWithQueuedResult();
     }
 
     @Override
@@ -33,6 +33,7 @@ import org.cerberus.core.crud.entity.TestCaseExecutionQueue;
 import org.cerberus.core.crud.entity.TestCaseExecutionQueueDep;
 import org.cerberus.core.crud.entity.TestCaseStepExecution;
 import org.cerberus.core.crud.factory.IFactoryTagSystem;
+import org.cerberus.core.crud.service.ITagResultService;
 import org.cerberus.core.crud.service.ITagService;
 import org.cerberus.core.crud.service.ITagSystemService;
 import org.cerberus.core.crud.service.ITestCaseExecutionDataService;
@@ -90,6 +91,8 @@ public class TestCaseExecutionService implements ITestCaseExecutionService {
     @Autowired
     private ITagService tagService;
     @Autowired
+    private ITagResultService tagResultService;
+    @Autowired
     private IFactoryTagSystem factoryTagSystem;
     @Autowired
     private ITestCaseExecutionHttpStatService testCaseExecutionHttpStatService;
@@ -104,12 +107,15 @@ public class TestCaseExecutionService implements ITestCaseExecutionService {
                 && !tagSystemService.exist(tCExecution.getTag(), tCExecution.getSystem())) {
             tagSystemService.create(factoryTagSystem.create(tCExecution.getTag(), tCExecution.getSystem(), tCExecution.getUsrCreated(), null, "", null));
         }
-        return testCaseExecutionDao.insertTCExecution(tCExecution);
+        long exeId = testCaseExecutionDao.insertTCExecution(tCExecution);
+        tagResultService.recordExecution(exeId, tCExecution);
+        return exeId;
     }
 
     @Override
     public void updateTCExecution(TestCaseExecution tCExecution) throws CerberusException {
         testCaseExecutionDao.updateTCExecution(tCExecution);
+        tagResultService.recordExecution(tCExecution.getId(), tCExecution);
     }
 
     @Override
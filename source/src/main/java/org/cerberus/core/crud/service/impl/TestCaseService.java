@@ -48,6 +48,7 @@ import org.cerberus.core.crud.service.ILabelService;
 import org.cerberus.core.crud.service.IParameterService;
 import org.cerberus.core.crud.service.ITestCaseCountryPropertiesService;
 import org.cerberus.core.crud.service.ITestCaseCountryService;
+import org.cerberus.core.crud.service.ITestCaseDefinitionCacheService;
 import org.cerberus.core.crud.service.ITestCaseDepService;
 import org.cerberus.core.crud.service.ITestCaseLabelService;
 import org.cerberus.core.crud.service.ITestCaseService;
@@ -124,6 +125,8 @@ public class TestCaseService implements ITestCaseService {
     @Autowired
     private ITestCaseDepService testCaseDepService;
     @Autowired
+    private ITestCaseDefinitionCacheService testCaseDefinitionCacheService;
+    @Autowired
     private ITestCaseLabelService testCaseLabelService;
     @Autowired
     private IEventService eventService;
@@ -254,7 +257,9 @@ public class TestCaseService implements ITestCaseService {
 
     @Override
     public boolean updateTestCaseInformation(TestCase testCase) {
-        return testCaseDao.updateTestCaseInformation(testCase);
+        boolean result = testCaseDao.updateTestCaseInformation(testCase);
+        testCaseDefinitionCacheService.purgeTestCase(testCase.getTest(), testCase.getTestcase());
+        return result;
     }
 
     @Override
@@ -520,6 +525,7 @@ public class TestCaseService implements ITestCaseService {
             testService.create(factoryTest.create(testcase.getTest(), "", true, null, testcase.getUsrModif(), null, "", null));
         }
         Answer ans = testCaseDao.update(keyTest, keyTestcase, testcase);
+        testCaseDefinitionCacheService.purgeTestCase(keyTest, keyTestcase);
         if (ans.isCodeEquals(MessageEventEnum.DATA_OPERATION_OK.getCode())) {
             eventService.triggerEvent(EventHook.EVENTREFERENCE_TESTCASE_UPDATE, testcase, keyTest, keyTestcase, null);
         }
@@ -537,6 +543,7 @@ public class TestCaseService implements ITestCaseService {
         } catch (CerberusException ex) {
             LOG.warn(ex, ex);
         }
+        testCaseDefinitionCacheService.purgeAllCacheEntries();
     }
 
     @Override
@@ -565,6 +572,7 @@ public class TestCaseService implements ITestCaseService {
     @Override
     public Answer delete(TestCase testCase) {
         Answer ans = testCaseDao.delete(testCase);
+        testCaseDefinitionCacheService.purgeTestCase(testCase.getTest(), testCase.getTestcase());
         if (ans.isCodeEquals(MessageEventEnum.DATA_OPERATION_OK.getCode())) {
             eventService.triggerEvent(EventHook.EVENTREFERENCE_TESTCASE_DELETE, testCase, null, null, null);
         }
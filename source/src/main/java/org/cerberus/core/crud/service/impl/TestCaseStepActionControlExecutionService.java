@@ -54,11 +54,21 @@ public class TestCaseStepActionControlExecutionService implements ITestCaseStepA
         testCaseStepActionControlExecutionDao.insertTestCaseStepActionControlExecution(testCaseStepActionControlExecution, secrets);
     }
 
+    @Override
+    public boolean insertTestCaseStepActionControlExecutionList(List<TestCaseStepActionControlExecution> testCaseStepActionControlExecutionList, HashMap<String, String> secrets) {
+        return testCaseStepActionControlExecutionDao.insertTestCaseStepActionControlExecutionList(testCaseStepActionControlExecutionList, secrets);
+    }
+
     @Override
     public void updateTestCaseStepActionControlExecution(TestCaseStepActionControlExecution testCaseStepActionControlExecution, HashMap<String, String> secrets) {
         testCaseStepActionControlExecutionDao.updateTestCaseStepActionControlExecution(testCaseStepActionControlExecution, secrets);
     }
 
+    @Override
+    public boolean updateTestCaseStepActionControlExecutionList(List<TestCaseStepActionControlExecution> testCaseStepActionControlExecutionList, HashMap<String, String> secrets) {
+        return testCaseStepActionControlExecutionDao.updateTestCaseStepActionControlExecutionList(testCaseStepActionControlExecutionList, secrets);
+    }
+
     @Override
     public List<TestCaseStepActionControlExecution> findTestCaseStepActionControlExecutionByCriteria(long id, String test, String testCase, int stepId, int index, int sequence) {
         return testCaseStepActionControlExecutionDao.findTestCaseStepActionControlExecutionByCriteria(id, test, testCase, stepId, index, sequence);
@@ -22,7 +22,9 @@ package org.cerberus.core.crud.service.impl;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.cerberus.core.crud.dao.ITestCaseStepActionControlDAO;
+import org.cerberus.core.crud.entity.TestCase;
 import org.cerberus.core.crud.entity.TestCaseStepActionControl;
+import org.cerberus.core.crud.service.ITestCaseDefinitionCacheService;
 import org.cerberus.core.crud.service.ITestCaseStepActionControlService;
 import org.cerberus.core.exception.CerberusException;
 import org.cerberus.core.util.answer.Answer;
@@ -46,6 +48,8 @@ public class TestCaseStepActionControlService implements ITestCaseStepActionCont
 
     @Autowired
     private ITestCaseStepActionControlDAO testCaseStepActionControlDao;
+    @Autowired
+    private ITestCaseDefinitionCacheService testCaseDefinitionCacheService;
 
     @Override
     public TestCaseStepActionControl findTestCaseStepActionControlByKey(String test, String testcase, int stepId, int actionId, int control) {
@@ -57,6 +61,11 @@ public class TestCaseStepActionControlService implements ITestCaseStepActionCont
         return testCaseStepActionControlDao.findControlByTestTestCaseStepIdActionId(test, testcase, stepId, actionId);
     }
 
+    @Override
+    public List<TestCaseStepActionControl> findControlByTestCaseList(List<TestCase> testcases) throws CerberusException {
+        return testCaseStepActionControlDao.readByTestCaseList(testcases);
+    }
+
     @Override
     public List<TestCaseStepActionControl> findControlByTestTestCaseStepId(String test, String testcase, int stepId) {
         return testCaseStepActionControlDao.findControlByTestTestCaseStepId(test, testcase, stepId);
@@ -69,6 +78,8 @@ public class TestCaseStepActionControlService implements ITestCaseStepActionCont
         } catch (CerberusException ex) {
             LOG.warn(ex.toString());
             return false;
+        } finally {
+            testCaseDefinitionCacheService.purgeTestCase(control.getTest(), control.getTestcase());
         }
         return true;
     }
@@ -89,6 +100,7 @@ public class TestCaseStepActionControlService implements ITestCaseStepActionCont
         } catch (CerberusException ex) {
             LOG.warn(ex, ex);
         }
+        testCaseDefinitionCacheService.purgeAllCacheEntries();
     }
 
     @Override
@@ -106,6 +118,7 @@ public class TestCaseStepActionControlService implements ITestCaseStepActionCont
     @Override
     public void delete(TestCaseStepActionControl tcsac) throws CerberusException {
         testCaseStepActionControlDao.deleteTestCaseStepActionControl(tcsac);
+        testCaseDefinitionCacheService.purgeTestCase(tcsac.getTest(), tcsac.getTestcase());
     }
 
     @Override
@@ -166,7 +179,9 @@ public class TestCaseStepActionControlService implements ITestCaseStepActionCont
 
     @Override
     public Answer create(TestCaseStepActionControl testCaseStepActionControl) {
-        return testCaseStepActionControlDao.create(testCaseStepActionControl);
+        Answer ans = testCaseStepActionControlDao.create(testCaseStepActionControl);
+        testCaseDefinitionCacheService.purgeTestCase(testCaseStepActionControl.getTest(), testCaseStepActionControl.getTestcase());
+        return ans;
     }
 
     @Override
@@ -65,11 +65,21 @@ public class TestCaseStepActionExecutionService implements ITestCaseStepActionEx
 
     }
 
+    @Override
+    public boolean insertTestCaseStepActionExecutionList(List<TestCaseStepActionExecution> testCaseStepActionExecutionList, HashMap<String, String> secrets) {
+        return testCaseStepActionExecutionDao.insertTestCaseStepActionExecutionList(testCaseStepActionExecutionList, secrets);
+    }
+
     @Override
     public void updateTestCaseStepActionExecution(TestCaseStepActionExecution testCaseStepActionExecution, HashMap<String, String> secrets) {
         this.testCaseStepActionExecutionDao.updateTestCaseStepActionExecution(testCaseStepActionExecution, secrets);
     }
 
+    @Override
+    public boolean updateTestCaseStepActionExecutionList(List<TestCaseStepActionExecution> testCaseStepActionExecutionList, HashMap<String, String> secrets) {
+        return testCaseStepActionExecutionDao.updateTestCaseStepActionExecutionList(testCaseStepActionExecutionList, secrets);
+    }
+
     @Override
     public List<TestCaseStepActionExecution> findTestCaseStepActionExecutionByCriteria(long id, String test, String testCase, int stepId, int index) {
         return testCaseStepActionExecutionDao.findTestCaseStepActionExecutionByCriteria(id, test, testCase, stepId, index);
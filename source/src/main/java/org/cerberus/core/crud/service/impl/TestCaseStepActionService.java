@@ -22,8 +22,10 @@ package org.cerberus.core.crud.service.impl;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.cerberus.core.crud.dao.ITestCaseStepActionDAO;
+import org.cerberus.core.crud.entity.TestCase;
 import org.cerberus.core.crud.entity.TestCaseStepAction;
 import org.cerberus.core.crud.entity.TestCaseStepActionControl;
+import org.cerberus.core.crud.service.ITestCaseDefinitionCacheService;
 import org.cerberus.core.crud.service.ITestCaseStepActionControlService;
 import org.cerberus.core.crud.service.ITestCaseStepActionService;
 import org.cerberus.core.engine.entity.MessageEvent;
@@ -51,6 +53,8 @@ public class TestCaseStepActionService implements ITestCaseStepActionService {
     private ITestCaseStepActionDAO testCaseStepActionDAO;
     @Autowired
     private ITestCaseStepActionControlService testCaseStepActionControlService;
+    @Autowired
+    private ITestCaseDefinitionCacheService testCaseDefinitionCacheService;
 
     @Override
     public TestCaseStepAction findTestCaseStepActionbyKey(String test, String testcase, int stepId, int actionId) {
@@ -62,9 +66,15 @@ public class TestCaseStepActionService implements ITestCaseStepActionService {
         return testCaseStepActionDAO.findActionByTestTestCaseStep(test, testcase, stepId);
     }
 
+    @Override
+    public List<TestCaseStepAction> getListOfAction(List<TestCase> testcases) throws CerberusException {
+        return testCaseStepActionDAO.readByTestCaseList(testcases);
+    }
+
     @Override
     public void insertTestCaseStepAction(TestCaseStepAction testCaseStepAction) throws CerberusException {
         testCaseStepActionDAO.createTestCaseStepAction(testCaseStepAction);
+        testCaseDefinitionCacheService.purgeTestCase(testCaseStepAction.getTest(), testCaseStepAction.getTestcase());
     }
 
     @Override
@@ -82,7 +92,9 @@ public class TestCaseStepActionService implements ITestCaseStepActionService {
 
     @Override
     public boolean changeTestCaseStepActionActionId(String test, String testcase, int stepId, int oldActionId, int newActionId) {
-        return testCaseStepActionDAO.changeTestCaseStepActionActionId(test, testcase, stepId, oldActionId, newActionId);
+        boolean result = testCaseStepActionDAO.changeTestCaseStepActionActionId(test, testcase, stepId, oldActionId, newActionId);
+        testCaseDefinitionCacheService.purgeTestCase(test, testcase);
+        return result;
     }
 
     @Override
@@ -92,6 +104,8 @@ public class TestCaseStepActionService implements ITestCaseStepActionService {
         } catch (CerberusException ex) {
             LOG.warn(ex);
             return false;
+        } finally {
+            testCaseDefinitionCacheService.purgeTestCase(tcsa.getTest(), tcsa.getTestcase());
         }
         return true;
     }
@@ -111,11 +125,13 @@ public class TestCaseStepActionService implements ITestCaseStepActionService {
         } catch (CerberusException ex) {
             LOG.warn(ex, ex);
         }
+        testCaseDefinitionCacheService.purgeAllCacheEntries();
     }
 
     @Override
     public void updateService(String oldService, String service) throws CerberusException {
         testCaseStepActionDAO.updateService(oldService, service);
+        testCaseDefinitionCacheService.purgeAllCacheEntries();
     }
 
     @Override
@@ -128,6 +144,7 @@ public class TestCaseStepActionService implements ITestCaseStepActionService {
     @Override
     public void deleteTestCaseStepAction(TestCaseStepAction tcsa) throws CerberusException {
         testCaseStepActionDAO.delete(tcsa);
+        testCaseDefinitionCacheService.purgeTestCase(tcsa.getTest(), tcsa.getTestcase());
     }
 
     @Override
@@ -197,7 +214,9 @@ public class TestCaseStepActionService implements ITestCaseStepActionService {
 
     @Override
     public Answer create(TestCaseStepAction object) {
-        return testCaseStepActionDAO.create(object);
+        Answer ans = testCaseStepActionDAO.create(object);
+        testCaseDefinitionCacheService.purgeTestCase(object.getTest(), object.getTestcase());
+        return ans;
     }
 
     @Override
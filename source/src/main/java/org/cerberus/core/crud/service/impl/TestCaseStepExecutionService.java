@@ -60,11 +60,21 @@ public class TestCaseStepExecutionService implements ITestCaseStepExecutionServi
         this.testCaseStepExecutionDao.insertTestCaseStepExecution(testCaseStepExecution, secrets);
     }
 
+    @Override
+    public boolean insertTestCaseStepExecutionList(List<TestCaseStepExecution> testCaseStepExecutionList, HashMap<String, String> secrets) {
+        return testCaseStepExecutionDao.insertTestCaseStepExecutionList(testCaseStepExecutionList, secrets);
+    }
+
     @Override
     public void updateTestCaseStepExecution(TestCaseStepExecution testCaseStepExecution, HashMap<String,String> secrets) {
         this.testCaseStepExecutionDao.updateTestCaseStepExecution(testCaseStepExecution,secrets);
     }
 
+    @Override
+    public boolean updateTestCaseStepExecutionList(List<TestCaseStepExecution> testCaseStepExecutionList, HashMap<String, String> secrets) {
+        return testCaseStepExecutionDao.updateTestCaseStepExecutionList(testCaseStepExecutionList, secrets);
+    }
+
     @Override
     public List<TestCaseStepExecution> findTestCaseStepExecutionById(long id) {
         return testCaseStepExecutionDao.findTestCaseStepExecutionById(id);
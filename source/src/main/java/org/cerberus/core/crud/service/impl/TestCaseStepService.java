@@ -23,8 +23,10 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.cerberus.core.api.exceptions.EntityNotFoundException;
 import org.cerberus.core.crud.dao.ITestCaseStepDAO;
+import org.cerberus.core.crud.entity.TestCase;
 import org.cerberus.core.crud.entity.TestCaseStep;
 import org.cerberus.core.crud.entity.TestCaseStepAction;
+import org.cerberus.core.crud.service.ITestCaseDefinitionCacheService;
 import org.cerberus.core.crud.service.ITestCaseStepService;
 import org.cerberus.core.engine.entity.MessageEvent;
 import org.cerberus.core.enums.MessageEventEnum;
@@ -49,6 +51,8 @@ public class TestCaseStepService implements ITestCaseStepService {
     private ITestCaseStepDAO testCaseStepDAO;
     @Autowired
     private TestCaseStepActionService testCaseStepActionService;
+    @Autowired
+    private ITestCaseDefinitionCacheService testCaseDefinitionCacheService;
 
     private static final Logger LOG = LogManager.getLogger(TestCaseStepService.class);
 
@@ -57,6 +61,11 @@ public class TestCaseStepService implements ITestCaseStepService {
         return testCaseStepDAO.findTestCaseStepByTestCase(test, testcase);
     }
 
+    @Override
+    public List<TestCaseStep> getListOfSteps(List<TestCase> testcases) throws CerberusException {
+        return testCaseStepDAO.readByTestCaseList(testcases);
+    }
+
     @Override
     public TestCaseStep findTestCaseStep(String test, String testcase, Integer stepId) {
         return testCaseStepDAO.findTestCaseStep(test, testcase, stepId);
@@ -66,15 +75,22 @@ public class TestCaseStepService implements ITestCaseStepService {
     public TestCaseStep modifyTestCaseStepDataFromUsedStep(TestCaseStep masterStep) {
         if (masterStep.isUsingLibraryStep()) {
             TestCaseStep usedStep = findTestCaseStep(masterStep.getLibraryStepTest(), masterStep.getLibraryStepTestcase(), masterStep.getLibraryStepStepId());
-            // Copy the usedStep property to main step. Loop and conditionOperator are taken from used step.
-            if (usedStep != null) {
-                masterStep.setLoop(usedStep.getLoop());
-                masterStep.setConditionOperator(usedStep.getConditionOperator());
-                masterStep.setConditionValue1(usedStep.getConditionValue1());
-                masterStep.setConditionValue2(usedStep.getConditionValue2());
-                masterStep.setConditionValue3(usedStep.getConditionValue3());
-                masterStep.setLibraryStepSort(usedStep.getSort());
-            }
+            modifyTestCaseStepDataFromUsedStep(masterStep, usedStep);
+        }
+
+        return masterStep;
+    }
+
+    @Override
+    public TestCaseStep modifyTestCaseStepDataFromUsedStep(TestCaseStep masterStep, TestCaseStep usedStep) {
+        // Copy the usedStep property to main step. Loop and conditionOperator are taken from used step.
+        if (usedStep != null) {
+            masterStep.setLoop(usedStep.getLoop());
+            masterStep.setConditionOperator(usedStep.getConditionOperator());
+            masterStep.setConditionValue1(usedStep.getConditionValue1());
+            masterStep.setConditionValue2(usedStep.getConditionValue2());
+            masterStep.setConditionValue3(usedStep.getConditionValue3());
+            masterStep.setLibraryStepSort(usedStep.getSort());
         }
 
         return masterStep;
@@ -83,6 +99,7 @@ public class TestCaseStepService implements ITestCaseStepService {
     @Override
     public void updateTestCaseStep(TestCaseStep tcs) throws CerberusException {
         testCaseStepDAO.updateTestCaseStep(tcs);
+        testCaseDefinitionCacheService.purgeTestCase(tcs.getTest(), tcs.getTestcase());
     }
 
     @Override
@@ -96,6 +113,7 @@ public class TestCaseStepService implements ITestCaseStepService {
         } catch (CerberusException ex) {
             LOG.warn(ex, ex);
         }
+        testCaseDefinitionCacheService.purgeAllCacheEntries();
     }
 
     @Override
@@ -108,6 +126,7 @@ public class TestCaseStepService implements ITestCaseStepService {
     @Override
     public void deleteTestCaseStep(TestCaseStep tcs) throws CerberusException {
         testCaseStepDAO.deleteTestCaseStep(tcs);
+        testCaseDefinitionCacheService.purgeTestCase(tcs.getTest(), tcs.getTestcase());
     }
 
     @Override
@@ -277,14 +296,16 @@ public class TestCaseStepService implements ITestCaseStepService {
 
     @Override
     public Answer create(TestCaseStep object) {
-        return testCaseStepDAO.create(object);
+        Answer ans = testCaseStepDAO.create(object);
+        testCaseDefinitionCacheService.purgeTestCase(object.getTest(), object.getTestcase());
+        return ans;
     }
 
     @Override
     public Answer createList(List<TestCaseStep> objectList) {
         Answer ans = new Answer(null);
         for (TestCaseStep objectToCreate : objectList) {
-            ans = testCaseStepDAO.create(objectToCreate);
+            ans = create(objectToCreate);
         }
         return ans;
     }
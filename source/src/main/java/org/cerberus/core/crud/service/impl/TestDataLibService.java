@@ -31,6 +31,7 @@ import org.cerberus.core.crud.entity.TestDataLib;
 import org.cerberus.core.crud.entity.TestDataLibData;
 import org.cerberus.core.crud.factory.IFactoryTestDataLibData;
 import org.cerberus.core.crud.service.IParameterService;
+import org.cerberus.core.crud.service.ITestCaseDefinitionCacheService;
 import org.cerberus.core.crud.service.ITestDataLibDataService;
 import org.cerberus.core.crud.service.ITestDataLibService;
 import org.cerberus.core.database.DatabaseSpring;
@@ -60,6 +61,8 @@ public class TestDataLibService implements ITestDataLibService {
     private IParameterService parameterService;
     @Autowired
     private ITestCaseCountryPropertiesDAO testCaseCountryProperties;
+    @Autowired
+    private ITestCaseDefinitionCacheService testCaseDefinitionCacheService;
 
     private static final org.apache.logging.log4j.Logger LOG = org.apache.logging.log4j.LogManager.getLogger(TestDataLibService.class);
 
@@ -165,6 +168,8 @@ public class TestDataLibService implements ITestDataLibService {
         // Call the 2 DAO updates
         Answer answerDataLib = testDataLibDAO.bulkRenameDataLib(oldName, newName);
         Answer answerProperties = testCaseCountryProperties.bulkRenameProperties(oldName, newName);
+        // Properties of any testcase may have been renamed.
+        testCaseDefinitionCacheService.purgeAllCacheEntries();
         List<Answer> ansList = new ArrayList<>();
         ansList.add(answerDataLib);
         ansList.add(answerProperties);
@@ -22,6 +22,8 @@ package org.cerberus.core.database;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.cerberus.core.config.Property;
+import org.json.JSONArray;
+import org.json.JSONException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
@@ -30,6 +32,9 @@ import javax.naming.NamingException;
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Database class, allow to get Connections defined on glassfish.
@@ -47,6 +52,9 @@ public class DatabaseSpring {
     private DataSource dataSource;
     private boolean onTransaction = false;
     private Connection conn;
+    // External datasources (jdbc/xxx) already resolved from JNDI.
+    private final Map<String, DataSource> externalDataSources = new ConcurrentHashMap<>();
+    private final Map<String, ExternalDataSourceStatistic> externalDataSourceStatistics = new ConcurrentHashMap<>();
 
     /**
      * Create connection.
@@ -127,31 +135,96 @@ public class DatabaseSpring {
         endTransaction(false);
     }
 
+    /**
+     * Get a connection on an external datasource (defined on the application
+     * server with the name jdbc/connection). DataSource is resolved from JNDI
+     * only once and kept until it is invalidated.
+     *
+     * @param connection
+     * @return
+     */
     public Connection connect(final String connection) {
+        DataSource ds = getExternalDataSource(connection);
+        if (ds == null) {
+            return null;
+        }
+        ExternalDataSourceStatistic statistic = externalDataSourceStatistics.computeIfAbsent(connection, ExternalDataSourceStatistic::new);
+        long start = System.nanoTime();
         try {
-            InitialContext ic = new InitialContext();
-            String conName = "jdbc/" + connection;
-            LOG.info("connecting to '{}'", conName);
-            DataSource ds = (DataSource) ic.lookup(conName);
-            return ds.getConnection();
+            return statistic.track(ds.getConnection(), System.nanoTime() - start);
         } catch (SQLException ex) {
             LOG.warn(ex.toString());
+            statistic.recordError();
+            // DataSource may have been redeployed, it will be resolved again at next call.
+            externalDataSources.remove(connection, ds);
+        }
+        return null;
+    }
+
+    private DataSource getExternalDataSource(final String connection) {
+        DataSource ds = externalDataSources.get(connection);
+        if (ds == null) {
+            ds = lookupExternalDataSource(connection);
+            if (ds != null) {
+                externalDataSources.put(connection, ds);
+            }
+        }
+        return ds;
+    }
+
+    private DataSource lookupExternalDataSource(final String connection) {
+        try {
+            InitialContext ic = new InitialContext();
+            String conName = "jdbc/" + connection;
+            LOG.info("resolving '{}'", conName);
+            return (DataSource) ic.lookup(conName);
         } catch (NamingException ex) {
             LOG.warn(ex.toString());
             InitialContext ic;
             try {
                 ic = new InitialContext();
                 String conName = "java:/comp/env/jdbc/" + connection;
-                LOG.info("connecting to '{}'", conName);
-                DataSource ds = (DataSource) ic.lookup(conName);
-                return ds.getConnection();
-            } catch (NamingException | SQLException ex1) {
+                LOG.info("resolving '{}'", conName);
+                return (DataSource) ic.lookup(conName);
+            } catch (NamingException ex1) {
                 LOG.warn(ex.toString());
             }
         }
         return null;
     }
 
+    /**
+     * Remove the external datasource from cache so that it is resolved again
+     * at next connection.
+     *
+     * @param connection
+     */
+    public void invalidateExternalDataSource(final String connection) {
+        if (connection != null) {
+            externalDataSources.remove(connection);
+        }
+    }
+
+    public void invalidateAllExternalDataSources() {
+        externalDataSources.clear();
+    }
+
+    /**
+     * @return usage statistics of every external datasource used since
+     * startup.
+     */
+    public JSONArray getExternalDataSourceStatistics() {
+        JSONArray result = new JSONArray();
+        for (ExternalDataSourceStatistic statistic : new TreeMap<>(externalDataSourceStatistics).values()) {
+            try {
+                result.put(statistic.toJson());
+            } catch (JSONException ex) {
+                LOG.warn(ex.toString());
+            }
+        }
+        return result;
+    }
+
     public boolean isOnTransaction() {
         return onTransaction;
     }
@@ -21,13 +21,20 @@ package org.cerberus.core.database;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.cerberus.core.crud.entity.MyVersion;
+import org.cerberus.core.crud.service.IDocumentationService;
+import org.cerberus.core.crud.service.IMyVersionService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.sql.Connection;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * @author ryltar this is a singleton. 1 per instance
@@ -38,16 +45,63 @@ public class DocumentationDatabaseService implements IDocumentationDatabaseServi
     @Override
     @PostConstruct
     public void init() {
+        List<String> sqlDocumentation = this.getSqlDocumentation();
+        String checksum = getChecksum(sqlDocumentation);
+
+        // Refresh is only done when the documentation changed since last refresh (checksum stored in myversion table).
+        MyVersion version = myVersionService.findMyVersionByKey(MYVERSION_KEY);
+        if (version != null && checksum.equals(version.getValueString())) {
+            LOG.info("Documentation table already up to date (checksum " + checksum + ").");
+            return;
+        }
+
         LOG.info("Starting to Refresh documentation table");
-        for (String currentRequest : this.getSqlDocumentation()) {
-            this.exeSQL(currentRequest);
+        boolean refreshed = true;
+        for (String currentRequest : sqlDocumentation) {
+            if (!OK_MESSAGE.equals(this.exeSQL(currentRequest))) {
+                refreshed = false;
+            }
         }
+        if (refreshed && version != null) {
+            myVersionService.updateMyVersionString(MYVERSION_KEY, checksum);
+            LOG.info("Documentation table refreshed (checksum " + checksum + ").");
+        }
+        documentationService.purgeCatalog();
     }
 
     private static final Logger LOG = LogManager.getLogger(DocumentationDatabaseService.class);
 
+    /**
+     * myversion key that stores the checksum of the last documentation
+     * refreshed.
+     */
+    public static final String MYVERSION_KEY = "documentation_checksum";
+    private static final String OK_MESSAGE = "Documentation table successfully refreshed";
+
     @Autowired
     private DatabaseSpring databaseSpring;
+    @Autowired
+    private IMyVersionService myVersionService;
+    @Autowired
+    private IDocumentationService documentationService;
+
+    private static String getChecksum(List<String> sqlDocumentation) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String sql : sqlDocumentation) {
+                digest.update(sql.getBytes(StandardCharsets.UTF_8));
+            }
+            StringBuilder checksum = new StringBuilder();
+            for (byte b : digest.digest()) {
+                checksum.append(String.format("%02x", b));
+            }
+            return checksum.toString();
+        } catch (NoSuchAlgorithmException ex) {
+            LOG.warn(ex, ex);
+            // Documentation is then refreshed on every start.
+            return "";
+        }
+    }
 
     @Override
     public String exeSQL(String sqlString) {
@@ -69,7 +123,7 @@ public class DocumentationDatabaseService implements IDocumentationDatabaseServi
             LOG.debug(exception1.toString(), exception1);
             return exception1.toString();
         }
-        return "Documentation table successfully refreshed";
+        return OK_MESSAGE;
     }
 
     @Override
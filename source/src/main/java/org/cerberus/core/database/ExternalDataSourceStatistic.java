@@ -0,0 +1,102 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.database;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Usage statistics of an external datasource (the ones used by SQL properties
+ * and actions).
+ */
+public class ExternalDataSourceStatistic {
+
+    private final String name;
+    private final AtomicInteger activeConnections = new AtomicInteger();
+    private final AtomicLong nbConnections = new AtomicLong();
+    private final AtomicLong nbErrors = new AtomicLong();
+    private final AtomicLong totalWaitMs = new AtomicLong();
+    private final AtomicLong maxWaitMs = new AtomicLong();
+    private final AtomicLong totalUsageMs = new AtomicLong();
+    private final AtomicLong maxUsageMs = new AtomicLong();
+
+    public ExternalDataSourceStatistic(String name) {
+        this.name = name;
+    }
+
+    public void recordError() {
+        nbErrors.incrementAndGet();
+    }
+
+    /**
+     * Record the time spent getting the connection from the pool and return
+     * a connection that records how long it was used (from getConnection to
+     * close, so it includes the query execution and result fetch).
+     *
+     * @param connection
+     * @param waitNanos
+     * @return
+     */
+    public Connection track(Connection connection, long waitNanos) {
+        long waitMs = TimeUnit.NANOSECONDS.toMillis(waitNanos);
+        nbConnections.incrementAndGet();
+        totalWaitMs.addAndGet(waitMs);
+        maxWaitMs.accumulateAndGet(waitMs, Math::max);
+        activeConnections.incrementAndGet();
+
+        long openedNanos = System.nanoTime();
+        AtomicBoolean closed = new AtomicBoolean(false);
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+            if ("close".equals(method.getName()) && method.getParameterCount() == 0 && closed.compareAndSet(false, true)) {
+                long usageMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - openedNanos);
+                totalUsageMs.addAndGet(usageMs);
+                maxUsageMs.accumulateAndGet(usageMs, Math::max);
+                activeConnections.decrementAndGet();
+            }
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+        });
+    }
+
+    public JSONObject toJson() throws JSONException {
+        JSONObject result = new JSONObject();
+        long nb = nbConnections.get();
+        result.put("name", name);
+        result.put("activeConnections", activeConnections.get());
+        result.put("nbConnections", nb);
+        result.put("nbErrors", nbErrors.get());
+        result.put("poolWaitAvgMs", nb == 0 ? 0 : totalWaitMs.get() / nb);
+        result.put("poolWaitMaxMs", maxWaitMs.get());
+        result.put("queryLatencyAvgMs", nb == 0 ? 0 : totalUsageMs.get() / nb);
+        result.put("queryLatencyMaxMs", maxUsageMs.get());
+        return result;
+    }
+
+}
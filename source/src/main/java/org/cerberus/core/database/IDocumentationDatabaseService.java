@@ -36,7 +36,9 @@ public interface IDocumentationDatabaseService {
 
     /**
      * This method call exeSQL with documentation script right after
-     * DocumentationDatabaseService singleton is created
+     * DocumentationDatabaseService singleton is created, only if the
+     * documentation script changed since the last refresh (checksum stored in
+     * myversion table).
      */
     void init();
 
@@ -0,0 +1,209 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.engine.entity;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.cerberus.core.crud.entity.TestCaseCountryProperties;
+
+/**
+ * Dependency graph of the properties of an execution for its country.
+ * <p>
+ * A property depends on the properties referenced (between %) inside its
+ * value1 and value2. The graph is built once per execution from the property
+ * list of the testcase so that the list of properties required to calculate a
+ * given property no longer needs to be parsed from the values and searched
+ * inside the full property list on every decode. It also provides a
+ * topological order of the properties and the list of properties that are part
+ * of a dependency cycle.
+ */
+public class PropertyGraph {
+
+    private static final Logger LOG = LogManager.getLogger(PropertyGraph.class);
+
+    private final String country;
+    private final List<TestCaseCountryProperties> sourceList;
+    private final int sourceSize;
+
+    // Properties defined for the country.
+    private final Map<String, TestCaseCountryProperties> properties = new HashMap<>();
+    // Properties referenced in value1 and value2 (in order of appearance) that are defined on at least 1 country.
+    private final Map<String, List<String>> dependencies = new HashMap<>();
+    private final List<String> topologicalOrder = new ArrayList<>();
+    private final Set<String> cyclicProperties = new LinkedHashSet<>();
+    // Linked properties already resolved by property name.
+    private final Map<String, List<TestCaseCountryProperties>> linkedProperties = new HashMap<>();
+
+    /**
+     * Build the graph.
+     *
+     * @param country country of the execution
+     * @param propertyList all properties of the testcase (all countries)
+     * @param propertyNameParser function that returns the property names
+     * referenced inside a value
+     */
+    public PropertyGraph(String country, List<TestCaseCountryProperties> propertyList, Function<String, List<String>> propertyNameParser) {
+        this.country = country;
+        this.sourceList = propertyList;
+        this.sourceSize = propertyList == null ? 0 : propertyList.size();
+
+        Set<String> allNames = new HashSet<>();
+        if (propertyList != null) {
+            for (TestCaseCountryProperties tccp : propertyList) {
+                allNames.add(tccp.getProperty());
+                if (tccp.getCountry().equals(country) && !properties.containsKey(tccp.getProperty())) {
+                    properties.put(tccp.getProperty(), tccp);
+                }
+            }
+        }
+
+        for (TestCaseCountryProperties tccp : properties.values()) {
+            List<String> deps = new ArrayList<>();
+            for (String name : propertyNameParser.apply(tccp.getValue1())) {
+                if (allNames.contains(name)) {
+                    deps.add(name);
+                }
+            }
+            for (String name : propertyNameParser.apply(tccp.getValue2())) {
+                if (allNames.contains(name)) {
+                    deps.add(name);
+                }
+            }
+            dependencies.put(tccp.getProperty(), deps);
+        }
+
+        sortTopologically();
+        if (!cyclicProperties.isEmpty()) {
+            LOG.warn("Dependency cycle detected between properties " + cyclicProperties + " for country " + country + ".");
+        }
+    }
+
+    /**
+     * Depth first sort of the properties (dependencies first). Properties
+     * reached again while still being visited are part of a cycle.
+     */
+    private void sortTopologically() {
+        Map<String, Boolean> visited = new HashMap<>(); // FALSE while visiting, TRUE once done.
+        List<String> names = new ArrayList<>(properties.keySet());
+        Collections.sort(names);
+        for (String name : names) {
+            visit(name, visited, new ArrayList<>());
+        }
+    }
+
+    private void visit(String name, Map<String, Boolean> visited, List<String> path) {
+        Boolean state = visited.get(name);
+        if (Boolean.TRUE.equals(state)) {
+            return;
+        }
+        if (Boolean.FALSE.equals(state)) {
+            cyclicProperties.addAll(path.subList(path.indexOf(name), path.size()));
+            return;
+        }
+        visited.put(name, Boolean.FALSE);
+        path.add(name);
+        for (String dep : dependencies.get(name)) {
+            if (properties.containsKey(dep)) {
+                visit(dep, visited, path);
+            }
+        }
+        path.remove(path.size() - 1);
+        visited.put(name, Boolean.TRUE);
+        topologicalOrder.add(name);
+    }
+
+    /**
+     * Get the list of properties that needs to be calculated in order to
+     * calculate the property (including the property itself at the end). Each
+     * dependency is listed before the properties that use it.
+     *
+     * @param property property name
+     * @return list of properties (empty if property is not defined for the
+     * country)
+     */
+    public synchronized List<TestCaseCountryProperties> getLinkedProperties(String property) {
+        List<TestCaseCountryProperties> result = linkedProperties.get(property);
+        if (result == null) {
+            result = new ArrayList<>();
+            addLinkedProperties(property, new HashSet<>(), result);
+            result = Collections.unmodifiableList(result);
+            linkedProperties.put(property, result);
+        }
+        return result;
+    }
+
+    private void addLinkedProperties(String property, Set<String> crossedProperties, List<TestCaseCountryProperties> result) {
+        if (!crossedProperties.add(property)) {
+            return;
+        }
+        TestCaseCountryProperties tccp = properties.get(property);
+        if (tccp == null) {
+            return;
+        }
+        for (String dep : dependencies.get(property)) {
+            addLinkedProperties(dep, crossedProperties, result);
+        }
+        result.add(tccp);
+    }
+
+    /**
+     * @param property property name
+     * @return the property names referenced by the property
+     */
+    public List<String> getDependencies(String property) {
+        List<String> deps = dependencies.get(property);
+        return deps == null ? Collections.emptyList() : Collections.unmodifiableList(deps);
+    }
+
+    public List<String> getTopologicalOrder() {
+        return Collections.unmodifiableList(topologicalOrder);
+    }
+
+    public Set<String> getCyclicProperties() {
+        return Collections.unmodifiableSet(cyclicProperties);
+    }
+
+    /**
+     * @param country
+     * @param propertyList
+     * @return true if the graph was built from that property list and country
+     * (and the list did not change size since).
+     */
+    public boolean isBuiltFrom(String country, List<TestCaseCountryProperties> propertyList) {
+        return sourceList == propertyList
+                && sourceSize == (propertyList == null ? 0 : propertyList.size())
+                && this.country.equals(country);
+    }
+
+    @Override
+    public String toString() {
+        return "PropertyGraph{" + "country=" + country + ", properties=" + properties.size() + ", topologicalOrder=" + topologicalOrder + ", cyclicProperties=" + cyclicProperties + '}';
+    }
+
+}
@@ -46,6 +46,7 @@ public class Session {
     
     private WebDriver driver;
     private AppiumDriver appiumDriver;
+    private String robotSessionPoolKey; // Not null if the driver comes from the robot session pool and must be given back to it.
 
     private Integer cerberus_selenium_pageLoadTimeout;
     private Integer cerberus_selenium_implicitlyWait;
@@ -80,6 +81,14 @@ public class Session {
 
     private JSONArray consoleLogs;
 
+    public String getRobotSessionPoolKey() {
+        return robotSessionPoolKey;
+    }
+
+    public void setRobotSessionPoolKey(String robotSessionPoolKey) {
+        this.robotSessionPoolKey = robotSessionPoolKey;
+    }
+
     public boolean isSikuliAvailable() {
         return sikuliAvailable;
     }
@@ -0,0 +1,86 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.engine.execution;
+
+import org.cerberus.core.crud.entity.TestCaseExecution;
+import org.cerberus.core.crud.entity.TestCaseStepActionControlExecution;
+import org.cerberus.core.crud.entity.TestCaseStepActionExecution;
+import org.cerberus.core.crud.entity.TestCaseStepExecution;
+
+/**
+ * Write behind buffer of the step, action and control execution records of
+ * running executions. Records are kept in memory and written to database in
+ * batches when the buffer is flushed (at the end of every step, when too many
+ * records or too old records are pending and at the end of the execution).
+ */
+public interface IExecutionRecordBufferService {
+
+    /**
+     * @param execution
+     * @param stepExecution
+     */
+    void insertStep(TestCaseExecution execution, TestCaseStepExecution stepExecution);
+
+    /**
+     * @param execution
+     * @param stepExecution
+     */
+    void updateStep(TestCaseExecution execution, TestCaseStepExecution stepExecution);
+
+    /**
+     * @param execution
+     * @param actionExecution
+     */
+    void insertAction(TestCaseExecution execution, TestCaseStepActionExecution actionExecution);
+
+    /**
+     * @param execution
+     * @param actionExecution
+     */
+    void updateAction(TestCaseExecution execution, TestCaseStepActionExecution actionExecution);
+
+    /**
+     * @param execution
+     * @param controlExecution
+     */
+    void insertControl(TestCaseExecution execution, TestCaseStepActionControlExecution controlExecution);
+
+    /**
+     * @param execution
+     * @param controlExecution
+     */
+    void updateControl(TestCaseExecution execution, TestCaseStepActionControlExecution controlExecution);
+
+    /**
+     * Write all pending records of the execution to database.
+     *
+     * @param execution
+     */
+    void flush(TestCaseExecution execution);
+
+    /**
+     * Write all pending records of the execution to database and release the
+     * buffer of the execution.
+     *
+     * @param execution
+     */
+    void end(TestCaseExecution execution);
+
+}
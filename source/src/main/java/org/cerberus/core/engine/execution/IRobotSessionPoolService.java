@@ -0,0 +1,88 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.engine.execution;
+
+import org.json.JSONArray;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Pool of warm robot sessions (browsers) that can be reused from one
+ * execution to the next one on the same robot executor with the same
+ * capabilities. Activated with parameter cerberus_robot_sessionpool_active.
+ */
+public interface IRobotSessionPoolService {
+
+    /**
+     * @param robotHost
+     * @param robotPort
+     * @param caps capabilities requested to the robot
+     * @return the key identifying sessions that can be shared.
+     */
+    String getKey(String robotHost, String robotPort, Capabilities caps);
+
+    /**
+     * Take an idle session from the pool.
+     *
+     * @param key
+     * @return the driver of the session or null if no session is available (a
+     * new session has to be created and registered with
+     * {@link #register(String, String, WebDriver, long)}).
+     */
+    WebDriver acquire(String key);
+
+    /**
+     * Register a session that has just been created so that it can be given
+     * back to the pool at the end of the execution.
+     *
+     * @param key
+     * @param robotHost
+     * @param driver
+     * @param warmUpMs time taken to create the session
+     */
+    void register(String key, String robotHost, WebDriver driver, long warmUpMs);
+
+    /**
+     * Give back the session at the end of the execution. Session is cleaned
+     * and kept for next execution or closed if it cannot be reused.
+     *
+     * @param driver
+     * @param system
+     * @param reusable false if the execution ended with a technical error.
+     */
+    void release(WebDriver driver, String system, boolean reusable);
+
+    /**
+     * Close the idle sessions that were not used for more than their idle
+     * timeout.
+     */
+    void evictIdleSessions();
+
+    /**
+     * @return pool statistics per key (hit, miss, warm up time...).
+     */
+    JSONArray getAllEntries();
+
+    /**
+     * Close all idle sessions.
+     */
+    void purgeAllEntries();
+
+}
@@ -0,0 +1,287 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.engine.execution.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.cerberus.core.crud.entity.TestCaseExecution;
+import org.cerberus.core.crud.entity.TestCaseStepActionControlExecution;
+import org.cerberus.core.crud.entity.TestCaseStepActionExecution;
+import org.cerberus.core.crud.entity.TestCaseStepExecution;
+import org.cerberus.core.crud.service.ITestCaseStepActionControlExecutionService;
+import org.cerberus.core.crud.service.ITestCaseStepActionExecutionService;
+import org.cerberus.core.crud.service.ITestCaseStepExecutionService;
+import org.cerberus.core.engine.execution.IExecutionRecordBufferService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * In memory write behind buffer of the execution records.
+ * <p>
+ * Pending records are the execution objects themselves, so several updates of
+ * the same row are coalesced into a single write of its latest state. Action
+ * and control updates are even merged into their pending insert as the insert
+ * covers all the updated columns. Inserts are written before updates (and
+ * steps before actions before controls) in order to respect the foreign keys.
+ * When a batch fails, its records are written again one by one so that only
+ * the records really rejected by the database are lost.
+ */
+@Service
+public class ExecutionRecordBufferService implements IExecutionRecordBufferService {
+
+    private static final Logger LOG = LogManager.getLogger(ExecutionRecordBufferService.class);
+
+    // Pending records that trigger a flush.
+    private static final int FLUSH_MAX_RECORDS = 200;
+    // Age (in ms) of the oldest pending record that triggers a flush.
+    private static final long FLUSH_MAX_DURATION = 5000;
+
+    @Autowired
+    private ITestCaseStepExecutionService testCaseStepExecutionService;
+    @Autowired
+    private ITestCaseStepActionExecutionService testCaseStepActionExecutionService;
+    @Autowired
+    private ITestCaseStepActionControlExecutionService testCaseStepActionControlExecutionService;
+
+    private final Map<Long, ExecutionRecordBuffer> buffers = new ConcurrentHashMap<>();
+
+    @Override
+    public void insertStep(TestCaseExecution execution, TestCaseStepExecution stepExecution) {
+        ExecutionRecordBuffer buffer = getBuffer(execution);
+        synchronized (buffer) {
+            buffer.stepInserts.put(getKey(stepExecution), stepExecution);
+            buffer.touch();
+        }
+        flushIfRequired(execution, buffer);
+    }
+
+    @Override
+    public void updateStep(TestCaseExecution execution, TestCaseStepExecution stepExecution) {
+        ExecutionRecordBuffer buffer = getBuffer(execution);
+        synchronized (buffer) {
+            // Step insert does not cover all the updated columns (timeelapsed) so update is always kept.
+            buffer.stepUpdates.put(getKey(stepExecution), stepExecution);
+            buffer.touch();
+        }
+        flushIfRequired(execution, buffer);
+    }
+
+    @Override
+    public void insertAction(TestCaseExecution execution, TestCaseStepActionExecution actionExecution) {
+        ExecutionRecordBuffer buffer = getBuffer(execution);
+        synchronized (buffer) {
+            buffer.actionInserts.put(getKey(actionExecution), actionExecution);
+            buffer.touch();
+        }
+        flushIfRequired(execution, buffer);
+    }
+
+    @Override
+    public void updateAction(TestCaseExecution execution, TestCaseStepActionExecution actionExecution) {
+        ExecutionRecordBuffer buffer = getBuffer(execution);
+        synchronized (buffer) {
+            String key = getKey(actionExecution);
+            if (buffer.actionInserts.containsKey(key)) {
+                buffer.actionInserts.put(key, actionExecution);
+            } else {
+                buffer.actionUpdates.put(key, actionExecution);
+            }
+            buffer.touch();
+        }
+        flushIfRequired(execution, buffer);
+    }
+
+    @Override
+    public void insertControl(TestCaseExecution execution, TestCaseStepActionControlExecution controlExecution) {
+        ExecutionRecordBuffer buffer = getBuffer(execution);
+        synchronized (buffer) {
+            buffer.controlInserts.put(getKey(controlExecution), controlExecution);
+            buffer.touch();
+        }
+        flushIfRequired(execution, buffer);
+    }
+
+    @Override
+    public void updateControl(TestCaseExecution execution, TestCaseStepActionControlExecution controlExecution) {
+        ExecutionRecordBuffer buffer = getBuffer(execution);
+        synchronized (buffer) {
+            String key = getKey(controlExecution);
+            if (buffer.controlInserts.containsKey(key)) {
+                buffer.controlInserts.put(key, controlExecution);
+            } else {
+                buffer.controlUpdates.put(key, controlExecution);
+            }
+            buffer.touch();
+        }
+        flushIfRequired(execution, buffer);
+    }
+
+    @Override
+    public void flush(TestCaseExecution execution) {
+        ExecutionRecordBuffer buffer = buffers.get(execution.getId());
+        if (buffer != null) {
+            flush(execution, buffer);
+        }
+    }
+
+    @Override
+    public void end(TestCaseExecution execution) {
+        ExecutionRecordBuffer buffer = buffers.remove(execution.getId());
+        if (buffer != null) {
+            flush(execution, buffer);
+        }
+    }
+
+    private ExecutionRecordBuffer getBuffer(TestCaseExecution execution) {
+        return buffers.computeIfAbsent(execution.getId(), k -> new ExecutionRecordBuffer());
+    }
+
+    private void flushIfRequired(TestCaseExecution execution, ExecutionRecordBuffer buffer) {
+        boolean required;
+        synchronized (buffer) {
+            required = (buffer.size() >= FLUSH_MAX_RECORDS)
+                    || (new Date().getTime() - buffer.firstPending >= FLUSH_MAX_DURATION);
+        }
+        if (required) {
+            flush(execution, buffer);
+        }
+    }
+
+    private void flush(TestCaseExecution execution, ExecutionRecordBuffer buffer) {
+        synchronized (buffer) {
+            if (buffer.size() == 0) {
+                return;
+            }
+            LOG.debug("{} - Flushing {} execution records.", execution.getId(), buffer.size());
+            long exeId = execution.getId();
+            HashMap<String, String> secrets = execution.getSecrets();
+            try {
+                write(exeId, "step insert", buffer.stepInserts.values(),
+                        list -> testCaseStepExecutionService.insertTestCaseStepExecutionList(list, secrets),
+                        record -> testCaseStepExecutionService.insertTestCaseStepExecution(record, secrets));
+                write(exeId, "action insert", buffer.actionInserts.values(),
+                        list -> testCaseStepActionExecutionService.insertTestCaseStepActionExecutionList(list, secrets),
+                        record -> testCaseStepActionExecutionService.insertTestCaseStepActionExecution(record, secrets));
+                write(exeId, "control insert", buffer.controlInserts.values(),
+                        list -> testCaseStepActionControlExecutionService.insertTestCaseStepActionControlExecutionList(list, secrets),
+                        record -> testCaseStepActionControlExecutionService.insertTestCaseStepActionControlExecution(record, secrets));
+                write(exeId, "step update", buffer.stepUpdates.values(),
+                        list -> testCaseStepExecutionService.updateTestCaseStepExecutionList(list, secrets),
+                        record -> testCaseStepExecutionService.updateTestCaseStepExecution(record, secrets));
+                write(exeId, "action update", buffer.actionUpdates.values(),
+                        list -> testCaseStepActionExecutionService.updateTestCaseStepActionExecutionList(list, secrets),
+                        record -> testCaseStepActionExecutionService.updateTestCaseStepActionExecution(record, secrets));
+                write(exeId, "control update", buffer.controlUpdates.values(),
+                        list -> testCaseStepActionControlExecutionService.updateTestCaseStepActionControlExecutionList(list, secrets),
+                        record -> testCaseStepActionControlExecutionService.updateTestCaseStepActionControlExecution(record, secrets));
+            } finally {
+                buffer.clear();
+            }
+        }
+    }
+
+    /**
+     * Write the records in 1 batch or one by one if the batch failed.
+     */
+    private <T> void write(long exeId, String type, Collection<T> records, Predicate<List<T>> batch, Consumer<T> single) {
+        if (records.isEmpty()) {
+            return;
+        }
+        List<T> list = new ArrayList<>(records);
+        boolean written;
+        try {
+            written = batch.test(list);
+        } catch (Exception ex) {
+            LOG.warn("{} - Exception when writing {} {} records in batch.", exeId, list.size(), type, ex);
+            written = false;
+        }
+        if (written) {
+            return;
+        }
+        LOG.warn("{} - Batch of {} {} records failed, writing them one by one.", exeId, list.size(), type);
+        for (T record : list) {
+            try {
+                single.accept(record);
+            } catch (Exception ex) {
+                LOG.error("{} - Exception when writing {} record.", exeId, type, ex);
+            }
+        }
+    }
+
+    private static String getKey(TestCaseStepExecution stepExecution) {
+        return stepExecution.getTest() + "/" + stepExecution.getTestCase() + "/" + stepExecution.getStepId() + "/" + stepExecution.getIndex();
+    }
+
+    private static String getKey(TestCaseStepActionExecution actionExecution) {
+        return actionExecution.getTest() + "/" + actionExecution.getTestCase() + "/" + actionExecution.getStepId() + "/" + actionExecution.getIndex()
+                + "/" + actionExecution.getSequence();
+    }
+
+    private static String getKey(TestCaseStepActionControlExecution controlExecution) {
+        return controlExecution.getTest() + "/" + controlExecution.getTestCase() + "/" + controlExecution.getStepId() + "/" + controlExecution.getIndex()
+                + "/" + controlExecution.getActionId() + "/" + controlExecution.getControlId();
+    }
+
+    /**
+     * Pending records of one execution.
+     */
+    private static class ExecutionRecordBuffer {
+
+        private final Map<String, TestCaseStepExecution> stepInserts = new LinkedHashMap<>();
+        private final Map<String, TestCaseStepExecution> stepUpdates = new LinkedHashMap<>();
+        private final Map<String, TestCaseStepActionExecution> actionInserts = new LinkedHashMap<>();
+        private final Map<String, TestCaseStepActionExecution> actionUpdates = new LinkedHashMap<>();
+        private final Map<String, TestCaseStepActionControlExecution> controlInserts = new LinkedHashMap<>();
+        private final Map<String, TestCaseStepActionControlExecution> controlUpdates = new LinkedHashMap<>();
+        private long firstPending = 0;
+
+        private void touch() {
+            if (firstPending == 0) {
+                firstPending = new Date().getTime();
+            }
+        }
+
+        private int size() {
+            return stepInserts.size() + stepUpdates.size() + actionInserts.size() + actionUpdates.size() + controlInserts.size() + controlUpdates.size();
+        }
+
+        private void clear() {
+            stepInserts.clear();
+            stepUpdates.clear();
+            actionInserts.clear();
+            actionUpdates.clear();
+            controlInserts.clear();
+            controlUpdates.clear();
+            firstPending = 0;
+        }
+
+    }
+
+}
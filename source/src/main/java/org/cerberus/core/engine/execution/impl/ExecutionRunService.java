@@ -57,13 +57,11 @@ import org.cerberus.core.crud.service.ITestCaseExecutionQueueService;
 import org.cerberus.core.crud.service.ITestCaseExecutionService;
 import org.cerberus.core.crud.service.ITestCaseExecutionSysVerService;
 import org.cerberus.core.crud.service.ITestCaseService;
-import org.cerberus.core.crud.service.ITestCaseStepActionControlExecutionService;
-import org.cerberus.core.crud.service.ITestCaseStepActionExecutionService;
-import org.cerberus.core.crud.service.ITestCaseStepExecutionService;
 import org.cerberus.core.engine.entity.ExecutionUUID;
 import org.cerberus.core.engine.entity.MessageEvent;
 import org.cerberus.core.engine.entity.MessageGeneral;
 import org.cerberus.core.engine.execution.IConditionService;
+import org.cerberus.core.engine.execution.IExecutionRecordBufferService;
 import org.cerberus.core.engine.execution.IExecutionRunService;
 import org.cerberus.core.engine.execution.IRecorderService;
 import org.cerberus.core.engine.execution.IRetriesService;
@@ -80,6 +78,7 @@ import org.cerberus.core.enums.Video;
 import org.cerberus.core.event.IEventService;
 import org.cerberus.core.exception.CerberusEventException;
 import org.cerberus.core.exception.CerberusException;
+import org.cerberus.core.service.datalib.IDataLibService;
 import org.cerberus.core.service.kafka.IKafkaService;
 import org.cerberus.core.service.robotproviders.IBrowserstackService;
 import org.cerberus.core.service.robotproviders.IKobitonService;
@@ -87,6 +86,7 @@ import org.cerberus.core.service.robotproviders.ILambdaTestService;
 import org.cerberus.core.service.robotextension.ISikuliService;
 import org.cerberus.core.session.SessionCounter;
 import org.cerberus.core.util.DateUtil;
+import org.cerberus.core.util.ParsedDocumentCache;
 import org.cerberus.core.util.StringUtil;
 import org.cerberus.core.util.answer.AnswerItem;
 import org.cerberus.core.websocket.TestCaseExecutionEndPoint;
@@ -121,9 +121,7 @@ public class ExecutionRunService implements IExecutionRunService {
     private IControlService controlService;
     private IConditionService conditionService;
     private ITestCaseService testCaseService;
-    private ITestCaseStepExecutionService testCaseStepExecutionService;
-    private ITestCaseStepActionExecutionService testCaseStepActionExecutionService;
-    private ITestCaseStepActionControlExecutionService testCaseStepActionControlExecutionService;
+    private IExecutionRecordBufferService executionRecordBufferService;
     private ITestCaseExecutionService testCaseExecutionService;
     private ITestCaseExecutionSysVerService testCaseExecutionSysVerService;
     private ICountryEnvLinkService countryEnvLinkService;
@@ -153,6 +151,7 @@ public class ExecutionRunService implements IExecutionRunService {
     private IRobotProxyService executorService;
     private IEventService eventService;
     private IXRayService xRayService;
+    private IDataLibService dataLibService;
 
     @Override
     public TestCaseExecution executeTestCase(TestCaseExecution execution) throws CerberusException {
@@ -160,6 +159,8 @@ public class ExecutionRunService implements IExecutionRunService {
         String logPrefix = runID + " - ";
 
         VideoRecorder videoRecorder = null;
+        // Responses parsed during the execution (JSON, XML) are kept until the end of the execution.
+        ParsedDocumentCache.open();
         // Feeding Build Rev of main Application system to testcaseexecutionsysver table. Only if execution is not manual.
         try {
 
@@ -343,6 +344,29 @@ public class ExecutionRunService implements IExecutionRunService {
             LOG.debug("{}Loading Pre-testcases.", logPrefix);
             List<TestCase> preTests = testCaseService.getTestCaseForPrePostTesting(Test.TEST_PRETESTING, execution.getTestCaseObj().getApplication(), execution.getCountry(),
                     execution.getSystem(), execution.getCountryEnvParam().getBuild(), execution.getCountryEnvParam().getRevision());
+            //Load Post TestCase information
+            LOG.debug("{}Loading Post-testcases.", logPrefix);
+            List<TestCase> postTests = testCaseService.getTestCaseForPrePostTesting(Test.TEST_POSTTESTING, execution.getTestCaseObj().getApplication(), execution.getCountry(),
+                    execution.getSystem(), execution.getCountryEnvParam().getBuild(), execution.getCountryEnvParam().getRevision());
+
+            // Load Steps, Actions and Controls of Pre, Post and Main testcases (and all library steps they use) in a fixed number of queries.
+            LOG.debug("{}Loading all Steps information (Actions & Controls) of Pre, Post and Main testcases.", logPrefix);
+            List<TestCase> allTests = new ArrayList<>();
+            if (preTests != null) {
+                allTests.addAll(preTests);
+            }
+            if (postTests != null) {
+                allTests.addAll(postTests);
+            }
+            allTests.add(execution.getTestCaseObj());
+            boolean stepsLoaded = false;
+            try {
+                this.loadTestCaseService.loadTestCaseStep(allTests);
+                stepsLoaded = true;
+            } catch (CerberusException ex) {
+                LOG.warn("{}Exception loading all Steps information in batch. Loading them one by one.", logPrefix, ex);
+            }
+
             List<TestCaseStep> preTestCaseStepList = new ArrayList<>();
             //Load Pre TestCase with Step dependencies (Actions/Control)
             if (preTests != null && !preTests.isEmpty()) {
@@ -350,7 +374,7 @@ public class ExecutionRunService implements IExecutionRunService {
                 LOG.debug("{}Pre-testcases Loaded.", logPrefix);
                 LOG.debug("{}Loading all Steps information (Actions & Controls) of all Pre-testcase.", logPrefix);
                 for (TestCase myTCase : preTests) {
-                    preTestCaseStepList.addAll(this.loadTestCaseService.loadTestCaseStep(myTCase));
+                    preTestCaseStepList.addAll(stepsLoaded ? myTCase.getSteps() : this.loadTestCaseService.loadTestCaseStep(myTCase));
                     LOG.debug("{}Pre testcase : {} - {} Loaded With all Step(s) found.", logPrefix, myTCase.getTest(), myTCase.getTestcase());
                 }
                 LOG.debug("{}All Steps information (Actions & Controls) of all Pre-testcase Loaded.", logPrefix);
@@ -358,10 +382,6 @@ public class ExecutionRunService implements IExecutionRunService {
                 LOG.debug("{}No Pre-testcases found.", logPrefix);
             }
 
-            //Load Post TestCase information
-            LOG.debug("{}Loading Post-testcases.", logPrefix);
-            List<TestCase> postTests = testCaseService.getTestCaseForPrePostTesting(Test.TEST_POSTTESTING, execution.getTestCaseObj().getApplication(), execution.getCountry(),
-                    execution.getSystem(), execution.getCountryEnvParam().getBuild(), execution.getCountryEnvParam().getRevision());
             List<TestCaseStep> postTestCaseStepList = new ArrayList<>();
             // Load Post TestCase with Step dependencies (Actions/Control)
             if (postTests != null && !postTests.isEmpty()) {
@@ -369,7 +389,7 @@ public class ExecutionRunService implements IExecutionRunService {
                 LOG.debug("{}Post-testcases Loaded.", logPrefix);
                 LOG.debug("{}Loading all Steps information (Actions & Controls) of all Post-testcase.", logPrefix);
                 for (TestCase myTCase : postTests) {
-                    postTestCaseStepList.addAll(this.loadTestCaseService.loadTestCaseStep(myTCase));
+                    postTestCaseStepList.addAll(stepsLoaded ? myTCase.getSteps() : this.loadTestCaseService.loadTestCaseStep(myTCase));
                     LOG.debug("{}Post testcase : {}-{} Loaded With all Step(s) found.", logPrefix, myTCase.getTest(), myTCase.getTestcase());
                 }
                 LOG.debug("{}All Steps information (Actions & Controls) of all Post-testcase Loaded.", logPrefix);
@@ -380,7 +400,7 @@ public class ExecutionRunService implements IExecutionRunService {
             // Load Main TestCase with Step dependencies (Actions/Control)
             LOG.debug("{}Loading all Steps information of Main testcase.", logPrefix);
             List<TestCaseStep> testCaseStepList;
-            testCaseStepList = this.loadTestCaseService.loadTestCaseStep(execution.getTestCaseObj());
+            testCaseStepList = stepsLoaded ? execution.getTestCaseObj().getSteps() : this.loadTestCaseService.loadTestCaseStep(execution.getTestCaseObj());
             execution.getTestCaseObj().setSteps(testCaseStepList);
             LOG.debug("{}Steps information of Main testcase Loaded : {} Step(s) found.", logPrefix, execution.getTestCaseObj().getSteps().size());
 
@@ -522,7 +542,7 @@ public class ExecutionRunService implements IExecutionRunService {
                                 stepExecution.setLoop(step.getLoop());
                                 stepExecution.setConditionOptions(step.getConditionOptionsActive());
 
-                                testCaseStepExecutionService.insertTestCaseStepExecution(stepExecution, execution.getSecrets());
+                                executionRecordBufferService.insertStep(execution, stepExecution);
                                 stepExecution.setExecutionResultMessage(new MessageGeneral(MessageGeneralEnum.EXECUTION_PE_TESTSTARTED));
 
                                 // We populate the TestCaseStep inside the execution List
@@ -734,7 +754,7 @@ public class ExecutionRunService implements IExecutionRunService {
                                         stepExecution.setDescription(stepExecution.getDescription() + " - " + conditionAnswer.getMessageDescription());
                                     }
 
-                                    testCaseStepExecutionService.updateTestCaseStepExecution(stepExecution, execution.getSecrets());
+                                    executionRecordBufferService.updateStep(execution, stepExecution);
 
                                     if (stepExecution.isStopExecution()) {
                                         break;
@@ -755,14 +775,14 @@ public class ExecutionRunService implements IExecutionRunService {
                                     );
 
                                     stepExecution.setEnd(new Date().getTime());
-                                    this.testCaseStepExecutionService.updateTestCaseStepExecution(stepExecution, execution.getSecrets());
+                                    executionRecordBufferService.updateStep(execution, stepExecution);
                                     LOG.debug("{}Registered Step", logPrefix);
 
                                 } else {
                                     // Not executed because decode error or failed condition.
                                     stepExecution.setEnd(new Date().getTime());
                                     stepExecution.setStopExecution(true);
-                                    this.testCaseStepExecutionService.updateTestCaseStepExecution(stepExecution, execution.getSecrets());
+                                    executionRecordBufferService.updateStep(execution, stepExecution);
                                     LOG.debug("{}Registered Step", logPrefix);
                                 }
 
@@ -771,6 +791,9 @@ public class ExecutionRunService implements IExecutionRunService {
                                     LOG.info(stepExecution.toJson(false, true, execution.getSecrets()));
                                 }
 
+                                // Step is finished, pending step, action and control records are written to database.
+                                executionRecordBufferService.flush(execution);
+
                                 // Websocket --> we refresh the corresponding Detail Execution pages attached to this execution.
                                 updateExecutionWebSocketOnly(execution, false);
 
@@ -853,6 +876,8 @@ public class ExecutionRunService implements IExecutionRunService {
 
             // Clean memory
             try {
+                ParsedDocumentCache.close();
+                dataLibService.releaseReservedValues(execution.getId());
                 executionUUID.removeExecutionUUID(execution.getExecutionUUID());
                 LOG.debug("{}Clean ExecutionUUID", logPrefix);
             } catch (Exception ex) {
@@ -957,6 +982,9 @@ public class ExecutionRunService implements IExecutionRunService {
             LOG.warn("Exception Stopping Execution {} Exception : {}", execution.getId(), ex.toString(), ex);
         }
 
+        // Writing all pending step, action and control records.
+        executionRecordBufferService.end(execution);
+
         // Saving TestCaseExecution object.
         execution.setEnd(new Date().getTime());
 
@@ -1009,7 +1037,7 @@ public class ExecutionRunService implements IExecutionRunService {
             actionExecution.setOptions(testCaseStepAction.getOptionsActive());
             actionExecution.setConditionOptions(testCaseStepAction.getConditionOptionsActive());
 
-            this.testCaseStepActionExecutionService.insertTestCaseStepActionExecution(actionExecution, execution.getSecrets());
+            executionRecordBufferService.insertAction(execution, actionExecution);
 
             // We populate the TestCase Action List
             stepExecution.addActionExecutionList(actionExecution);
@@ -1124,7 +1152,7 @@ public class ExecutionRunService implements IExecutionRunService {
                         );
 
                         actionExecution.setEnd(new Date().getTime());
-                        this.testCaseStepActionExecutionService.updateTestCaseStepActionExecution(actionExecution, execution.getSecrets());
+                        executionRecordBufferService.updateAction(execution, actionExecution);
                         LOG.debug("{}Registered Action", logPrefix);
 
                     }
@@ -1160,7 +1188,7 @@ public class ExecutionRunService implements IExecutionRunService {
 
                     actionExecution.setEnd(new Date().getTime());
 
-                    this.testCaseStepActionExecutionService.updateTestCaseStepActionExecution(actionExecution, execution.getSecrets());
+                    executionRecordBufferService.updateAction(execution, actionExecution);
                     LOG.debug("{}Action interrupted due to condition error.", logPrefix);
                     // We stop any further Action execution.
                     if (actionExecution.isStopExecution()) {
@@ -1173,7 +1201,7 @@ public class ExecutionRunService implements IExecutionRunService {
                 stepExecution.setExecutionResultMessage(actionExecution.getExecutionResultMessage());
                 stepExecution.setStepResultMessage(actionExecution.getActionResultMessage());
                 stepExecution.setStopExecution(actionExecution.isStopExecution());
-                this.testCaseStepActionExecutionService.updateTestCaseStepActionExecution(actionExecution, execution.getSecrets());
+                executionRecordBufferService.updateAction(execution, actionExecution);
                 LOG.debug("{}Registered Action", logPrefix);
                 if (actionExecution.isStopExecution()) {
                     break;
@@ -1188,7 +1216,7 @@ public class ExecutionRunService implements IExecutionRunService {
         }
         stepExecution.setEnd(new Date().getTime());
 
-        this.testCaseStepExecutionService.updateTestCaseStepExecution(stepExecution, execution.getSecrets());
+        executionRecordBufferService.updateStep(execution, stepExecution);
 
         updateExecutionWebSocketOnly(execution, false);
 
@@ -1221,7 +1249,7 @@ public class ExecutionRunService implements IExecutionRunService {
         // Register Action in database
         LOG.debug("Registering Action : {}", actionExecution.getAction());
 
-        this.testCaseStepActionExecutionService.updateTestCaseStepActionExecution(actionExecution, execution.getSecrets());
+        executionRecordBufferService.updateAction(execution, actionExecution);
         LOG.debug("Registered Action");
 
         if (actionExecution.isStopExecution()) {
@@ -1262,7 +1290,7 @@ public class ExecutionRunService implements IExecutionRunService {
             controlExecution.setConditionOptions(control.getConditionOptionsActive());
             controlExecution.setOptions(control.getOptionsActive());
 
-            this.testCaseStepActionControlExecutionService.insertTestCaseStepActionControlExecution(controlExecution, execution.getSecrets());
+            executionRecordBufferService.insertControl(execution, controlExecution);
 
             LOG.debug("Executing control : {} type : {}", controlExecution.getControlId(), controlExecution.getControl());
 
@@ -1388,7 +1416,7 @@ public class ExecutionRunService implements IExecutionRunService {
                         );
 
                         controlExecution.setEnd(new Date().getTime());
-                        this.testCaseStepActionControlExecutionService.updateTestCaseStepActionControlExecution(controlExecution, execution.getSecrets());
+                        executionRecordBufferService.updateControl(execution, controlExecution);
                         LOG.debug("Registered Control");
 
                         // Websocket --> we refresh the corresponding Detail Execution pages attached to this execution.
@@ -1417,7 +1445,7 @@ public class ExecutionRunService implements IExecutionRunService {
 
                     controlExecution.setEnd(new Date().getTime());
 
-                    this.testCaseStepActionControlExecutionService.updateTestCaseStepActionControlExecution(controlExecution, execution.getSecrets());
+                    executionRecordBufferService.updateControl(execution, controlExecution);
                     LOG.debug("Control interrupted due to condition error.");
                     // We stop any further Control execution.
                     break;
@@ -1427,7 +1455,7 @@ public class ExecutionRunService implements IExecutionRunService {
                 controlExecution.setEnd(new Date().getTime());
                 actionExecution.setExecutionResultMessage(controlExecution.getExecutionResultMessage());
                 actionExecution.setActionResultMessage(controlExecution.getControlResultMessage());
-                this.testCaseStepActionControlExecutionService.updateTestCaseStepActionControlExecution(controlExecution, execution.getSecrets());
+                executionRecordBufferService.updateControl(execution, controlExecution);
                 LOG.debug("Registered Control");
 
                 // Websocket --> we refresh the corresponding Detail Execution pages attached to this execution.
@@ -1478,7 +1506,7 @@ public class ExecutionRunService implements IExecutionRunService {
 
         // Register Control in database
         LOG.debug("Registering Control : {}", controlExecution.getControlId());
-        this.testCaseStepActionControlExecutionService.updateTestCaseStepActionControlExecution(controlExecution, execution.getSecrets());
+        executionRecordBufferService.updateControl(execution, controlExecution);
         LOG.debug("Registered Control");
 
         // Websocket --> we refresh the corresponding Detail Execution pages attached to this execution.
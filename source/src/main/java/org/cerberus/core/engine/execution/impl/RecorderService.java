@@ -39,6 +39,7 @@ import org.cerberus.core.enums.MessageEventEnum;
 import org.cerberus.core.enums.Screenshot;
 import org.cerberus.core.exception.CerberusException;
 import org.cerberus.core.service.datalib.IDataLibService;
+import org.cerberus.core.service.har.IHarService;
 import org.cerberus.core.service.robotextension.ISikuliService;
 import org.cerberus.core.service.webdriver.IWebDriverService;
 import org.cerberus.core.util.StringUtil;
@@ -87,6 +88,8 @@ public class RecorderService implements IRecorderService {
     @Autowired
     IDataLibService dataLibService;
     @Autowired
+    IHarService harService;
+    @Autowired
     private IFactoryTestCaseExecutionFile testCaseExecutionFileFactory;
 
     private static final org.apache.logging.log4j.Logger LOG = org.apache.logging.log4j.LogManager.getLogger(RecorderService.class);
@@ -697,13 +700,11 @@ public class RecorderService implements IRecorderService {
             LOG.debug("Size of HAR message : {}", se.getResponseHTTPBody().length());
             // If JSON Size is higher than 1 Meg, we save the stat.
             if (!(StringUtil.isEmpty(se.getResponseHTTPBody())) && se.getResponseHTTPBody().length() > 1000000) {
-                JSONObject stat = new JSONObject(se.getResponseHTTPBody());
+                // Only the stat entry is read from the HAR (the log entries are skipped without being loaded).
+                JSONObject stat = harService.getStat(se.getResponseHTTPBody());
                 Recorder recorderResponse = this.initFilenames(runId, test, testCase, step, index, sequence, controlString, property, propertyIndex, "networktraffic_stat", "json", false);
-                if (stat.has("stat")) {
-                    if (stat.has("log")) {
-                        stat.remove("log");
-                    }
-                    recordFile(recorderResponse.getFullPath(), recorderResponse.getFileName(), stat.toString(1), execution.getSecrets());
+                if (stat != null) {
+                    recordFile(recorderResponse.getFullPath(), recorderResponse.getFileName(), new JSONObject().put("stat", stat).toString(1), execution.getSecrets());
 
                     // Index file created to database.
                     object = testCaseExecutionFileFactory.create(0, runId, recorderResponse.getLevel(), "Stat Only", recorderResponse.getRelativeFilenameURL(), TestCaseExecutionFile.FILETYPE_JSON, "", null, "", null);
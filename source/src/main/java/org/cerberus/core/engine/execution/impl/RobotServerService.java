@@ -40,10 +40,10 @@ import org.cerberus.core.engine.entity.MessageGeneral;
 import org.cerberus.core.engine.entity.Session;
 import org.cerberus.core.engine.execution.IRecorderService;
 import org.cerberus.core.engine.execution.IRobotServerService;
+import org.cerberus.core.engine.execution.IRobotSessionPoolService;
 import org.cerberus.core.engine.queuemanagement.IExecutionThreadPoolService;
 import org.cerberus.core.enums.MessageGeneralEnum;
 import org.cerberus.core.exception.CerberusException;
-import org.cerberus.core.service.har.IHarService;
 import org.cerberus.core.service.proxy.IProxyService;
 import org.cerberus.core.service.rest.IRestService;
 import org.cerberus.core.service.robotproviders.ILambdaTestService;
@@ -115,11 +115,11 @@ public class RobotServerService implements IRobotServerService {
     @Autowired
     private IRestService restService;
     @Autowired
-    private IHarService harService;
-    @Autowired
     private ILambdaTestService lambdaTestService;
     @Autowired
     private IRobotProxyService executorService;
+    @Autowired
+    private IRobotSessionPoolService robotSessionPoolService;
 
     private static Map<String, Boolean> apkAlreadyPrepare = new HashMap<>();
     private static int totocpt = 0;
@@ -336,7 +336,26 @@ public class RobotServerService implements IRobotServerService {
                     } else if (caps.getPlatform() != null && (caps.getPlatform().is(Platform.IOS) || caps.getPlatform().is(Platform.MAC))) {
                         appiumDriver = new IOSDriver(url, caps);
                     }
-                    driver = appiumDriver == null ? new RemoteWebDriver(executor, caps) : appiumDriver;
+                    if (appiumDriver == null) {
+                        // Desktop browser session may be reused from a previous execution.
+                        String poolKey = null;
+                        if (TestCaseExecution.ROBOTPROVIDER_NONE.equals(tCExecution.getRobotProvider())
+                                && (tCExecution.getRobotExecutorObj() == null || !"Y".equals(tCExecution.getRobotExecutorObj().getExecutorProxyActive()))
+                                && parameterService.getParameterBooleanByKey(Parameter.VALUE_cerberus_robot_sessionpool_active, system, false)) {
+                            poolKey = robotSessionPoolService.getKey(session.getHost(), session.getPort(), caps);
+                            driver = robotSessionPoolService.acquire(poolKey);
+                        }
+                        if (driver == null) {
+                            long warmUpStart = System.currentTimeMillis();
+                            driver = new RemoteWebDriver(executor, caps);
+                            if (poolKey != null) {
+                                robotSessionPoolService.register(poolKey, session.getHost(), driver, System.currentTimeMillis() - warmUpStart);
+                            }
+                        }
+                        session.setRobotSessionPoolKey(poolKey);
+                    } else {
+                        driver = appiumDriver;
+                    }
 
                     tCExecution.setRobotProviderSessionID(getSession(driver, tCExecution.getRobotProvider()));
                     tCExecution.setRobotSessionID(getSession(driver));
@@ -1091,11 +1110,9 @@ public class RobotServerService implements IRobotServerService {
                     // Before collecting the stats, we wait the network idles for few minutes
                     executorService.waitForIdleNetwork(tce.getRobotExecutorObj().getExecutorExtensionHost(), tce.getRobotExecutorObj().getExecutorExtensionPort(), tce.getRemoteProxyUUID(), tce.getSystem());
 
-                    // We now get the har data.
-                    JSONObject har = executorService.getHar(null, false, tce.getRobotExecutorObj().getExecutorExtensionHost(), tce.getRobotExecutorObj().getExecutorExtensionPort(), tce.getRemoteProxyUUID(), tce.getSystem(), 0);
-
-                    // and enrich it with stat entry.
-                    har = harService.enrichWithStats(har, tce.getCountryEnvironmentParameters().getDomain(), tce.getSystem(), tce.getNetworkTrafficIndexList());
+                    // We now get the stat entry of the har data (har is streamed and never fully loaded).
+                    JSONObject har = executorService.getHarStat(tce.getRobotExecutorObj().getExecutorExtensionHost(), tce.getRobotExecutorObj().getExecutorExtensionPort(), tce.getRemoteProxyUUID(), tce.getSystem(),
+                            tce.getCountryEnvironmentParameters().getDomain(), tce.getNetworkTrafficIndexList());
 
                     // We convert the har to database record HttpStat and save it to database.
                     try {
@@ -1123,6 +1140,10 @@ public class RobotServerService implements IRobotServerService {
                 if (session.getDriver() != null) {
                     session.getDriver().quit();
                 }
+            } else if (session.getRobotSessionPoolKey() != null && session.getDriver() != null) {
+                // Session is given back to the pool. It is only reused if the execution did not end on a technical error.
+                boolean reusable = TestCaseExecution.CONTROLSTATUS_OK.equals(tce.getControlStatus()) || TestCaseExecution.CONTROLSTATUS_KO.equals(tce.getControlStatus());
+                robotSessionPoolService.release(session.getDriver(), tce.getSystem(), reusable);
             } else {
                 session.quit();
             }
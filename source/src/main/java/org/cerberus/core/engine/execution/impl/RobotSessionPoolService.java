@@ -0,0 +1,347 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.engine.execution.impl;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import javax.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.cerberus.core.crud.entity.Parameter;
+import org.cerberus.core.crud.service.IInvariantService;
+import org.cerberus.core.crud.service.IParameterService;
+import org.cerberus.core.engine.execution.IRobotSessionPoolService;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Idle sessions are kept per key (robot host, port and capabilities). A
+ * session is kept idle only if the number of idle and used sessions on the
+ * robot host stays within the ROBOTHOST pool size so that the robot is not
+ * overloaded by sessions that are not used. Sessions are closed when they
+ * have been used cerberus_robot_sessionpool_maxuse times, when they are not
+ * used for cerberus_robot_sessionpool_idletimeout ms (checked on every
+ * acquire and periodically by the scheduler) or when they cannot be cleaned.
+ */
+@Service
+public class RobotSessionPoolService implements IRobotSessionPoolService {
+
+    private static final Logger LOG = LogManager.getLogger(RobotSessionPoolService.class);
+
+    private static final long EVICTION_PERIOD_MS = 30000;
+
+    @Autowired
+    private IParameterService parameterService;
+    @Autowired
+    private IInvariantService invariantService;
+
+    private final Map<String, Deque<PooledSession>> idleSessions = new HashMap<>();
+    // Sessions currently used by an execution. Weak keys so that a session lost on a failed start is not retained.
+    private final Map<WebDriver, PooledSession> usedSessions = new WeakHashMap<>();
+    private final Map<String, PoolStatistic> statistics = new HashMap<>();
+    private long lastEviction = System.currentTimeMillis();
+
+    @Override
+    public String getKey(String robotHost, String robotPort, Capabilities caps) {
+        return robotHost + ":" + robotPort + " " + new TreeMap<>(caps.asMap()).toString();
+    }
+
+    @Override
+    public WebDriver acquire(String key) {
+        while (true) {
+            PooledSession entry;
+            List<PooledSession> toClose;
+            synchronized (this) {
+                toClose = evictIdle();
+                Deque<PooledSession> idle = idleSessions.get(key);
+                entry = idle == null ? null : idle.pollFirst();
+                if (entry == null) {
+                    getStatistic(key).nbMiss++;
+                } else {
+                    usedSessions.put(entry.driver, entry);
+                }
+            }
+            close(toClose);
+
+            if (entry == null) {
+                return null;
+            }
+            if (isAlive(entry.driver)) {
+                synchronized (this) {
+                    getStatistic(key).nbHit++;
+                }
+                LOG.debug("Reuse robot session (use {}) : {}", entry.nbUse + 1, key);
+                return entry.driver;
+            }
+            // Session has been closed on robot side (robot restarted, session timeout...), we try next one.
+            synchronized (this) {
+                usedSessions.remove(entry.driver);
+                getStatistic(key).nbRecycled++;
+            }
+            quit(entry);
+        }
+    }
+
+    @Override
+    public synchronized void register(String key, String robotHost, WebDriver driver, long warmUpMs) {
+        usedSessions.put(driver, new PooledSession(key, robotHost, driver));
+        PoolStatistic statistic = getStatistic(key);
+        statistic.nbWarmUp++;
+        statistic.totalWarmUpMs += warmUpMs;
+        statistic.maxWarmUpMs = Math.max(statistic.maxWarmUpMs, warmUpMs);
+    }
+
+    @Override
+    public void release(WebDriver driver, String system, boolean reusable) {
+        PooledSession entry;
+        synchronized (this) {
+            entry = usedSessions.remove(driver);
+        }
+        if (entry == null) {
+            driver.quit();
+            return;
+        }
+        entry.nbUse++;
+        int maxUse = parameterService.getParameterIntegerByKey(Parameter.VALUE_cerberus_robot_sessionpool_maxuse, system, 20);
+        if (!reusable || entry.nbUse >= maxUse || !reset(driver)) {
+            synchronized (this) {
+                getStatistic(entry.key).nbRecycled++;
+            }
+            quit(entry);
+            return;
+        }
+
+        int maxIdle = getRobotHostPoolSize(entry.robotHost);
+        entry.idleTimeout = parameterService.getParameterIntegerByKey(Parameter.VALUE_cerberus_robot_sessionpool_idletimeout, system, 120000);
+        entry.lastUsed = System.currentTimeMillis();
+        boolean kept = false;
+        synchronized (this) {
+            if (countIdle(entry.robotHost) + countUsed(entry.robotHost) < maxIdle) {
+                idleSessions.computeIfAbsent(entry.key, k -> new ArrayDeque<>()).addFirst(entry);
+                kept = true;
+            }
+        }
+        if (!kept) {
+            quit(entry);
+        }
+    }
+
+    @Override
+    public void evictIdleSessions() {
+        List<PooledSession> toClose;
+        synchronized (this) {
+            toClose = evictIdle();
+        }
+        if (!toClose.isEmpty()) {
+            LOG.debug("Closing {} idle robot session(s).", toClose.size());
+        }
+        close(toClose);
+    }
+
+    @Override
+    public synchronized JSONArray getAllEntries() {
+        JSONArray result = new JSONArray();
+        for (Map.Entry<String, PoolStatistic> statistic : new TreeMap<>(statistics).entrySet()) {
+            try {
+                Deque<PooledSession> idle = idleSessions.get(statistic.getKey());
+                int nbUsed = 0;
+                for (PooledSession session : usedSessions.values()) {
+                    if (session.key.equals(statistic.getKey())) {
+                        nbUsed++;
+                    }
+                }
+                PoolStatistic value = statistic.getValue();
+                JSONObject entry = new JSONObject();
+                entry.put("key", statistic.getKey());
+                entry.put("nbIdle", idle == null ? 0 : idle.size());
+                entry.put("nbUsed", nbUsed);
+                entry.put("nbHit", value.nbHit);
+                entry.put("nbMiss", value.nbMiss);
+                entry.put("nbRecycled", value.nbRecycled);
+                entry.put("warmUpAvgMs", value.nbWarmUp == 0 ? 0 : value.totalWarmUpMs / value.nbWarmUp);
+                entry.put("warmUpMaxMs", value.maxWarmUpMs);
+                result.put(entry);
+            } catch (Exception ex) {
+                LOG.warn(ex.toString());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void purgeAllEntries() {
+        List<PooledSession> toClose = new ArrayList<>();
+        synchronized (this) {
+            for (Deque<PooledSession> idle : idleSessions.values()) {
+                toClose.addAll(idle);
+            }
+            idleSessions.clear();
+            statistics.clear();
+        }
+        close(toClose);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        purgeAllEntries();
+    }
+
+    /**
+     * Clean the browser so that next execution starts as if the session was
+     * new : only 1 window left on a blank page with no cookies and empty
+     * storage. Window size is set again when the session is started.
+     */
+    private boolean reset(WebDriver driver) {
+        try {
+            List<String> handles = new ArrayList<>(driver.getWindowHandles());
+            for (int i = 1; i < handles.size(); i++) {
+                driver.switchTo().window(handles.get(i));
+                driver.close();
+            }
+            driver.switchTo().window(handles.get(0));
+            driver.manage().deleteAllCookies();
+            ((JavascriptExecutor) driver).executeScript("try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+            driver.get("about:blank");
+            return true;
+        } catch (Exception ex) {
+            LOG.info("Robot session could not be cleaned, it will not be reused : {}", ex.toString());
+            return false;
+        }
+    }
+
+    private boolean isAlive(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (Exception ex) {
+            LOG.debug("Idle robot session no longer available : {}", ex.toString());
+            return false;
+        }
+    }
+
+    private int getRobotHostPoolSize(String robotHost) {
+        int poolSizeRobot = parameterService.getParameterIntegerByKey("cerberus_queueexecution_defaultrobothost_threadpoolsize", "", 10);
+        Integer poolSize = invariantService.readToHashMapGp1IntegerByIdname("ROBOTHOST", poolSizeRobot).get(robotHost);
+        return poolSize == null ? poolSizeRobot : poolSize;
+    }
+
+    private int countIdle(String robotHost) {
+        int count = 0;
+        for (Deque<PooledSession> idle : idleSessions.values()) {
+            for (PooledSession session : idle) {
+                if (session.robotHost.equals(robotHost)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private int countUsed(String robotHost) {
+        int count = 0;
+        for (PooledSession session : usedSessions.values()) {
+            if (session.robotHost.equals(robotHost)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private PoolStatistic getStatistic(String key) {
+        return statistics.computeIfAbsent(key, k -> new PoolStatistic());
+    }
+
+    private List<PooledSession> evictIdle() {
+        List<PooledSession> toClose = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        if (now - lastEviction < EVICTION_PERIOD_MS) {
+            return toClose;
+        }
+        lastEviction = now;
+        for (Iterator<Deque<PooledSession>> it = idleSessions.values().iterator(); it.hasNext();) {
+            Deque<PooledSession> idle = it.next();
+            idle.removeIf(session -> {
+                if (now - session.lastUsed > session.idleTimeout) {
+                    toClose.add(session);
+                    return true;
+                }
+                return false;
+            });
+            if (idle.isEmpty()) {
+                it.remove();
+            }
+        }
+        return toClose;
+    }
+
+    private void close(List<PooledSession> sessions) {
+        for (PooledSession session : sessions) {
+            quit(session);
+        }
+    }
+
+    private void quit(PooledSession session) {
+        try {
+            LOG.debug("Close robot session : {}", session.key);
+            session.driver.quit();
+        } catch (Exception ex) {
+            LOG.warn("Exception closing robot session : {}", ex.toString());
+        }
+    }
+
+    private static class PooledSession {
+
+        private final String key;
+        private final String robotHost;
+        private final WebDriver driver;
+        private int nbUse = 0;
+        private long lastUsed = System.currentTimeMillis();
+        private long idleTimeout;
+
+        PooledSession(String key, String robotHost, WebDriver driver) {
+            this.key = key;
+            this.robotHost = robotHost;
+            this.driver = driver;
+        }
+    }
+
+    private static class PoolStatistic {
+
+        private long nbHit = 0;
+        private long nbMiss = 0;
+        private long nbRecycled = 0;
+        private long nbWarmUp = 0;
+        private long totalWarmUpMs = 0;
+        private long maxWarmUpMs = 0;
+    }
+
+}
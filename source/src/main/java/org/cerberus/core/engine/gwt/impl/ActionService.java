@@ -54,7 +54,6 @@ import org.cerberus.core.service.appium.IAppiumService;
 import org.cerberus.core.service.appservice.IServiceService;
 import org.cerberus.core.service.cerberuscommand.ICerberusCommand;
 import org.cerberus.core.service.consolelog.IConsolelogService;
-import org.cerberus.core.service.har.IHarService;
 import org.cerberus.core.service.har.entity.NetworkTrafficIndex;
 import org.cerberus.core.service.rest.IRestService;
 import org.cerberus.core.service.robotextension.ISikuliService;
@@ -98,8 +97,6 @@ public class ActionService implements IActionService {
     @Autowired
     private IRestService restService;
     @Autowired
-    private IHarService harService;
-    @Autowired
     private IAppServiceService appServiceService;
     @Autowired
     private IRecorderService recorderService;
@@ -1867,12 +1864,11 @@ public class ActionService implements IActionService {
 
             // We now get the har data.
             boolean doWithResponse = ParameterParserUtil.parseBooleanParam(withResponseContent, false);
-            JSONObject har = executorService.getHar(urlToFilter, doWithResponse, exe.getRobotExecutorObj().getExecutorExtensionHost(), exe.getRobotExecutorObj().getExecutorExtensionPort(), exe.getRemoteProxyUUID(), exe.getSystem(), indexFrom);
-
-            har = harService.enrichWithStats(har, exe.getCountryEnvironmentParameters().getDomain(), exe.getSystem(), exe.getNetworkTrafficIndexList());
+            String har = executorService.getHarWithStat(urlToFilter, doWithResponse, exe.getRobotExecutorObj().getExecutorExtensionHost(), exe.getRobotExecutorObj().getExecutorExtensionPort(), exe.getRemoteProxyUUID(), exe.getSystem(), indexFrom,
+                    exe.getCountryEnvironmentParameters().getDomain(), exe.getNetworkTrafficIndexList());
 
             AppService appSrv = factoryAppService.create("", AppService.TYPE_REST, AppService.METHOD_HTTPGET, "", "", "", "", "", "", "", "", "", "", "", true, "", "", false, "", "", "", null, "", null, null);
-            appSrv.setResponseHTTPBody(har.toString());
+            appSrv.setResponseHTTPBody(har);
             appSrv.setResponseHTTPBodyContentType(AppService.RESPONSEHTTPBODYCONTENTTYPE_JSON);
             appSrv.setRecordTraceFile(false);
 
@@ -21,22 +21,15 @@ package org.cerberus.core.engine.gwt.impl;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.cerberus.core.crud.entity.ApplicationObject;
+import org.cerberus.core.crud.entity.ApplicationObjectCatalog;
 import org.cerberus.core.crud.entity.TestCaseExecution;
-import org.cerberus.core.crud.service.IApplicationObjectService;
-import org.cerberus.core.crud.service.IParameterService;
+import org.cerberus.core.crud.service.IApplicationObjectCatalogService;
 import org.cerberus.core.engine.gwt.IApplicationObjectVariableService;
-import org.cerberus.core.enums.MessageEventEnum;
 import org.cerberus.core.exception.CerberusEventException;
-import org.cerberus.core.util.answer.AnswerItem;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.io.File;
-import java.io.UnsupportedEncodingException;
-import java.net.URLEncoder;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -53,9 +46,7 @@ public class ApplicationObjectVariableService implements IApplicationObjectVaria
     private static final Logger LOG = LogManager.getLogger(ApplicationObjectVariableService.class);
 
     @Autowired
-    private IApplicationObjectService applicationObjectService;
-    @Autowired
-    private IParameterService parameterService;
+    private IApplicationObjectCatalogService applicationObjectCatalogService;
 
     /**
      * The property variable {@link Pattern}
@@ -93,32 +84,13 @@ public class ApplicationObjectVariableService implements IApplicationObjectVaria
             return stringToDecode;
         }
 
-        Iterator i = internalAppObjectsFromStringToDecode.iterator();
-        while (i.hasNext()) {
-            String value = (String) i.next();
+        ApplicationObjectCatalog catalog = applicationObjectCatalogService.getCatalog(system, application);
+        for (String value : internalAppObjectsFromStringToDecode) {
             String[] valueA = value.split("\\.");
             if (valueA.length >= 3) {
-                AnswerItem ans = applicationObjectService.readByKey(application, valueA[1]);
-                if (ans.isCodeEquals(MessageEventEnum.DATA_OPERATION_OK.getCode()) && ans.getItem() != null) {
-                    ApplicationObject ao = (ApplicationObject) ans.getItem();
-                    String val = null;
-                    if ("picturepath".equals(valueA[2])) {
-                        val = parameterService.getParameterStringByKey("cerberus_applicationobject_path", "", "") + File.separator + ao.getID() + File.separator + ao.getScreenshotFilename();
-                    } else if ("pictureurl".equals(valueA[2])) {
-                        try {
-                            val = parameterService.getParameterStringByKey("cerberus_url", system, "")
-                                    + "/ReadApplicationObjectImage?application=" + URLEncoder.encode(ao.getApplication(), "UTF-8")
-                                    + "&object=" + URLEncoder.encode(ao.getObject(), "UTF-8")
-                                    + "#xoffset=" + ao.getXOffset() + "|yoffset=" + ao.getYOffset();
-                        } catch (UnsupportedEncodingException ex) {
-                            LOG.error("Error when encoding string in URL : ", ex);
-                        }
-                    } else if ("value".equals(valueA[2])) {
-                        val = ao.getValue();
-                    }
-                    if (val != null) {
-                        stringToDecode = stringToDecode.replace("%" + value + "%", val);
-                    }
+                String val = catalog.getValue(valueA[1], valueA[2]);
+                if (val != null) {
+                    stringToDecode = stringToDecode.replace("%" + value + "%", val);
                 }
             }
         }
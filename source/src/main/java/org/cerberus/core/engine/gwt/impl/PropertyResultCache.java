@@ -0,0 +1,197 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.engine.gwt.impl;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.cerberus.core.crud.entity.TestCaseExecutionData;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.springframework.stereotype.Component;
+
+/**
+ * In memory cache of the results of the properties that have a cacheExpire
+ * defined.
+ * <p>
+ * It sits in front of the testcaseexecutiondata lookup (that stays the
+ * fallback, for ex after a restart or when the result was calculated by
+ * another Cerberus instance). When several executions miss the cache at the
+ * same time, only the first one calculates the property, the others wait for
+ * its result (single flight) up to WAIT_TIMEOUT_MS.
+ */
+@Component
+public class PropertyResultCache {
+
+    private static final Logger LOG = LogManager.getLogger(PropertyResultCache.class);
+
+    private static final String SEPARATOR = "////";
+    private static final long WAIT_TIMEOUT_MS = 60000;
+    private static final int MAX_ENTRIES = 5000;
+
+    private static final class Entry {
+
+        private final TestCaseExecutionData data;
+        private final long expireAt;
+
+        private Entry(TestCaseExecutionData data, long expireAt) {
+            this.data = data;
+            this.expireAt = expireAt;
+        }
+    }
+
+    private static final class Flight {
+
+        private final Thread producer = Thread.currentThread();
+        private final CountDownLatch done = new CountDownLatch(1);
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Flight> flights = new ConcurrentHashMap<>();
+
+    private final AtomicLong nbHit = new AtomicLong();
+    private final AtomicLong nbMiss = new AtomicLong();
+    private final AtomicLong nbWait = new AtomicLong();
+    private final AtomicLong nbWaitTimeout = new AtomicLong();
+    private final AtomicLong nbDatabaseHit = new AtomicLong();
+
+    public static String getKey(String system, String environment, String country, String property) {
+        return system + SEPARATOR + environment + SEPARATOR + country + SEPARATOR + property;
+    }
+
+    /**
+     * Get the result of the property if it was calculated less than
+     * cacheExpire seconds ago. If not, and another execution is already
+     * calculating it, wait for its result.
+     * <p>
+     * When null is returned, caller must calculate the property and call
+     * {@link #release(String, TestCaseExecutionData, int)} (whatever the result
+     * of the calculation is).
+     *
+     * @param key
+     * @param cacheExpire in seconds
+     * @return the cached result or null.
+     */
+    public TestCaseExecutionData acquire(String key, int cacheExpire) {
+        boolean waited = false;
+        while (true) {
+            TestCaseExecutionData data = getValid(key, cacheExpire);
+            if (data != null) {
+                nbHit.incrementAndGet();
+                return data;
+            }
+            Flight flight = new Flight();
+            Flight current = flights.putIfAbsent(key, flight);
+            if (current == null || current.producer == Thread.currentThread() || waited) {
+                // This execution is calculating the property.
+                nbMiss.incrementAndGet();
+                return null;
+            }
+            nbWait.incrementAndGet();
+            waited = true;
+            try {
+                LOG.debug("Waiting for property calculation of another execution : " + key);
+                if (!current.done.await(WAIT_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                    nbWaitTimeout.incrementAndGet();
+                    LOG.warn("Timeout waiting for property calculation of another execution : " + key);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                nbMiss.incrementAndGet();
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Report that the property has been retrieved from database.
+     */
+    public void countDatabaseHit() {
+        nbDatabaseHit.incrementAndGet();
+    }
+
+    /**
+     * Store the result (if any) and wake up the executions waiting for it.
+     *
+     * @param key
+     * @param data result of the calculation (null if nothing to cache)
+     * @param cacheExpire in seconds
+     */
+    public void release(String key, TestCaseExecutionData data, int cacheExpire) {
+        if (data != null) {
+            long expireAt = data.getStart() + (cacheExpire * 1000L);
+            if (entries.size() >= MAX_ENTRIES) {
+                long now = System.currentTimeMillis();
+                entries.values().removeIf(entry -> entry.expireAt < now);
+            }
+            if (entries.size() < MAX_ENTRIES) {
+                entries.put(key, new Entry(data, expireAt));
+            }
+        }
+        Flight flight = flights.get(key);
+        if (flight != null && flight.producer == Thread.currentThread()) {
+            flights.remove(key, flight);
+            flight.done.countDown();
+        }
+    }
+
+    public void purge() {
+        entries.clear();
+    }
+
+    public JSONObject getStatistics() {
+        JSONObject stats = new JSONObject();
+        try {
+            stats.put("size", entries.size());
+            stats.put("maxSize", MAX_ENTRIES);
+            stats.put("inFlight", flights.size());
+            stats.put("nbHit", nbHit.get());
+            stats.put("nbMiss", nbMiss.get());
+            stats.put("nbDatabaseHit", nbDatabaseHit.get());
+            stats.put("nbWait", nbWait.get());
+            stats.put("nbWaitTimeout", nbWaitTimeout.get());
+        } catch (JSONException ex) {
+            LOG.warn(ex, ex);
+        }
+        return stats;
+    }
+
+    private TestCaseExecutionData getValid(String key, int cacheExpire) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        if (entry.expireAt < now) {
+            entries.remove(key, entry);
+            return null;
+        }
+        // Property of the calling test case may have a shorter cacheExpire than the one that stored the result.
+        if (entry.data.getStart() < now - (cacheExpire * 1000L)) {
+            return null;
+        }
+        return entry.data;
+    }
+
+}
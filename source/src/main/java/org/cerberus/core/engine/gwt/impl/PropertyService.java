@@ -39,6 +39,7 @@ import org.cerberus.core.crud.service.ITestCaseExecutionDataService;
 import org.cerberus.core.crud.service.ITestDataLibService;
 import org.cerberus.core.engine.entity.Identifier;
 import org.cerberus.core.engine.entity.MessageEvent;
+import org.cerberus.core.engine.entity.PropertyGraph;
 import org.cerberus.core.engine.execution.IIdentifierService;
 import org.cerberus.core.engine.execution.IRecorderService;
 import org.cerberus.core.engine.gwt.IPropertyService;
@@ -50,7 +51,6 @@ import org.cerberus.core.service.appium.impl.AndroidAppiumService;
 import org.cerberus.core.service.appium.impl.IOSAppiumService;
 import org.cerberus.core.service.datalib.IDataLibService;
 import org.cerberus.core.service.groovy.IGroovyService;
-import org.cerberus.core.service.har.IHarService;
 import org.cerberus.core.service.json.IJsonService;
 import org.cerberus.core.service.soap.ISoapService;
 import org.cerberus.core.service.sql.ISQLService;
@@ -69,10 +69,21 @@ import org.openqa.selenium.NoSuchElementException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
 import java.net.MalformedURLException;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import org.cerberus.core.service.robotproxy.IRobotProxyService;
 
@@ -130,7 +141,31 @@ public class PropertyService implements IPropertyService {
     @Autowired
     private IRobotProxyService executorService;
     @Autowired
-    private IHarService harService;
+    private PropertyResultCache propertyResultCache;
+
+    /**
+     * Threads used to calculate independent properties in parallel. The
+     * number of properties calculated at the same time by an execution is
+     * bounded by cerberus_property_maxparallelcalculation.
+     */
+    private ThreadPoolExecutor parallelCalculationExecutor;
+
+    @PostConstruct
+    private void init() {
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        parallelCalculationExecutor = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60, TimeUnit.SECONDS, new SynchronousQueue<>(), r -> {
+            Thread thread = new Thread(r, "cerberus-property-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    private void shutdown() {
+        if (parallelCalculationExecutor != null && !parallelCalculationExecutor.isShutdown()) {
+            parallelCalculationExecutor.shutdownNow();
+        }
+    }
 
     @Override
     public AnswerItem<String> decodeStringWithExistingProperties(String stringToDecode, TestCaseExecution execution,
@@ -141,7 +176,6 @@ public class PropertyService implements IPropertyService {
         answer.setResultMessage(msg);
         answer.setItem(stringToDecode);
 
-        String country = execution.getCountry();
         long now = new Date().getTime();
         String stringToDecodeInit = stringToDecode;
 
@@ -175,53 +209,58 @@ public class PropertyService implements IPropertyService {
         /**
          * Get the list of properties needed to calculate the required property
          */
-        List<TestCaseCountryProperties> tcProperties = execution.getTestCaseCountryPropertyList();
+        PropertyGraph propertyGraph = getPropertyGraph(execution);
         List<TestCaseCountryProperties> linkedProperties = new ArrayList<>();
         for (String internalProperty : internalPropertiesFromStringToDecode) { // Looping on potential properties in string to decode.
-            List<TestCaseCountryProperties> newLinkedProperties = new ArrayList<>();
-            newLinkedProperties = this.getListOfPropertiesLinkedToProperty(country, internalProperty, new ArrayList<>(), tcProperties);
+            List<TestCaseCountryProperties> newLinkedProperties = propertyGraph.getLinkedProperties(internalProperty);
             linkedProperties.addAll(newLinkedProperties);
             if (LOG.isDebugEnabled()) {
                 LOG.debug("Property " + internalProperty + " need calculation of these (" + newLinkedProperties.size() + ") property(ies) " + newLinkedProperties);
             }
         }
 
+        /**
+         * Independent properties that only wait on a remote system are
+         * calculated in parallel first.
+         */
+        Map<String, TestCaseExecutionData> prefetchedData = calculateIndependentProperties(linkedProperties, execution, testCaseStepActionExecution, forceCalculation);
+
         /**
          * For all linked properties, calculate it if needed.
          */
         for (TestCaseCountryProperties eachTccp : linkedProperties) {
-            TestCaseExecutionData tcExeData;
-            /**
-             * First create testCaseExecutionData object
-             */
-            now = new Date().getTime();
-            tcExeData = factoryTestCaseExecutionData.create(execution.getId(), eachTccp.getProperty(), 1, eachTccp.getDescription(), null, eachTccp.getType(), eachTccp.getRank(),
-                    eachTccp.getValue1(), eachTccp.getValue2(), null, null, now, now, now, now, new MessageEvent(MessageEventEnum.PROPERTY_PENDING),
-                    eachTccp.getRetryNb(), eachTccp.getRetryPeriod(), eachTccp.getDatabase(), eachTccp.getValue1(), eachTccp.getValue2(), eachTccp.getLength(),
-                    eachTccp.getLength(), eachTccp.getRowLimit(), eachTccp.getNature(), execution.getApplicationObj().getSystem(), execution.getEnvironment(), execution.getCountry(), "", null, "N");
-            tcExeData.setTestCaseCountryProperties(eachTccp);
-            tcExeData.settCExecution(execution);
-            if (LOG.isDebugEnabled()) {
-                LOG.debug("Trying to calculate Property : '" + tcExeData.getProperty() + "' " + tcExeData);
-            }
+            TestCaseExecutionData tcExeData = prefetchedData.remove(eachTccp.getProperty());
+            boolean prefetched = tcExeData != null;
 
-            /*  First check if property has already been calculated
-             *  if action is calculateProperty, then set isKnownData to false.
-             */
-            tcExeData = getExecutionDataFromList(execution.getTestCaseExecutionDataMap(), eachTccp, forceCalculation, tcExeData);
+            if (!prefetched) {
+                /**
+                 * First create testCaseExecutionData object
+                 */
+                tcExeData = createExecutionData(eachTccp, execution);
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Trying to calculate Property : '" + tcExeData.getProperty() + "' " + tcExeData);
+                }
 
-            /**
-             * If testcasecountryproperty not defined, set ExecutionData with
-             * the same resultMessage
-             */
-            if (eachTccp.getResult() != null) {
-                tcExeData.setPropertyResultMessage(eachTccp.getResult());
+                /*  First check if property has already been calculated
+                 *  if action is calculateProperty, then set isKnownData to false.
+                 */
+                tcExeData = getExecutionDataFromList(execution.getTestCaseExecutionDataMap(), eachTccp, forceCalculation, tcExeData);
+
+                /**
+                 * If testcasecountryproperty not defined, set ExecutionData
+                 * with the same resultMessage
+                 */
+                if (eachTccp.getResult() != null) {
+                    tcExeData.setPropertyResultMessage(eachTccp.getResult());
+                }
             }
             /*
              * If not already calculated, or calculateProperty, then calculate it and insert or update it.
              */
-            if (MessageEventEnum.PROPERTY_PENDING.equals(tcExeData.getPropertyResultMessage().getSource())) {
-                calculateProperty(tcExeData, execution, testCaseStepActionExecution, eachTccp, forceCalculation);
+            if (prefetched || MessageEventEnum.PROPERTY_PENDING.equals(tcExeData.getPropertyResultMessage().getSource())) {
+                if (!prefetched) {
+                    calculateProperty(tcExeData, execution, testCaseStepActionExecution, eachTccp, forceCalculation);
+                }
                 msg = tcExeData.getPropertyResultMessage();
                 //saves the result
                 try {
@@ -307,76 +346,125 @@ public class PropertyService implements IPropertyService {
     }
 
     /**
-     * Method that takes the potencial @param property, finds it (or not if it
-     * is not a existing property) inside the existing property list @param
-     * propertiesOfTestcase and gets the list of all other properties required
-     * (contained inside value1 or value2).
+     * Get the dependency graph of the properties of the execution, building
+     * it if not already done (or if the property list changed).
      *
-     * @param country country used to filter property from propertiesOfTestcase
-     * @param property property to be calculated
-     * @param crossedProperties List of previously found properties.
-     * @param propertiesOfTestcase List of properties defined from the testcase.
-     * @return list of TestCaseCountryProperties that are included inside the
-     * definition of the @param property
+     * @param execution
+     * @return the graph
      */
-    private List<TestCaseCountryProperties> getListOfPropertiesLinkedToProperty(String country, String property, List<String> crossedProperties,
-            List<TestCaseCountryProperties> propertiesOfTestcase) {
-        List<TestCaseCountryProperties> result = new ArrayList<>();
-        TestCaseCountryProperties testCaseCountryProperty = null;
-        /*
-         * Check if property is not already known (recursive case).
-         */
-        if (crossedProperties.contains(property)) {
-            return result;
+    private PropertyGraph getPropertyGraph(TestCaseExecution execution) {
+        PropertyGraph propertyGraph = execution.getPropertyGraph();
+        if (propertyGraph == null || !propertyGraph.isBuiltFrom(execution.getCountry(), execution.getTestCaseCountryPropertyList())) {
+            propertyGraph = new PropertyGraph(execution.getCountry(), execution.getTestCaseCountryPropertyList(), this::getPropertiesListFromString);
+            execution.setPropertyGraph(propertyGraph);
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Property graph built for execution " + execution.getId() + " : " + propertyGraph);
+            }
         }
-        crossedProperties.add(property);
+        return propertyGraph;
+    }
 
-        /*
-         * Check if property is defined for this testcase
-         */
-        AnswerItem ansSearch = findMatchingTestCaseCountryProperty(property, country, propertiesOfTestcase);
-        testCaseCountryProperty = (TestCaseCountryProperties) ansSearch.getItem();
+    private TestCaseExecutionData createExecutionData(TestCaseCountryProperties eachTccp, TestCaseExecution execution) {
+        long now = new Date().getTime();
+        TestCaseExecutionData tcExeData = factoryTestCaseExecutionData.create(execution.getId(), eachTccp.getProperty(), 1, eachTccp.getDescription(), null, eachTccp.getType(), eachTccp.getRank(),
+                eachTccp.getValue1(), eachTccp.getValue2(), null, null, now, now, now, now, new MessageEvent(MessageEventEnum.PROPERTY_PENDING),
+                eachTccp.getRetryNb(), eachTccp.getRetryPeriod(), eachTccp.getDatabase(), eachTccp.getValue1(), eachTccp.getValue2(), eachTccp.getLength(),
+                eachTccp.getLength(), eachTccp.getRowLimit(), eachTccp.getNature(), execution.getApplicationObj().getSystem(), execution.getEnvironment(), execution.getCountry(), "", null, "N");
+        tcExeData.setTestCaseCountryProperties(eachTccp);
+        tcExeData.settCExecution(execution);
+        return tcExeData;
+    }
 
-        if (testCaseCountryProperty == null) {
+    /**
+     * A property can be calculated in parallel with others when it only waits
+     * on a remote system and does not depend on anything from the execution :
+     * getFromSql with no variable or property inside its values and no cache
+     * (cached properties are resolved from the cache).
+     */
+    private boolean isParallelCalculationCandidate(TestCaseCountryProperties tccp) {
+        return TestCaseCountryProperties.TYPE_GETFROMSQL.equals(tccp.getType())
+                && tccp.getResult() == null
+                && tccp.getCacheExpire() <= 0
+                && tccp.getValue1() != null && !tccp.getValue1().contains("%")
+                && (tccp.getValue2() == null || !tccp.getValue2().contains("%"));
+    }
+
+    /**
+     * Calculate in parallel the pending independent properties of the list.
+     * Results are not saved nor added to the execution data map here, that is
+     * done by the caller in the property order.
+     *
+     * @param linkedProperties properties to calculate
+     * @param execution
+     * @param testCaseStepActionExecution
+     * @param forceCalculation
+     * @return the calculated execution data by property name.
+     */
+    private Map<String, TestCaseExecutionData> calculateIndependentProperties(List<TestCaseCountryProperties> linkedProperties, TestCaseExecution execution,
+            TestCaseStepActionExecution testCaseStepActionExecution, boolean forceCalculation) {
+        Map<String, TestCaseExecutionData> result = new HashMap<>();
+
+        int maxParallel = parameterService.getParameterIntegerByKey("cerberus_property_maxparallelcalculation", execution.getSystem(), 1);
+        if (maxParallel <= 1) {
             return result;
         }
 
-        /*
-         * Check if property value1 and value2 contains internal properties
-         */
-        List<String> allProperties = new ArrayList<>();
-
-        // Value1 treatment
-        List<String> propertiesValue1 = new ArrayList<>();
-        //check the properties specified in the test
-        for (String propNameFromValue1 : this.getPropertiesListFromString(testCaseCountryProperty.getValue1())) {
-            for (TestCaseCountryProperties pr : propertiesOfTestcase) {
-                if (pr.getProperty().equals(propNameFromValue1)) {
-                    propertiesValue1.add(propNameFromValue1);
-                    break;
-                }
+        List<String> recursiveList = execution.getRecursiveAlreadyCalculatedPropertiesList();
+        Map<String, TestCaseExecutionData> candidates = new LinkedHashMap<>();
+        for (TestCaseCountryProperties tccp : linkedProperties) {
+            if (!candidates.containsKey(tccp.getProperty())
+                    && isParallelCalculationCandidate(tccp)
+                    && (forceCalculation || !execution.getTestCaseExecutionDataMap().containsKey(tccp.getProperty()))
+                    && (recursiveList == null || !recursiveList.contains(tccp.getProperty()))) {
+                candidates.put(tccp.getProperty(), createExecutionData(tccp, execution));
             }
         }
-        allProperties.addAll(propertiesValue1);
-
-        // Value2 treatment :
-        List<String> propertiesValue2 = new ArrayList<>();
-        //check the properties specified in the test
-        for (String propNameFromValue2 : this.getPropertiesListFromString(testCaseCountryProperty.getValue2())) {
-            for (TestCaseCountryProperties pr : propertiesOfTestcase) {
-                if (pr.getProperty().equals(propNameFromValue2)) {
-                    propertiesValue2.add(propNameFromValue2);
+        if (candidates.size() < 2) {
+            return result;
+        }
+        LOG.debug("Calculating " + candidates.size() + " properties in parallel (max " + maxParallel + ") : " + candidates.keySet());
+
+        Map<String, Future<?>> futures = new LinkedHashMap<>();
+        Semaphore slots = new Semaphore(maxParallel);
+        if (recursiveList != null) {
+            execution.setRecursiveAlreadyCalculatedPropertiesList(Collections.synchronizedList(recursiveList));
+        }
+        try {
+            for (TestCaseExecutionData data : candidates.values()) {
+                slots.acquire();
+                try {
+                    futures.put(data.getProperty(), parallelCalculationExecutor.submit(() -> {
+                        try {
+                            calculateProperty(data, execution, testCaseStepActionExecution, data.getTestCaseCountryProperties(), forceCalculation);
+                        } finally {
+                            slots.release();
+                        }
+                    }));
+                } catch (RejectedExecutionException ex) {
+                    slots.release();
+                    LOG.warn("Parallel calculation of property '" + data.getProperty() + "' rejected : " + ex.toString());
                     break;
                 }
             }
+            for (Map.Entry<String, Future<?>> future : futures.entrySet()) {
+                try {
+                    future.getValue().get();
+                    result.put(future.getKey(), candidates.get(future.getKey()));
+                } catch (ExecutionException ex) {
+                    LOG.error("Parallel calculation of property '" + future.getKey() + "' failed.", ex.getCause());
+                    // Property will be calculated again by the caller.
+                    if (recursiveList != null) {
+                        execution.getRecursiveAlreadyCalculatedPropertiesList().remove(future.getKey());
+                    }
+                }
+            }
+        } catch (InterruptedException ex) {
+            LOG.warn("Interrupted while calculating properties in parallel.");
+            Thread.currentThread().interrupt();
+            result.clear();
+        } finally {
+            execution.setRecursiveAlreadyCalculatedPropertiesList(recursiveList);
         }
-        allProperties.addAll(propertiesValue2);
-
-        for (String internalProperty : allProperties) {
-            result.addAll(getListOfPropertiesLinkedToProperty(country, internalProperty, crossedProperties, propertiesOfTestcase));
-        }
-        result.add(testCaseCountryProperty);
-
         return result;
     }
 
@@ -492,62 +580,6 @@ public class PropertyService implements IPropertyService {
         return properties;
     }
 
-    /**
-     * Auxiliary method that verifies if a property is defined in the scope of
-     * the test case.
-     *
-     * @param property - property name
-     * @param country - country were the property was implemented
-     * @param propertieOfTestcase - list of properties defined for the test case
-     * @return an AnswerItem that contains the property in case of success, and
-     * null otherwise. also it returns a message indicating error or success.
-     */
-    private AnswerItem<TestCaseCountryProperties> findMatchingTestCaseCountryProperty(String property, String country, List<TestCaseCountryProperties> propertieOfTestcase) {
-
-        AnswerItem<TestCaseCountryProperties> item = new AnswerItem<>();
-        boolean propertyDefined = false;
-        item.setResultMessage(new MessageEvent(MessageEventEnum.PROPERTY_SUCCESS));
-
-        TestCaseCountryProperties testCaseCountryProperty = null;
-        //searches for properties that match the propertyname (even if they use the getFromDataLib syntax)
-        if (propertieOfTestcase != null) {
-            for (TestCaseCountryProperties tccp : propertieOfTestcase) {
-                if (tccp.getProperty().equals(property)) {
-                    //property is defined
-                    propertyDefined = true;
-                    //check if is defined for country
-                    if (tccp.getCountry().equals(country)) {
-                        //if is a sub data access then we create a auxiliary property
-                        testCaseCountryProperty = tccp;
-                        if (LOG.isDebugEnabled()) {
-                            LOG.debug("Property found : " + tccp);
-                        }
-                        break;
-                    }
-                }
-            }
-        }
-
-        /**
-         * If property defined on another Country, set a specific message. If
-         * property is not defined at all, trigger the end of the testcase.
-         */
-        if (testCaseCountryProperty == null) {
-            MessageEvent msg = new MessageEvent(MessageEventEnum.PROPERTY_FAILED_NO_PROPERTY_DEFINITION);
-            if (!propertyDefined) {
-                msg = new MessageEvent(MessageEventEnum.PROPERTY_FAILED_UNKNOWNPROPERTY);
-            }
-            msg.setDescription(msg.getDescription().replace("%COUNTRY%", country));
-            msg.setDescription(msg.getDescription().replace("%PROP%", property));
-            item.setResultMessage(msg);
-            if (LOG.isDebugEnabled()) {
-                LOG.debug(msg.getDescription());
-            }
-        }
-        item.setItem(testCaseCountryProperty);
-        return item;
-    }
-
     @Override
     public void calculateProperty(TestCaseExecutionData testCaseExecutionData, TestCaseExecution execution, TestCaseStepActionExecution testCaseStepActionExecution,
             TestCaseCountryProperties testCaseCountryProperty, boolean forceRecalculation) {
@@ -575,21 +607,32 @@ public class PropertyService implements IPropertyService {
             execution.getRecursiveAlreadyCalculatedPropertiesList().add(testCaseCountryProperty.getProperty());
         }
 
-        try {
+        // Check if cache activated and cache entry exist.
+        int cacheValue = testCaseCountryProperty.getCacheExpire();
+        String cacheKey = null;
+        TestCaseExecutionData data = null;
+        boolean useCache = false;
+        boolean useCacheFromDatabase = false;
 
-            // Check if cache activated and cache entry exist.
-            int cacheValue = testCaseCountryProperty.getCacheExpire();
-            boolean useCache = false;
-            TestCaseExecutionData data = null;
+        try {
 
             if (cacheValue > 0) {
-                try {
-                    data = testCaseExecutionDataService.readLastCacheEntry(execution.getApplicationObj().getSystem(), execution.getEnvironment(), execution.getCountry(), testCaseCountryProperty.getProperty(), cacheValue);
-                    if (data != null) {
-                        useCache = true;
+                // In memory cache first (waiting if another execution is already calculating the property), then database.
+                cacheKey = PropertyResultCache.getKey(execution.getApplicationObj().getSystem(), execution.getEnvironment(), execution.getCountry(), testCaseCountryProperty.getProperty());
+                data = propertyResultCache.acquire(cacheKey, cacheValue);
+                if (data == null) {
+                    try {
+                        data = testCaseExecutionDataService.readLastCacheEntry(execution.getApplicationObj().getSystem(), execution.getEnvironment(), execution.getCountry(), testCaseCountryProperty.getProperty(), cacheValue);
+                        if (data != null) {
+                            propertyResultCache.countDatabaseHit();
+                            useCacheFromDatabase = true;
+                        }
+                    } catch (CerberusException e) {
+                        // do nothing, useCache will be false
                     }
-                } catch (CerberusException e) {
-                    // do nothing, useCache will be false
+                }
+                if (data != null) {
+                    useCache = true;
                 }
             }
 
@@ -856,6 +899,17 @@ public class PropertyService implements IPropertyService {
             LOG.error(ex.toString(), ex);
             testCaseExecutionData.setEnd(new Date().getTime());
             testCaseExecutionData.setPropertyResultMessage(ex.getMessageError());
+        } finally {
+            if (cacheKey != null) {
+                // Same rules as the database cache entry (see readLastCacheEntry).
+                if (useCache) {
+                    propertyResultCache.release(cacheKey, useCacheFromDatabase ? data : null, cacheValue);
+                } else if ("OK".equals(testCaseExecutionData.getRC()) && testCaseExecutionData.getIndex() == 1 && testCaseExecutionData.getJsonResult() != null) {
+                    propertyResultCache.release(cacheKey, getCacheEntry(testCaseExecutionData), cacheValue);
+                } else {
+                    propertyResultCache.release(cacheKey, null, cacheValue);
+                }
+            }
         }
 
         testCaseExecutionData.setEnd(new Date().getTime());
@@ -866,6 +920,20 @@ public class PropertyService implements IPropertyService {
 
     }
 
+    /**
+     * Copy of the fields of the result that are used when the property is
+     * taken from cache.
+     */
+    private TestCaseExecutionData getCacheEntry(TestCaseExecutionData executionData) {
+        TestCaseExecutionData entry = new TestCaseExecutionData();
+        entry.setId(executionData.getId());
+        entry.setStart(executionData.getStart());
+        entry.setDataLib(executionData.getDataLib());
+        entry.setValue(executionData.getValue());
+        entry.setJsonResult(executionData.getJsonResult());
+        return entry;
+    }
+
     private void addPropertyASecret(TestCaseExecutionData executionData, TestCaseExecution execution) {
         if (executionData.getProperty().contains("PASSW")) {
             execution.appendSecret(executionData.getValue());
@@ -1000,15 +1068,13 @@ public class PropertyService implements IPropertyService {
                     indexFrom = execution.getNetworkTrafficIndexList().get(execution.getNetworkTrafficIndexList().size() - 1).getIndexRequestNb();
                 }
 
-                JSONObject harRes = executorService.getHar(testCaseExecutionData.getValue1(), false, execution.getRobotExecutorObj().getExecutorExtensionHost(), execution.getRobotExecutorObj().getExecutorExtensionPort(),
-                        execution.getRemoteProxyUUID(), execution.getSystem(), indexFrom);
-
-                harRes = harService.enrichWithStats(harRes, execution.getCountryEnvironmentParameters().getDomain(), execution.getSystem(), execution.getNetworkTrafficIndexList());
+                String harRes = executorService.getHarWithStat(testCaseExecutionData.getValue1(), false, execution.getRobotExecutorObj().getExecutorExtensionHost(), execution.getRobotExecutorObj().getExecutorExtensionPort(),
+                        execution.getRemoteProxyUUID(), execution.getSystem(), indexFrom, execution.getCountryEnvironmentParameters().getDomain(), execution.getNetworkTrafficIndexList());
 
                 //Record result in filessytem.
-                testCaseExecutionData.addFileList(recorderService.recordProperty(execution.getId(), testCaseExecutionData.getProperty(), 1, harRes.toString(1), execution.getSecrets()));
+                testCaseExecutionData.addFileList(recorderService.recordProperty(execution.getId(), testCaseExecutionData.getProperty(), 1, harRes, execution.getSecrets()));
 
-                String valueFromJson = this.jsonService.getFromJson(harRes.toString(), null, jsonPath);
+                String valueFromJson = this.jsonService.getFromJson(harRes, null, jsonPath);
 
                 if (valueFromJson != null) {
                     testCaseExecutionData.setValue(valueFromJson);
@@ -39,7 +39,11 @@ import org.springframework.stereotype.Service;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -53,6 +57,15 @@ public class VariableService implements IVariableService {
 
     private static final String VALUE_WHEN_NULL = "<null>";
 
+    private static final Pattern VARIABLE_PATTERN = Pattern.compile("%(property|system|object|service)\\..*?%");
+    private static final Pattern STEP_RETURNCODE_PATTERN = Pattern.compile("(SYS_STEP|system\\.STEP)\\.(\\d+)\\.(\\d+)\\.RETURNCODE");
+    // Parsed strings are only cached up to that length and the cache is cleared when max size is reached.
+    private static final int PARSED_CACHE_MAXLENGTH = 2000;
+    private static final int PARSED_CACHE_MAXSIZE = 10000;
+
+    private final Map<String, Function<TestCaseExecution, String>> systemVariables = initSystemVariables();
+    private final Map<String, List<DecodeSegment>> parsedCache = new ConcurrentHashMap<>();
+
     @Autowired
     private PropertyService propertyService;
     @Autowired
@@ -193,10 +206,7 @@ public class VariableService implements IVariableService {
     private List<String> getVariableListFromString(String str) {
         List<String> variable = new ArrayList<>();
 
-        final String regex = "%(property|system|object|service)\\..*?%";
-
-        final Pattern pattern = Pattern.compile(regex);
-        final Matcher matcher = pattern.matcher(str);
+        final Matcher matcher = VARIABLE_PATTERN.matcher(str);
 
         while (matcher.find()) {
             LOG.debug("Full match: " + matcher.group());
@@ -209,220 +219,256 @@ public class VariableService implements IVariableService {
     @Override
     public String decodeStringWithSystemVariable(String stringToDecode, TestCaseExecution execution) {
 
-        try {
-            /**
-             * Trying to replace by system environment variables from Execution.
-             */
-            stringToDecode = stringToDecode.replace("%SYS_SYSTEM%", execution.getApplicationObj().getSystem());
-            stringToDecode = stringToDecode.replace("%SYS_APPLI%", execution.getApplicationObj().getApplication());
-            stringToDecode = stringToDecode.replace("%SYS_BROWSER%", execution.getBrowser());
-            stringToDecode = stringToDecode.replace("%SYS_ROBOT%", execution.getRobot());
-            stringToDecode = stringToDecode.replace("%SYS_ROBOTDECLI%", execution.getRobotDecli());
-            stringToDecode = stringToDecode.replace("%SYS_SCREENSIZE%", execution.getScreenSize());
-            stringToDecode = stringToDecode.replace("%SYS_APP_DOMAIN%", execution.getCountryEnvironmentParameters().getDomain().split(",")[0].trim());
-            stringToDecode = stringToDecode.replace("%SYS_APP_HOST%", execution.getCountryEnvironmentParameters().getIp());
-            stringToDecode = stringToDecode.replace("%SYS_APP_CONTEXTROOT%", execution.getCountryEnvironmentParameters().getUrl());
-            stringToDecode = stringToDecode.replace("%SYS_APP_VAR1%", execution.getCountryEnvironmentParameters().getVar1());
-            stringToDecode = stringToDecode.replace("%SYS_APP_VAR2%", execution.getCountryEnvironmentParameters().getVar2());
-            stringToDecode = stringToDecode.replace("%SYS_APP_VAR3%", execution.getCountryEnvironmentParameters().getVar3());
-            stringToDecode = stringToDecode.replace("%SYS_APP_VAR4%", execution.getCountryEnvironmentParameters().getVar4());
-            stringToDecode = stringToDecode.replace("%SYS_EXEURL%", execution.getUrl());
-            stringToDecode = stringToDecode.replace("%SYS_ENV%", execution.getEnvironmentData());
-            stringToDecode = stringToDecode.replace("%SYS_ENVGP%", execution.getEnvironmentDataObj().getGp1());
-            stringToDecode = stringToDecode.replace("%SYS_COUNTRY%", execution.getCountry());
-            stringToDecode = stringToDecode.replace("%SYS_COUNTRYGP1%", execution.getCountryObj().getGp1());
-            stringToDecode = stringToDecode.replace("%SYS_COUNTRYGP2%", execution.getCountryObj().getGp2());
-            stringToDecode = stringToDecode.replace("%SYS_COUNTRYGP3%", execution.getCountryObj().getGp3());
-            stringToDecode = stringToDecode.replace("%SYS_COUNTRYGP4%", execution.getCountryObj().getGp4());
-            stringToDecode = stringToDecode.replace("%SYS_COUNTRYGP5%", execution.getCountryObj().getGp5());
-            stringToDecode = stringToDecode.replace("%SYS_COUNTRYGP6%", execution.getCountryObj().getGp6());
-            stringToDecode = stringToDecode.replace("%SYS_COUNTRYGP7%", execution.getCountryObj().getGp7());
-            stringToDecode = stringToDecode.replace("%SYS_COUNTRYGP8%", execution.getCountryObj().getGp8());
-            stringToDecode = stringToDecode.replace("%SYS_COUNTRYGP9%", execution.getCountryObj().getGp9());
-            stringToDecode = stringToDecode.replace("%SYS_TEST%", execution.getTest());
-            stringToDecode = stringToDecode.replace("%SYS_TESTCASE%", execution.getTestCase());
-            stringToDecode = stringToDecode.replace("%SYS_TESTCASEDESCRIPTION%", execution.getDescription());
-            stringToDecode = stringToDecode.replace("%SYS_SSIP%", execution.getSeleniumIP());
-            stringToDecode = stringToDecode.replace("%SYS_SSPORT%", execution.getSeleniumPort());
-            stringToDecode = stringToDecode.replace("%SYS_TAG%", execution.getTag());
-            stringToDecode = stringToDecode.replace("%SYS_EXECUTIONID%", String.valueOf(execution.getId()));
-            stringToDecode = stringToDecode.replace("%SYS_EXESTART%", String.valueOf(new Timestamp(execution.getStart())));
-            stringToDecode = stringToDecode.replace("%SYS_EXESTORAGEURL%", recorderService.getStorageSubFolderURL(execution.getId()));
-            long nowInMS = new Date().getTime();
-            stringToDecode = stringToDecode.replace("%SYS_EXEELAPSEDMS%", String.valueOf(nowInMS - execution.getStart()));
-            // New syntax
-            stringToDecode = stringToDecode.replace("%system.SYSTEM%", execution.getApplicationObj().getSystem());
-            stringToDecode = stringToDecode.replace("%system.APPLI%", execution.getApplicationObj().getApplication());
-            stringToDecode = stringToDecode.replace("%system.BROWSER%", execution.getBrowser());
-            stringToDecode = stringToDecode.replace("%system.ROBOT%", execution.getRobot());
-            stringToDecode = stringToDecode.replace("%system.ROBOTDECLI%", execution.getRobotDecli());
-            if (execution.getRobotExecutorObj() != null) {
-                stringToDecode = stringToDecode.replace("%system.ROBOTHOST%", execution.getRobotExecutorObj().getHost());
-            }
+        if (stringToDecode == null || stringToDecode.indexOf('%') < 0) {
+            return stringToDecode;
+        }
 
-            stringToDecode = stringToDecode.replace("%system.SCREENSIZE%", execution.getScreenSize());
-            stringToDecode = stringToDecode.replace("%system.APP_DOMAIN%", execution.getCountryEnvironmentParameters().getDomain().split(",")[0].trim());
-            stringToDecode = stringToDecode.replace("%system.APP_HOST%", execution.getCountryEnvironmentParameters().getIp());
-            stringToDecode = stringToDecode.replace("%system.APP_CONTEXTROOT%", execution.getCountryEnvironmentParameters().getUrl());
-            stringToDecode = stringToDecode.replace("%system.APP_VAR1%", execution.getCountryEnvironmentParameters().getVar1());
-            stringToDecode = stringToDecode.replace("%system.APP_VAR2%", execution.getCountryEnvironmentParameters().getVar2());
-            stringToDecode = stringToDecode.replace("%system.APP_VAR3%", execution.getCountryEnvironmentParameters().getVar3());
-            stringToDecode = stringToDecode.replace("%system.APP_VAR4%", execution.getCountryEnvironmentParameters().getVar4());
-            stringToDecode = stringToDecode.replace("%system.EXEURL%", execution.getUrl());
-            stringToDecode = stringToDecode.replace("%system.ENV%", execution.getEnvironmentData());
-            stringToDecode = stringToDecode.replace("%system.ENVGP%", execution.getEnvironmentDataObj().getGp1());
-            stringToDecode = stringToDecode.replace("%system.COUNTRY%", execution.getCountry());
-            stringToDecode = stringToDecode.replace("%system.COUNTRYGP1%", execution.getCountryObj().getGp1());
-            stringToDecode = stringToDecode.replace("%system.COUNTRYGP2%", execution.getCountryObj().getGp2());
-            stringToDecode = stringToDecode.replace("%system.COUNTRYGP3%", execution.getCountryObj().getGp3());
-            stringToDecode = stringToDecode.replace("%system.COUNTRYGP4%", execution.getCountryObj().getGp4());
-            stringToDecode = stringToDecode.replace("%system.COUNTRYGP5%", execution.getCountryObj().getGp5());
-            stringToDecode = stringToDecode.replace("%system.COUNTRYGP6%", execution.getCountryObj().getGp6());
-            stringToDecode = stringToDecode.replace("%system.COUNTRYGP7%", execution.getCountryObj().getGp7());
-            stringToDecode = stringToDecode.replace("%system.COUNTRYGP8%", execution.getCountryObj().getGp8());
-            stringToDecode = stringToDecode.replace("%system.COUNTRYGP9%", execution.getCountryObj().getGp9());
-            stringToDecode = stringToDecode.replace("%system.TEST%", execution.getTest());
-            stringToDecode = stringToDecode.replace("%system.TESTCASE%", execution.getTestCase());
-            stringToDecode = stringToDecode.replace("%system.TESTCASEDESCRIPTION%", execution.getDescription());
-            stringToDecode = stringToDecode.replace("%system.SSIP%", execution.getSeleniumIP());
-            stringToDecode = stringToDecode.replace("%system.SSPORT%", execution.getSeleniumPort());
-            stringToDecode = stringToDecode.replace("%system.TAG%", execution.getTag());
-            stringToDecode = stringToDecode.replace("%system.EXECUTIONID%", String.valueOf(execution.getId()));
-            stringToDecode = stringToDecode.replace("%system.EXESTART%", String.valueOf(new Timestamp(execution.getStart())));
-            stringToDecode = stringToDecode.replace("%system.EXESTORAGEURL%", recorderService.getStorageSubFolderURL(execution.getId()));
-            nowInMS = new Date().getTime();
-            stringToDecode = stringToDecode.replace("%system.EXEELAPSEDMS%", String.valueOf(nowInMS - execution.getStart()));
-            if (execution.getRemoteProxyUUID() != null) {
-                stringToDecode = stringToDecode.replace("%system.REMOTEPROXYUUID%", execution.getRemoteProxyUUID());
-            }
-            if (execution.getRobotExecutorObj() != null) {
-                stringToDecode = stringToDecode.replace("%system.REMOTEPROXY_HAR_URL%", "http://" + execution.getRobotExecutorObj().getExecutorExtensionHost() + ":" + execution.getRobotExecutorObj().getExecutorExtensionPort() + "/getHar?uuid=" + execution.getRemoteProxyUUID());
-            }
-            /**
-             * Trying to replace by system environment variables from Step
-             * Execution .
-             */
-            if (execution.getTestCaseStepExecutionList() != null) {
+        List<DecodeSegment> segments = getDecodeSegments(stringToDecode);
+        if (segments == null) {
+            // No system variable inside the string.
+            return stringToDecode;
+        }
 
-                if (execution.getTestCaseStepExecutionList().size() > 0) {
-                    stringToDecode = stringToDecode.replace("%system.CURRENTSTEP_SORT%", String.valueOf(execution.getTestCaseStepExecutionList().get(execution.getTestCaseStepExecutionList().size() - 1).getSort()));
-                    stringToDecode = stringToDecode.replace("%SYS_CURRENTSTEP_SORT%", String.valueOf(execution.getTestCaseStepExecutionList().get(execution.getTestCaseStepExecutionList().size() - 1).getSort()));
+        StringBuilder result = new StringBuilder(stringToDecode.length());
+        for (DecodeSegment segment : segments) {
+            if (!segment.isVariable) {
+                result.append(segment.value);
+            } else {
+                String value = getSystemVariableValue(segment.value, execution);
+                if (value == null) {
+                    // Variable not available on that execution so it stays undecoded.
+                    result.append('%').append(segment.value).append('%');
+                } else {
+                    result.append(value);
+                }
+            }
+        }
+        return result.toString();
+    }
 
-                    // %SYS_CURRENTSTEP_INDEX%
-                    if (stringToDecode.contains("%SYS_CURRENTSTEP_")) {
-                        TestCaseStepExecution currentStep = execution.getTestCaseStepExecutionList().get(execution.getTestCaseStepExecutionList().size() - 1);
-                        stringToDecode = stringToDecode.replace("%SYS_CURRENTSTEP_INDEX%", String.valueOf(currentStep.getIndex()));
-                        stringToDecode = stringToDecode.replace("%SYS_CURRENTSTEP_STARTISO%", new Timestamp(currentStep.getStart()).toString());
-                        nowInMS = new Date().getTime();
-                        stringToDecode = stringToDecode.replace("%SYS_CURRENTSTEP_ELAPSEDMS%", String.valueOf(nowInMS - currentStep.getFullStart()));
+    /**
+     * Split the string into literal and system variable segments. The parsed
+     * form only depends on the string so it is cached and reused by all
+     * executions.
+     *
+     * @param stringToDecode
+     * @return null if the string does not contain any system variable.
+     */
+    private List<DecodeSegment> getDecodeSegments(String stringToDecode) {
+        List<DecodeSegment> segments = parsedCache.get(stringToDecode);
+        if (segments != null) {
+            return segments.isEmpty() ? null : segments;
+        }
 
-                    }
-                    if (stringToDecode.contains("%system.CURRENTSTEP_")) {
-                        TestCaseStepExecution currentStep = execution.getTestCaseStepExecutionList().get(execution.getTestCaseStepExecutionList().size() - 1);
-                        stringToDecode = stringToDecode.replace("%system.CURRENTSTEP_INDEX%", String.valueOf(currentStep.getIndex()));
-                        stringToDecode = stringToDecode.replace("%system.CURRENTSTEP_STARTISO%", new Timestamp(currentStep.getStart()).toString());
-                        nowInMS = new Date().getTime();
-                        stringToDecode = stringToDecode.replace("%system.CURRENTSTEP_ELAPSEDMS%", String.valueOf(nowInMS - currentStep.getFullStart()));
-                    }
+        segments = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int length = stringToDecode.length();
+        int i = 0;
+        while (i < length) {
+            int start = stringToDecode.indexOf('%', i);
+            int end = start < 0 ? -1 : stringToDecode.indexOf('%', start + 1);
+            if (end < 0) {
+                literal.append(stringToDecode, i, length);
+                break;
+            }
+            String name = stringToDecode.substring(start + 1, end);
+            if (isSystemVariable(name)) {
+                literal.append(stringToDecode, i, start);
+                if (literal.length() > 0) {
+                    segments.add(new DecodeSegment(literal.toString(), false));
+                    literal.setLength(0);
                 }
+                segments.add(new DecodeSegment(name, true));
+                i = end + 1;
+            } else {
+                // Closing % could be the opening of the next variable.
+                literal.append(stringToDecode, i, end);
+                i = end;
+            }
+        }
+        boolean hasVariable = !segments.isEmpty();
+        if (hasVariable && literal.length() > 0) {
+            segments.add(new DecodeSegment(literal.toString(), false));
+        }
+        if (!hasVariable) {
+            segments = new ArrayList<>();
+        }
 
-                // %SYS_STEP.n.RETURNCODE%
-                if (stringToDecode.contains("%SYS_STEP.")) {
-                    String syntaxToReplace = "";
-                    for (Object testCaseStepExecution : execution.getTestCaseStepExecutionList()) {
-                        TestCaseStepExecution tcse = (TestCaseStepExecution) testCaseStepExecution;
-                        syntaxToReplace = "%SYS_STEP." + tcse.getSort() + "." + tcse.getIndex() + ".RETURNCODE%";
-                        stringToDecode = stringToDecode.replace(syntaxToReplace, tcse.getReturnCode());
-                    }
-                }
-                if (stringToDecode.contains("%system.STEP.")) {
-                    String syntaxToReplace = "";
-                    for (Object testCaseStepExecution : execution.getTestCaseStepExecutionList()) {
-                        TestCaseStepExecution tcse = (TestCaseStepExecution) testCaseStepExecution;
-                        syntaxToReplace = "%system.STEP." + tcse.getSort() + "." + tcse.getIndex() + ".RETURNCODE%";
-                        stringToDecode = stringToDecode.replace(syntaxToReplace, tcse.getReturnCode());
-                    }
-                }
+        if (stringToDecode.length() <= PARSED_CACHE_MAXLENGTH) {
+            if (parsedCache.size() >= PARSED_CACHE_MAXSIZE) {
+                parsedCache.clear();
+            }
+            parsedCache.put(stringToDecode, segments);
+        }
+        return hasVariable ? segments : null;
+    }
 
+    private boolean isSystemVariable(String name) {
+        if (systemVariables.containsKey(name)) {
+            return true;
+        }
+        Matcher matcher = STEP_RETURNCODE_PATTERN.matcher(name);
+        if (matcher.matches()) {
+            try {
+                // Only %system.STEP.n.i.RETURNCODE% syntax without leading 0 match a step.
+                return String.valueOf(Integer.parseInt(matcher.group(2))).equals(matcher.group(2))
+                        && String.valueOf(Integer.parseInt(matcher.group(3))).equals(matcher.group(3));
+            } catch (NumberFormatException ex) {
+                return false;
             }
+        }
+        return false;
+    }
 
-            /**
-             * Last Service Called Variables.
-             */
-            if (!(execution.getLastServiceCalled() == null)) {
-                stringToDecode = stringToDecode.replace("%system.LASTSERVICE_HTTPCODE%", String.valueOf(execution.getLastServiceCalled().getResponseHTTPCode()));
-                stringToDecode = stringToDecode.replace("%system.LASTSERVICE_CALL%", execution.getLastServiceCalled().toJSONOnDefaultExecution().toString());
-                if (!(execution.getLastServiceCalled().getResponseHTTPBody() == null)) {
-                    stringToDecode = stringToDecode.replace("%system.LASTSERVICE_RESPONSE%", execution.getLastServiceCalled().getResponseHTTPBody());
-                } else {
-                    stringToDecode = stringToDecode.replace("%system.LASTSERVICE_RESPONSE%", VALUE_WHEN_NULL);
-                }
-            } else {
-                stringToDecode = stringToDecode.replace("%system.LASTSERVICE_HTTPCODE%", VALUE_WHEN_NULL);
-                stringToDecode = stringToDecode.replace("%system.LASTSERVICE_CALL%", VALUE_WHEN_NULL);
-                stringToDecode = stringToDecode.replace("%system.LASTSERVICE_RESPONSE%", VALUE_WHEN_NULL);
+    private String getSystemVariableValue(String name, TestCaseExecution execution) {
+        try {
+            Function<TestCaseExecution, String> systemVariable = systemVariables.get(name);
+            if (systemVariable != null) {
+                return systemVariable.apply(execution);
             }
-            if (!(execution.getLastServiceCalled() == null)) {
-                stringToDecode = stringToDecode.replace("%SYS_LASTSERVICE_HTTPCODE%", String.valueOf(execution.getLastServiceCalled().getResponseHTTPCode()));
-                stringToDecode = stringToDecode.replace("%SYS_LASTSERVICE_CALL%", execution.getLastServiceCalled().toJSONOnDefaultExecution().toString());
-                if (!(execution.getLastServiceCalled().getResponseHTTPBody() == null)) {
-                    stringToDecode = stringToDecode.replace("%SYS_LASTSERVICE_RESPONSE%", execution.getLastServiceCalled().getResponseHTTPBody());
-                } else {
-                    stringToDecode = stringToDecode.replace("%SYS_LASTSERVICE_RESPONSE%", VALUE_WHEN_NULL);
+
+            // %system.STEP.n.i.RETURNCODE%
+            Matcher matcher = STEP_RETURNCODE_PATTERN.matcher(name);
+            if (matcher.matches() && execution.getTestCaseStepExecutionList() != null) {
+                int sort = Integer.parseInt(matcher.group(2));
+                int index = Integer.parseInt(matcher.group(3));
+                for (TestCaseStepExecution tcse : execution.getTestCaseStepExecutionList()) {
+                    if (tcse.getSort() == sort && tcse.getIndex() == index) {
+                        return tcse.getReturnCode();
+                    }
                 }
-            } else {
-                stringToDecode = stringToDecode.replace("%SYS_LASTSERVICE_HTTPCODE%", VALUE_WHEN_NULL);
-                stringToDecode = stringToDecode.replace("%SYS_LASTSERVICE_CALL%", VALUE_WHEN_NULL);
-                stringToDecode = stringToDecode.replace("%SYS_LASTSERVICE_RESPONSE%", VALUE_WHEN_NULL);
             }
+        } catch (Exception e) {
+            LOG.error("Error when decoding system variable " + name + " on exe : " + execution.getId(), e);
+        }
+        return null;
+    }
 
-            /**
-             * Trying to replace date variables .
-             */
-            stringToDecode = stringToDecode.replace("%SYS_TODAY-yyyy%", DateUtil.getTodayFormat("yyyy"));
-            stringToDecode = stringToDecode.replace("%SYS_TODAY-MM%", DateUtil.getTodayFormat("MM"));
-            stringToDecode = stringToDecode.replace("%SYS_TODAY-dd%", DateUtil.getTodayFormat("dd"));
-            stringToDecode = stringToDecode.replace("%SYS_TODAY-doy%", DateUtil.getTodayFormat("D"));
-            stringToDecode = stringToDecode.replace("%SYS_TODAY-HH%", DateUtil.getTodayFormat("HH"));
-            stringToDecode = stringToDecode.replace("%SYS_TODAY-mm%", DateUtil.getTodayFormat("mm"));
-            stringToDecode = stringToDecode.replace("%SYS_TODAY-ss%", DateUtil.getTodayFormat("ss"));
-            stringToDecode = stringToDecode.replace("%SYS_YESTERDAY-yyyy%", DateUtil.getYesterdayFormat("yyyy"));
-            stringToDecode = stringToDecode.replace("%SYS_YESTERDAY-MM%", DateUtil.getYesterdayFormat("MM"));
-            stringToDecode = stringToDecode.replace("%SYS_YESTERDAY-dd%", DateUtil.getYesterdayFormat("dd"));
-            stringToDecode = stringToDecode.replace("%SYS_YESTERDAY-doy%", DateUtil.getYesterdayFormat("D"));
-            stringToDecode = stringToDecode.replace("%SYS_YESTERDAY-HH%", DateUtil.getYesterdayFormat("HH"));
-            stringToDecode = stringToDecode.replace("%SYS_YESTERDAY-mm%", DateUtil.getYesterdayFormat("mm"));
-            stringToDecode = stringToDecode.replace("%SYS_YESTERDAY-ss%", DateUtil.getYesterdayFormat("ss"));
-            stringToDecode = stringToDecode.replace("%SYS_TOMORROW-yyyy%", DateUtil.getTomorrowFormat("yyyy"));
-            stringToDecode = stringToDecode.replace("%SYS_TOMORROW-MM%", DateUtil.getTomorrowFormat("MM"));
-            stringToDecode = stringToDecode.replace("%SYS_TOMORROW-dd%", DateUtil.getTomorrowFormat("dd"));
-            stringToDecode = stringToDecode.replace("%SYS_TOMORROW-doy%", DateUtil.getTomorrowFormat("D"));
-            //New syntax
-            stringToDecode = stringToDecode.replace("%system.TODAY-yyyy%", DateUtil.getTodayFormat("yyyy"));
-            stringToDecode = stringToDecode.replace("%system.TODAY-MM%", DateUtil.getTodayFormat("MM"));
-            stringToDecode = stringToDecode.replace("%system.TODAY-dd%", DateUtil.getTodayFormat("dd"));
-            stringToDecode = stringToDecode.replace("%system.TODAY-doy%", DateUtil.getTodayFormat("D"));
-            stringToDecode = stringToDecode.replace("%system.TODAY-HH%", DateUtil.getTodayFormat("HH"));
-            stringToDecode = stringToDecode.replace("%system.TODAY-mm%", DateUtil.getTodayFormat("mm"));
-            stringToDecode = stringToDecode.replace("%system.TODAY-ss%", DateUtil.getTodayFormat("ss"));
-            stringToDecode = stringToDecode.replace("%system.YESTERDAY-yyyy%", DateUtil.getYesterdayFormat("yyyy"));
-            stringToDecode = stringToDecode.replace("%system.YESTERDAY-MM%", DateUtil.getYesterdayFormat("MM"));
-            stringToDecode = stringToDecode.replace("%system.YESTERDAY-dd%", DateUtil.getYesterdayFormat("dd"));
-            stringToDecode = stringToDecode.replace("%system.YESTERDAY-doy%", DateUtil.getYesterdayFormat("D"));
-            stringToDecode = stringToDecode.replace("%system.YESTERDAY-HH%", DateUtil.getYesterdayFormat("HH"));
-            stringToDecode = stringToDecode.replace("%system.YESTERDAY-mm%", DateUtil.getYesterdayFormat("mm"));
-            stringToDecode = stringToDecode.replace("%system.YESTERDAY-ss%", DateUtil.getYesterdayFormat("ss"));
-            stringToDecode = stringToDecode.replace("%system.TOMORROW-yyyy%", DateUtil.getTomorrowFormat("yyyy"));
-            stringToDecode = stringToDecode.replace("%system.TOMORROW-MM%", DateUtil.getTomorrowFormat("MM"));
-            stringToDecode = stringToDecode.replace("%system.TOMORROW-dd%", DateUtil.getTomorrowFormat("dd"));
-            stringToDecode = stringToDecode.replace("%system.TOMORROW-doy%", DateUtil.getTomorrowFormat("D"));
+    /**
+     * Lookup table of all system variables. Every variable is available with
+     * the old %SYS_XXX% and new %system.XXX% syntax unless added with
+     * addNewSyntaxSystemVariable. Value is calculated only when the variable
+     * is used and null value means that the variable is not decoded.
+     */
+    private Map<String, Function<TestCaseExecution, String>> initSystemVariables() {
+        Map<String, Function<TestCaseExecution, String>> variables = new HashMap<>();
 
-            return stringToDecode;
+        /**
+         * System environment variables from Execution.
+         */
+        addSystemVariable(variables, "SYSTEM", execution -> execution.getApplicationObj().getSystem());
+        addSystemVariable(variables, "APPLI", execution -> execution.getApplicationObj().getApplication());
+        addSystemVariable(variables, "BROWSER", TestCaseExecution::getBrowser);
+        addSystemVariable(variables, "ROBOT", TestCaseExecution::getRobot);
+        addSystemVariable(variables, "ROBOTDECLI", TestCaseExecution::getRobotDecli);
+        addNewSyntaxSystemVariable(variables, "ROBOTHOST", execution -> execution.getRobotExecutorObj() == null ? null : execution.getRobotExecutorObj().getHost());
+        addSystemVariable(variables, "SCREENSIZE", TestCaseExecution::getScreenSize);
+        addSystemVariable(variables, "APP_DOMAIN", execution -> execution.getCountryEnvironmentParameters().getDomain().split(",")[0].trim());
+        addSystemVariable(variables, "APP_HOST", execution -> execution.getCountryEnvironmentParameters().getIp());
+        addSystemVariable(variables, "APP_CONTEXTROOT", execution -> execution.getCountryEnvironmentParameters().getUrl());
+        addSystemVariable(variables, "APP_VAR1", execution -> execution.getCountryEnvironmentParameters().getVar1());
+        addSystemVariable(variables, "APP_VAR2", execution -> execution.getCountryEnvironmentParameters().getVar2());
+        addSystemVariable(variables, "APP_VAR3", execution -> execution.getCountryEnvironmentParameters().getVar3());
+        addSystemVariable(variables, "APP_VAR4", execution -> execution.getCountryEnvironmentParameters().getVar4());
+        addSystemVariable(variables, "EXEURL", TestCaseExecution::getUrl);
+        addSystemVariable(variables, "ENV", TestCaseExecution::getEnvironmentData);
+        addSystemVariable(variables, "ENVGP", execution -> execution.getEnvironmentDataObj().getGp1());
+        addSystemVariable(variables, "COUNTRY", TestCaseExecution::getCountry);
+        addSystemVariable(variables, "COUNTRYGP1", execution -> execution.getCountryObj().getGp1());
+        addSystemVariable(variables, "COUNTRYGP2", execution -> execution.getCountryObj().getGp2());
+        addSystemVariable(variables, "COUNTRYGP3", execution -> execution.getCountryObj().getGp3());
+        addSystemVariable(variables, "COUNTRYGP4", execution -> execution.getCountryObj().getGp4());
+        addSystemVariable(variables, "COUNTRYGP5", execution -> execution.getCountryObj().getGp5());
+        addSystemVariable(variables, "COUNTRYGP6", execution -> execution.getCountryObj().getGp6());
+        addSystemVariable(variables, "COUNTRYGP7", execution -> execution.getCountryObj().getGp7());
+        addSystemVariable(variables, "COUNTRYGP8", execution -> execution.getCountryObj().getGp8());
+        addSystemVariable(variables, "COUNTRYGP9", execution -> execution.getCountryObj().getGp9());
+        addSystemVariable(variables, "TEST", TestCaseExecution::getTest);
+        addSystemVariable(variables, "TESTCASE", TestCaseExecution::getTestCase);
+        addSystemVariable(variables, "TESTCASEDESCRIPTION", TestCaseExecution::getDescription);
+        addSystemVariable(variables, "SSIP", TestCaseExecution::getSeleniumIP);
+        addSystemVariable(variables, "SSPORT", TestCaseExecution::getSeleniumPort);
+        addSystemVariable(variables, "TAG", TestCaseExecution::getTag);
+        addSystemVariable(variables, "EXECUTIONID", execution -> String.valueOf(execution.getId()));
+        addSystemVariable(variables, "EXESTART", execution -> String.valueOf(new Timestamp(execution.getStart())));
+        addSystemVariable(variables, "EXESTORAGEURL", execution -> recorderService.getStorageSubFolderURL(execution.getId()));
+        addSystemVariable(variables, "EXEELAPSEDMS", execution -> String.valueOf(new Date().getTime() - execution.getStart()));
+        addNewSyntaxSystemVariable(variables, "REMOTEPROXYUUID", TestCaseExecution::getRemoteProxyUUID);
+        addNewSyntaxSystemVariable(variables, "REMOTEPROXY_HAR_URL", execution -> execution.getRobotExecutorObj() == null ? null
+                : "http://" + execution.getRobotExecutorObj().getExecutorExtensionHost() + ":" + execution.getRobotExecutorObj().getExecutorExtensionPort() + "/getHar?uuid=" + execution.getRemoteProxyUUID());
 
-        } catch (Exception e) {
-            LOG.error("Error when decoding system variable on exe : " + execution.getId(), e);
+        /**
+         * System environment variables from Step Execution.
+         */
+        addSystemVariable(variables, "CURRENTSTEP_SORT", execution -> getCurrentStep(execution) == null ? null : String.valueOf(getCurrentStep(execution).getSort()));
+        addSystemVariable(variables, "CURRENTSTEP_INDEX", execution -> getCurrentStep(execution) == null ? null : String.valueOf(getCurrentStep(execution).getIndex()));
+        addSystemVariable(variables, "CURRENTSTEP_STARTISO", execution -> getCurrentStep(execution) == null ? null : new Timestamp(getCurrentStep(execution).getStart()).toString());
+        addSystemVariable(variables, "CURRENTSTEP_ELAPSEDMS", execution -> getCurrentStep(execution) == null ? null : String.valueOf(new Date().getTime() - getCurrentStep(execution).getFullStart()));
+
+        /**
+         * Last Service Called Variables.
+         */
+        addSystemVariable(variables, "LASTSERVICE_HTTPCODE", execution -> execution.getLastServiceCalled() == null ? VALUE_WHEN_NULL
+                : String.valueOf(execution.getLastServiceCalled().getResponseHTTPCode()));
+        addSystemVariable(variables, "LASTSERVICE_CALL", execution -> execution.getLastServiceCalled() == null ? VALUE_WHEN_NULL
+                : execution.getLastServiceCalled().toJSONOnDefaultExecution().toString());
+        addSystemVariable(variables, "LASTSERVICE_RESPONSE", execution -> (execution.getLastServiceCalled() == null || execution.getLastServiceCalled().getResponseHTTPBody() == null) ? VALUE_WHEN_NULL
+                : execution.getLastServiceCalled().getResponseHTTPBody());
+
+        /**
+         * Date variables.
+         */
+        addSystemVariable(variables, "TODAY-yyyy", execution -> DateUtil.getTodayFormat("yyyy"));
+        addSystemVariable(variables, "TODAY-MM", execution -> DateUtil.getTodayFormat("MM"));
+        addSystemVariable(variables, "TODAY-dd", execution -> DateUtil.getTodayFormat("dd"));
+        addSystemVariable(variables, "TODAY-doy", execution -> DateUtil.getTodayFormat("D"));
+        addSystemVariable(variables, "TODAY-HH", execution -> DateUtil.getTodayFormat("HH"));
+        addSystemVariable(variables, "TODAY-mm", execution -> DateUtil.getTodayFormat("mm"));
+        addSystemVariable(variables, "TODAY-ss", execution -> DateUtil.getTodayFormat("ss"));
+        addSystemVariable(variables, "YESTERDAY-yyyy", execution -> DateUtil.getYesterdayFormat("yyyy"));
+        addSystemVariable(variables, "YESTERDAY-MM", execution -> DateUtil.getYesterdayFormat("MM"));
+        addSystemVariable(variables, "YESTERDAY-dd", execution -> DateUtil.getYesterdayFormat("dd"));
+        addSystemVariable(variables, "YESTERDAY-doy", execution -> DateUtil.getYesterdayFormat("D"));
+        addSystemVariable(variables, "YESTERDAY-HH", execution -> DateUtil.getYesterdayFormat("HH"));
+        addSystemVariable(variables, "YESTERDAY-mm", execution -> DateUtil.getYesterdayFormat("mm"));
+        addSystemVariable(variables, "YESTERDAY-ss", execution -> DateUtil.getYesterdayFormat("ss"));
+        addSystemVariable(variables, "TOMORROW-yyyy", execution -> DateUtil.getTomorrowFormat("yyyy"));
+        addSystemVariable(variables, "TOMORROW-MM", execution -> DateUtil.getTomorrowFormat("MM"));
+        addSystemVariable(variables, "TOMORROW-dd", execution -> DateUtil.getTomorrowFormat("dd"));
+        addSystemVariable(variables, "TOMORROW-doy", execution -> DateUtil.getTomorrowFormat("D"));
+
+        return variables;
+    }
+
+    private static void addSystemVariable(Map<String, Function<TestCaseExecution, String>> variables, String name, Function<TestCaseExecution, String> value) {
+        variables.put("SYS_" + name, value);
+        variables.put("system." + name, value);
+    }
+
+    private static void addNewSyntaxSystemVariable(Map<String, Function<TestCaseExecution, String>> variables, String name, Function<TestCaseExecution, String> value) {
+        variables.put("system." + name, value);
+    }
+
+    private static TestCaseStepExecution getCurrentStep(TestCaseExecution execution) {
+        if (execution.getTestCaseStepExecutionList() == null || execution.getTestCaseStepExecutionList().isEmpty()) {
+            return null;
+        }
+        return execution.getTestCaseStepExecutionList().get(execution.getTestCaseStepExecutionList().size() - 1);
+    }
+
+    /**
+     * Parsed part of a string to decode : either a literal text or the name
+     * of a system variable (without the surrounding %).
+     */
+    private static final class DecodeSegment {
+
+        private final String value;
+        private final boolean isVariable;
+
+        private DecodeSegment(String value, boolean isVariable) {
+            this.value = value;
+            this.isVariable = isVariable;
         }
-        return stringToDecode;
     }
 
 }
@@ -0,0 +1,246 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.engine.queuemanagement.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.cerberus.core.crud.entity.TestCaseExecution;
+import org.cerberus.core.crud.entity.TestCaseExecutionQueueDep;
+import org.springframework.stereotype.Component;
+
+/**
+ * In memory graph of the execution queue dependencies.
+ * <p>
+ * It keeps every queue entry waiting for its dependencies (QUWITHDEP) with
+ * the number of WAITING dependencies and the number of dependencies RELEASED
+ * by an execution that was not OK. WAITING dependencies are indexed by the
+ * execution they wait for (tag, environment, country, test and testcase) so
+ * that the end of an execution directly gives the queue entries that can be
+ * released without reading every impacted entry from database.
+ * <p>
+ * Database stays the durable storage. The graph is rebuilt from database
+ * when the dependencies are reconciled (at startup, periodically as a safety
+ * net and as soon as it is detected not in line with database) in order to
+ * take into account the dependencies inserted or released by other Cerberus
+ * instances.
+ */
+@Component
+public class ExecutionQueueDependencyGraph {
+
+    private static final Logger LOG = LogManager.getLogger(ExecutionQueueDependencyGraph.class);
+
+    private static final String SEPARATOR = "////";
+
+    // Queue entries waiting for dependencies.
+    private final Map<Long, DependencyNode> nodes = new HashMap<>();
+    // WAITING TCEXEEND dependencies : execution key -> queue entries waiting for it (1 element per dependency).
+    private final Map<String, List<Long>> waitingEdges = new HashMap<>();
+    // Releases done while the graph was read from database (replayed on the new graph).
+    private final List<String[]> releasedDuringLoad = new ArrayList<>();
+
+    private boolean loaded = false;
+    private boolean loading = false;
+    // A release did not match the database (graph must be reloaded).
+    private boolean outOfSync = false;
+
+    /**
+     * Queue entry waiting for its dependencies.
+     */
+    public static class DependencyNode {
+
+        private final long exeQueueId;
+        private final String tag;
+        private int nbWaiting = 0;
+        private int nbReleasedNOK = 0;
+
+        DependencyNode(long exeQueueId, String tag) {
+            this.exeQueueId = exeQueueId;
+            this.tag = tag;
+        }
+
+        public long getExeQueueId() {
+            return exeQueueId;
+        }
+
+        public String getTag() {
+            return tag;
+        }
+
+        public int getNbReleasedNOK() {
+            return nbReleasedNOK;
+        }
+    }
+
+    public synchronized boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * @return true if the graph is not loaded or was detected not in line
+     * with database since the last load.
+     */
+    public synchronized boolean isReloadRequired() {
+        return !loaded || outOfSync;
+    }
+
+    /**
+     * Must be called before reading the dependencies from database in order
+     * to keep track of the releases done during the read.
+     */
+    public synchronized void startLoad() {
+        loading = true;
+        outOfSync = false;
+        releasedDuringLoad.clear();
+    }
+
+    /**
+     * Replace the graph by the dependencies read from database.
+     *
+     * @param dependencies all dependencies of the QUWITHDEP queue entries
+     * (WAITING and RELEASED)
+     * @return the queue entries that no longer wait for any dependency. They
+     * are removed from the graph and must be released by the caller.
+     */
+    public synchronized List<DependencyNode> load(List<TestCaseExecutionQueueDep> dependencies) {
+        nodes.clear();
+        waitingEdges.clear();
+        addDependencies(dependencies);
+
+        // Releases done during the database read may not be visible in the dependencies.
+        for (String[] release : releasedDuringLoad) {
+            releaseEdges(release[0], Boolean.parseBoolean(release[1]));
+        }
+        releasedDuringLoad.clear();
+        loading = false;
+        loaded = true;
+
+        List<DependencyNode> readyNodes = removeReadyNodes(new ArrayList<>(nodes.keySet()));
+        LOG.debug("Queue dependency graph loaded : " + nodes.size() + " waiting queue entries.");
+        return readyNodes;
+    }
+
+    /**
+     * Drop the graph (used when it could not be read from database). Impacted
+     * queue entries will be checked from database until next load.
+     */
+    public synchronized void invalidate() {
+        nodes.clear();
+        waitingEdges.clear();
+        releasedDuringLoad.clear();
+        loading = false;
+        loaded = false;
+    }
+
+    /**
+     * Add the dependencies of new queue entries.
+     *
+     * @param dependencies
+     */
+    public synchronized void add(List<TestCaseExecutionQueueDep> dependencies) {
+        if (loaded) {
+            addDependencies(dependencies);
+        }
+    }
+
+    /**
+     * Release the WAITING dependencies on the execution.
+     *
+     * @param tag
+     * @param environment
+     * @param country
+     * @param test
+     * @param testCase
+     * @param ok true if the execution ended OK
+     * @param nbReleased number of dependencies released in database
+     * @return the queue entries that no longer wait for any dependency or null
+     * if the graph is not loaded or not in line with the database (the
+     * impacted entries must then be checked from database).
+     */
+    public synchronized List<DependencyNode> release(String tag, String environment, String country, String test, String testCase, boolean ok, int nbReleased) {
+        String key = getKey(tag, environment, country, test, testCase);
+        if (loading) {
+            releasedDuringLoad.add(new String[]{key, String.valueOf(ok)});
+        }
+        if (!loaded) {
+            return null;
+        }
+        List<Long> impacted = releaseEdges(key, ok);
+        List<DependencyNode> readyNodes = removeReadyNodes(impacted);
+        if (impacted.size() != nbReleased) {
+            // Dependencies were inserted or released from another instance.
+            LOG.debug("Queue dependency graph not in line with database for " + key + " (" + impacted.size() + " in memory / " + nbReleased + " in database).");
+            outOfSync = true;
+            return null;
+        }
+        return readyNodes;
+    }
+
+    private void addDependencies(List<TestCaseExecutionQueueDep> dependencies) {
+        for (TestCaseExecutionQueueDep dependency : dependencies) {
+            DependencyNode node = nodes.computeIfAbsent(dependency.getExeQueueId(), id -> new DependencyNode(id, dependency.getTag()));
+            if (TestCaseExecutionQueueDep.STATUS_WAITING.equals(dependency.getStatus())) {
+                node.nbWaiting++;
+                if (TestCaseExecutionQueueDep.TYPE_TCEXEEND.equals(dependency.getType())) {
+                    waitingEdges.computeIfAbsent(getKey(dependency.getTag(), dependency.getEnvironment(), dependency.getCountry(), dependency.getDepTest(), dependency.getDepTestCase()),
+                            k -> new ArrayList<>()).add(dependency.getExeQueueId());
+                }
+            } else if (!TestCaseExecution.CONTROLSTATUS_OK.equals(dependency.getExeControlStatus())) {
+                node.nbReleasedNOK++;
+            }
+        }
+    }
+
+    private List<Long> releaseEdges(String key, boolean ok) {
+        List<Long> impacted = waitingEdges.remove(key);
+        if (impacted == null) {
+            return new ArrayList<>();
+        }
+        for (Long exeQueueId : impacted) {
+            DependencyNode node = nodes.get(exeQueueId);
+            if (node != null) {
+                node.nbWaiting--;
+                if (!ok) {
+                    node.nbReleasedNOK++;
+                }
+            }
+        }
+        return impacted;
+    }
+
+    private List<DependencyNode> removeReadyNodes(List<Long> exeQueueIds) {
+        List<DependencyNode> readyNodes = new ArrayList<>();
+        for (Long exeQueueId : exeQueueIds) {
+            DependencyNode node = nodes.get(exeQueueId);
+            if (node != null && node.nbWaiting <= 0) {
+                readyNodes.add(nodes.remove(exeQueueId));
+            }
+        }
+        return readyNodes;
+    }
+
+    private static String getKey(String tag, String environment, String country, String test, String testCase) {
+        return tag + SEPARATOR + environment + SEPARATOR + country + SEPARATOR + test + SEPARATOR + testCase;
+    }
+
+}
@@ -0,0 +1,274 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.engine.queuemanagement.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.cerberus.core.engine.queuemanagement.entity.TestCaseExecutionQueueToTreat;
+import org.springframework.stereotype.Component;
+
+/**
+ * In memory view of the execution queue used by the queue processing job.
+ * <p>
+ * It keeps the QUEUED entries and the RUNNING entries (WAITING, STARTING and
+ * EXECUTING) together with the current value of every constrain. Values are
+ * updated incrementally when an entry is queued, started or ended so that the
+ * queue job does not need to read the full queue and recalculate all constrains
+ * from database on every loop. Database stays the durable storage and the
+ * state is resynchronised from it at startup, periodically and when another
+ * Cerberus instance is detected (it may have started or ended executions).
+ */
+@Component
+public class ExecutionQueueDispatcher {
+
+    private static final Logger LOG = LogManager.getLogger(ExecutionQueueDispatcher.class);
+
+    public static final String CONST_SEPARATOR = "////";
+    // Period in ms after which the state is resynchronised from database (executions started or ended from other Cerberus instances).
+    private static final long RESYNC_PERIOD_MS = 60000;
+
+    // QUEUED entries sorted by priority and id (same order as the database).
+    private final Map<Long, TestCaseExecutionQueueToTreat> queued = new LinkedHashMap<>();
+    // RUNNING entries with the list of constrain keys they consume.
+    private final Map<Long, List<String>> running = new HashMap<>();
+    // Current value of every constrain.
+    private final Map<String, Integer> constrains = new HashMap<>();
+    // Queue entries that ended since last resync (used to secure resync against entries that ended during the database read).
+    private final Set<Long> endedSinceResync = new HashSet<>();
+
+    // Incremented each time an entry is queued, ended or when a resync is required.
+    private long eventVersion = 0;
+    // Incremented each time a new entry is queued (meaning that QUEUED list has to be reloaded from database).
+    private long queuedVersion = 0;
+    private long queuedVersionLoaded = -1;
+    private boolean resyncRequested = true;
+    private long lastResync = 0;
+
+    /**
+     * Replace the full in memory state by the values read from database.
+     *
+     * @param runningList entries in WAITING, STARTING or EXECUTING state
+     * @param queuedList entries in QUEUED state
+     * @param fromQueuedVersion queued version read before the database reads
+     */
+    public synchronized void resync(List<TestCaseExecutionQueueToTreat> runningList, List<TestCaseExecutionQueueToTreat> queuedList, long fromQueuedVersion) {
+        running.clear();
+        constrains.clear();
+        for (TestCaseExecutionQueueToTreat exe : runningList) {
+            if (endedSinceResync.contains(exe.getId())) {
+                // Entry ended while database was read.
+                continue;
+            }
+            List<String> keys = getConstrainKeys(exe, exe.getSelectedRobotHost(), exe.getSelectedRobotExtensionHost(), false);
+            running.put(exe.getId(), keys);
+            incrementConstrains(keys);
+        }
+        endedSinceResync.clear();
+        resyncRequested = false;
+        lastResync = System.currentTimeMillis();
+        loadQueued(queuedList, fromQueuedVersion);
+        LOG.debug("Queue state resynchronised : " + running.size() + " running / " + queued.size() + " queued.");
+    }
+
+    /**
+     * Replace the QUEUED entries by the values read from database.
+     *
+     * @param queuedList entries in QUEUED state
+     * @param fromQueuedVersion queued version read before the database read
+     */
+    public synchronized void reloadQueued(List<TestCaseExecutionQueueToTreat> queuedList, long fromQueuedVersion) {
+        loadQueued(queuedList, fromQueuedVersion);
+    }
+
+    private void loadQueued(List<TestCaseExecutionQueueToTreat> queuedList, long fromQueuedVersion) {
+        queued.clear();
+        for (TestCaseExecutionQueueToTreat exe : queuedList) {
+            if (!running.containsKey(exe.getId())) {
+                queued.put(exe.getId(), exe);
+            }
+        }
+        queuedVersionLoaded = fromQueuedVersion;
+    }
+
+    /**
+     * @return a copy of the QUEUED entries sorted by priority.
+     */
+    public synchronized List<TestCaseExecutionQueueToTreat> getQueued() {
+        return new ArrayList<>(queued.values());
+    }
+
+    /**
+     * @param key constrain key
+     * @return the current value of the constrain
+     */
+    public synchronized int getConstrainCurrent(String key) {
+        Integer value = constrains.get(key);
+        return value == null ? 0 : value;
+    }
+
+    /**
+     * @return a copy of all current constrain values.
+     */
+    public synchronized HashMap<String, Integer> getConstrains() {
+        return new HashMap<>(constrains);
+    }
+
+    /**
+     * Move a QUEUED entry to RUNNING consuming the corresponding constrains.
+     *
+     * @param exe
+     * @param robotHost
+     * @param robotExtHost
+     */
+    public synchronized void markStarted(TestCaseExecutionQueueToTreat exe, String robotHost, String robotExtHost) {
+        queued.remove(exe.getId());
+        if (running.containsKey(exe.getId())) {
+            return;
+        }
+        // Manual executions only consume the global constrain.
+        List<String> keys = getConstrainKeys(exe, robotHost, robotExtHost, "Y".equals(exe.getManualExecution()));
+        running.put(exe.getId(), keys);
+        incrementConstrains(keys);
+    }
+
+    /**
+     * Remove a QUEUED entry that could not be taken (ex : already taken by
+     * another instance).
+     *
+     * @param id
+     */
+    public synchronized void removeQueued(long id) {
+        queued.remove(id);
+    }
+
+    /**
+     * Notify that a queue entry has been (re)queued.
+     */
+    public synchronized void notifyQueued() {
+        queuedVersion++;
+        eventVersion++;
+    }
+
+    /**
+     * Notify that a queue entry has ended (DONE, ERROR, CANCELLED) freeing
+     * the constrains it was consuming.
+     *
+     * @param id
+     */
+    public synchronized void notifyEnded(long id) {
+        queued.remove(id);
+        releaseConstrains(id);
+        endedSinceResync.add(id);
+        eventVersion++;
+    }
+
+    /**
+     * Free the constrains of an entry marked as started but that could not be
+     * submitted.
+     *
+     * @param id
+     */
+    public synchronized void cancelStarted(long id) {
+        releaseConstrains(id);
+    }
+
+    private void releaseConstrains(long id) {
+        List<String> keys = running.remove(id);
+        if (keys != null) {
+            for (String key : keys) {
+                Integer value = constrains.get(key);
+                if (value != null && value > 1) {
+                    constrains.put(key, value - 1);
+                } else {
+                    constrains.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Request a full resynchronisation from database at next queue job loop
+     * (used after mass updates of the queue).
+     */
+    public synchronized void requestResync() {
+        resyncRequested = true;
+        queuedVersion++;
+        eventVersion++;
+    }
+
+    public synchronized boolean isResyncRequested() {
+        return resyncRequested || (System.currentTimeMillis() - lastResync > RESYNC_PERIOD_MS);
+    }
+
+    public synchronized boolean isQueuedToReload() {
+        return queuedVersionLoaded != queuedVersion;
+    }
+
+    public synchronized long getEventVersion() {
+        return eventVersion;
+    }
+
+    public synchronized long getQueuedVersion() {
+        return queuedVersion;
+    }
+
+    private void incrementConstrains(List<String> keys) {
+        for (String key : keys) {
+            Integer value = constrains.get(key);
+            constrains.put(key, value == null ? 1 : value + 1);
+        }
+    }
+
+    private static List<String> getConstrainKeys(TestCaseExecutionQueueToTreat exe, String robotHost, String robotExtHost, boolean globalOnly) {
+        List<String> keys = new ArrayList<>();
+        keys.add(TestCaseExecutionQueueToTreat.CONSTRAIN1_GLOBAL);
+        if (!globalOnly) {
+            keys.add(getConstrainAppEnvKey(exe));
+            keys.add(getConstrainApplicationKey(exe));
+            keys.add(getConstrainRobotKey(robotHost));
+            keys.add(getConstrainExecutorExtensionKey(robotExtHost));
+        }
+        return keys;
+    }
+
+    public static String getConstrainAppEnvKey(TestCaseExecutionQueueToTreat exe) {
+        return TestCaseExecutionQueueToTreat.CONSTRAIN2_APPLIENV + CONST_SEPARATOR + exe.getSystem() + CONST_SEPARATOR + exe.getEnvironment() + CONST_SEPARATOR + exe.getCountry() + CONST_SEPARATOR + exe.getApplication();
+    }
+
+    public static String getConstrainApplicationKey(TestCaseExecutionQueueToTreat exe) {
+        return TestCaseExecutionQueueToTreat.CONSTRAIN3_APPLICATION + CONST_SEPARATOR + exe.getApplication();
+    }
+
+    public static String getConstrainRobotKey(String robotHost) {
+        return TestCaseExecutionQueueToTreat.CONSTRAIN4_ROBOT + CONST_SEPARATOR + robotHost;
+    }
+
+    public static String getConstrainExecutorExtensionKey(String robotExtHost) {
+        return TestCaseExecutionQueueToTreat.CONSTRAIN5_EXECUTOREXTENSION + CONST_SEPARATOR + robotExtHost;
+    }
+
+}
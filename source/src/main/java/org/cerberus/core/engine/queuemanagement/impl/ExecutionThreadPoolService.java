@@ -103,6 +103,11 @@ public class ExecutionThreadPoolService implements IExecutionThreadPoolService {
     private IFactoryQueueStat factoryQueueStat;
     @Autowired
     private IQueueStatService queueStatService;
+    @Autowired
+    private ExecutionQueueDispatcher queueDispatcher;
+
+    // Start timestamp of the last job run by this instance (used to detect that the job was run by another instance).
+    private volatile String lastJobStart = null;
 
     @Override
     public boolean isInstanceActive() {
@@ -291,16 +296,51 @@ public class ExecutionThreadPoolService implements IExecutionThreadPoolService {
         if (myVersionService.flagMyVersionString("queueprocessingjobrunning") || forceExecution) {
 
             // Saving the timestamps when the job start in database.
-            myVersionService.updateMyVersionString("queueprocessingjobstart", String.valueOf(new Date()));
+            String jobStart = String.valueOf(new Date());
+            // If the job was last run by another instance, executions may have been started from there so queue in memory state is resynchronised from database.
+            if (lastJobStart == null || !lastJobStart.equals(myVersionService.getMyVersionStringByKey("queueprocessingjobstart", ""))) {
+                queueDispatcher.requestResync();
+            }
+            myVersionService.updateMyVersionString("queueprocessingjobstart", jobStart);
+            lastJobStart = jobStart;
 
             if (forceExecution) {
                 LOG.debug("Forcing Start of Queue_Processing_Job.");
             }
 
             int nbqueuedexe = 0;
-
-            // We try to submit new jobs until the job does not trigger any new execution.
-            // In Other Words : As long as the job trigger new execution, we execute it.
+            long lastEventVersion = 0;
+
+            int poolSizeGeneral = 12;
+            int poolSizeRobot = 10;
+            int poolSizeExecutorExt = 2;
+            int queueTimeout = 600000;
+
+            // Init constrain counter (from list of already running execution.).
+            int const01_current = 0;
+            int const02_current = 0;
+            int const03_current = 0;
+            int const04_current = 0;
+            int const05_current = 0;
+            HashMap<String, Integer> robothost_poolsize = new HashMap<>();
+            HashMap<String, Integer> executorexthost_poolsize = new HashMap<>();
+            HashMap<String, List<RobotExecutor>> robot_executor = new HashMap<>();
+            HashMap<String, Robot> robot_header = new HashMap<>();
+
+            // Parameters and invariants are loaded only once per job run.
+            poolSizeGeneral = parameterService.getParameterIntegerByKey("cerberus_queueexecution_global_threadpoolsize", "", 12);
+            poolSizeRobot = parameterService.getParameterIntegerByKey("cerberus_queueexecution_defaultrobothost_threadpoolsize", "", 10);
+            poolSizeExecutorExt = parameterService.getParameterIntegerByKey("cerberus_queueexecution_defaultexecutorexthost_threadpoolsize", "", 2);
+            queueTimeout = parameterService.getParameterIntegerByKey("cerberus_queueexecution_timeout", "", 600000);
+
+            // Getting RobotHost PoolSize
+            robothost_poolsize = invariantService.readToHashMapGp1IntegerByIdname("ROBOTHOST", poolSizeRobot);
+
+            // Getting CerberusExecutorHost PoolSize
+            executorexthost_poolsize = invariantService.readToHashMapGp1IntegerByIdname("ROBOTPROXYHOST", poolSizeExecutorExt);
+
+            // We try to submit new jobs until no event (new queued entry or ended execution) is received during the loop.
+            // In Other Words : As long as something changed on the queue, we analyse it again from memory.
             do {
 
                 if (!(parameterService.getParameterBooleanByKey("cerberus_queueexecution_enable", "", true))) {
@@ -311,75 +351,63 @@ public class ExecutionThreadPoolService implements IExecutionThreadPoolService {
                 }
 
                 nbqueuedexe = 0;
+                lastEventVersion = queueDispatcher.getEventVersion();
                 // Job is not already running, we can trigger it.
 
                 LOG.debug("Starting Queue_Processing_Job.");
 
+                // Refreshing the in memory queue only when needed.
+                if (queueDispatcher.isResyncRequested()) {
+                    long queuedVersion = queueDispatcher.getQueuedVersion();
+                    List<TestCaseExecutionQueueToTreat> executionsRunning = tceiqService.readQueueRunning().getDataList();
+                    List<TestCaseExecutionQueueToTreat> executionsQueued = tceiqService.readQueueToTreat().getDataList();
+                    if (executionsRunning == null || executionsQueued == null) {
+                        LOG.error("Failed to read queue from database.");
+                        myVersionService.updateMyVersionString("queueprocessingjobrunning", "N");
+                        return;
+                    }
+                    queueDispatcher.resync(executionsRunning, executionsQueued, queuedVersion);
+                    robot_executor = new HashMap<>();
+                } else if (queueDispatcher.isQueuedToReload()) {
+                    long queuedVersion = queueDispatcher.getQueuedVersion();
+                    List<TestCaseExecutionQueueToTreat> executionsQueued = tceiqService.readQueueToTreat().getDataList();
+                    if (executionsQueued == null) {
+                        LOG.error("Failed to read queue from database.");
+                        myVersionService.updateMyVersionString("queueprocessingjobrunning", "N");
+                        return;
+                    }
+                    queueDispatcher.reloadQueued(executionsQueued, queuedVersion);
+                }
+
                 // Getting all executions to be treated.
-                AnswerList<TestCaseExecutionQueueToTreat> answer = new AnswerList<>();
-                answer = tceiqService.readQueueToTreat();
-                List<TestCaseExecutionQueueToTreat> executionsInQueue = answer.getDataList();
-
-                int poolSizeGeneral = 12;
-                int poolSizeRobot = 10;
-                int poolSizeExecutorExt = 2;
-                int queueTimeout = 600000;
-
-                // Init constrain counter (from list of already running execution.).
-                int const01_current = 0;
-                int const02_current = 0;
-                int const03_current = 0;
-                int const04_current = 0;
-                int const05_current = 0;
-                HashMap<String, Integer> constrains_current = new HashMap<>();
-                HashMap<String, Integer> robothost_poolsize = new HashMap<>();
-                HashMap<String, Integer> executorexthost_poolsize = new HashMap<>();
-                HashMap<String, List<RobotExecutor>> robot_executor = new HashMap<>();
-                HashMap<String, Robot> robot_header = new HashMap<>();
-
-                poolSizeGeneral = parameterService.getParameterIntegerByKey("cerberus_queueexecution_global_threadpoolsize", "", 12);
-
-                constrains_current = getCurrentlyRunning();
-                LOG.debug("Current Constrains : " + constrains_current);
+                List<TestCaseExecutionQueueToTreat> executionsInQueue = queueDispatcher.getQueued();
+                LOG.debug("Current Constrains : " + queueDispatcher.getConstrains());
 
                 if (!executionsInQueue.isEmpty()) {
 
-                    poolSizeRobot = parameterService.getParameterIntegerByKey("cerberus_queueexecution_defaultrobothost_threadpoolsize", "", 10);
-                    poolSizeExecutorExt = parameterService.getParameterIntegerByKey("cerberus_queueexecution_defaultexecutorexthost_threadpoolsize", "", 2);
-                    queueTimeout = parameterService.getParameterIntegerByKey("cerberus_queueexecution_timeout", "", 600000);
-
-                    // Init constrain counter (from list of already running execution.).
-                    const01_current = 0;
-                    const02_current = 0;
-                    const03_current = 0;
-                    const04_current = 0;
-                    const05_current = 0;
-
-                    // Getting RobotHost PoolSize
-                    robothost_poolsize = invariantService.readToHashMapGp1IntegerByIdname("ROBOTHOST", poolSizeRobot);
-
-                    // Getting CerberusExecutorHost PoolSize
-                    executorexthost_poolsize = invariantService.readToHashMapGp1IntegerByIdname("ROBOTPROXYHOST", poolSizeExecutorExt);
-
-                    // Getting the list of robot in scope of the queue entries. This is to avoid getting all robots from database.
-                    LOG.debug("Getting List of Robot Executor.");
+                    // Getting the list of robot in scope of the queue entries that are not already known. This is to avoid getting all robots from database.
+                    HashMap<String, List<RobotExecutor>> robot_executor_new = new HashMap<>();
                     for (TestCaseExecutionQueueToTreat exe : executionsInQueue) {
-                        if (!StringUtil.isEmpty(exe.getQueueRobot())) {
-                            robot_executor.put(exe.getQueueRobot(), new ArrayList<>());
+                        if (!StringUtil.isEmpty(exe.getQueueRobot()) && !robot_executor.containsKey(exe.getQueueRobot())) {
+                            robot_executor_new.put(exe.getQueueRobot(), new ArrayList<>());
                         }
                     }
-                    LOG.debug("List of Robot from Queue entries : " + robot_executor);
-                    robot_executor = robotExecutorService.getExecutorListFromRobotHash(robot_executor);
-                    LOG.debug("Robot Executor List : " + robot_executor);
-
-                    LOG.debug("Getting List of Robot (Header).");
-                    List<String> listRobotS = new ArrayList<>();
-                    for (Map.Entry<String, List<RobotExecutor>> entry : robot_executor.entrySet()) {
-                        String key = entry.getKey();
-                        listRobotS.add(key);
+                    if (!robot_executor_new.isEmpty()) {
+                        LOG.debug("Getting List of Robot Executor.");
+                        LOG.debug("List of Robot from Queue entries : " + robot_executor_new);
+                        robot_executor_new = robotExecutorService.getExecutorListFromRobotHash(robot_executor_new);
+                        robot_executor.putAll(robot_executor_new);
+                        LOG.debug("Robot Executor List : " + robot_executor);
+
+                        LOG.debug("Getting List of Robot (Header).");
+                        List<String> listRobotS = new ArrayList<>();
+                        for (Map.Entry<String, List<RobotExecutor>> entry : robot_executor_new.entrySet()) {
+                            String key = entry.getKey();
+                            listRobotS.add(key);
+                        }
+                        robot_header.putAll(robotService.readToHashMapByRobotList(listRobotS));
+                        LOG.debug("Robot Header List : " + robot_header);
                     }
-                    robot_header = robotService.readToHashMapByRobotList(listRobotS);
-                    LOG.debug("Robot Header List : " + robot_header);
 
                 }
 
@@ -462,17 +490,13 @@ public class ExecutionThreadPoolService implements IExecutionThreadPoolService {
                         LOG.debug("Pool Values : poolGen " + poolSizeGeneral + " poolAppEnv " + exe.getPoolSizeAppEnvironment() + " poolApp " + exe.getPoolSizeApplication() + " poolRobotHost " + robothost_poolsize_final + " poolRobotExtHost " + robotexthost_poolsize_final);
 
                         String const01_key = TestCaseExecutionQueueToTreat.CONSTRAIN1_GLOBAL;
-                        String const02_key = TestCaseExecutionQueueToTreat.CONSTRAIN2_APPLIENV + CONST_SEPARATOR + exe.getSystem() + CONST_SEPARATOR + exe.getEnvironment() + CONST_SEPARATOR + exe.getCountry() + CONST_SEPARATOR + exe.getApplication();
-                        String const03_key = TestCaseExecutionQueueToTreat.CONSTRAIN3_APPLICATION + CONST_SEPARATOR + exe.getApplication();
-                        String const04_key = TestCaseExecutionQueueToTreat.CONSTRAIN4_ROBOT + CONST_SEPARATOR + robotHost;
-                        String const05_key = TestCaseExecutionQueueToTreat.CONSTRAIN5_EXECUTOREXTENSION + CONST_SEPARATOR + robotExtHost;
+                        String const02_key = ExecutionQueueDispatcher.getConstrainAppEnvKey(exe);
+                        String const03_key = ExecutionQueueDispatcher.getConstrainApplicationKey(exe);
+                        String const04_key = ExecutionQueueDispatcher.getConstrainRobotKey(robotHost);
+                        String const05_key = ExecutionQueueDispatcher.getConstrainExecutorExtensionKey(robotExtHost);
 
                         // Eval Constrain 1
-                        if (constrains_current.containsKey(const01_key)) {
-                            const01_current = constrains_current.get(const01_key);
-                        } else {
-                            const01_current = 0;
-                        }
+                        const01_current = queueDispatcher.getConstrainCurrent(const01_key);
                         // Eval Constrain 1
                         boolean constMatch01;
                         if (poolSizeGeneral == 0) {
@@ -483,11 +507,7 @@ public class ExecutionThreadPoolService implements IExecutionThreadPoolService {
                         }
 
                         // Eval Constrain 2
-                        if (constrains_current.containsKey(const02_key)) {
-                            const02_current = constrains_current.get(const02_key);
-                        } else {
-                            const02_current = 0;
-                        }
+                        const02_current = queueDispatcher.getConstrainCurrent(const02_key);
                         // Eval Constrain 2
                         boolean constMatch02;
                         if (exe.getPoolSizeAppEnvironment() == 0) {
@@ -498,11 +518,7 @@ public class ExecutionThreadPoolService implements IExecutionThreadPoolService {
                         }
 
                         // Eval Constrain 3
-                        if (constrains_current.containsKey(const03_key)) {
-                            const03_current = constrains_current.get(const03_key);
-                        } else {
-                            const03_current = 0;
-                        }
+                        const03_current = queueDispatcher.getConstrainCurrent(const03_key);
                         // Eval Constrain 3
                         boolean constMatch03;
                         if (exe.getPoolSizeApplication() == 0) {
@@ -513,11 +529,7 @@ public class ExecutionThreadPoolService implements IExecutionThreadPoolService {
                         }
 
                         // Eval Constrain 4
-                        if (constrains_current.containsKey(const04_key)) {
-                            const04_current = constrains_current.get(const04_key);
-                        } else {
-                            const04_current = 0;
-                        }
+                        const04_current = queueDispatcher.getConstrainCurrent(const04_key);
                         // Eval Constrain 4
                         boolean constMatch04;
                         if (robothost_poolsize_final == 0) {
@@ -528,11 +540,7 @@ public class ExecutionThreadPoolService implements IExecutionThreadPoolService {
                         }
 
                         // Eval Constrain 5
-                        if (constrains_current.containsKey(const05_key)) {
-                            const05_current = constrains_current.get(const05_key);
-                        } else {
-                            const05_current = 0;
-                        }
+                        const05_current = queueDispatcher.getConstrainCurrent(const05_key);
                         // Eval Constrain 5
                         boolean constMatch05;
                         if (robotexthost_poolsize_final == 0) {
@@ -551,6 +559,10 @@ public class ExecutionThreadPoolService implements IExecutionThreadPoolService {
 
                                 // Adding execution to queue.
                                 if (queueService.updateToWaiting(exe.getId())) {
+                                    // Constrains Counter increase (Specific increment only if automatic execution).
+                                    // That is done before the task is submitted so that the end of execution always release the constrains.
+                                    queueDispatcher.markStarted(exe, robotHost, robotExtHost);
+                                    boolean submitted = false;
                                     try {
                                         ExecutionQueueWorkerThread task = new ExecutionQueueWorkerThread();
                                         // Flag on database that execution has been selected.
@@ -594,6 +606,7 @@ public class ExecutionThreadPoolService implements IExecutionThreadPoolService {
                                         task.setTagService(tagService);
                                         task.setExecThreadPool(threadQueuePool);
                                         Future<?> future = threadQueuePool.getExecutor().submit(task);
+                                        submitted = true;
                                         task.setFuture(future);
 
                                         triggerExe = true;
@@ -603,20 +616,18 @@ public class ExecutionThreadPoolService implements IExecutionThreadPoolService {
                                         LOG.debug("RESULT : Execution triggered. Const1 " + constMatch01 + " Const2 " + constMatch02 + " Const3 " + constMatch03 + " Const4 " + constMatch04 + " Const5 " + constMatch05 + " Manual " + exe.getManualExecution());
                                         LOG.debug(" CurConst1 " + const01_current + " CurConst2 " + const02_current + " CurConst3 " + const03_current + " CurConst4 " + const04_current + " CurConst5 " + const05_current);
 
-                                        // Constrains Counter increase
-                                        constrains_current.put(const01_key, const01_current + 1);
-                                        if (!exe.getManualExecution().equals("Y")) {
-                                            // Specific increment only if automatic execution.
-                                            constrains_current.put(const02_key, const02_current + 1);
-                                            constrains_current.put(const03_key, const03_current + 1);
-                                            constrains_current.put(const04_key, const04_current + 1);
-                                            constrains_current.put(const05_key, const05_current + 1);
-                                        }
-
                                     } catch (Exception e) {
                                         LOG.error("Failed to add Queueid : " + exe.getId() + " into the queue : " + e.getMessage(), e);
+                                        if (!submitted) {
+                                            // Task will never end so constrains are freed now.
+                                            queueDispatcher.cancelStarted(exe.getId());
+                                        }
                                     }
 
+                                } else {
+                                    // Entry already taken (probably by another instance) so in memory state is resynchronised.
+                                    queueDispatcher.removeQueued(exe.getId());
+                                    queueDispatcher.requestResync();
                                 }
                             } else {
                                 LOG.debug("RESULT : Execution Not triggered. Queueid : " + exe.getId() + " already inserted (on a previous Executor).");
@@ -655,20 +666,22 @@ public class ExecutionThreadPoolService implements IExecutionThreadPoolService {
 
                 LOG.debug("Stopping Queue_Processing_Job - TOTAL Released execution(s) : " + nbqueuedexe);
 
-                if (constrains_current.containsKey(TestCaseExecutionQueueToTreat.CONSTRAIN1_GLOBAL)) {
-                    const01_current = constrains_current.get(TestCaseExecutionQueueToTreat.CONSTRAIN1_GLOBAL);
-                } else {
-                    const01_current = 0;
-                }
-                LOG.debug("Stats : GlobalContrain=" + poolSizeGeneral + " - nbRunning=" + const01_current + " - NbQueued=" + executionsInQueue.size());
+                const01_current = queueDispatcher.getConstrainCurrent(TestCaseExecutionQueueToTreat.CONSTRAIN1_GLOBAL);
+                LOG.debug("Stats : GlobalContrain=" + poolSizeGeneral + " - nbRunning=" + const01_current + " - NbQueued=" + (executionsInQueue.size() - nbqueuedexe));
 
-                queueStatService.create(factoryQueueStat.create(0, poolSizeGeneral, const01_current, executionsInQueue.size(), "", null, null, null));
+                queueStatService.create(factoryQueueStat.create(0, poolSizeGeneral, const01_current, executionsInQueue.size() - nbqueuedexe, "", null, null, null));
 
-            } while (nbqueuedexe > 0);
+            } while (queueDispatcher.getEventVersion() != lastEventVersion);
 
             // Flag in database that job is finished.
             myVersionService.updateMyVersionString("queueprocessingjobrunning", "N");
 
+            // Event received after the last loop could not trigger the job as it was still flagged running.
+            if (queueDispatcher.getEventVersion() != lastEventVersion) {
+                LOG.debug("Queue changed during the end of Queue_Processing_Job. Triggering it again.");
+                executeNextInQueue(false);
+            }
+
         } else {
             LOG.debug("Queue_Processing_Job not triggered (already running.)");
         }
@@ -20,7 +20,9 @@
 package org.cerberus.core.engine.scheduledtasks;
 
 import org.cerberus.core.crud.service.IParameterService;
+import org.cerberus.core.crud.service.ITestCaseExecutionQueueDepService;
 import org.cerberus.core.crud.service.ITestCaseExecutionQueueService;
+import org.cerberus.core.engine.execution.IRobotSessionPoolService;
 import org.cerberus.core.engine.queuemanagement.IExecutionThreadPoolService;
 import org.cerberus.core.engine.scheduler.SchedulerInit;
 import org.cerberus.core.exception.CerberusException;
@@ -41,9 +43,13 @@ public class ScheduledTaskRunner {
     @Autowired
     private ITestCaseExecutionQueueService testCaseExecutionQueueService;
     @Autowired
+    private ITestCaseExecutionQueueDepService testCaseExecutionQueueDepService;
+    @Autowired
     private IExecutionThreadPoolService executionThreadPoolService;
     @Autowired
     private SchedulerInit schedulerInit;
+    @Autowired
+    private IRobotSessionPoolService robotSessionPoolService;
 
     private int b1TickNumberTarget = 60;
     private int b1TickNumber = 1;
@@ -51,6 +57,8 @@ public class ScheduledTaskRunner {
     private int b2TickNumber = 1;
     private int b3TickNumberTarget = 1;
     private int b3TickNumber = 1;
+    private int b4TickNumberTarget = 10;
+    private int b4TickNumber = 1;
 
     private static final org.apache.logging.log4j.Logger LOG = org.apache.logging.log4j.LogManager.getLogger(ScheduledTaskRunner.class);
 
@@ -85,6 +93,17 @@ public class ScheduledTaskRunner {
             performBatch3_SchedulerInit();
         }
 
+        // Queue dependencies are reconciled with database periodically as a safety net and as soon as the in memory graph is not loaded (startup) or not in line with database.
+        if (b4TickNumber < b4TickNumberTarget && !testCaseExecutionQueueDepService.isReconciliationRequired()) {
+            b4TickNumber++;
+        } else {
+            b4TickNumber = 1;
+            performBatch4_ReconcileQueueDependencies();
+        }
+
+        // Idle robot sessions are closed even when no execution is started.
+        performBatch5_EvictIdleRobotSessions();
+
         LOG.debug("Schedule Stop. " + b1TickNumber + "/" + b1TickNumberTarget + " - " + b2TickNumber + "/" + b2TickNumberTarget);
     }
 
@@ -112,6 +131,22 @@ public class ScheduledTaskRunner {
         LOG.info("automaticqueueprocessingjob Task ended.");
     }
 
+    private void performBatch4_ReconcileQueueDependencies() {
+        try {
+            testCaseExecutionQueueDepService.reconcileDependencies();
+        } catch (Exception e) {
+            LOG.error("Queue dependencies reconciliation failed : " + e);
+        }
+    }
+
+    private void performBatch5_EvictIdleRobotSessions() {
+        try {
+            robotSessionPoolService.evictIdleSessions();
+        } catch (Exception e) {
+            LOG.error("Idle robot sessions eviction failed : " + e);
+        }
+    }
+
     private void performBatch3_SchedulerInit() {
         try {
             LOG.info("SchedulerInit Task triggered.");
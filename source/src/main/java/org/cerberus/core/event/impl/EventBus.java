@@ -0,0 +1,203 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.event.impl;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.springframework.stereotype.Component;
+
+/**
+ * In process bus that processes the events (hook resolution and notification
+ * sending) outside of the thread that triggered them.
+ * <p>
+ * Events are queued in a bounded queue and processed by a small pool of
+ * workers so that a slow or unavailable notification receiver does not delay
+ * the execution or queue threads. When the queue is full, the event is
+ * dropped and counted. Notifications that fail are retried with an
+ * exponential backoff : retries are scheduled (no worker waits for them) and
+ * processed again by the workers.
+ */
+@Component
+public class EventBus {
+
+    private static final Logger LOG = LogManager.getLogger(EventBus.class);
+
+    private static final int NB_WORKERS = 4;
+    private static final int QUEUE_CAPACITY = 1000;
+    private static final int SEND_MAX_ATTEMPTS = 3;
+    private static final long SEND_BACKOFF_MS = 2000;
+
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService retryScheduler;
+
+    private final AtomicLong nbSubmitted = new AtomicLong();
+    private final AtomicLong nbProcessed = new AtomicLong();
+    private final AtomicLong nbDropped = new AtomicLong();
+    private final AtomicLong nbProcessingError = new AtomicLong();
+    private final AtomicLong totalDispatchLatencyMs = new AtomicLong();
+    private final AtomicLong maxDispatchLatencyMs = new AtomicLong();
+    private final AtomicLong totalProcessingMs = new AtomicLong();
+    private final AtomicLong nbSent = new AtomicLong();
+    private final AtomicLong nbSendRetried = new AtomicLong();
+    private final AtomicLong nbSendFailed = new AtomicLong();
+
+    /**
+     * Sending of a notification.
+     */
+    @FunctionalInterface
+    public interface Sender {
+
+        void send() throws Exception;
+    }
+
+    public EventBus() {
+        executor = new ThreadPoolExecutor(NB_WORKERS, NB_WORKERS, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(QUEUE_CAPACITY), getThreadFactory("cerberus-event-"), (r, pool) -> {
+            nbDropped.incrementAndGet();
+            LOG.warn("Event queue is full (" + QUEUE_CAPACITY + "), event dropped.");
+        });
+        executor.allowCoreThreadTimeOut(true);
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(getThreadFactory("cerberus-event-retry-"));
+    }
+
+    private static ThreadFactory getThreadFactory(String prefix) {
+        return new ThreadFactory() {
+            private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, prefix + threadNumber.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            }
+        };
+    }
+
+    /**
+     * Queue the processing of an event.
+     *
+     * @param eventReference
+     * @param task
+     */
+    public void submit(String eventReference, Runnable task) {
+        long submitTime = System.currentTimeMillis();
+        nbSubmitted.incrementAndGet();
+        executor.execute(() -> {
+            long startTime = System.currentTimeMillis();
+            long latency = startTime - submitTime;
+            totalDispatchLatencyMs.addAndGet(latency);
+            maxDispatchLatencyMs.accumulateAndGet(latency, Math::max);
+            try {
+                task.run();
+            } catch (Exception ex) {
+                nbProcessingError.incrementAndGet();
+                LOG.error("Exception processing event '" + eventReference + "'", ex);
+            } finally {
+                totalProcessingMs.addAndGet(System.currentTimeMillis() - startTime);
+                nbProcessed.incrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Send a notification. When it fails, the next attempt is scheduled with
+     * an exponential backoff and processed again by the workers.
+     *
+     * @param description used for logging only
+     * @param sender
+     */
+    public void send(String description, Sender sender) {
+        send(description, sender, 1);
+    }
+
+    private void send(String description, Sender sender, int attempt) {
+        try {
+            sender.send();
+            nbSent.incrementAndGet();
+        } catch (Exception ex) {
+            if (attempt >= SEND_MAX_ATTEMPTS) {
+                nbSendFailed.incrementAndGet();
+                LOG.warn("Exception sending " + description + " (" + attempt + " attempts).", ex);
+                return;
+            }
+            long backoff = SEND_BACKOFF_MS << (attempt - 1);
+            LOG.info("Exception sending " + description + " (attempt " + attempt + "), retry in " + backoff + " ms : " + ex.toString());
+            try {
+                retryScheduler.schedule(() -> submit(description, () -> send(description, sender, attempt + 1)), backoff, TimeUnit.MILLISECONDS);
+                nbSendRetried.incrementAndGet();
+            } catch (RejectedExecutionException rex) {
+                // Bus is stopping.
+                nbSendFailed.incrementAndGet();
+                LOG.warn("Retry of " + description + " could not be scheduled.");
+            }
+        }
+    }
+
+    public JSONObject getStatistics() {
+        JSONObject stats = new JSONObject();
+        try {
+            long processed = nbProcessed.get();
+            stats.put("queueDepth", executor.getQueue().size());
+            stats.put("queueCapacity", QUEUE_CAPACITY);
+            stats.put("activeWorkers", executor.getActiveCount());
+            stats.put("nbSubmitted", nbSubmitted.get());
+            stats.put("nbProcessed", processed);
+            stats.put("nbDropped", nbDropped.get());
+            stats.put("nbProcessingError", nbProcessingError.get());
+            stats.put("dispatchLatencyAvgMs", processed == 0 ? 0 : totalDispatchLatencyMs.get() / processed);
+            stats.put("dispatchLatencyMaxMs", maxDispatchLatencyMs.get());
+            stats.put("processingAvgMs", processed == 0 ? 0 : totalProcessingMs.get() / processed);
+            stats.put("nbSent", nbSent.get());
+            stats.put("nbSendRetried", nbSendRetried.get());
+            stats.put("nbSendFailed", nbSendFailed.get());
+        } catch (JSONException ex) {
+            LOG.warn(ex, ex);
+        }
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Pending retries are abandoned.
+        retryScheduler.shutdownNow();
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                LOG.warn("Event bus stopped with " + executor.getQueue().size() + " event(s) not processed.");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
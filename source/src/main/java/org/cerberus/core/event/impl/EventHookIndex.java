@@ -0,0 +1,169 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.event.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.cerberus.core.crud.dao.IEventHookDAO;
+import org.cerberus.core.crud.entity.EventHook;
+import org.cerberus.core.enums.MessageEventEnum;
+import org.cerberus.core.util.StringUtil;
+import org.cerberus.core.util.answer.AnswerList;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * In memory index of the active event hooks.
+ * <p>
+ * Hooks are loaded from database once per event reference and indexed by
+ * their filter (no filter, test folder or campaign, test case) so that
+ * triggering an event does not read the eventhook table and loop over every
+ * hook. Index is invalidated each time a hook is created, updated or deleted
+ * and each event reference expires after a short duration so that changes
+ * done from other Cerberus instances are taken into account.
+ */
+@Component
+public class EventHookIndex {
+
+    private static final Logger LOG = LogManager.getLogger(EventHookIndex.class);
+
+    private static final String SEPARATOR = "////";
+    // Duration in ms after which the hooks of an event reference are read again from database.
+    private static final long CACHE_DURATION_MS = 60000;
+
+    @Autowired
+    private IEventHookDAO eventHookDAO;
+
+    private final Map<String, IndexedHooks> hooksByEventReference = new HashMap<>();
+    // Incremented on every invalidation so that a load that was running during an invalidation is not kept.
+    private long version = 0;
+
+    /**
+     * Get the active hooks of the event that apply to the object.
+     *
+     * @param eventReference
+     * @param objectKey1 test folder or campaign of the object
+     * @param objectKey2 test case of the object (null when the event does not
+     * apply to a test case)
+     * @return hooks without filter, hooks on objectKey1 and hooks on
+     * objectKey1 + objectKey2.
+     */
+    public List<EventHook> find(String eventReference, String objectKey1, String objectKey2) {
+        IndexedHooks hooks = getIndexedHooks(eventReference);
+        List<EventHook> result = new ArrayList<>(hooks.noFilter);
+        if (!StringUtil.isEmpty(objectKey1)) {
+            result.addAll(hooks.byKey1.getOrDefault(objectKey1, Collections.emptyList()));
+            if (!StringUtil.isEmpty(objectKey2)) {
+                result.addAll(hooks.byKey1Key2.getOrDefault(objectKey1 + SEPARATOR + objectKey2, Collections.emptyList()));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Invalidate the index (to be called on every change of the eventhook
+     * table).
+     */
+    public synchronized void invalidate() {
+        version++;
+        hooksByEventReference.clear();
+    }
+
+    public synchronized JSONArray getAllEntries() {
+        JSONArray entries = new JSONArray();
+        try {
+            for (Map.Entry<String, IndexedHooks> entry : hooksByEventReference.entrySet()) {
+                JSONObject objEntry = new JSONObject();
+                objEntry.put("eventReference", entry.getKey());
+                objEntry.put("nbHooks", entry.getValue().size);
+                entries.put(objEntry);
+            }
+        } catch (JSONException ex) {
+            LOG.warn(ex, ex);
+        }
+        return entries;
+    }
+
+    private IndexedHooks getIndexedHooks(String eventReference) {
+        long loadVersion;
+        synchronized (this) {
+            IndexedHooks hooks = hooksByEventReference.get(eventReference);
+            if (hooks != null && System.currentTimeMillis() - hooks.loadedAt < CACHE_DURATION_MS) {
+                return hooks;
+            }
+            loadVersion = version;
+        }
+        List<String> evtList = new ArrayList<>();
+        evtList.add(eventReference);
+        AnswerList<EventHook> ansHooks = eventHookDAO.readByEventReferenceByCriteria(evtList, null, true, 0, 0, "eventreference", "asc", null, null);
+        if (!ansHooks.isCodeEquals(MessageEventEnum.DATA_OPERATION_OK.getCode())) {
+            // Not cached so that next event retries from database.
+            LOG.warn("Unable to load event hooks for '" + eventReference + "' : " + ansHooks.getMessageDescription());
+            return new IndexedHooks(new ArrayList<>());
+        }
+        IndexedHooks hooks = new IndexedHooks(ansHooks.getDataList());
+        synchronized (this) {
+            if (loadVersion == version) {
+                hooksByEventReference.put(eventReference, hooks);
+            }
+        }
+        LOG.debug("EventHooks indexed for '" + eventReference + "' : " + hooks.size);
+        return hooks;
+    }
+
+    private static class IndexedHooks {
+
+        private final List<EventHook> noFilter = new ArrayList<>();
+        private final Map<String, List<EventHook>> byKey1 = new HashMap<>();
+        private final Map<String, List<EventHook>> byKey1Key2 = new HashMap<>();
+        private final long loadedAt = System.currentTimeMillis();
+        private int size = 0;
+
+        private IndexedHooks(List<EventHook> hooks) {
+            for (EventHook eventHook : hooks) {
+                if (!eventHook.isActive()) {
+                    continue;
+                }
+                boolean emptyKey1 = StringUtil.isEmpty(eventHook.getObjectKey1());
+                boolean emptyKey2 = StringUtil.isEmpty(eventHook.getObjectKey2());
+                if (emptyKey1 && emptyKey2) {
+                    noFilter.add(eventHook);
+                } else if (emptyKey2) {
+                    byKey1.computeIfAbsent(eventHook.getObjectKey1(), k -> new ArrayList<>()).add(eventHook);
+                } else if (!emptyKey1) {
+                    byKey1Key2.computeIfAbsent(eventHook.getObjectKey1() + SEPARATOR + eventHook.getObjectKey2(), k -> new ArrayList<>()).add(eventHook);
+                } else {
+                    // Hook on objectKey2 without objectKey1 never applies.
+                    continue;
+                }
+                size++;
+            }
+        }
+    }
+
+}
@@ -22,7 +22,6 @@ package org.cerberus.core.event.impl;
 import java.sql.Timestamp;
 import java.text.ParseException;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import org.cerberus.core.crud.entity.EventHook;
@@ -30,7 +29,6 @@ import org.cerberus.core.crud.entity.Invariant;
 import org.cerberus.core.crud.entity.Tag;
 import org.cerberus.core.crud.entity.TestCase;
 import org.cerberus.core.crud.entity.TestCaseExecution;
-import org.cerberus.core.crud.service.IEventHookService;
 import org.cerberus.core.crud.service.ITestCaseExecutionService;
 import org.cerberus.core.engine.entity.MessageEvent;
 import org.cerberus.core.enums.MessageEventEnum;
@@ -51,7 +49,6 @@ import org.cerberus.core.util.StringUtil;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 /**
@@ -67,8 +64,6 @@ public class EventService implements IEventService {
     private ITestCaseExecutionService testCaseExecutionService;
 //    @Autowired
 //    private IInvariantService invariantService;
-    @Autowired
-    private IEventHookService eventHookService;
     @Autowired
     private IEmailGenerationService emailGenerationService;
     @Autowired
@@ -89,145 +84,110 @@ public class EventService implements IEventService {
     private IChatGenerationService chatGenerationService;
     @Autowired
     private IChatService chatService;
+    @Autowired
+    private EventHookIndex eventHookIndex;
+    @Autowired
+    private EventBus eventBus;
 
     /**
-     * This Method gets all Hooks attached to the event triggered and filter
-     * them if active and apply to the correct element (tag, testcase,
-     * execution)
+     * This Method queues the event on the event bus. Hooks attached to the
+     * event that are active and apply to the correct element (tag, testcase,
+     * execution) are processed asynchronously.
      *
      * @param eventReference
      * @param object1
      * @return
      */
     @Override
-    @Async
     public MessageEvent triggerEvent(String eventReference, Object object1, Object object2, Object object3, Object object4) {
 
         LOG.debug("Event '" + eventReference + "' triggered.");
 
+        eventBus.submit(eventReference, () -> processEvent(eventReference, object1, object2, object3));
+
+        return new MessageEvent(MessageEventEnum.GENERIC_OK);
+    }
+
+    private void processEvent(String eventReference, Object object1, Object object2, Object object3) {
+
         try {
 
             JSONObject ceberusEventMessage = getCerberusEventMessage(eventReference);
-            List<TestCaseExecution> executionList = new ArrayList<>();
             List<Invariant> prioritiesList = new ArrayList<>();
             List<Invariant> countriesList = new ArrayList<>();
             List<Invariant> environmentsList = new ArrayList<>();
 
-            List<String> evtList = new ArrayList<>(Arrays.asList(eventReference));
-            List<EventHook> eventHooks = eventHookService.convert(eventHookService.readByEventReference(evtList));
-
-            LOG.debug("EventHooks : " + eventHooks.size());
-
-            for (EventHook eventHook : eventHooks) {
-
-                LOG.debug("EventHook '" + eventHook.toString() + "' analysing.");
-
-                if (eventHook.isActive()) {
-
-                    switch (eventReference) {
-
-                        case EventHook.EVENTREFERENCE_EXECUTION_START:
-                            TestCaseExecution exe1 = (TestCaseExecution) object1;
-                            if (eval_NoFilter(eventHook.getObjectKey1(), eventHook.getObjectKey2())
-                                    || eval_TestFolder_Filter(eventHook.getObjectKey1(), eventHook.getObjectKey2(), exe1.getTest())
-                                    || eval_Testcase_Filter(eventHook.getObjectKey1(), eventHook.getObjectKey2(), exe1.getTest(), exe1.getTestCase())) {
-                                processEvent_EXECUTION_START(eventHook, exe1, ceberusEventMessage);
-                            }
-                            break;
-                        case EventHook.EVENTREFERENCE_EXECUTION_END:
-                        case EventHook.EVENTREFERENCE_EXECUTION_END_LASTRETRY:
-                            TestCaseExecution exe2 = (TestCaseExecution) object1;
-                            if (eval_NoFilter(eventHook.getObjectKey1(), eventHook.getObjectKey2())
-                                    || eval_TestFolder_Filter(eventHook.getObjectKey1(), eventHook.getObjectKey2(), exe2.getTest())
-                                    || eval_Testcase_Filter(eventHook.getObjectKey1(), eventHook.getObjectKey2(), exe2.getTest(), exe2.getTestCase())) {
-                                processEvent_EXECUTION_END(eventHook, exe2, ceberusEventMessage);
-                            }
-                            break;
-
-                        case EventHook.EVENTREFERENCE_CAMPAIGN_START:
-                            Tag tag1 = (Tag) object1;
-                            if (eval_NoFilter(eventHook.getObjectKey1(), eventHook.getObjectKey2())
-                                    || eval_Campaign_Filter(eventHook.getObjectKey1(), eventHook.getObjectKey2(), tag1.getCampaign())) {
-                                processEvent_CAMPAIGN_START(eventHook, tag1, ceberusEventMessage);
-                            }
-                            break;
-                        case EventHook.EVENTREFERENCE_CAMPAIGN_END:
-                        case EventHook.EVENTREFERENCE_CAMPAIGN_END_CIKO:
-                            Tag tag2 = (Tag) object1;
-                            if (eval_NoFilter(eventHook.getObjectKey1(), eventHook.getObjectKey2())
-                                    || eval_Campaign_Filter(eventHook.getObjectKey1(), eventHook.getObjectKey2(), tag2.getCampaign())) {
-                                // We load the execution list here so that in case of multiple hook, this is done only once.
-                                if (executionList.size() < 1) {
-                                    executionList = testCaseExecutionService.readLastExecutionAndExecutionInQueueByTag(tag2.getTag());
-                                    tag2.setExecutionsNew(executionList);
-                                }
-                                // We load the invariant lists that will be used when converting execution to JSON. This is also done only once per event triggered.
-//                                prioritiesList = invariantService.readByIdName("PRIORITY");
-//                                countriesList = invariantService.readByIdName("COUNTRY");
-//                                environmentsList = invariantService.readByIdName("ENVIRONMENT");
-                                processEvent_CAMPAIGN_END(eventHook, tag2, ceberusEventMessage, prioritiesList, countriesList, environmentsList);
-                            }
-                            break;
-
-                        case EventHook.EVENTREFERENCE_TESTCASE_CREATE:
-                        case EventHook.EVENTREFERENCE_TESTCASE_DELETE:
-                        case EventHook.EVENTREFERENCE_TESTCASE_UPDATE:
-                            TestCase testCase1 = (TestCase) object1;
-                            String originalTest = (String) object2;
-                            String originalTestcase = (String) object3;
-                            if (eval_NoFilter(eventHook.getObjectKey1(), eventHook.getObjectKey2())
-                                    || eval_TestFolder_Filter(eventHook.getObjectKey1(), eventHook.getObjectKey2(), testCase1.getTest())
-                                    || eval_Testcase_Filter(eventHook.getObjectKey1(), eventHook.getObjectKey2(), testCase1.getTest(), testCase1.getTestcase())) {
-                                processEvent_TESTCASE(eventHook, testCase1, originalTest, originalTestcase, ceberusEventMessage);
-                            }
-                            break;
+            List<EventHook> eventHooks;
 
+            switch (eventReference) {
+
+                case EventHook.EVENTREFERENCE_EXECUTION_START:
+                    TestCaseExecution exe1 = (TestCaseExecution) object1;
+                    eventHooks = eventHookIndex.find(eventReference, exe1.getTest(), exe1.getTestCase());
+                    LOG.debug("EventHooks : " + eventHooks.size());
+                    for (EventHook eventHook : eventHooks) {
+                        processEvent_EXECUTION_START(eventHook, exe1, ceberusEventMessage);
                     }
-                }
+                    break;
+                case EventHook.EVENTREFERENCE_EXECUTION_END:
+                case EventHook.EVENTREFERENCE_EXECUTION_END_LASTRETRY:
+                    TestCaseExecution exe2 = (TestCaseExecution) object1;
+                    eventHooks = eventHookIndex.find(eventReference, exe2.getTest(), exe2.getTestCase());
+                    LOG.debug("EventHooks : " + eventHooks.size());
+                    for (EventHook eventHook : eventHooks) {
+                        processEvent_EXECUTION_END(eventHook, exe2, ceberusEventMessage);
+                    }
+                    break;
+
+                case EventHook.EVENTREFERENCE_CAMPAIGN_START:
+                    Tag tag1 = (Tag) object1;
+                    eventHooks = eventHookIndex.find(eventReference, tag1.getCampaign(), null);
+                    LOG.debug("EventHooks : " + eventHooks.size());
+                    for (EventHook eventHook : eventHooks) {
+                        processEvent_CAMPAIGN_START(eventHook, tag1, ceberusEventMessage);
+                    }
+                    break;
+                case EventHook.EVENTREFERENCE_CAMPAIGN_END:
+                case EventHook.EVENTREFERENCE_CAMPAIGN_END_CIKO:
+                    Tag tag2 = (Tag) object1;
+                    eventHooks = eventHookIndex.find(eventReference, tag2.getCampaign(), null);
+                    LOG.debug("EventHooks : " + eventHooks.size());
+                    if (!eventHooks.isEmpty()) {
+                        // We load the execution list here so that in case of multiple hook, this is done only once (and only if at least 1 hook applies).
+                        tag2.setExecutionsNew(testCaseExecutionService.readLastExecutionAndExecutionInQueueByTag(tag2.getTag()));
+                    }
+                    for (EventHook eventHook : eventHooks) {
+                        // We load the invariant lists that will be used when converting execution to JSON. This is also done only once per event triggered.
+//                        prioritiesList = invariantService.readByIdName("PRIORITY");
+//                        countriesList = invariantService.readByIdName("COUNTRY");
+//                        environmentsList = invariantService.readByIdName("ENVIRONMENT");
+                        processEvent_CAMPAIGN_END(eventHook, tag2, ceberusEventMessage, prioritiesList, countriesList, environmentsList);
+                    }
+                    break;
+
+                case EventHook.EVENTREFERENCE_TESTCASE_CREATE:
+                case EventHook.EVENTREFERENCE_TESTCASE_DELETE:
+                case EventHook.EVENTREFERENCE_TESTCASE_UPDATE:
+                    TestCase testCase1 = (TestCase) object1;
+                    String originalTest = (String) object2;
+                    String originalTestcase = (String) object3;
+                    eventHooks = eventHookIndex.find(eventReference, testCase1.getTest(), testCase1.getTestcase());
+                    LOG.debug("EventHooks : " + eventHooks.size());
+                    for (EventHook eventHook : eventHooks) {
+                        processEvent_TESTCASE(eventHook, testCase1, originalTest, originalTestcase, ceberusEventMessage);
+                    }
+                    break;
+
             }
 
         } catch (CerberusException | JSONException | ParseException ex) {
             LOG.error(ex, ex);
         }
 
-        return new MessageEvent(MessageEventEnum.GENERIC_OK);
-    }
-
-    private boolean eval_NoFilter(String obj1, String obj2) {
-        if (StringUtil.isEmpty(obj2) && StringUtil.isEmpty(obj1)) {
-            return true;
-        }
-        return false;
     }
 
-    private boolean eval_TestFolder_Filter(String obj1, String obj2, String testFolder) {
-        if (!StringUtil.isEmpty(obj2)) {
-            return false;
-        }
-        if (!StringUtil.isEmpty(obj1) && obj1.equals(testFolder)) {
-            return true;
-        }
-        return false;
-    }
-
-    private boolean eval_Testcase_Filter(String obj1, String obj2, String testFolder, String testcase) {
-        if (StringUtil.isEmpty(obj1) || StringUtil.isEmpty(obj2)) {
-            return false;
-        }
-        if (obj1.equals(testFolder) && obj2.equals(testcase)) {
-            return true;
-        }
-        return false;
-    }
-
-    private boolean eval_Campaign_Filter(String obj1, String obj2, String campaign) {
-        if (!StringUtil.isEmpty(obj2)) {
-            return false;
-        }
-        if (!StringUtil.isEmpty(obj1) && obj1.equals(campaign)) {
-            return true;
-        }
-        return false;
+    private void send(EventHook eventHook, EventBus.Sender sender) {
+        eventBus.send(eventHook.getHookConnector() + " notification of '" + eventHook.getEventReference() + "' (hook " + eventHook.getId() + ")", sender);
     }
 
     private void processEvent_CAMPAIGN_START(EventHook eventHook, Tag tag, JSONObject ceberusEventMessage) {
@@ -237,10 +197,9 @@ public class EventService implements IEventService {
             case EventHook.HOOKCONNECTOR_EMAIL:
                 if (!StringUtil.isEmpty(eventHook.getHookRecipient())) {
                     LOG.debug("Generating and Sending an EMail Notification to : " + eventHook.getHookRecipient());
-                    Email email = null;
                     try {
-                        email = emailGenerationService.generateNotifyStartTagExecution(tag, eventHook.getHookRecipient());
-                        emailService.sendHtmlMail(email);
+                        Email email = emailGenerationService.generateNotifyStartTagExecution(tag, eventHook.getHookRecipient());
+                        send(eventHook, () -> emailService.sendHtmlMail(email));
                     } catch (Exception ex) {
                         LOG.warn("Exception generating email for '" + eventHook.getEventReference() + "'", ex);
                     }
@@ -252,7 +211,7 @@ public class EventService implements IEventService {
                     LOG.debug("Generating and Sending a Slack Notification to : '" + eventHook.getHookRecipient() + "'");
                     try {
                         JSONObject slackMessage = slackGenerationService.generateNotifyStartTagExecution(tag, eventHook.getHookChannel());
-                        slackService.sendSlackMessage(slackMessage, eventHook.getHookRecipient());
+                        send(eventHook, () -> slackService.sendSlackMessage(slackMessage, eventHook.getHookRecipient()));
                     } catch (Exception ex) {
                         LOG.warn("Exception generating slack notification for '" + eventHook.getEventReference() + "'", ex);
                     }
@@ -264,7 +223,7 @@ public class EventService implements IEventService {
                     LOG.debug("Generating and Sending a Generic Notification to : '" + eventHook.getHookRecipient() + "'");
                     try {
                         JSONObject message = webCallGenerationService.generateNotifyStartTagExecution(tag, ceberusEventMessage);
-                        webcallService.sendWebcallMessage(message, eventHook.getHookRecipient());
+                        send(eventHook, () -> webcallService.sendWebcallMessage(message, eventHook.getHookRecipient()));
                     } catch (Exception ex) {
                         LOG.warn("Exception Generic notification for '" + eventHook.getEventReference() + "'", ex);
                     }
@@ -276,7 +235,7 @@ public class EventService implements IEventService {
                     LOG.debug("Generating and Sending a Teams Notification to : '" + eventHook.getHookRecipient() + "'");
                     try {
                         JSONObject message = teamsGenerationService.generateNotifyStartTagExecution(tag);
-                        teamsService.sendTeamsMessage(message, eventHook.getHookRecipient());
+                        send(eventHook, () -> teamsService.sendTeamsMessage(message, eventHook.getHookRecipient()));
                     } catch (Exception ex) {
                         LOG.warn("Exception generating slack notification for '" + eventHook.getEventReference() + "'", ex);
                     }
@@ -288,7 +247,7 @@ public class EventService implements IEventService {
                     LOG.debug("Generating and Sending a Google Chat Notification to : '" + eventHook.getHookRecipient() + "'");
                     try {
                         JSONObject message = chatGenerationService.generateNotifyStartTagExecution(tag);
-                        chatService.sendGoogleChatMessage(message, eventHook.getHookRecipient(), tag.getTag());
+                        send(eventHook, () -> chatService.sendGoogleChatMessage(message, eventHook.getHookRecipient(), tag.getTag()));
                     } catch (Exception ex) {
                         LOG.warn("Exception generating Google Chat notification for '" + eventHook.getEventReference() + "'", ex);
                     }
@@ -310,10 +269,9 @@ public class EventService implements IEventService {
             case EventHook.HOOKCONNECTOR_EMAIL:
                 if (!StringUtil.isEmpty(eventHook.getHookRecipient())) {
                     LOG.debug("Generating and Sending an EMail Notification to : " + eventHook.getHookRecipient());
-                    Email email = null;
                     try {
-                        email = emailGenerationService.generateNotifyEndTagExecution(tag, eventHook.getHookRecipient());
-                        emailService.sendHtmlMail(email);
+                        Email email = emailGenerationService.generateNotifyEndTagExecution(tag, eventHook.getHookRecipient());
+                        send(eventHook, () -> emailService.sendHtmlMail(email));
                     } catch (Exception ex) {
                         LOG.warn("Exception generating email for '" + eventHook.getEventReference() + "'", ex);
                     }
@@ -325,7 +283,7 @@ public class EventService implements IEventService {
                     LOG.debug("Generating and Sending a Slack Notification to : '" + eventHook.getHookRecipient() + "'");
                     try {
                         JSONObject slackMessage = slackGenerationService.generateNotifyEndTagExecution(tag, eventHook.getHookChannel());
-                        slackService.sendSlackMessage(slackMessage, eventHook.getHookRecipient());
+                        send(eventHook, () -> slackService.sendSlackMessage(slackMessage, eventHook.getHookRecipient()));
                     } catch (Exception ex) {
                         LOG.warn("Exception slack notification for '" + eventHook.getEventReference() + "'", ex);
                     }
@@ -337,7 +295,7 @@ public class EventService implements IEventService {
                     LOG.debug("Generating and Sending a Generic Notification to : '" + eventHook.getHookRecipient() + "'");
                     try {
                         JSONObject message = webCallGenerationService.generateNotifyEndTagExecution(tag, ceberusEventMessage, prioritiesList, countriesList, environmentsList);
-                        webcallService.sendWebcallMessage(message, eventHook.getHookRecipient());
+                        send(eventHook, () -> webcallService.sendWebcallMessage(message, eventHook.getHookRecipient()));
                     } catch (Exception ex) {
                         LOG.warn("Exception Generic notification for '" + eventHook.getEventReference() + "'", ex);
                     }
@@ -349,7 +307,7 @@ public class EventService implements IEventService {
                     LOG.debug("Generating and Sending a Teams Notification to : '" + eventHook.getHookRecipient() + "'");
                     try {
                         JSONObject message = teamsGenerationService.generateNotifyEndTagExecution(tag);
-                        teamsService.sendTeamsMessage(message, eventHook.getHookRecipient());
+                        send(eventHook, () -> teamsService.sendTeamsMessage(message, eventHook.getHookRecipient()));
                     } catch (Exception ex) {
                         LOG.warn("Exception Teams notification for '" + eventHook.getEventReference() + "'", ex);
                     }
@@ -361,7 +319,7 @@ public class EventService implements IEventService {
                     LOG.debug("Generating and Sending a Google Chat Notification to : '" + eventHook.getHookRecipient() + "'");
                     try {
                         JSONObject message = chatGenerationService.generateNotifyEndTagExecution(tag);
-                        chatService.sendGoogleChatMessage(message, eventHook.getHookRecipient(), tag.getTag());
+                        send(eventHook, () -> chatService.sendGoogleChatMessage(message, eventHook.getHookRecipient(), tag.getTag()));
                     } catch (Exception ex) {
                         LOG.warn("Exception Google Chat notification for '" + eventHook.getEventReference() + "'", ex);
                     }
@@ -382,10 +340,9 @@ public class EventService implements IEventService {
             case EventHook.HOOKCONNECTOR_EMAIL:
                 if (!StringUtil.isEmpty(eventHook.getHookRecipient())) {
                     LOG.debug("Generating and Sending an EMail Notification to : " + eventHook.getHookRecipient());
-                    Email email = null;
                     try {
-                        email = emailGenerationService.generateNotifyStartExecution(exe, eventHook.getHookRecipient());
-                        emailService.sendHtmlMail(email);
+                        Email email = emailGenerationService.generateNotifyStartExecution(exe, eventHook.getHookRecipient());
+                        send(eventHook, () -> emailService.sendHtmlMail(email));
                     } catch (Exception ex) {
                         LOG.warn("Exception generating email for '" + eventHook.getEventReference() + "'", ex);
                     }
@@ -397,7 +354,7 @@ public class EventService implements IEventService {
                     LOG.debug("Generating and Sending a Slack Notification to : '" + eventHook.getHookRecipient() + "'");
                     try {
                         JSONObject slackMessage = slackGenerationService.generateNotifyStartExecution(exe, eventHook.getHookChannel());
-                        slackService.sendSlackMessage(slackMessage, eventHook.getHookRecipient());
+                        send(eventHook, () -> slackService.sendSlackMessage(slackMessage, eventHook.getHookRecipient()));
                     } catch (Exception ex) {
                         LOG.warn("Exception slack notification for '" + eventHook.getEventReference() + "'", ex);
                     }
@@ -409,7 +366,7 @@ public class EventService implements IEventService {
                     LOG.debug("Generating and Sending a Generic Notification to : '" + eventHook.getHookRecipient() + "'");
                     try {
                         JSONObject message = webCallGenerationService.generateNotifyStartExecution(exe, ceberusEventMessage);
-                        webcallService.sendWebcallMessage(message, eventHook.getHookRecipient());
+                        send(eventHook, () -> webcallService.sendWebcallMessage(message, eventHook.getHookRecipient()));
                     } catch (Exception ex) {
                         LOG.warn("Exception Generic notification for '" + eventHook.getEventReference() + "'", ex);
                     }
@@ -421,7 +378,7 @@ public class EventService implements IEventService {
                     LOG.debug("Generating and Sending a Teams Notification to : '" + eventHook.getHookRecipient() + "'");
                     try {
                         JSONObject message = teamsGenerationService.generateNotifyStartExecution(exe);
-                        teamsService.sendTeamsMessage(message, eventHook.getHookRecipient());
+                        send(eventHook, () -> teamsService.sendTeamsMessage(message, eventHook.getHookRecipient()));
                     } catch (Exception ex) {
                         LOG.warn("Exception Teams notification for '" + eventHook.getEventReference() + "'", ex);
                     }
@@ -433,7 +390,7 @@ public class EventService implements IEventService {
                     LOG.debug("Generating and Sending a Google Chat Notification to : '" + eventHook.getHookRecipient() + "'");
                     try {
                         JSONObject message = chatGenerationService.generateNotifyStartExecution(exe);
-                        chatService.sendGoogleChatMessage(message, eventHook.getHookRecipient(), String.valueOf(exe.getId()));
+                        send(eventHook, () -> chatService.sendGoogleChatMessage(message, eventHook.getHookRecipient(), String.valueOf(exe.getId())));
                     } catch (Exception ex) {
                         LOG.warn("Exception Google Chat notification for '" + eventHook.getEventReference() + "'", ex);
                     }
@@ -455,10 +412,9 @@ public class EventService implements IEventService {
             case EventHook.HOOKCONNECTOR_EMAIL:
                 if (!StringUtil.isEmpty(eventHook.getHookRecipient())) {
                     LOG.debug("Generating and Sending an EMail Notification to : " + eventHook.getHookRecipient());
-                    Email email = null;
                     try {
-                        email = emailGenerationService.generateNotifyEndExecution(exe, eventHook.getHookRecipient());
-                        emailService.sendHtmlMail(email);
+                        Email email = emailGenerationService.generateNotifyEndExecution(exe, eventHook.getHookRecipient());
+                        send(eventHook, () -> emailService.sendHtmlMail(email));
                     } catch (Exception ex) {
                         LOG.warn("Exception generating email for '" + eventHook.getEventReference() + "'", ex);
                     }
@@ -470,7 +426,7 @@ public class EventService implements IEventService {
                     LOG.debug("Generating and Sending a Slack Notification to : '" + eventHook.getHookRecipient() + "'");
                     try {
                         JSONObject slackMessage = slackGenerationService.generateNotifyEndExecution(exe, eventHook.getHookChannel());
-                        slackService.sendSlackMessage(slackMessage, eventHook.getHookRecipient());
+                        send(eventHook, () -> slackService.sendSlackMessage(slackMessage, eventHook.getHookRecipient()));
                     } catch (Exception ex) {
                         LOG.warn("Exception slack notification for '" + eventHook.getEventReference() + "'", ex);
                     }
@@ -482,7 +438,7 @@ public class EventService implements IEventService {
                     LOG.debug("Generating and Sending a Generic Notification to : '" + eventHook.getHookRecipient() + "'");
                     try {
                         JSONObject message = webCallGenerationService.generateNotifyEndExecution(exe, ceberusEventMessage);
-                        webcallService.sendWebcallMessage(message, eventHook.getHookRecipient());
+                        send(eventHook, () -> webcallService.sendWebcallMessage(message, eventHook.getHookRecipient()));
                     } catch (Exception ex) {
                         LOG.warn("Exception Generic notification for '" + eventHook.getEventReference() + "'", ex);
                     }
@@ -494,7 +450,7 @@ public class EventService implements IEventService {
                     LOG.debug("Generating and Sending a Teams Notification to : '" + eventHook.getHookRecipient() + "'");
                     try {
                         JSONObject message = teamsGenerationService.generateNotifyEndExecution(exe);
-                        teamsService.sendTeamsMessage(message, eventHook.getHookRecipient());
+                        send(eventHook, () -> teamsService.sendTeamsMessage(message, eventHook.getHookRecipient()));
                     } catch (Exception ex) {
                         LOG.warn("Exception Teams notification for '" + eventHook.getEventReference() + "'", ex);
                     }
@@ -506,7 +462,7 @@ public class EventService implements IEventService {
                     LOG.debug("Generating and Sending a Google chat Notification to : '" + eventHook.getHookRecipient() + "'");
                     try {
                         JSONObject message = chatGenerationService.generateNotifyEndExecution(exe);
-                        chatService.sendGoogleChatMessage(message, eventHook.getHookRecipient(), String.valueOf(exe.getId()));
+                        send(eventHook, () -> chatService.sendGoogleChatMessage(message, eventHook.getHookRecipient(), String.valueOf(exe.getId())));
                     } catch (Exception ex) {
                         LOG.warn("Exception Google Chat notification for '" + eventHook.getEventReference() + "'", ex);
                     }
@@ -527,10 +483,9 @@ public class EventService implements IEventService {
             case EventHook.HOOKCONNECTOR_EMAIL:
                 if (!StringUtil.isEmpty(eventHook.getHookRecipient())) {
                     LOG.debug("Generating and Sending an EMail Notification to : " + eventHook.getHookRecipient());
-                    Email email = null;
                     try {
-                        email = emailGenerationService.generateNotifyTestCaseChange(testCase, eventHook.getHookRecipient(), eventHook.getEventReference());
-                        emailService.sendHtmlMail(email);
+                        Email email = emailGenerationService.generateNotifyTestCaseChange(testCase, eventHook.getHookRecipient(), eventHook.getEventReference());
+                        send(eventHook, () -> emailService.sendHtmlMail(email));
                     } catch (Exception ex) {
                         LOG.warn("Exception generating email for '" + eventHook.getEventReference() + "'", ex);
                     }
@@ -542,7 +497,7 @@ public class EventService implements IEventService {
                     LOG.debug("Generating and Sending a Slack Notification to : '" + eventHook.getHookRecipient() + "'");
                     try {
                         JSONObject slackMessage = slackGenerationService.generateNotifyTestCaseChange(testCase, eventHook.getHookChannel(), eventHook.getEventReference());
-                        slackService.sendSlackMessage(slackMessage, eventHook.getHookRecipient());
+                        send(eventHook, () -> slackService.sendSlackMessage(slackMessage, eventHook.getHookRecipient()));
                     } catch (Exception ex) {
                         LOG.warn("Exception slack notification for '" + eventHook.getEventReference() + "'", ex);
                     }
@@ -554,7 +509,7 @@ public class EventService implements IEventService {
                     LOG.debug("Generating and Sending a Generic Notification to : '" + eventHook.getHookRecipient() + "'");
                     try {
                         JSONObject message = webCallGenerationService.generateNotifyTestCaseChange(testCase, originalTest, originalTestcase, eventHook.getEventReference(), ceberusEventMessage);
-                        webcallService.sendWebcallMessage(message, eventHook.getHookRecipient());
+                        send(eventHook, () -> webcallService.sendWebcallMessage(message, eventHook.getHookRecipient()));
                     } catch (Exception ex) {
                         LOG.warn("Exception Generic notification for '" + eventHook.getEventReference() + "'", ex);
                     }
@@ -566,7 +521,7 @@ public class EventService implements IEventService {
                     LOG.debug("Generating and Sending a Teams Notification to : '" + eventHook.getHookRecipient() + "'");
                     try {
                         JSONObject message = teamsGenerationService.generateNotifyTestCaseChange(testCase, eventHook.getEventReference());
-                        teamsService.sendTeamsMessage(message, eventHook.getHookRecipient());
+                        send(eventHook, () -> teamsService.sendTeamsMessage(message, eventHook.getHookRecipient()));
                     } catch (Exception ex) {
                         LOG.warn("Exception Teams notification for '" + eventHook.getEventReference() + "'", ex);
                     }
@@ -578,7 +533,7 @@ public class EventService implements IEventService {
                     LOG.debug("Generating and Sending a Google Chat Notification to : '" + eventHook.getHookRecipient() + "'");
                     try {
                         JSONObject message = chatGenerationService.generateNotifyTestCaseChange(testCase, eventHook.getEventReference());
-                        chatService.sendGoogleChatMessage(message, eventHook.getHookRecipient(), null);
+                        send(eventHook, () -> chatService.sendGoogleChatMessage(message, eventHook.getHookRecipient(), null));
                     } catch (Exception ex) {
                         LOG.warn("Exception Google Chat notification for '" + eventHook.getEventReference() + "'", ex);
                     }
@@ -28,11 +28,11 @@ import org.cerberus.core.api.exceptions.EntityNotFoundException;
 import org.cerberus.core.api.exceptions.FailedReadOperationException;
 import org.cerberus.core.crud.entity.Campaign;
 import org.cerberus.core.crud.entity.Tag;
-import org.cerberus.core.crud.entity.TestCaseExecution;
+import org.cerberus.core.crud.entity.TagResultDetail;
 import org.cerberus.core.crud.service.ICampaignService;
 import org.cerberus.core.crud.service.IParameterService;
+import org.cerberus.core.crud.service.ITagResultService;
 import org.cerberus.core.crud.service.ITagService;
-import org.cerberus.core.crud.service.ITestCaseExecutionService;
 import org.cerberus.core.dto.SummaryStatisticsDTO;
 import org.cerberus.core.enums.MessageEventEnum;
 import org.cerberus.core.exception.CerberusException;
@@ -46,9 +46,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.sql.Timestamp;
-import java.text.ParseException;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 /**
  * @author bcivel
@@ -58,177 +57,72 @@ public class CIService implements ICIService {
 
     private static final org.apache.logging.log4j.Logger LOG = org.apache.logging.log4j.LogManager.getLogger(CIService.class);
 
-    @Autowired
-    private ITestCaseExecutionService testExecutionService;
     @Autowired
     private IParameterService parameterService;
     @Autowired
     private ICampaignService campaignService;
     @Autowired
     private ITagService tagService;
+    @Autowired
+    private ITagResultService tagResultService;
 
     @Override
     public JSONObject getCIResult(String tag, String campaign) {
         try {
 
-            // If campaign is not defined here, we try to get it from tag. At the same time, we check that tag exist.
+            // Tag result is maintained incrementally (rebuilt from executions and queue only when needed). At the same time, we check that tag exist.
+            Tag myTag = tagResultService.readResult(tag);
+            // If campaign is not defined here, we try to get it from tag.
             if (StringUtil.isEmpty(campaign)) {
-                Tag myTag = tagService.convert(tagService.readByKey(tag));
                 campaign = myTag.getCampaign();
             }
 
-            List<TestCaseExecution> myList = testExecutionService.readLastExecutionAndExecutionInQueueByTag(tag);
-            JSONObject jsonResponse = CIService.this.getCIResult(tag, campaign, myList);
+            List<TagResultDetail> details = myTag.getResultDetailList();
+            JSONObject jsonResponse = CIService.this.getCIResult(tag, campaign, myTag);
 
-            jsonResponse.put("detail_by_declinaison", generateStats(myList));
+            jsonResponse.put("detail_by_declinaison", generateStats(details));
 
-            jsonResponse.put("environment_List", generateEnvList(myList));
-            jsonResponse.put("country_list", generateCountryList(myList));
-            jsonResponse.put("robotdecli_list", generateRobotDecliList(myList));
-            jsonResponse.put("system_list", generateSystemList(myList));
-            jsonResponse.put("application_list", generateApplicationList(myList));
+            jsonResponse.put("environment_List", generateList(details, TagResultDetail::getEnvironment));
+            jsonResponse.put("country_list", generateList(details, TagResultDetail::getCountry));
+            jsonResponse.put("robotdecli_list", generateList(details, TagResultDetail::getRobotDecli));
+            jsonResponse.put("system_list", generateList(details, TagResultDetail::getSystem));
+            jsonResponse.put("application_list", generateList(details, TagResultDetail::getApplication));
 
-            jsonResponse.put("nb_of_retry", myList.stream().mapToInt(it -> it.getNbExecutions() - 1).sum());
+            jsonResponse.put("nb_of_retry", myTag.getNbRetry());
+
+            long longStart = 0;
+            long longEnd = 0;
+            for (TagResultDetail detail : details) {
+                if (longStart == 0 || detail.getStart() < longStart) {
+                    longStart = detail.getStart();
+                }
+                if (longEnd == 0 || detail.getEnd() > longEnd) {
+                    longEnd = detail.getEnd();
+                }
+            }
+            jsonResponse.put("ExecutionStart", String.valueOf(new Timestamp(longStart)));
+            jsonResponse.put("ExecutionEnd", String.valueOf(new Timestamp(longEnd)));
 
             return jsonResponse;
-        } catch (CerberusException | ParseException | JSONException ex) {
+        } catch (CerberusException | JSONException ex) {
             LOG.error(ex, ex);
         }
         return null;
     }
 
-    private JSONObject getCIResult(String tag, String campaign, List<TestCaseExecution> myList) {
+    private JSONObject getCIResult(String tag, String campaign, Tag myTag) {
         try {
             JSONObject jsonResponse = new JSONObject();
 
-            int nbok = 0;
-            int nbko = 0;
-            int nbfa = 0;
-            int nbpe = 0;
-            int nbne = 0;
-            int nbwe = 0;
-            int nbna = 0;
-            int nbca = 0;
-            int nbqu = 0;
-            int nbqe = 0;
-            int nbtotal = 0;
-
-            int nbkop1 = 0;
-            int nbkop2 = 0;
-            int nbkop3 = 0;
-            int nbkop4 = 0;
-            int nbkop5 = 0;
-
-            long longStart = 0;
-            long longEnd = 0;
-
-            for (TestCaseExecution curExe : myList) {
-
-                if (longStart == 0) {
-                    longStart = curExe.getStart();
-                }
-                if (curExe.getStart() < longStart) {
-                    longStart = curExe.getStart();
-                }
-
-                if (longEnd == 0) {
-                    longEnd = curExe.getEnd();
-                }
-                if (curExe.getEnd() > longEnd) {
-                    longEnd = curExe.getEnd();
-                }
-
-                nbtotal++;
-
-                switch (curExe.getControlStatus()) {
-                    case TestCaseExecution.CONTROLSTATUS_KO:
-                        nbko++;
-                        break;
-                    case TestCaseExecution.CONTROLSTATUS_OK:
-                        nbok++;
-                        break;
-                    case TestCaseExecution.CONTROLSTATUS_FA:
-                        nbfa++;
-                        break;
-                    case TestCaseExecution.CONTROLSTATUS_NA:
-                        nbna++;
-                        break;
-                    case TestCaseExecution.CONTROLSTATUS_CA:
-                        nbca++;
-                        break;
-                    case TestCaseExecution.CONTROLSTATUS_PE:
-                        nbpe++;
-                        break;
-                    case TestCaseExecution.CONTROLSTATUS_NE:
-                        nbne++;
-                        break;
-                    case TestCaseExecution.CONTROLSTATUS_WE:
-                        nbwe++;
-                        break;
-                    case TestCaseExecution.CONTROLSTATUS_QU:
-                        nbqu++;
-                        break;
-                    case TestCaseExecution.CONTROLSTATUS_QE:
-                        nbqe++;
-                        break;
-                }
-
-                if (!curExe.getControlStatus().equals("OK") && !curExe.getControlStatus().equals("NE")
-                        && !curExe.getControlStatus().equals("PE") && !curExe.getControlStatus().equals("QU")) {
-                    switch (curExe.getTestCaseObj().getPriority()) {
-                        case 1:
-                            nbkop1++;
-                            break;
-                        case 2:
-                            nbkop2++;
-                            break;
-                        case 3:
-                            nbkop3++;
-                            break;
-                        case 4:
-                            nbkop4++;
-                            break;
-                        case 5:
-                            nbkop5++;
-                            break;
-                    }
-                }
-            }
-
             int pond1 = parameterService.getParameterIntegerByKey("cerberus_ci_okcoefprio1", "", 0);
             int pond2 = parameterService.getParameterIntegerByKey("cerberus_ci_okcoefprio2", "", 0);
             int pond3 = parameterService.getParameterIntegerByKey("cerberus_ci_okcoefprio3", "", 0);
             int pond4 = parameterService.getParameterIntegerByKey("cerberus_ci_okcoefprio4", "", 0);
             int pond5 = parameterService.getParameterIntegerByKey("cerberus_ci_okcoefprio5", "", 0);
-            String result;
-
-            // Getting threshold from parameter.
-            int resultCalThreshold = parameterService.getParameterIntegerByKey("cerberus_ci_threshold", "", 100);
-
-            // If tag is linked to campaign, we get the threshold from the campaign definition (if exist and can be converted to integer).
-            if (!StringUtil.isEmpty(campaign)) {
-                try {
-                    LOG.debug("Trying to get CIScoreThreshold from campaign : '" + campaign + "'");
-                    // Check campaign score here.
-                    Campaign mycampaign = campaignService.convert(campaignService.readByKey(campaign));
-                    if (!StringUtil.isEmpty(mycampaign.getCIScoreThreshold())) {
-                        try {
-                            resultCalThreshold = Integer.valueOf(mycampaign.getCIScoreThreshold());
-                        } catch (NumberFormatException ex) {
-                            LOG.error("Could not convert campaign CIScoreThreshold '" + mycampaign.getCIScoreThreshold() + "' to integer.", ex);
-                        }
-                    }
-                } catch (CerberusException ex) {
-                    LOG.error("Could not find campaign when calculating CIScore.", ex);
-                }
-            }
 
-            int resultCal = (nbkop1 * pond1) + (nbkop2 * pond2) + (nbkop3 * pond3) + (nbkop4 * pond4) + (nbkop5 * pond5);
-            if ((nbtotal > 0) && nbqu + nbpe > 0) {
-                result = "PE";
-            } else {
-                result = getFinalResult(resultCal, resultCalThreshold, nbtotal, nbok);
-            }
+            int resultCalThreshold = convertCIScoreThreshold(campaign);
+            int resultCal = getCIScore(myTag, pond1, pond2, pond3, pond4, pond5);
+            String result = getGlobalResult(myTag, resultCal, resultCalThreshold);
 
             jsonResponse.put("messageType", "OK");
             jsonResponse.put("message", "CI result calculated with success.");
@@ -240,25 +134,23 @@ public class CIService implements ICIService {
             jsonResponse.put("CI_OK_prio5", pond5);
             jsonResponse.put("CI_finalResult", resultCal);
             jsonResponse.put("CI_finalResultThreshold", resultCalThreshold);
-            jsonResponse.put("NonOK_prio1_nbOfExecution", nbkop1);
-            jsonResponse.put("NonOK_prio2_nbOfExecution", nbkop2);
-            jsonResponse.put("NonOK_prio3_nbOfExecution", nbkop3);
-            jsonResponse.put("NonOK_prio4_nbOfExecution", nbkop4);
-            jsonResponse.put("NonOK_prio5_nbOfExecution", nbkop5);
-            jsonResponse.put("status_OK_nbOfExecution", nbok);
-            jsonResponse.put("status_KO_nbOfExecution", nbko);
-            jsonResponse.put("status_FA_nbOfExecution", nbfa);
-            jsonResponse.put("status_PE_nbOfExecution", nbpe);
-            jsonResponse.put("status_NA_nbOfExecution", nbna);
-            jsonResponse.put("status_CA_nbOfExecution", nbca);
-            jsonResponse.put("status_NE_nbOfExecution", nbne);
-            jsonResponse.put("status_WE_nbOfExecution", nbwe);
-            jsonResponse.put("status_QU_nbOfExecution", nbqu);
-            jsonResponse.put("status_QE_nbOfExecution", nbqe);
-            jsonResponse.put("TOTAL_nbOfExecution", nbtotal);
+            jsonResponse.put("NonOK_prio1_nbOfExecution", myTag.getNbKOPrio1());
+            jsonResponse.put("NonOK_prio2_nbOfExecution", myTag.getNbKOPrio2());
+            jsonResponse.put("NonOK_prio3_nbOfExecution", myTag.getNbKOPrio3());
+            jsonResponse.put("NonOK_prio4_nbOfExecution", myTag.getNbKOPrio4());
+            jsonResponse.put("NonOK_prio5_nbOfExecution", myTag.getNbKOPrio5());
+            jsonResponse.put("status_OK_nbOfExecution", myTag.getNbOK());
+            jsonResponse.put("status_KO_nbOfExecution", myTag.getNbKO());
+            jsonResponse.put("status_FA_nbOfExecution", myTag.getNbFA());
+            jsonResponse.put("status_PE_nbOfExecution", myTag.getNbPE());
+            jsonResponse.put("status_NA_nbOfExecution", myTag.getNbNA());
+            jsonResponse.put("status_CA_nbOfExecution", myTag.getNbCA());
+            jsonResponse.put("status_NE_nbOfExecution", myTag.getNbNE());
+            jsonResponse.put("status_WE_nbOfExecution", myTag.getNbWE());
+            jsonResponse.put("status_QU_nbOfExecution", myTag.getNbQU());
+            jsonResponse.put("status_QE_nbOfExecution", myTag.getNbQE());
+            jsonResponse.put("TOTAL_nbOfExecution", myTag.getNbExeUsefull());
             jsonResponse.put("result", result);
-            jsonResponse.put("ExecutionStart", String.valueOf(new Timestamp(longStart)));
-            jsonResponse.put("ExecutionEnd", String.valueOf(new Timestamp(longEnd)));
 
             return jsonResponse;
 
@@ -269,8 +161,7 @@ public class CIService implements ICIService {
     }
 
     public CICampaignResult getCIResultApi(String tag, String campaign) {
-        Optional<Tag> campaignExecution;
-        List<TestCaseExecution> executions;
+        Tag campaignExecution;
         try {
             //Get the last campaign execution when campaign id is specified
             if (StringUtil.isNotEmpty(campaign)) {
@@ -282,13 +173,11 @@ public class CIService implements ICIService {
                 }
             }
 
-            campaignExecution = Optional.ofNullable(tagService.convert(tagService.readByKey(tag)));
-            if (campaignExecution.isPresent()) {
-                campaign = campaignExecution.get().getCampaign();
-            } else {
+            if (tagService.readByKey(tag).getItem() == null) {
                 throw new EntityNotFoundException(CICampaignResult.class, "campaignExecutionId", tag);
-
             }
+            campaignExecution = tagResultService.readResult(tag);
+            campaign = campaignExecution.getCampaign();
 
             int coefficientLevel1 = parameterService.getParameterIntegerByKey("cerberus_ci_okcoefprio1", "", 0);
             int coefficientLevel2 = parameterService.getParameterIntegerByKey("cerberus_ci_okcoefprio2", "", 0);
@@ -296,56 +185,26 @@ public class CIService implements ICIService {
             int coefficientLevel4 = parameterService.getParameterIntegerByKey("cerberus_ci_okcoefprio4", "", 0);
             int coefficientLevel5 = parameterService.getParameterIntegerByKey("cerberus_ci_okcoefprio5", "", 0);
 
-            executions = testExecutionService.readLastExecutionAndExecutionInQueueByTag(tag);
-            Map<String, Long> executionStatusCount = executions.stream().collect(Collectors.groupingBy(TestCaseExecution::getControlStatus, Collectors.counting()));
-            int nbOk = executionStatusCount.get(TestCaseExecution.CONTROLSTATUS_OK) == null ? 0 : executionStatusCount.get(TestCaseExecution.CONTROLSTATUS_OK).intValue();
-            int nbKo = executionStatusCount.get(TestCaseExecution.CONTROLSTATUS_KO) == null ? 0 : executionStatusCount.get(TestCaseExecution.CONTROLSTATUS_KO).intValue();
-            int nbFa = executionStatusCount.get(TestCaseExecution.CONTROLSTATUS_FA) == null ? 0 : executionStatusCount.get(TestCaseExecution.CONTROLSTATUS_FA).intValue();
-            int nbNa = executionStatusCount.get(TestCaseExecution.CONTROLSTATUS_NA) == null ? 0 : executionStatusCount.get(TestCaseExecution.CONTROLSTATUS_NA).intValue();
-            int nbCa = executionStatusCount.get(TestCaseExecution.CONTROLSTATUS_CA) == null ? 0 : executionStatusCount.get(TestCaseExecution.CONTROLSTATUS_CA).intValue();
-            int nbPe = executionStatusCount.get(TestCaseExecution.CONTROLSTATUS_PE) == null ? 0 : executionStatusCount.get(TestCaseExecution.CONTROLSTATUS_PE).intValue();
-            int nbNe = executionStatusCount.get(TestCaseExecution.CONTROLSTATUS_NE) == null ? 0 : executionStatusCount.get(TestCaseExecution.CONTROLSTATUS_NE).intValue();
-            int nbWe = executionStatusCount.get(TestCaseExecution.CONTROLSTATUS_WE) == null ? 0 : executionStatusCount.get(TestCaseExecution.CONTROLSTATUS_WE).intValue();
-            int nbQu = executionStatusCount.get(TestCaseExecution.CONTROLSTATUS_QU) == null ? 0 : executionStatusCount.get(TestCaseExecution.CONTROLSTATUS_QU).intValue();
-            int nbQe = executionStatusCount.get(TestCaseExecution.CONTROLSTATUS_QE) == null ? 0 : executionStatusCount.get(TestCaseExecution.CONTROLSTATUS_QE).intValue();
-            int nbTotal = nbOk + nbKo + nbFa + nbNa + nbCa + nbPe + nbNe + nbWe + nbQu + nbQe;
-
-            Map<Integer, Long> statusKoCountPriority = executions
-                    .stream()
-                    .filter(
-                            testCaseExecution -> (
-                                    !testCaseExecution.getControlStatus().equals(TestCaseExecution.CONTROLSTATUS_OK) &&
-                                            !testCaseExecution.getControlStatus().equals(TestCaseExecution.CONTROLSTATUS_NE) &&
-                                            !testCaseExecution.getControlStatus().equals(TestCaseExecution.CONTROLSTATUS_PE) &&
-                                            !testCaseExecution.getControlStatus().equals(TestCaseExecution.CONTROLSTATUS_QU)
-                            )
-                    )
-                    .collect(Collectors.groupingBy(testCaseExecution -> testCaseExecution.getTestCaseObj().getPriority(), Collectors.counting()));
-
-            int nbKoPriority1 = statusKoCountPriority.get(1) == null ? 0 : statusKoCountPriority.get(1).intValue();
-            int nbKoPriority2 = statusKoCountPriority.get(2) == null ? 0 : statusKoCountPriority.get(2).intValue();
-            int nbKoPriority3 = statusKoCountPriority.get(3) == null ? 0 : statusKoCountPriority.get(3).intValue();
-            int nbKoPriority4 = statusKoCountPriority.get(4) == null ? 0 : statusKoCountPriority.get(4).intValue();
-            int nbKoPriority5 = statusKoCountPriority.get(5) == null ? 0 : statusKoCountPriority.get(5).intValue();
+            List<TagResultDetail> details = campaignExecution.getResultDetailList();
+            int nbTotal = campaignExecution.getNbExeUsefull();
 
             int resultCalThreshold = convertCIScoreThreshold(campaign);
-            int resultCal = (nbKoPriority1 * coefficientLevel1) + (nbKoPriority2 * coefficientLevel2) + (nbKoPriority3 * coefficientLevel3) + (nbKoPriority4 * coefficientLevel4) + (nbKoPriority5 * coefficientLevel5);
-            String globalResult = ((nbTotal > 0) && nbQu + nbPe > 0) ? "PE" : this.getFinalResult(resultCal, resultCalThreshold, nbTotal, nbOk);
-
+            int resultCal = getCIScore(campaignExecution, coefficientLevel1, coefficientLevel2, coefficientLevel3, coefficientLevel4, coefficientLevel5);
+            String globalResult = getGlobalResult(campaignExecution, resultCal, resultCalThreshold);
 
             CampaignExecutionResult campaignResult = CampaignExecutionResult.builder()
-                    .ok(nbOk)
-                    .ca(nbCa)
-                    .pe(nbPe)
-                    .qe(nbQe)
-                    .qu(nbQu)
-                    .ne(nbNe)
-                    .we(nbWe)
-                    .ko(nbKo)
-                    .na(nbNa)
-                    .fa(nbFa)
+                    .ok(campaignExecution.getNbOK())
+                    .ca(campaignExecution.getNbCA())
+                    .pe(campaignExecution.getNbPE())
+                    .qe(campaignExecution.getNbQE())
+                    .qu(campaignExecution.getNbQU())
+                    .ne(campaignExecution.getNbNE())
+                    .we(campaignExecution.getNbWE())
+                    .ko(campaignExecution.getNbKO())
+                    .na(campaignExecution.getNbNA())
+                    .fa(campaignExecution.getNbFA())
                     .total(nbTotal)
-                    .totalWithRetries(nbTotal + executions.stream().mapToInt(it -> it.getNbExecutions() - 1).sum())
+                    .totalWithRetries(nbTotal + campaignExecution.getNbRetry())
                     .build();
 
             CampaignExecutionResultPriority campaignResultPriority = CampaignExecutionResultPriority.builder()
@@ -354,34 +213,45 @@ public class CIService implements ICIService {
                     .okCoefficientPriorityLevel3(coefficientLevel3)
                     .okCoefficientPriorityLevel4(coefficientLevel4)
                     .okCoefficientPriorityLevel5(coefficientLevel5)
-                    .nonOkExecutionsPriorityLevel1(nbKoPriority1)
-                    .nonOkExecutionsPriorityLevel2(nbKoPriority2)
-                    .nonOkExecutionsPriorityLevel3(nbKoPriority3)
-                    .nonOkExecutionsPriorityLevel4(nbKoPriority4)
-                    .nonOkExecutionsPriorityLevel5(nbKoPriority5)
+                    .nonOkExecutionsPriorityLevel1(campaignExecution.getNbKOPrio1())
+                    .nonOkExecutionsPriorityLevel2(campaignExecution.getNbKOPrio2())
+                    .nonOkExecutionsPriorityLevel3(campaignExecution.getNbKOPrio3())
+                    .nonOkExecutionsPriorityLevel4(campaignExecution.getNbKOPrio4())
+                    .nonOkExecutionsPriorityLevel5(campaignExecution.getNbKOPrio5())
                     .build();
 
             return CICampaignResult.builder()
                     .globalResult(globalResult)
                     .campaignExecutionId(tag)
-                    .detailByDeclinations(generateStats(executions))
-                    .countries(generateCountryList(executions))
-                    .environments(generateEnvList(executions))
-                    .robotDeclinations(generateRobotDecliList(executions))
-                    .systems(generateSystemList(executions))
-                    .applications(generateApplicationList(executions))
+                    .detailByDeclinations(generateStats(details))
+                    .countries(generateList(details, TagResultDetail::getCountry))
+                    .environments(generateList(details, TagResultDetail::getEnvironment))
+                    .robotDeclinations(generateList(details, TagResultDetail::getRobotDecli))
+                    .systems(generateList(details, TagResultDetail::getSystem))
+                    .applications(generateList(details, TagResultDetail::getApplication))
                     .calculatedResult(resultCal)
                     .resultThreshold(resultCalThreshold)
                     .result(campaignResult)
                     .resultByPriority(campaignResultPriority)
-                    .executionStart(String.valueOf(campaignExecution.get().getDateCreated()))
-                    .executionEnd(String.valueOf(campaignExecution.get().getDateEndQueue()))
+                    .executionStart(String.valueOf(campaignExecution.getDateCreated()))
+                    .executionEnd(String.valueOf(campaignExecution.getDateEndQueue()))
                     .build();
-        } catch (JSONException | ParseException | CerberusException e) {
+        } catch (JSONException | CerberusException e) {
             throw new FailedReadOperationException("An error occurred when retrieving the campaign execution.");
         }
     }
 
+    private int getCIScore(Tag myTag, int pond1, int pond2, int pond3, int pond4, int pond5) {
+        return (myTag.getNbKOPrio1() * pond1) + (myTag.getNbKOPrio2() * pond2) + (myTag.getNbKOPrio3() * pond3) + (myTag.getNbKOPrio4() * pond4) + (myTag.getNbKOPrio5() * pond5);
+    }
+
+    private String getGlobalResult(Tag myTag, int resultCal, int resultCalThreshold) {
+        if ((myTag.getNbExeUsefull() > 0) && myTag.getNbQU() + myTag.getNbPE() > 0) {
+            return "PE";
+        }
+        return getFinalResult(resultCal, resultCalThreshold, myTag.getNbExeUsefull(), myTag.getNbOK());
+    }
+
     @Override
     public String getFinalResult(int resultCal, int resultCalThreshold, int nbtotal, int nbok) {
         if ((resultCal < resultCalThreshold) && (nbtotal > 0) && nbok > 0) {
@@ -391,139 +261,41 @@ public class CIService implements ICIService {
         }
     }
 
-    private JSONArray generateEnvList(List<TestCaseExecution> testCaseExecutions) throws JSONException {
+    private JSONArray generateList(List<TagResultDetail> details, Function<TagResultDetail, String> valueGetter) {
 
         JSONArray jsonResult = new JSONArray();
 
-        HashMap<String, String> statMap = new HashMap<>();
-        for (TestCaseExecution testCaseExecution : testCaseExecutions) {
-            if (!StringUtil.isEmpty(testCaseExecution.getEnvironment())) {
-                statMap.put(testCaseExecution.getEnvironment(), null);
+        HashSet<String> values = new HashSet<>();
+        for (TagResultDetail detail : details) {
+            String value = valueGetter.apply(detail);
+            if (!StringUtil.isEmpty(value)) {
+                values.add(value);
             }
         }
-        for (Map.Entry<String, String> entry : statMap.entrySet()) {
-            String key = entry.getKey();
-            String value = entry.getValue();
-            jsonResult.put(key);
+        for (String value : values) {
+            jsonResult.put(value);
         }
         return jsonResult;
     }
 
-    private JSONArray generateCountryList(List<TestCaseExecution> testCaseExecutions) throws JSONException {
-
-        JSONArray jsonResult = new JSONArray();
-
-        HashMap<String, String> statMap = new HashMap<>();
-        for (TestCaseExecution testCaseExecution : testCaseExecutions) {
-            if (!StringUtil.isEmpty(testCaseExecution.getCountry())) {
-                statMap.put(testCaseExecution.getCountry(), null);
-            }
-        }
-        for (Map.Entry<String, String> entry : statMap.entrySet()) {
-            String key = entry.getKey();
-            String value = entry.getValue();
-            jsonResult.put(key);
-        }
-        return jsonResult;
-    }
-
-    private JSONArray generateRobotDecliList(List<TestCaseExecution> testCaseExecutions) throws JSONException {
-
-        JSONArray jsonResult = new JSONArray();
-
-        HashMap<String, String> statMap = new HashMap<>();
-        for (TestCaseExecution testCaseExecution : testCaseExecutions) {
-            if (!StringUtil.isEmpty(testCaseExecution.getRobotDecli())) {
-                statMap.put(testCaseExecution.getRobotDecli(), null);
-            }
-        }
-        for (Map.Entry<String, String> entry : statMap.entrySet()) {
-            String key = entry.getKey();
-            String value = entry.getValue();
-            jsonResult.put(key);
-        }
-        return jsonResult;
-    }
-
-    private JSONArray generateSystemList(List<TestCaseExecution> testCaseExecutions) throws JSONException {
-
-        JSONArray jsonResult = new JSONArray();
-
-        HashMap<String, String> statMap = new HashMap<>();
-        for (TestCaseExecution testCaseExecution : testCaseExecutions) {
-            if (!StringUtil.isEmpty(testCaseExecution.getSystem())) {
-                statMap.put(testCaseExecution.getSystem(), null);
-            }
-        }
-        for (Map.Entry<String, String> entry : statMap.entrySet()) {
-            String key = entry.getKey();
-            String value = entry.getValue();
-            jsonResult.put(key);
-        }
-        return jsonResult;
-    }
-
-    private JSONArray generateApplicationList(List<TestCaseExecution> testCaseExecutions) throws JSONException {
-
-        JSONArray jsonResult = new JSONArray();
-
-        HashMap<String, String> statMap = new HashMap<>();
-        for (TestCaseExecution testCaseExecution : testCaseExecutions) {
-            if (!StringUtil.isEmpty(testCaseExecution.getApplication())) {
-                statMap.put(testCaseExecution.getApplication(), null);
-            }
-        }
-        for (Map.Entry<String, String> entry : statMap.entrySet()) {
-            String key = entry.getKey();
-            String value = entry.getValue();
-            jsonResult.put(key);
-        }
-        return jsonResult;
-    }
-
-    private JSONArray generateStats(List<TestCaseExecution> testCaseExecutions) throws JSONException {
-
-        JSONObject jsonResult = new JSONObject();
+    private JSONArray generateStats(List<TagResultDetail> details) throws JSONException {
 
         HashMap<String, SummaryStatisticsDTO> statMap = new HashMap<>();
-        for (TestCaseExecution testCaseExecution : testCaseExecutions) {
-            StringBuilder key = new StringBuilder();
-            key.append(testCaseExecution.getEnvironment());
-            key.append("_");
-            key.append(testCaseExecution.getCountry());
-            key.append("_");
-            key.append(testCaseExecution.getRobotDecli());
-            key.append("_");
-            key.append(testCaseExecution.getApplication());
-
-            SummaryStatisticsDTO stat = new SummaryStatisticsDTO();
-            stat.setEnvironment(testCaseExecution.getEnvironment());
-            stat.setCountry(testCaseExecution.getCountry());
-            stat.setRobotDecli(testCaseExecution.getRobotDecli());
-            stat.setApplication(testCaseExecution.getApplication());
-            statMap.put(key.toString(), stat);
-        }
-
-        return getStatByEnvCountryRobotDecli(testCaseExecutions, statMap);
-    }
-
-    private JSONArray getStatByEnvCountryRobotDecli(List<TestCaseExecution> testCaseExecutions, HashMap<String, SummaryStatisticsDTO> statMap) throws JSONException {
-        for (TestCaseExecution testCaseExecution : testCaseExecutions) {
-
-            StringBuilder key = new StringBuilder();
-
-            key.append(testCaseExecution.getEnvironment());
-            key.append("_");
-            key.append((testCaseExecution.getCountry()));
-            key.append("_");
-            key.append((testCaseExecution.getRobotDecli()));
-            key.append("_");
-            key.append(testCaseExecution.getApplication());
-
-            if (statMap.containsKey(key.toString())) {
-                statMap.get(key.toString()).updateStatisticByStatus(testCaseExecution.getControlStatus());
+        for (TagResultDetail detail : details) {
+            String key = detail.getEnvironment() + "_" + detail.getCountry() + "_" + detail.getRobotDecli() + "_" + detail.getApplication();
+
+            SummaryStatisticsDTO stat = statMap.get(key);
+            if (stat == null) {
+                stat = new SummaryStatisticsDTO();
+                stat.setEnvironment(detail.getEnvironment());
+                stat.setCountry(detail.getCountry());
+                stat.setRobotDecli(detail.getRobotDecli());
+                stat.setApplication(detail.getApplication());
+                statMap.put(key, stat);
             }
+            stat.updateStatisticByStatus(detail.getControlStatus());
         }
+
         return extractSummaryData(statMap);
     }
 
@@ -543,18 +315,22 @@ public class CIService implements ICIService {
         return dataArray;
     }
 
-    private int convertCIScoreThreshold(String campaign) throws CerberusException {
+    private int convertCIScoreThreshold(String campaign) {
         int ciScoreThreshold = parameterService.getParameterIntegerByKey("cerberus_ci_threshold", "", 100);
         if (StringUtil.isNotEmpty(campaign)) {
             LOG.debug("Trying to get CIScoreThreshold from campaign : {}", campaign);
             // Check campaign score here.
-            Campaign campaignRetrieved = campaignService.convert(campaignService.readByKey(campaign));
-            if (StringUtil.isNotEmpty(campaignRetrieved.getCIScoreThreshold())) {
-                try {
-                    ciScoreThreshold = Integer.parseInt(campaignRetrieved.getCIScoreThreshold());
-                } catch (NumberFormatException ex) {
-                    LOG.error("Could not convert campaign CIScoreThreshold {} to integer", campaignRetrieved.getCIScoreThreshold(), ex);
+            try {
+                Campaign campaignRetrieved = campaignService.convert(campaignService.readByKey(campaign));
+                if (StringUtil.isNotEmpty(campaignRetrieved.getCIScoreThreshold())) {
+                    try {
+                        ciScoreThreshold = Integer.parseInt(campaignRetrieved.getCIScoreThreshold());
+                    } catch (NumberFormatException ex) {
+                        LOG.error("Could not convert campaign CIScoreThreshold {} to integer", campaignRetrieved.getCIScoreThreshold(), ex);
+                    }
                 }
+            } catch (CerberusException ex) {
+                LOG.error("Could not find campaign when calculating CIScore.", ex);
             }
         }
         return ciScoreThreshold;
@@ -92,6 +92,14 @@ public interface IDataLibService {
      */
     AnswerList<HashMap<String, String>> filterWithNatureNOTINUSE(AnswerList<HashMap<String, String>> dataSet, TestCaseExecution tCExecution, TestCaseCountryProperties testCaseProperties, int outPutDimention);
 
+    /**
+     * Release the values reserved by the execution with NOTINUSE and
+     * RANDOMNEW natures. To be called at the end of the execution.
+     *
+     * @param executionId
+     */
+    void releaseReservedValues(long executionId);
+
     /**
      *
      * @param object
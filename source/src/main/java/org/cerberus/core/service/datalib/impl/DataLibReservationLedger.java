@@ -0,0 +1,170 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.service.datalib.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.springframework.stereotype.Component;
+
+/**
+ * In memory ledger of the datalib values reserved by running executions.
+ * <p>
+ * NOTINUSE and RANDOMNEW natures exclude the values already used by other
+ * executions. Those values are read from testcaseexecutiondata but a value is
+ * only stored there once the property has been calculated, so two executions
+ * that start at the same time could pick the same value. A value picked by an
+ * execution is reserved here until the execution ends (or until the
+ * cerberus_notinuse_timeout is reached), selection and reservation being done
+ * atomically for a given scope (nature, property, environment, country...).
+ */
+@Component
+public class DataLibReservationLedger {
+
+    private static final Logger LOG = LogManager.getLogger(DataLibReservationLedger.class);
+
+    /**
+     * Select the values to reserve from the values that are not reserved by
+     * other executions.
+     */
+    @FunctionalInterface
+    public interface Selector {
+
+        List<String> select(Set<String> reservedByOthers);
+    }
+
+    private static final class Reservation {
+
+        private final long executionId;
+        private final long expireAt;
+
+        private Reservation(long executionId, long expireAt) {
+            this.executionId = executionId;
+            this.expireAt = expireAt;
+        }
+    }
+
+    // Reservations per scope. Each scope map is only accessed when holding its lock.
+    private final Map<String, Map<String, Reservation>> reservationsByScope = new ConcurrentHashMap<>();
+    // Scopes where each execution reserved values (used to release them at the end of the execution).
+    private final Map<Long, Set<String>> scopesByExecution = new ConcurrentHashMap<>();
+
+    /**
+     * Select and reserve values atomically for the scope.
+     *
+     * @param scope
+     * @param executionId
+     * @param timeoutInSecond duration of the reservation if the execution is
+     * never released
+     * @param selector called with the values reserved by other executions
+     * @return the values reserved (as returned by selector).
+     */
+    public List<String> claim(String scope, long executionId, long timeoutInSecond, Selector selector) {
+        while (true) {
+            Map<String, Reservation> reservations = reservationsByScope.computeIfAbsent(scope, k -> new HashMap<>());
+            synchronized (reservations) {
+                if (reservationsByScope.get(scope) != reservations) {
+                    // Scope was removed by a release in the meantime.
+                    continue;
+                }
+                return claimLocked(scope, reservations, executionId, timeoutInSecond, selector);
+            }
+        }
+    }
+
+    private List<String> claimLocked(String scope, Map<String, Reservation> reservations, long executionId, long timeoutInSecond, Selector selector) {
+        long now = System.currentTimeMillis();
+        Set<String> reservedByOthers = new HashSet<>();
+        Iterator<Map.Entry<String, Reservation>> it = reservations.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Reservation> entry = it.next();
+            if (entry.getValue().expireAt < now) {
+                it.remove();
+            } else if (entry.getValue().executionId != executionId) {
+                reservedByOthers.add(entry.getKey());
+            }
+        }
+
+        List<String> selected = selector.select(reservedByOthers);
+        if (selected == null || selected.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Reservation reservation = new Reservation(executionId, now + (timeoutInSecond * 1000));
+        for (String value : selected) {
+            reservations.put(value, reservation);
+        }
+        scopesByExecution.computeIfAbsent(executionId, k -> ConcurrentHashMap.newKeySet()).add(scope);
+        LOG.debug("Execution {} reserved {} value(s) on scope {}.", executionId, selected.size(), scope);
+        return selected;
+    }
+
+    /**
+     * Release all the values reserved by the execution.
+     *
+     * @param executionId
+     */
+    public void release(long executionId) {
+        Set<String> scopes = scopesByExecution.remove(executionId);
+        if (scopes == null) {
+            return;
+        }
+        for (String scope : scopes) {
+            Map<String, Reservation> reservations = reservationsByScope.get(scope);
+            if (reservations == null) {
+                continue;
+            }
+            synchronized (reservations) {
+                reservations.values().removeIf(reservation -> reservation.executionId == executionId);
+                if (reservations.isEmpty()) {
+                    reservationsByScope.remove(scope, reservations);
+                }
+            }
+        }
+        LOG.debug("Execution {} released its reserved values.", executionId);
+    }
+
+    public JSONObject getStatistics() {
+        JSONObject stats = new JSONObject();
+        try {
+            int nbReserved = 0;
+            for (Map<String, Reservation> reservations : reservationsByScope.values()) {
+                synchronized (reservations) {
+                    nbReserved += reservations.size();
+                }
+            }
+            stats.put("nbScope", reservationsByScope.size());
+            stats.put("nbExecution", scopesByExecution.size());
+            stats.put("nbReservedValue", nbReserved);
+        } catch (JSONException ex) {
+            LOG.warn(ex, ex);
+        }
+        return stats;
+    }
+
+}
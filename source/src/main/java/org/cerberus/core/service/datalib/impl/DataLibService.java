@@ -63,10 +63,11 @@ import org.w3c.dom.NodeList;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -79,6 +80,8 @@ public class DataLibService implements IDataLibService {
 
     private static final Logger LOG = LogManager.getLogger(DataLibService.class);
 
+    private static final String RESERVATION_SEPARATOR = "////";
+
     @Autowired
     private ICsvFileService fileService;
     @Autowired
@@ -103,6 +106,8 @@ public class DataLibService implements IDataLibService {
     private IRecorderService recorderService;
     @Autowired
     private IVariableService variableService;
+    @Autowired
+    private DataLibReservationLedger dataLibReservationLedger;
 
     @Override
     public AnswerList<HashMap<String, String>> getFromDataLib(TestDataLib lib, TestCaseCountryProperties testCaseCountryProperty,
@@ -327,62 +332,41 @@ public class DataLibService implements IDataLibService {
     @Override
     public AnswerList<HashMap<String, String>> filterWithNatureRANDOMNEW(AnswerList<HashMap<String, String>> dataObjectList, TestCaseExecution tCExecution, TestCaseCountryProperties testCaseProperties, int outputRequestedDimention) {
         AnswerList<HashMap<String, String>> result = new AnswerList<>();
-        List<HashMap<String, String>> list; // Temporary list in order to treat the input list
-
-        List<HashMap<String, String>> resultObject;
-        resultObject = new ArrayList<>();
 
         int initNB = dataObjectList.getDataList().size();
-        // We get the list of values that were already used.
-        List<String> pastValues = new LinkedList<>();
+
+        // Values picked by executions that did not record them yet are reserved until the end of the execution.
+        Integer peTimeout = parameterService.getParameterIntegerByKey("cerberus_notinuse_timeout", tCExecution.getApplicationObj().getSystem(), 600);
+        String scope = TestCaseCountryProperties.NATURE_RANDOMNEW + RESERVATION_SEPARATOR + testCaseProperties.getProperty()
+                + RESERVATION_SEPARATOR + tCExecution.getTest() + RESERVATION_SEPARATOR + tCExecution.getTestCase()
+                + RESERVATION_SEPARATOR + tCExecution.getCountryEnvParam().getBuild() + RESERVATION_SEPARATOR + tCExecution.getEnvironmentData()
+                + RESERVATION_SEPARATOR + tCExecution.getCountry();
+
+        List<HashMap<String, String>> list = new ArrayList<>(); // Rows that are still available.
+        String selectedList;
         try {
-            pastValues = this.testCaseExecutionDataService.getPastValuesOfProperty(tCExecution.getId(),
-                    testCaseProperties.getProperty(), tCExecution.getTest(), tCExecution.getTestCase(),
-                    tCExecution.getCountryEnvParam().getBuild(), tCExecution.getEnvironmentData(), tCExecution.getCountry());
+            // We get the list of values that were already used.
+            selectedList = claimRandomRows(scope, tCExecution.getId(), peTimeout, dataObjectList.getDataList(),
+                    () -> this.testCaseExecutionDataService.getPastValuesOfProperty(tCExecution.getId(),
+                            testCaseProperties.getProperty(), tCExecution.getTest(), tCExecution.getTestCase(),
+                            tCExecution.getCountryEnvParam().getBuild(), tCExecution.getEnvironmentData(), tCExecution.getCountry()),
+                    outputRequestedDimention, list, result);
         } catch (CerberusException e) {
             LOG.error(e.getMessage(), e);
             result.setResultMessage(new MessageEvent(MessageEventEnum.GENERIC_ERROR)
                     .resolveDescription("REASON", e.getMessage()));
+            return result;
         }
+        int removedNB = initNB - list.size();
 
-        int removedNB = 0;
-        // We save all rows that needs to be removed to listToremove.
-        List<Map<String, String>> listToremove = new ArrayList<>();
-        list = dataObjectList.getDataList();
-        for (String valueToRemove : pastValues) {
-            for (Map<String, String> curentRow : list) {
-                if (curentRow.get("").equals(valueToRemove)) {
-                    if (true) {
-                        listToremove.add(curentRow);
-                        removedNB++;
-                    }
-                }
-            }
-        }
-
-        // We remove all listToremove entries from list.
-        list.removeAll(listToremove);
-
-        if (list != null && !list.isEmpty()) { // We pick a random value from the left entries of the list.
+        if (!list.isEmpty()) { // We pick a random value from the left entries of the list.
 
             if (list.size() < outputRequestedDimention) { // Still some results available but not enougth compared to what we requested.
                 result.setResultMessage(new MessageEvent(MessageEventEnum.PROPERTY_FAILED_GETFROMDATALIB_RANDOMNEW_NOTENOUGTHRECORDS)
-                        .resolveDescription("REMNB", Integer.toString(listToremove.size()))
+                        .resolveDescription("REMNB", Integer.toString(removedNB))
                         .resolveDescription("TOTNB", Integer.toString(initNB))
                         .resolveDescription("NBREQUEST", Integer.toString(outputRequestedDimention)));
             } else {
-                // Get a random list.
-                List<Integer> listTempRandom = getRandomListOfInteger(dataObjectList.getDataList().size(), outputRequestedDimention);
-                String selectedList = "";
-                // Pick the result from list.
-                for (int i : listTempRandom) {
-                    int j = i + 1;
-                    selectedList += Integer.toString(j) + ",";
-                    resultObject.add(dataObjectList.getDataList().get(i));
-                }
-                selectedList = StringUtil.removeLastChar(selectedList);
-                result.setDataList(resultObject);
-
                 result.setResultMessage(new MessageEvent(MessageEventEnum.PROPERTY_SUCCESS_GETFROMDATALIB_NATURERANDOMNEW)
                         .resolveDescription("TOTNB", Integer.toString(initNB))
                         .resolveDescription("REMNB", Integer.toString(removedNB))
@@ -400,10 +384,6 @@ public class DataLibService implements IDataLibService {
     @Override
     public AnswerList<HashMap<String, String>> filterWithNatureNOTINUSE(AnswerList<HashMap<String, String>> dataObjectList, TestCaseExecution tCExecution, TestCaseCountryProperties testCaseCountryProperty, int outputRequestedDimention) {
         AnswerList<HashMap<String, String>> result = new AnswerList<>();
-        List<HashMap<String, String>> list = dataObjectList.getDataList(); // Temporary list in order to treat the input list
-
-        List<HashMap<String, String>> resultObject;
-        resultObject = new ArrayList<>();
 
         int initNB = dataObjectList.getDataList().size();
         // We get the list of values that are beeing used.
@@ -411,44 +391,25 @@ public class DataLibService implements IDataLibService {
         try {
             peTimeout = Integer.valueOf(parameterService.findParameterByKey("cerberus_notinuse_timeout", tCExecution.getApplicationObj().getSystem()).getValue());
 
-            List<String> pastValues = this.testCaseExecutionDataService.getInUseValuesOfProperty(tCExecution.getId(), testCaseCountryProperty.getProperty(), tCExecution.getEnvironmentData(), tCExecution.getCountry(), peTimeout);
-
-            int removedNB = 0;
-            // We save all rows that needs to be removed to listToremove.
-            List<Map<String, String>> listToremove = new ArrayList<>();
-            for (String valueToRemove : pastValues) {
-                for (Map<String, String> curentRow : list) {
-                    if (curentRow.get("").equals(valueToRemove)) {
-                        if (true) {
-                            listToremove.add(curentRow);
-                            removedNB++;
-                        }
-                    }
-                }
-            }
-            // We remove all listToremove entries from list.
-            list.removeAll(listToremove);
+            // Values picked by executions that did not record them yet are reserved until the end of the execution.
+            String scope = TestCaseCountryProperties.NATURE_NOTINUSE + RESERVATION_SEPARATOR + testCaseCountryProperty.getProperty()
+                    + RESERVATION_SEPARATOR + tCExecution.getEnvironmentData() + RESERVATION_SEPARATOR + tCExecution.getCountry();
+
+            List<HashMap<String, String>> list = new ArrayList<>(); // Rows that are still available.
+            Integer inUseTimeout = peTimeout;
+            String selectedList = claimRandomRows(scope, tCExecution.getId(), peTimeout, dataObjectList.getDataList(),
+                    () -> this.testCaseExecutionDataService.getInUseValuesOfProperty(tCExecution.getId(), testCaseCountryProperty.getProperty(), tCExecution.getEnvironmentData(), tCExecution.getCountry(), inUseTimeout),
+                    outputRequestedDimention, list, result);
+            int removedNB = initNB - list.size();
 
-            if (list != null && !list.isEmpty()) { // We pick a random value from the left entries of the list.
+            if (!list.isEmpty()) { // We pick a random value from the left entries of the list.
 
                 if (list.size() < outputRequestedDimention) { // Still some results available but not enougth compared to what we requested.
                     result.setResultMessage(new MessageEvent(MessageEventEnum.PROPERTY_FAILED_GETFROMDATALIB_NOTINUSE_NOTENOUGTHRECORDS)
-                            .resolveDescription("REMNB", Integer.toString(listToremove.size()))
+                            .resolveDescription("REMNB", Integer.toString(removedNB))
                             .resolveDescription("TOTNB", Integer.toString(initNB))
                             .resolveDescription("NBREQUEST", Integer.toString(outputRequestedDimention)));
                 } else {
-                    // Get a random list.
-                    List<Integer> listTempRandom = getRandomListOfInteger(dataObjectList.getDataList().size(), outputRequestedDimention);
-                    String selectedList = "";
-                    // Pick the result from list.
-                    for (int i : listTempRandom) {
-                        int j = i + 1;
-                        selectedList += Integer.toString(j) + ",";
-                        resultObject.add(dataObjectList.getDataList().get(i));
-                    }
-                    selectedList = StringUtil.removeLastChar(selectedList);
-                    result.setDataList(resultObject);
-
                     result.setResultMessage(new MessageEvent(MessageEventEnum.PROPERTY_SUCCESS_GETFROMDATALIB_NATURENOTINUSE)
                             .resolveDescription("TOTNB", Integer.toString(initNB))
                             .resolveDescription("REMNB", Integer.toString(removedNB))
@@ -465,6 +426,84 @@ public class DataLibService implements IDataLibService {
         return result;
     }
 
+    /**
+     * Read of the values already used by other executions.
+     */
+    @FunctionalInterface
+    private interface UsedValuesReader {
+
+        List<String> read() throws CerberusException;
+    }
+
+    /**
+     * Pick random rows whose key value is neither already used nor reserved
+     * by another execution and reserve them for the execution. Used values
+     * are read while holding the reservation scope so that a value stored and
+     * released by another execution in the meantime cannot be picked again.
+     *
+     * @param scope reservation scope
+     * @param executionId
+     * @param timeoutInSecond
+     * @param rows all rows of the datalib
+     * @param usedValuesReader read of the values already used (from database)
+     * @param nbRequested
+     * @param availableRows filled with the rows that are still available
+     * @param result dataList is set with the picked rows (when enough rows are
+     * available)
+     * @return the list of picked positions (1 based) in availableRows.
+     * @throws CerberusException when used values could not be read
+     */
+    private String claimRandomRows(String scope, long executionId, int timeoutInSecond, List<HashMap<String, String>> rows, UsedValuesReader usedValuesReader, int nbRequested,
+            List<HashMap<String, String>> availableRows, AnswerList<HashMap<String, String>> result) throws CerberusException {
+        List<HashMap<String, String>> resultObject = new ArrayList<>();
+        StringBuilder selectedList = new StringBuilder();
+        CerberusException[] readException = new CerberusException[1];
+
+        dataLibReservationLedger.claim(scope, executionId, timeoutInSecond, reservedByOthers -> {
+            Set<String> usedValues;
+            try {
+                usedValues = new HashSet<>(usedValuesReader.read());
+            } catch (CerberusException ex) {
+                readException[0] = ex;
+                return null;
+            }
+            for (HashMap<String, String> row : rows) {
+                String value = row.get("");
+                if (!usedValues.contains(value) && !reservedByOthers.contains(value)) {
+                    availableRows.add(row);
+                }
+            }
+            if (availableRows.size() < nbRequested) {
+                return null;
+            }
+            List<String> selectedValues = new ArrayList<>();
+            for (int i : getRandomListOfInteger(availableRows.size(), nbRequested)) {
+                selectedList.append(i + 1).append(",");
+                resultObject.add(availableRows.get(i));
+                selectedValues.add(availableRows.get(i).get(""));
+            }
+            return selectedValues;
+        });
+        if (readException[0] != null) {
+            throw readException[0];
+        }
+
+        if (!resultObject.isEmpty()) {
+            result.setDataList(resultObject);
+        }
+        return StringUtil.removeLastChar(selectedList.toString());
+    }
+
+    /**
+     * Release the datalib values reserved by the execution.
+     *
+     * @param executionId
+     */
+    @Override
+    public void releaseReservedValues(long executionId) {
+        dataLibReservationLedger.release(executionId);
+    }
+
     /**
      * Get the list of subData
      *
@@ -19,6 +19,8 @@
  */
 package org.cerberus.core.service.groovy;
 
+import org.json.JSONObject;
+
 /**
  * Entry point to deal with the Groovy language
  *
@@ -51,4 +53,14 @@ public interface IGroovyService {
      */
     String eval(String script) throws IGroovyServiceException;
 
+    /**
+     * @return compiled script cache and evaluation statistics.
+     */
+    JSONObject getStatistics();
+
+    /**
+     * Remove all compiled scripts from cache.
+     */
+    void purgeCache();
+
 }
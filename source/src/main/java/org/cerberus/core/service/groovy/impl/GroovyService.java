@@ -19,16 +19,28 @@
  */
 package org.cerberus.core.service.groovy.impl;
 
+import groovy.lang.Binding;
 import groovy.lang.GroovyShell;
+import groovy.lang.Script;
 import java.util.Collections;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.cerberus.core.service.groovy.IGroovyService;
 import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.runtime.InvokerHelper;
+import org.json.JSONException;
+import org.json.JSONObject;
 import org.kohsuke.groovy.sandbox.SandboxTransformer;
 import org.springframework.stereotype.Service;
 
@@ -40,20 +52,67 @@ import org.springframework.stereotype.Service;
 @Service
 public class GroovyService implements IGroovyService {
 
+    private static final Logger LOG = LogManager.getLogger(GroovyService.class);
+
     /**
      * Groovy specific compilation customizer in order to avoid code injection
      */
     private static final CompilerConfiguration GROOVY_COMPILER_CONFIGURATION = new CompilerConfiguration().addCompilationCustomizers(new SandboxTransformer());
 
+    /**
+     * Maximum number of compiled scripts kept in cache (least recently used
+     * are removed first).
+     */
+    private static final int SCRIPT_CACHE_SIZE = 500;
+
+    /**
+     * Maximum number of Groovy evaluations running in parallel.
+     */
+    private static final int EVAL_POOL_SIZE = 20;
+
+    /**
+     * Maximum duration of a Groovy evaluation (including the wait for a free
+     * evaluation thread).
+     */
+    private static final long EVAL_TIMEOUT_S = 60;
+
+    /**
+     * Compiled script classes by script text. Scripts are compiled with the
+     * sandbox transformer so the interceptor registered at evaluation time is
+     * still applied to every call done by the cached class. Each script is
+     * compiled in its own class loader so that evicted classes can be
+     * unloaded.
+     */
+    private final Map<String, Class<? extends Script>> scriptCache = new LinkedHashMap<String, Class<? extends Script>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Class<? extends Script>> eldest) {
+            return size() > SCRIPT_CACHE_SIZE;
+        }
+    };
+
+    private final AtomicLong nbCompilation = new AtomicLong();
+    private final AtomicLong nbCacheHit = new AtomicLong();
+    private final AtomicLong nbEvaluation = new AtomicLong();
+    private final AtomicLong nbEvaluationError = new AtomicLong();
+    private final AtomicLong nbEvaluationTimeout = new AtomicLong();
+    private final AtomicLong totalEvaluationMs = new AtomicLong();
+    private final AtomicLong maxEvaluationMs = new AtomicLong();
+
     /**
      * Each Groovy execution is ran inside a dedicated {@link Thread},
      * especially to register our Groovy interceptor
      */
-    private ExecutorService executorService;
+    private ThreadPoolExecutor executorService;
 
     @PostConstruct
     private void init() {
-        executorService = Executors.newCachedThreadPool();
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        executorService = new ThreadPoolExecutor(EVAL_POOL_SIZE, EVAL_POOL_SIZE, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, "cerberus-groovy-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executorService.allowCoreThreadTimeOut(true);
     }
 
     @PreDestroy
@@ -65,8 +124,10 @@ public class GroovyService implements IGroovyService {
 
     @Override
     public String eval(final String script) throws IGroovyServiceException {
+        long start = System.currentTimeMillis();
+        Future<String> expression = null;
         try {
-            Future<String> expression = executorService.submit(() -> {
+            expression = executorService.submit(() -> {
                 RestrictiveGroovyInterceptor interceptor = new RestrictiveGroovyInterceptor(
                         Collections.<Class<?>>emptySet(),
                         Collections.<Class<?>>emptySet(),
@@ -74,20 +135,86 @@ public class GroovyService implements IGroovyService {
                 );
                 try {
                     interceptor.register();
-                    GroovyShell shell = new GroovyShell(GROOVY_COMPILER_CONFIGURATION);
-                    return shell.evaluate(script).toString();
+                    Script compiledScript = InvokerHelper.createScript(getScriptClass(script), new Binding());
+                    Object result = compiledScript.run();
+                    return result == null ? null : result.toString();
                 } finally {
                     interceptor.unregister();
                 }
             });
 
-            String eval = expression.get();
+            String eval = expression.get(EVAL_TIMEOUT_S, TimeUnit.SECONDS);
             if (eval == null) {
                 throw new IGroovyServiceException("Groovy evaluation returns null result");
             }
             return eval;
+        } catch (TimeoutException e) {
+            nbEvaluationTimeout.incrementAndGet();
+            expression.cancel(true);
+            throw new IGroovyServiceException("Groovy evaluation did not finish within " + EVAL_TIMEOUT_S + " s");
+        } catch (IGroovyServiceException e) {
+            nbEvaluationError.incrementAndGet();
+            throw e;
         } catch (Exception e) {
+            nbEvaluationError.incrementAndGet();
             throw new IGroovyServiceException(e);
+        } finally {
+            long duration = System.currentTimeMillis() - start;
+            nbEvaluation.incrementAndGet();
+            totalEvaluationMs.addAndGet(duration);
+            maxEvaluationMs.accumulateAndGet(duration, Math::max);
+        }
+    }
+
+    private Class<? extends Script> getScriptClass(String script) {
+        synchronized (scriptCache) {
+            Class<? extends Script> scriptClass = scriptCache.get(script);
+            if (scriptClass != null) {
+                nbCacheHit.incrementAndGet();
+                return scriptClass;
+            }
+        }
+        // Compilation is done outside the lock so that a long compilation does not block the other evaluations.
+        Class<? extends Script> scriptClass = new GroovyShell(GROOVY_COMPILER_CONFIGURATION).parse(script).getClass();
+        nbCompilation.incrementAndGet();
+        synchronized (scriptCache) {
+            scriptCache.put(script, scriptClass);
+        }
+        return scriptClass;
+    }
+
+    @Override
+    public JSONObject getStatistics() {
+        JSONObject stats = new JSONObject();
+        try {
+            long nbEval = nbEvaluation.get();
+            long nbCompil = nbCompilation.get();
+            long nbHit = nbCacheHit.get();
+            synchronized (scriptCache) {
+                stats.put("nbScriptCached", scriptCache.size());
+            }
+            stats.put("scriptCacheSize", SCRIPT_CACHE_SIZE);
+            stats.put("nbCompilation", nbCompil);
+            stats.put("nbCacheHit", nbHit);
+            stats.put("cacheHitRate", (nbHit + nbCompil) == 0 ? 0 : (double) nbHit / (nbHit + nbCompil));
+            stats.put("nbEvaluation", nbEval);
+            stats.put("nbEvaluationError", nbEvaluationError.get());
+            stats.put("nbEvaluationTimeout", nbEvaluationTimeout.get());
+            stats.put("evaluationAvgMs", nbEval == 0 ? 0 : totalEvaluationMs.get() / nbEval);
+            stats.put("evaluationMaxMs", maxEvaluationMs.get());
+            stats.put("poolSize", EVAL_POOL_SIZE);
+            stats.put("poolActive", executorService.getActiveCount());
+            stats.put("poolQueued", executorService.getQueue().size());
+        } catch (JSONException ex) {
+            LOG.warn(ex, ex);
+        }
+        return stats;
+    }
+
+    @Override
+    public void purgeCache() {
+        synchronized (scriptCache) {
+            scriptCache.clear();
         }
     }
 
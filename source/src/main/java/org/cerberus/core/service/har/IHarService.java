@@ -19,9 +19,13 @@
  */
 package org.cerberus.core.service.har;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
 import java.util.List;
 import org.cerberus.core.crud.entity.TestCaseExecutionHttpStat;
 import org.cerberus.core.service.har.entity.NetworkTrafficIndex;
+import org.json.JSONException;
 import org.json.JSONObject;
 
 /**
@@ -31,14 +35,31 @@ import org.json.JSONObject;
 public interface IHarService {
 
     /**
+     * Read the HAR entry by entry (without loading it fully in memory),
+     * keeping only the entries from #indexStart whose url contains
+     * urlFilter, and compute the stats of the kept entries.
      *
-     * @param har
+     * @param har HAR content
+     * @param indexStart
+     * @param urlFilter
      * @param domains
      * @param system
      * @param indexList
-     * @return
+     * @param out when not null, the filtered HAR enriched with the stat is
+     * written to it
+     * @return the stat of the kept entries
+     * @throws IOException
+     * @throws JSONException
+     */
+    JSONObject streamWithStats(InputStream har, Integer indexStart, String urlFilter, String domains, String system, List<NetworkTrafficIndex> indexList, Writer out) throws IOException, JSONException;
+
+    /**
+     *
+     * @param har HAR content enriched with stat
+     * @return the stat entry of the HAR (log entries are not loaded) or null
+     * if not found
      */
-    JSONObject enrichWithStats(JSONObject har, String domains, String system, List<NetworkTrafficIndex> indexList);
+    JSONObject getStat(String har);
 
     /**
      *
@@ -49,13 +70,4 @@ public interface IHarService {
      * @return
      */
     int getValue(TestCaseExecutionHttpStat stat, String party, String type, String unit);
-
-    /**
-     *
-     * @param har
-     * @param indexStart
-     * @param urlFilter
-     * @return The new har removed from the log entries from 0 to #indexStart
-     */
-    JSONObject removeFirstHitsandFilterURL(JSONObject har, Integer indexStart, String urlFilter);
 }
@@ -0,0 +1,82 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.service.har.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Domain rules indexed by reversed suffix.
+ * <p>
+ * A rule matches a host when the host ends with the rule (same as
+ * {@link String#endsWith(String)}, case insensitive). Rules are stored
+ * reversed in a character trie so that a host is matched in a single walk of
+ * its name whatever the number of rules. When several rules match, the
+ * longest one wins.
+ */
+class DomainSuffixTrie {
+
+    private static final class Node {
+
+        private final Map<Character, Node> children = new HashMap<>();
+        private String value;
+    }
+
+    private final Node root = new Node();
+
+    /**
+     * Add a rule. If the same rule is added several times, the first value is
+     * kept.
+     *
+     * @param suffix rule (end of the host)
+     * @param value value returned when the rule matches
+     */
+    void add(String suffix, String value) {
+        String lowerSuffix = suffix.toLowerCase();
+        Node node = root;
+        for (int i = lowerSuffix.length() - 1; i >= 0; i--) {
+            node = node.children.computeIfAbsent(lowerSuffix.charAt(i), k -> new Node());
+        }
+        if (node.value == null) {
+            node.value = value;
+        }
+    }
+
+    /**
+     * @param host lower case host
+     * @return the value of the longest rule the host ends with or null if no
+     * rule matches.
+     */
+    String find(String host) {
+        Node node = root;
+        String result = root.value;
+        for (int i = host.length() - 1; i >= 0; i--) {
+            node = node.children.get(host.charAt(i));
+            if (node == null) {
+                break;
+            }
+            if (node.value != null) {
+                result = node.value;
+            }
+        }
+        return result;
+    }
+
+}
@@ -19,6 +19,11 @@
  */
 package org.cerberus.core.service.har.impl;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.cerberus.core.crud.entity.Invariant;
 import org.cerberus.core.crud.entity.TestCaseExecutionHttpStat;
 import org.cerberus.core.crud.service.IInvariantService;
@@ -34,6 +39,9 @@ import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
@@ -67,62 +75,171 @@ public class HarService implements IHarService {
     private static final String PROVIDER_UNKNOWN = "unknown";
     private static final String PROVIDER_THIRDPARTY = "thirdparty";
     private static final String PROVIDER_IGNORE = "ignore";
+    private static final long PROVIDERS_RULES_CHECK_PERIOD_MS = 60000;
+
+    private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+
+    // Third party rules compiled from the json file and the invariants, rebuilt only when one of them changes.
+    // Sources are checked at most once every PROVIDERS_RULES_CHECK_PERIOD_MS.
+    private DomainSuffixTrie providersRules;
+    private String providersRulesSignature;
+    private long providersRulesCheckedAt;
 
     @Override
-    public JSONObject enrichWithStats(JSONObject har, String domains, String system, List<NetworkTrafficIndex> indexList) {
-        LOG.debug("Enriching HAR file with stats.");
-        try {
-            JSONArray harEntries = har.getJSONObject("log").getJSONArray("entries");
+    public JSONObject streamWithStats(InputStream har, Integer indexStart, String urlFilter, String domains, String system, List<NetworkTrafficIndex> indexList, Writer out) throws IOException, JSONException {
+        LOG.debug("Streaming HAR file from index " + indexStart + " filtered using : " + urlFilter + " and computing stats.");
+        int firstIndex = indexStart == null ? 0 : indexStart;
+        StatAccumulator stats = new StatAccumulator(domains, system);
+        int nbEntries = 0;
+        int nbKept = 0;
+
+        try (JsonParser parser = JSON_MAPPER.getFactory().createParser(har);
+                JsonGenerator generator = out == null ? null : JSON_MAPPER.getFactory().createGenerator(out)) {
+
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("HAR content is not a JSON object.");
+            }
+            if (generator != null) {
+                generator.writeStartObject();
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                if ("log".equals(field) && parser.currentToken() == JsonToken.START_OBJECT) {
+                    if (generator != null) {
+                        generator.writeFieldName(field);
+                        generator.writeStartObject();
+                    }
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String logField = parser.getCurrentName();
+                        parser.nextToken();
+                        if ("entries".equals(logField) && parser.currentToken() == JsonToken.START_ARRAY) {
+                            if (generator != null) {
+                                generator.writeFieldName(logField);
+                                generator.writeStartArray();
+                            }
+                            // Entries are read and written one by one so that the full HAR is never loaded in memory.
+                            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                                JsonNode entry = JSON_MAPPER.readTree(parser);
+                                if (nbEntries++ >= firstIndex
+                                        && (StringUtil.isEmpty(urlFilter) || entry.path("request").path("url").asText("").contains(urlFilter))) {
+                                    stats.add(new JSONObject(JSON_MAPPER.writeValueAsString(entry)));
+                                    if (generator != null) {
+                                        generator.writeTree(entry);
+                                    }
+                                    nbKept++;
+                                }
+                            }
+                            if (generator != null) {
+                                generator.writeEndArray();
+                            }
+                        } else if (generator != null) {
+                            generator.writeFieldName(logField);
+                            generator.copyCurrentStructure(parser);
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                    if (generator != null) {
+                        generator.writeEndObject();
+                    }
+                } else if (generator != null && !"stat".equals(field)) {
+                    generator.writeFieldName(field);
+                    generator.copyCurrentStructure(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            LOG.debug("Total nb hits from HAR file : {} - kept : {}", nbEntries, nbKept);
+            JSONObject stat = stats.build(indexList);
+            if (generator != null) {
+                generator.writeFieldName("stat");
+                generator.writeRawValue(stat.toString());
+                generator.writeEndObject();
+            }
+            return stat;
+        }
+    }
+
+    @Override
+    public JSONObject getStat(String har) {
+        try (JsonParser parser = JSON_MAPPER.getFactory().createParser(har)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                if ("stat".equals(field)) {
+                    return new JSONObject(JSON_MAPPER.writeValueAsString(JSON_MAPPER.readTree(parser)));
+                }
+                // log entries are skipped without being loaded.
+                parser.skipChildren();
+            }
+        } catch (IOException | JSONException ex) {
+            LOG.warn("Exception when reading stat from har file : " + ex.toString());
+        }
+        return null;
+    }
 
-            HashMap<String, HarStat> target = new HashMap<>();
-            HarStat harTotalStat = new HarStat();
-            HarStat harProviderStat = new HarStat();
+    /**
+     * Stats of a HAR, fed entry by entry.
+     */
+    private class StatAccumulator {
 
-            String url = null;
-            String provider = null;
+        private final HashMap<String, HarStat> target = new HashMap<>();
+        private HarStat harTotalStat = new HarStat();
+        private final DomainSuffixTrie providersRules;
+        private final DomainSuffixTrie internalRules;
+        private final DomainSuffixTrie ignoreRules;
+        // Provider of each host already classified in this HAR.
+        private final HashMap<String, String> providerByHost = new HashMap<>();
 
-            // Load third party from json file.
-            HashMap<String, List<String>> providersRules = loadProvidersExternal();
-            // Load third party from invariant WEBPERFTHRIDPARTY.
-            providersRules = loadProvidersInternal(providersRules);
+        private StatAccumulator(String domains, String system) {
+            // Third party from json file and invariant WEBPERFTHRIDPARTY.
+            providersRules = getProvidersRules();
 
-            List<String> internalRules = new ArrayList<>();
+            internalRules = new DomainSuffixTrie();
             String[] dList = domains.split(",");
             for (String domain : dList) {
-                internalRules.add(domain.trim());
+                internalRules.add(domain.trim().replace("*", ""), PROVIDER_INTERNAL);
             }
 
             String ignore = parameterService.getParameterStringByKey("cerberus_webperf_ignoredomainlist", system, "");
-            List<String> ignoreRules = new ArrayList<>();
+            ignoreRules = new DomainSuffixTrie();
             dList = ignore.split(",");
             for (String domain : dList) {
-                ignoreRules.add(domain.trim());
+                if (!StringUtil.isEmpty(domain.trim())) {
+                    ignoreRules.add(domain.trim(), PROVIDER_IGNORE);
+                }
             }
+        }
 
-            for (int i = 0; i < harEntries.length(); i++) {
-
-                url = harEntries.getJSONObject(i).getJSONObject("request").getString("url");
-
-                LOG.debug("Process hit " + i + " URL : " + url);
-                // Getting provider from the url called.
-                provider = getProvider(url, internalRules, ignoreRules, providersRules);
+        private void add(JSONObject entry) throws JSONException {
+            String url = entry.getJSONObject("request").getString("url");
 
-                // If we don't IGNORE, we add it to total.
-                if (!provider.equalsIgnoreCase(PROVIDER_IGNORE)) {
-                    harTotalStat = processEntry(harTotalStat, harEntries.getJSONObject(i), url, provider, true);
-                }
+            LOG.debug("Process hit URL : " + url);
+            // Getting provider from the url called.
+            String provider = getProvider(url, internalRules, ignoreRules, providersRules, providerByHost);
 
-                // In all cases, we enrish the stat of the HasMap (if it exist) and put it back.
-                if (!target.containsKey(provider)) {
-                    harProviderStat = new HarStat();
-                } else {
-                    harProviderStat = target.get(provider);
-                }
-                harProviderStat = processEntry(harProviderStat, harEntries.getJSONObject(i), url, provider, false);
-                target.put(provider, harProviderStat);
+            // If we don't IGNORE, we add it to total.
+            if (!provider.equalsIgnoreCase(PROVIDER_IGNORE)) {
+                harTotalStat = processEntry(harTotalStat, entry, url, provider, true);
+            }
 
+            // In all cases, we enrish the stat of the HasMap (if it exist) and put it back.
+            HarStat harProviderStat;
+            if (!target.containsKey(provider)) {
+                harProviderStat = new HarStat();
+            } else {
+                harProviderStat = target.get(provider);
             }
+            harProviderStat = processEntry(harProviderStat, entry, url, provider, false);
+            target.put(provider, harProviderStat);
+        }
 
+        private JSONObject build(List<NetworkTrafficIndex> indexList) throws JSONException {
             if (!target.containsKey(PROVIDER_IGNORE)) {
                 target.put(PROVIDER_IGNORE, new HarStat());
             }
@@ -199,16 +316,8 @@ public class HarService implements IHarService {
             }
             stat.put("index", indexArray);
 
-            har.put("stat", stat);
-
-            return har;
-
-        } catch (JSONException ex) {
-            LOG.error("Exception when trying to enrich har file : " + ex.toString());
-        } catch (Exception ex) {
-            LOG.error("Exception when trying to enrich har file.", ex);
+            return stat;
         }
-        return har;
     }
 
     private Integer getNetworkTrafficIndexPositionFromList(Integer hitNb, List<NetworkTrafficIndex> list) {
@@ -226,6 +335,54 @@ public class HarService implements IHarService {
         return (i);
     }
 
+    private synchronized DomainSuffixTrie getProvidersRules() {
+        long now = System.currentTimeMillis();
+        if (providersRules != null && now - providersRulesCheckedAt < PROVIDERS_RULES_CHECK_PERIOD_MS) {
+            return providersRules;
+        }
+        providersRulesCheckedAt = now;
+
+        List<Invariant> invList = new ArrayList<>();
+        try {
+            invList = invariantService.readByIdName("WEBPERFTHIRDPARTY");
+        } catch (CerberusException ex) {
+            LOG.error(ex, ex);
+        }
+
+        // Signature of the rules sources : file path, modification date and size + invariant values.
+        StringBuilder signature = new StringBuilder();
+        String configFile = parameterService.getParameterStringByKey("cerberus_webperf_thirdpartyfilepath", "", "");
+        signature.append(configFile);
+        try {
+            if (!StringUtil.isEmpty(configFile) && Files.exists(Paths.get(configFile))) {
+                signature.append("|").append(Files.getLastModifiedTime(Paths.get(configFile)).toMillis()).append("|").append(Files.size(Paths.get(configFile)));
+            }
+        } catch (IOException ex) {
+            LOG.warn("Could not read Web Third Party config file attributes.", ex);
+        }
+        for (Invariant invariant : invList) {
+            signature.append("|").append(invariant.getValue()).append("=").append(invariant.getGp1());
+        }
+
+        if (providersRules == null || !signature.toString().equals(providersRulesSignature)) {
+            LOG.debug("Loading Web Third Party rules.");
+            // Load third party from json file.
+            HashMap<String, List<String>> rules = loadProvidersExternal();
+            // Load third party from invariant WEBPERFTHRIDPARTY.
+            rules = loadProvidersInternal(rules, invList);
+
+            DomainSuffixTrie trie = new DomainSuffixTrie();
+            for (Map.Entry<String, List<String>> entry : rules.entrySet()) {
+                for (String domain : entry.getValue()) {
+                    trie.add(domain.replace("*", ""), entry.getKey());
+                }
+            }
+            providersRules = trie;
+            providersRulesSignature = signature.toString();
+        }
+        return providersRules;
+    }
+
     private HashMap<String, List<String>> loadProvidersExternal() {
         HashMap<String, List<String>> rules = new HashMap<>();
         try {
@@ -269,63 +426,42 @@ public class HarService implements IHarService {
         return rules;
     }
 
-    private HashMap<String, List<String>> loadProvidersInternal(HashMap<String, List<String>> list) {
-        try {
-
-            List<Invariant> invList = new ArrayList<>();
-            invList = invariantService.readByIdName("WEBPERFTHIRDPARTY");
-
-            for (Invariant invariant : invList) {
-                List<String> provInterRules = new ArrayList<>();
-                String[] dList = invariant.getGp1().split(",");
-                for (String domain : dList) {
-                    provInterRules.add(domain.trim());
-                }
-                list.put(invariant.getValue(), provInterRules);
+    private HashMap<String, List<String>> loadProvidersInternal(HashMap<String, List<String>> list, List<Invariant> invList) {
+        for (Invariant invariant : invList) {
+            List<String> provInterRules = new ArrayList<>();
+            String[] dList = invariant.getGp1().split(",");
+            for (String domain : dList) {
+                provInterRules.add(domain.trim());
             }
-
-            return list;
-
-        } catch (CerberusException ex) {
-            LOG.error(ex, ex);
+            list.put(invariant.getValue(), provInterRules);
         }
         return list;
     }
 
-    private String getProvider(String url, List<String> internalRules, List<String> ingoreRules, HashMap<String, List<String>> providersRules) {
+    private String getProvider(String url, DomainSuffixTrie internalRules, DomainSuffixTrie ingoreRules, DomainSuffixTrie providersRules, HashMap<String, String> providerByHost) {
         try {
-            URL myURL = new URL(url);
+            String host = new URL(url).getHost().toLowerCase();
 
-            // We first try from local provider.
-            for (String string : internalRules) {
-                string = string.replace("*", "");
-//                LOG.debug("urlHost : " + myURL.getHost() + " domain : " + string + " URL : " + url);
-                if (myURL.getHost().toLowerCase().endsWith(string.toLowerCase())) {
-                    return PROVIDER_INTERNAL;
-                }
+            String provider = providerByHost.get(host);
+            if (provider != null) {
+                return provider;
             }
 
-            // We ignore some requests.
-            for (String string : ingoreRules) {
-                if ((!StringUtil.isEmpty(string)) && (myURL.getHost().toLowerCase().endsWith(string.toLowerCase()))) {
-                    return PROVIDER_IGNORE;
-                }
+            // We first try from local provider.
+            provider = internalRules.find(host);
+            if (provider == null) {
+                // We ignore some requests.
+                provider = ingoreRules.find(host);
             }
-
-            // We then try from third party provider.
-            for (Map.Entry<String, List<String>> entry : providersRules.entrySet()) {
-                String key = entry.getKey();
-                List<String> val = entry.getValue();
-                for (String string : val) {
-                    string = string.replace("*", "");
-//                    LOG.debug("urlHost : " + myURL.getHost() + " domain : " + string + " URL : " + url);
-                    if (myURL.getHost().toLowerCase().endsWith(string.toLowerCase())) {
-                        return key;
-                    }
-                }
+            if (provider == null) {
+                // We then try from third party provider.
+                provider = providersRules.find(host);
             }
-
-            return PROVIDER_UNKNOWN;
+            if (provider == null) {
+                provider = PROVIDER_UNKNOWN;
+            }
+            providerByHost.put(host, provider);
+            return provider;
 
         } catch (MalformedURLException ex) {
             Logger.getLogger(HarService.class.getName()).log(Level.SEVERE, null, ex);
@@ -965,40 +1101,4 @@ public class HarService implements IHarService {
             return -1;
         }
     }
-
-    @Override
-    public JSONObject removeFirstHitsandFilterURL(JSONObject har, Integer indexStart, String urlFilter) {
-        LOG.debug("Remove First entries from HAR file from index " + indexStart + " and Filter using : " + urlFilter);
-        if ((indexStart < 1) && StringUtil.isEmpty(urlFilter)) {
-            return har;
-        }
-        try {
-            JSONArray harEntries = har.getJSONObject("log").getJSONArray("entries");
-            JSONArray newLogEntries = new JSONArray();
-
-            LOG.debug("Total nb hits from HAR file : {}", harEntries.length());
-            for (int i = 0; i < harEntries.length(); i++) {
-                if (i >= indexStart) {
-                    // Only add the entries if index is reached
-                    if ((!StringUtil.isEmpty(urlFilter) && harEntries.getJSONObject(i).getJSONObject("request").getString("url").contains(urlFilter))
-                            || StringUtil.isEmpty(urlFilter)) {
-                        // Only add the entries if the url to filter is defined and url contains it.
-                        newLogEntries.put(harEntries.getJSONObject(i));
-                    }
-                }
-            }
-
-            JSONObject log = new JSONObject();
-            log = har.getJSONObject("log");
-            log.put("entries", newLogEntries);
-            har.put("log", log);
-            return har;
-
-        } catch (JSONException ex) {
-            LOG.error("Exception when trying to remove 1st entries from har file : " + ex.toString());
-        } catch (Exception ex) {
-            LOG.error("Exception when trying to enrich 1st entries from har file.", ex);
-        }
-        return har;
-    }
 }
@@ -0,0 +1,65 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.service.httpclient;
+
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.json.JSONArray;
+
+/**
+ * Pool of long lived HTTP clients shared by all REST calls and notifications.
+ * Clients are keyed by their proxy, SSL and redirect configuration and keep
+ * their connections alive between calls.
+ */
+public interface IHttpClientPoolService {
+
+    /**
+     * Timeout used when the request does not define one.
+     */
+    int DEFAULT_TIMEOUT_MS = 60000;
+
+    /**
+     * Get the shared client that can be used to call the url. Proxy and SSL
+     * configuration are taken from the parameters of the system.
+     * <p>
+     * Client must not be closed by the caller. Response entity must always be
+     * consumed (or the response closed) so that the connection goes back to
+     * the pool. Cookies are never shared between 2 calls. Timeouts are defined
+     * on each request (DEFAULT_TIMEOUT_MS is used when request does not
+     * define them).
+     *
+     * @param system
+     * @param url
+     * @param followRedirect
+     * @return
+     */
+    CloseableHttpClient getClient(String system, String url, boolean followRedirect);
+
+    /**
+     * @return the clients currently opened together with their connection
+     * pool status and the statistics per route.
+     */
+    JSONArray getAllEntries();
+
+    /**
+     * Close all the clients that have no connection in use.
+     */
+    void purgeAllEntries();
+
+}
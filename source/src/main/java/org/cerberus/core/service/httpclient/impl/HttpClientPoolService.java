@@ -0,0 +1,358 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.service.httpclient.impl;
+
+import java.security.cert.CertificateException;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PreDestroy;
+import javax.net.ssl.SSLContext;
+import org.apache.http.HttpConnection;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.auth.AuthScope;
+import org.apache.http.auth.UsernamePasswordCredentials;
+import org.apache.http.client.CookieStore;
+import org.apache.http.client.CredentialsProvider;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.NoopHostnameVerifier;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.conn.ssl.TrustSelfSignedStrategy;
+import org.apache.http.impl.client.BasicCookieStore;
+import org.apache.http.impl.client.BasicCredentialsProvider;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.client.ProxyAuthenticationStrategy;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.ssl.SSLContextBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.cerberus.core.crud.service.IParameterService;
+import org.cerberus.core.service.httpclient.IHttpClientPoolService;
+import org.cerberus.core.service.proxy.IProxyService;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * 1 client with its own pool of connections is kept per configuration.
+ * Connections are kept alive between calls (so TCP and TLS handshakes are only
+ * done once per route), idle connections are evicted after
+ * IDLE_CONNECTION_TIMEOUT_MS and clients that are not used for
+ * IDLE_TIMEOUT_MS are closed.
+ */
+@Service
+public class HttpClientPoolService implements IHttpClientPoolService {
+
+    private static final Logger LOG = LogManager.getLogger(HttpClientPoolService.class);
+
+    /**
+     * Proxy default config. (Should never be used as default config is inserted
+     * into database)
+     */
+    private static final String DEFAULT_PROXY_HOST = "proxy";
+    private static final int DEFAULT_PROXY_PORT = 80;
+    private static final boolean DEFAULT_PROXYAUTHENT_ACTIVATE = false;
+    private static final String DEFAULT_PROXYAUTHENT_USER = "squid";
+    private static final String DEFAULT_PROXYAUTHENT_PASSWORD = "squid";
+
+    private static final int MAX_CONNECTIONS_TOTAL = 200;
+    private static final int MAX_CONNECTIONS_PER_ROUTE = 50;
+    private static final int VALIDATE_AFTER_INACTIVITY_MS = 2000;
+    private static final long IDLE_CONNECTION_TIMEOUT_MS = 30000;
+    private static final long IDLE_TIMEOUT_MS = 300000;
+    private static final long EVICTION_PERIOD_MS = 60000;
+    private static final int MAX_ROUTES_STATS = 200;
+
+    private static final String ATTRIBUTE_START = "cerberus.http.start";
+
+    @Autowired
+    private IParameterService parameterService;
+    @Autowired
+    private IProxyService proxyService;
+
+    private final Map<String, ClientEntry> clients = new HashMap<>();
+    private long lastEviction = System.currentTimeMillis();
+
+    @Override
+    public CloseableHttpClient getClient(String system, String url, boolean followRedirect) {
+        String proxyHost = null;
+        int proxyPort = 0;
+        String proxyUser = null;
+        String proxyPassword = null;
+        if (proxyService.useProxy(url, system)) {
+            proxyHost = parameterService.getParameterStringByKey("cerberus_proxy_host", system, DEFAULT_PROXY_HOST);
+            proxyPort = parameterService.getParameterIntegerByKey("cerberus_proxy_port", system, DEFAULT_PROXY_PORT);
+            if (parameterService.getParameterBooleanByKey("cerberus_proxyauthentification_active", system, DEFAULT_PROXYAUTHENT_ACTIVATE)) {
+                proxyUser = parameterService.getParameterStringByKey("cerberus_proxyauthentification_user", system, DEFAULT_PROXYAUTHENT_USER);
+                proxyPassword = parameterService.getParameterStringByKey("cerberus_proxyauthentification_password", system, DEFAULT_PROXYAUTHENT_PASSWORD);
+            }
+        }
+        boolean acceptUnsignedSsl = parameterService.getParameterBooleanByKey("cerberus_accept_unsigned_ssl_certificate", system, true);
+
+        String key = proxyHost + ":" + proxyPort + "|" + proxyUser + "|" + (proxyPassword == null ? 0 : proxyPassword.hashCode())
+                + "|" + acceptUnsignedSsl + "|" + followRedirect;
+
+        ClientEntry entry;
+        List<ClientEntry> toClose;
+        synchronized (this) {
+            toClose = evictIdle();
+            entry = clients.get(key);
+            if (entry == null) {
+                entry = new ClientEntry(proxyHost, proxyPort, proxyUser, acceptUnsignedSsl, followRedirect);
+                entry.client = buildClient(entry, proxyPassword);
+                clients.put(key, entry);
+                LOG.info("Open HTTP Client : " + entry.getDescription());
+            }
+            entry.lastUsed = System.currentTimeMillis();
+        }
+        close(toClose);
+        return entry.client;
+    }
+
+    private CloseableHttpClient buildClient(ClientEntry entry, String proxyPassword) {
+        SSLConnectionSocketFactory sslSocketFactory = SSLConnectionSocketFactory.getSocketFactory();
+        if (entry.acceptUnsignedSsl) {
+            try {
+                // authorize non valide certificat ssl
+                SSLContext sslContext = new SSLContextBuilder().loadTrustMaterial(null, new TrustSelfSignedStrategy() {
+                    @Override
+                    public boolean isTrusted(X509Certificate[] chain, String authType) throws CertificateException {
+                        return true;
+                    }
+                }).build();
+                sslSocketFactory = new SSLConnectionSocketFactory(sslContext, NoopHostnameVerifier.INSTANCE);
+            } catch (Exception ex) {
+                LOG.error("Exception when building SSL context trusting all certificates.", ex);
+            }
+        }
+        Registry<ConnectionSocketFactory> socketFactoryRegistry = RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .register("https", sslSocketFactory)
+                .build();
+
+        entry.connectionManager = new PoolingHttpClientConnectionManager(socketFactoryRegistry);
+        entry.connectionManager.setMaxTotal(MAX_CONNECTIONS_TOTAL);
+        entry.connectionManager.setDefaultMaxPerRoute(MAX_CONNECTIONS_PER_ROUTE);
+        entry.connectionManager.setValidateAfterInactivity(VALIDATE_AFTER_INACTIVITY_MS);
+
+        HttpClientBuilder httpclientBuilder = HttpClientBuilder.create()
+                .setConnectionManager(entry.connectionManager)
+                .setDefaultCookieStore(entry.sharedCookieStore)
+                .setDefaultRequestConfig(RequestConfig.custom().setConnectTimeout(DEFAULT_TIMEOUT_MS).setConnectionRequestTimeout(DEFAULT_TIMEOUT_MS)
+                        .setSocketTimeout(DEFAULT_TIMEOUT_MS).build())
+                .evictExpiredConnections()
+                .evictIdleConnections(IDLE_CONNECTION_TIMEOUT_MS, TimeUnit.MILLISECONDS)
+                .addInterceptorFirst(getRequestInterceptor(entry))
+                .addInterceptorLast(getResponseInterceptor(entry));
+
+        if (entry.proxyHost != null) {
+            HttpHost proxyHostObject = new HttpHost(entry.proxyHost, entry.proxyPort);
+            httpclientBuilder.setProxy(proxyHostObject);
+            if (entry.proxyUser != null) {
+                CredentialsProvider credsProvider = new BasicCredentialsProvider();
+                credsProvider.setCredentials(new AuthScope(entry.proxyHost, entry.proxyPort), new UsernamePasswordCredentials(entry.proxyUser, proxyPassword));
+                httpclientBuilder.setProxyAuthenticationStrategy(new ProxyAuthenticationStrategy())
+                        .setDefaultCredentialsProvider(credsProvider);
+            }
+        }
+        if (!entry.followRedirect) {
+            httpclientBuilder.disableRedirectHandling();
+        }
+        return httpclientBuilder.build();
+    }
+
+    private static HttpRequestInterceptor getRequestInterceptor(ClientEntry entry) {
+        return (request, context) -> {
+            HttpClientContext clientContext = HttpClientContext.adapt(context);
+            // Client is shared so cookies must never go from 1 call to another. A call that did not provide its own cookie store gets an empty one (kept for the redirects of that call).
+            if (clientContext.getCookieStore() == null || clientContext.getCookieStore() == entry.sharedCookieStore) {
+                clientContext.setCookieStore(new BasicCookieStore());
+            }
+            clientContext.setAttribute(ATTRIBUTE_START, System.nanoTime());
+        };
+    }
+
+    private static HttpResponseInterceptor getResponseInterceptor(ClientEntry entry) {
+        return (response, context) -> {
+            HttpClientContext clientContext = HttpClientContext.adapt(context);
+            Long start = clientContext.getAttribute(ATTRIBUTE_START, Long.class);
+            HttpHost target = clientContext.getTargetHost();
+            if (start == null || target == null) {
+                return;
+            }
+            HttpConnection connection = clientContext.getConnection();
+            // More than 1 request on the connection means that it was reused from the pool.
+            boolean reused = connection != null && connection.getMetrics().getRequestCount() > 1;
+            entry.record(target.toURI(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), reused);
+        };
+    }
+
+    @Override
+    public JSONArray getAllEntries() {
+        JSONArray result = new JSONArray();
+        synchronized (this) {
+            try {
+                for (ClientEntry entry : clients.values()) {
+                    JSONObject object = new JSONObject();
+                    object.put("client", entry.getDescription());
+                    PoolStats stats = entry.connectionManager.getTotalStats();
+                    object.put("connectionLeased", stats.getLeased());
+                    object.put("connectionAvailable", stats.getAvailable());
+                    object.put("connectionPending", stats.getPending());
+                    object.put("connectionMax", stats.getMax());
+                    object.put("idleInS", (System.currentTimeMillis() - entry.lastUsed) / 1000);
+                    JSONArray routes = new JSONArray();
+                    for (Map.Entry<String, RouteStats> route : entry.routes.entrySet()) {
+                        RouteStats routeStats = route.getValue();
+                        long nbRequest = routeStats.nbRequest.get();
+                        JSONObject routeObject = new JSONObject();
+                        routeObject.put("route", route.getKey());
+                        routeObject.put("nbRequest", nbRequest);
+                        routeObject.put("nbConnectionReused", routeStats.nbReused.get());
+                        routeObject.put("latencyAvgMs", nbRequest == 0 ? 0 : routeStats.totalLatencyMs.get() / nbRequest);
+                        routeObject.put("latencyMaxMs", routeStats.maxLatencyMs.get());
+                        routes.put(routeObject);
+                    }
+                    object.put("routes", routes);
+                    result.put(object);
+                }
+            } catch (Exception ex) {
+                LOG.error(ex, ex);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void purgeAllEntries() {
+        List<ClientEntry> toClose;
+        synchronized (this) {
+            toClose = evict(0);
+        }
+        close(toClose);
+    }
+
+    @PreDestroy
+    private void shutdown() {
+        purgeAllEntries();
+    }
+
+    private List<ClientEntry> evictIdle() {
+        long now = System.currentTimeMillis();
+        if (now - lastEviction < EVICTION_PERIOD_MS) {
+            return new ArrayList<>();
+        }
+        lastEviction = now;
+        return evict(IDLE_TIMEOUT_MS);
+    }
+
+    // Must be called inside synchronized block. Returns the clients to close outside of it.
+    private List<ClientEntry> evict(long idleTimeoutMs) {
+        long limit = System.currentTimeMillis() - idleTimeoutMs;
+        List<ClientEntry> toClose = new ArrayList<>();
+        for (Iterator<ClientEntry> it = clients.values().iterator(); it.hasNext();) {
+            ClientEntry entry = it.next();
+            if (entry.lastUsed <= limit && entry.connectionManager.getTotalStats().getLeased() == 0) {
+                it.remove();
+                toClose.add(entry);
+            }
+        }
+        return toClose;
+    }
+
+    private void close(List<ClientEntry> toClose) {
+        for (ClientEntry entry : toClose) {
+            try {
+                entry.client.close();
+                LOG.info("Closed HTTP Client : " + entry.getDescription());
+            } catch (Exception ex) {
+                LOG.warn("HTTP Client could not be closed : " + ex.toString());
+            }
+        }
+    }
+
+    private static class ClientEntry {
+
+        private final String proxyHost;
+        private final int proxyPort;
+        private final String proxyUser;
+        private final boolean acceptUnsignedSsl;
+        private final boolean followRedirect;
+        private final CookieStore sharedCookieStore = new BasicCookieStore();
+        private final Map<String, RouteStats> routes = new ConcurrentHashMap<>();
+        private CloseableHttpClient client;
+        private PoolingHttpClientConnectionManager connectionManager;
+        private volatile long lastUsed = System.currentTimeMillis();
+
+        private ClientEntry(String proxyHost, int proxyPort, String proxyUser, boolean acceptUnsignedSsl, boolean followRedirect) {
+            this.proxyHost = proxyHost;
+            this.proxyPort = proxyPort;
+            this.proxyUser = proxyUser;
+            this.acceptUnsignedSsl = acceptUnsignedSsl;
+            this.followRedirect = followRedirect;
+        }
+
+        private void record(String route, long latencyMs, boolean reused) {
+            RouteStats stats = routes.get(route);
+            if (stats == null) {
+                if (routes.size() >= MAX_ROUTES_STATS) {
+                    return;
+                }
+                stats = routes.computeIfAbsent(route, k -> new RouteStats());
+            }
+            stats.nbRequest.incrementAndGet();
+            if (reused) {
+                stats.nbReused.incrementAndGet();
+            }
+            stats.totalLatencyMs.addAndGet(latencyMs);
+            stats.maxLatencyMs.accumulateAndGet(latencyMs, Math::max);
+        }
+
+        private String getDescription() {
+            return (proxyHost == null ? "no proxy" : "proxy " + proxyHost + ":" + proxyPort + (proxyUser == null ? "" : " (" + proxyUser + ")"))
+                    + " - acceptUnsignedSsl " + acceptUnsignedSsl + " - followRedirect " + followRedirect;
+        }
+    }
+
+    private static class RouteStats {
+
+        private final AtomicLong nbRequest = new AtomicLong();
+        private final AtomicLong nbReused = new AtomicLong();
+        private final AtomicLong totalLatencyMs = new AtomicLong();
+        private final AtomicLong maxLatencyMs = new AtomicLong();
+    }
+
+}
@@ -23,12 +23,14 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.InvalidPathException;
 import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.spi.json.JacksonJsonNodeJsonProvider;
 import net.minidev.json.JSONArray;
 import net.minidev.json.JSONStyle;
 import org.cerberus.core.service.json.IJsonService;
+import org.cerberus.core.util.ParsedDocumentCache;
 import org.springframework.stereotype.Service;
 
 import java.io.BufferedReader;
@@ -50,6 +52,9 @@ public class JsonService implements IJsonService {
 
     private static final org.apache.logging.log4j.Logger LOG = org.apache.logging.log4j.LogManager.getLogger(JsonService.class);
 
+    private static final Configuration JACKSON_CONFIGURATION = Configuration.defaultConfiguration().jsonProvider(new JacksonJsonNodeJsonProvider());
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
     /**
      * Get Json from URL and convert it into JSONObject format
      *
@@ -101,7 +106,7 @@ public class JsonService implements IJsonService {
         }
 
         //Get the value
-        Object document = Configuration.defaultConfiguration().jsonProvider().parse(json);
+        Object document = parse(json);
         String jsonPath = checkJsonPathFormat(attributeToFind);
 
         return castObjectAccordingToJson(JsonPath.read(document, jsonPath));
@@ -118,16 +123,11 @@ public class JsonService implements IJsonService {
     @Override
     public String getRawFromJson(String jsonMessage, String attributeToFind) throws JsonProcessingException {
         String jsonPath = checkJsonPathFormat(attributeToFind);
-        ObjectMapper objectMapper = new ObjectMapper();
 
         //Exception InavlidPathException throwed by read method when not elements found
-        JsonNode jsonElementsSearched = JsonPath.using(
-                        Configuration
-                                .defaultConfiguration()
-                                .jsonProvider(new JacksonJsonNodeJsonProvider()))
-                .parse(jsonMessage)
-                .read(jsonPath);
-        return objectMapper.writeValueAsString(jsonElementsSearched);
+        DocumentContext document = ParsedDocumentCache.get(jsonMessage, "JSONNODE", () -> JsonPath.using(JACKSON_CONFIGURATION).parse(jsonMessage));
+        JsonNode jsonElementsSearched = document.read(jsonPath);
+        return OBJECT_MAPPER.writeValueAsString(jsonElementsSearched);
     }
 
     /**
@@ -146,19 +146,20 @@ public class JsonService implements IJsonService {
         }
 
         //Get the value
-        Object document = Configuration.defaultConfiguration().jsonProvider().parse(jsonMessage);
+        Object document = parse(jsonMessage);
         String jsonPath = checkJsonPathFormat(attributeToFind);
 
         //When JsonPath returns a list
-        if (JsonPath.read(document, jsonPath) instanceof List) {
-            List<Object> jsonSearchedElements = JsonPath.read(document, jsonPath);
+        Object jsonRead = JsonPath.read(document, jsonPath);
+        if (jsonRead instanceof List) {
+            List<Object> jsonSearchedElements = (List<Object>) jsonRead;
             return jsonSearchedElements
                     .stream()
                     .map(this::castObjectAccordingToJson)
                     .collect(Collectors.toList());
         } else {
             List<String> jsonSearchedElements = new ArrayList<>();
-            jsonSearchedElements.add(this.castObjectAccordingToJson(JsonPath.read(document, jsonPath)));
+            jsonSearchedElements.add(this.castObjectAccordingToJson(jsonRead));
             return jsonSearchedElements;
         }
     }
@@ -173,6 +174,18 @@ public class JsonService implements IJsonService {
         return result.toString().trim();
     }
 
+    /**
+     * Parse the JSON content. Document already parsed by the current execution
+     * from the same content is reused (JSON path expressions are compiled once
+     * and cached by JsonPath itself).
+     *
+     * @param json JSON Content
+     * @return parsed document (must not be modified)
+     */
+    private Object parse(String json) {
+        return ParsedDocumentCache.get(json, "JSON", () -> Configuration.defaultConfiguration().jsonProvider().parse(json));
+    }
+
     /**
      * Add required elements for the json path if necessary
      *
@@ -0,0 +1,73 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.service.kafka;
+
+import java.util.Properties;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.json.JSONArray;
+
+/**
+ * Pool of Kafka clients shared by all executions. Clients are keyed by their
+ * full configuration (bootstrap servers, serializers, security...).
+ */
+public interface IKafkaClientPoolService {
+
+    /**
+     * Send the record with the shared producer of the configuration and wait
+     * for the broker acknowledgement.
+     *
+     * @param props producer configuration
+     * @param record
+     * @return
+     * @throws Exception
+     */
+    RecordMetadata send(Properties props, ProducerRecord<Object, Object> record) throws Exception;
+
+    /**
+     * Borrow a consumer for the configuration. Consumer must be given back
+     * with {@link #releaseConsumer(Properties, KafkaConsumer, boolean)}.
+     *
+     * @param props consumer configuration
+     * @return
+     */
+    KafkaConsumer<Object, Object> borrowConsumer(Properties props);
+
+    /**
+     *
+     * @param props consumer configuration used to borrow the consumer
+     * @param consumer
+     * @param reusable false if the consumer ended in error and must be closed
+     */
+    void releaseConsumer(Properties props, KafkaConsumer<Object, Object> consumer, boolean reusable);
+
+    /**
+     * @return the producers and consumers currently opened together with
+     * their send statistics.
+     */
+    JSONArray getAllEntries();
+
+    /**
+     * Close all idle producers and consumers.
+     */
+    void purgeAllEntries();
+
+}
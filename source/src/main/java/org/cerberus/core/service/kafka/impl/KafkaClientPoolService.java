@@ -0,0 +1,331 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.service.kafka.impl;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PreDestroy;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.cerberus.core.service.kafka.IKafkaClientPoolService;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.springframework.stereotype.Service;
+
+/**
+ * Kafka producers are thread safe so 1 producer is shared per configuration.
+ * Consumers are not, so idle consumers are kept per configuration and lent to
+ * 1 caller at a time. Clients that are not used for IDLE_TIMEOUT_MS are
+ * closed.
+ */
+@Service
+public class KafkaClientPoolService implements IKafkaClientPoolService {
+
+    private static final Logger LOG = LogManager.getLogger(KafkaClientPoolService.class);
+
+    private static final long IDLE_TIMEOUT_MS = 300000;
+    private static final long EVICTION_PERIOD_MS = 60000;
+    private static final int MAX_IDLE_CONSUMERS_PER_KEY = 5;
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(5);
+
+    private final Map<String, ProducerEntry> producers = new HashMap<>();
+    private final Map<String, Deque<ConsumerEntry>> idleConsumers = new HashMap<>();
+    private final Map<String, AtomicInteger> borrowedConsumers = new HashMap<>();
+    private long lastEviction = System.currentTimeMillis();
+
+    @Override
+    public RecordMetadata send(Properties props, ProducerRecord<Object, Object> record) throws Exception {
+        String key = getKey(props);
+        ProducerEntry entry;
+        List<AutoCloseable> toClose;
+        synchronized (this) {
+            toClose = evictIdle();
+            entry = producers.get(key);
+            if (entry == null) {
+                LOG.info("Open Producer : " + props.getProperty(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG));
+                entry = new ProducerEntry(new KafkaProducer<>(props), props.getProperty(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG));
+                producers.put(key, entry);
+            }
+            entry.inFlight.incrementAndGet();
+        }
+        close(toClose);
+
+        long start = System.nanoTime();
+        try {
+            RecordMetadata metadata = entry.producer.send(record).get();
+            entry.recordSend(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return metadata;
+        } catch (Exception ex) {
+            entry.nbError.incrementAndGet();
+            // Producer may be in a bad state (broker unreachable, authentication...), next send will open a new one.
+            synchronized (this) {
+                if (producers.get(key) == entry) {
+                    producers.remove(key);
+                    entry.closeRequested = true;
+                }
+            }
+            throw ex;
+        } finally {
+            entry.lastUsed = System.currentTimeMillis();
+            if (entry.inFlight.decrementAndGet() == 0 && entry.closeRequested) {
+                entry.close();
+            }
+        }
+    }
+
+    @Override
+    public KafkaConsumer<Object, Object> borrowConsumer(Properties props) {
+        String key = getKey(props);
+        ConsumerEntry entry;
+        List<AutoCloseable> toClose;
+        synchronized (this) {
+            toClose = evictIdle();
+            Deque<ConsumerEntry> idle = idleConsumers.get(key);
+            entry = idle == null ? null : idle.pollFirst();
+            borrowedConsumers.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+        }
+        close(toClose);
+
+        if (entry != null) {
+            LOG.debug("Reuse Consumer : " + props.getProperty(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG));
+            return entry.consumer;
+        }
+        try {
+            LOG.info("Open Consumer : " + props.getProperty(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG));
+            return new KafkaConsumer<>(props);
+        } catch (RuntimeException ex) {
+            synchronized (this) {
+                borrowedConsumers.get(key).decrementAndGet();
+            }
+            throw ex;
+        }
+    }
+
+    @Override
+    public void releaseConsumer(Properties props, KafkaConsumer<Object, Object> consumer, boolean reusable) {
+        if (consumer == null) {
+            return;
+        }
+        String key = getKey(props);
+        boolean kept = false;
+        if (reusable) {
+            try {
+                // Remove the partitions assigned by the previous caller.
+                consumer.unsubscribe();
+                synchronized (this) {
+                    Deque<ConsumerEntry> idle = idleConsumers.computeIfAbsent(key, k -> new ArrayDeque<>());
+                    if (idle.size() < MAX_IDLE_CONSUMERS_PER_KEY) {
+                        idle.addFirst(new ConsumerEntry(consumer, props.getProperty(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG)));
+                        kept = true;
+                    }
+                }
+            } catch (Exception ex) {
+                LOG.warn("Consumer could not be released : " + ex.toString());
+            }
+        }
+        synchronized (this) {
+            AtomicInteger borrowed = borrowedConsumers.get(key);
+            if (borrowed != null) {
+                borrowed.decrementAndGet();
+            }
+        }
+        if (!kept) {
+            closeConsumer(consumer);
+        }
+    }
+
+    @Override
+    public JSONArray getAllEntries() {
+        JSONArray result = new JSONArray();
+        synchronized (this) {
+            try {
+                for (ProducerEntry entry : producers.values()) {
+                    JSONObject object = new JSONObject();
+                    object.put("type", "producer");
+                    object.put("bootstrapServers", entry.bootstrapServers);
+                    object.put("inFlightRecords", entry.inFlight.get());
+                    object.put("nbSent", entry.nbSent.get());
+                    object.put("nbError", entry.nbError.get());
+                    object.put("sendLatencyAvgMs", entry.nbSent.get() == 0 ? 0 : entry.totalSendMs.get() / entry.nbSent.get());
+                    object.put("sendLatencyMaxMs", entry.maxSendMs.get());
+                    object.put("idleInS", (System.currentTimeMillis() - entry.lastUsed) / 1000);
+                    result.put(object);
+                }
+                for (Map.Entry<String, Deque<ConsumerEntry>> idle : idleConsumers.entrySet()) {
+                    if (idle.getValue().isEmpty()) {
+                        continue;
+                    }
+                    JSONObject object = new JSONObject();
+                    object.put("type", "consumer");
+                    object.put("bootstrapServers", idle.getValue().peekFirst().bootstrapServers);
+                    object.put("nbIdle", idle.getValue().size());
+                    AtomicInteger borrowed = borrowedConsumers.get(idle.getKey());
+                    object.put("nbBorrowed", borrowed == null ? 0 : borrowed.get());
+                    result.put(object);
+                }
+            } catch (Exception ex) {
+                LOG.error(ex, ex);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void purgeAllEntries() {
+        List<AutoCloseable> toClose = new ArrayList<>();
+        synchronized (this) {
+            toClose.addAll(evict(0));
+        }
+        close(toClose);
+    }
+
+    @PreDestroy
+    private void shutdown() {
+        purgeAllEntries();
+    }
+
+    private List<AutoCloseable> evictIdle() {
+        long now = System.currentTimeMillis();
+        if (now - lastEviction < EVICTION_PERIOD_MS) {
+            return new ArrayList<>();
+        }
+        lastEviction = now;
+        return evict(IDLE_TIMEOUT_MS);
+    }
+
+    // Must be called inside synchronized block. Returns the clients to close outside of it.
+    private List<AutoCloseable> evict(long idleTimeoutMs) {
+        long limit = System.currentTimeMillis() - idleTimeoutMs;
+        List<AutoCloseable> toClose = new ArrayList<>();
+        for (Iterator<ProducerEntry> it = producers.values().iterator(); it.hasNext();) {
+            ProducerEntry entry = it.next();
+            if (entry.inFlight.get() == 0 && entry.lastUsed <= limit) {
+                it.remove();
+                toClose.add(entry::close);
+            }
+        }
+        for (Deque<ConsumerEntry> idle : idleConsumers.values()) {
+            for (Iterator<ConsumerEntry> it = idle.iterator(); it.hasNext();) {
+                ConsumerEntry entry = it.next();
+                if (entry.since <= limit) {
+                    it.remove();
+                    toClose.add(() -> closeConsumer(entry.consumer));
+                }
+            }
+        }
+        idleConsumers.values().removeIf(Deque::isEmpty);
+        borrowedConsumers.values().removeIf(borrowed -> borrowed.get() <= 0);
+        return toClose;
+    }
+
+    private void close(List<AutoCloseable> toClose) {
+        for (AutoCloseable closeable : toClose) {
+            try {
+                closeable.close();
+            } catch (Exception ex) {
+                LOG.warn(ex.toString());
+            }
+        }
+    }
+
+    private void closeConsumer(KafkaConsumer<Object, Object> consumer) {
+        try {
+            consumer.close(CLOSE_TIMEOUT);
+            LOG.info("Closed Consumer.");
+        } catch (Exception ex) {
+            LOG.warn("Consumer could not be closed : " + ex.toString());
+        }
+    }
+
+    /**
+     * Key is built from all properties sorted so that 2 identical
+     * configurations share the same clients.
+     */
+    private static String getKey(Properties props) {
+        TreeMap<String, String> sorted = new TreeMap<>();
+        for (Map.Entry<Object, Object> entry : props.entrySet()) {
+            sorted.put(String.valueOf(entry.getKey()), String.valueOf(entry.getValue()));
+        }
+        return sorted.toString();
+    }
+
+    private static class ProducerEntry {
+
+        private final KafkaProducer<Object, Object> producer;
+        private final String bootstrapServers;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicLong nbSent = new AtomicLong();
+        private final AtomicLong nbError = new AtomicLong();
+        private final AtomicLong totalSendMs = new AtomicLong();
+        private final AtomicLong maxSendMs = new AtomicLong();
+        private volatile long lastUsed = System.currentTimeMillis();
+        private volatile boolean closeRequested = false;
+
+        private ProducerEntry(KafkaProducer<Object, Object> producer, String bootstrapServers) {
+            this.producer = producer;
+            this.bootstrapServers = bootstrapServers;
+        }
+
+        private void recordSend(long durationMs) {
+            nbSent.incrementAndGet();
+            totalSendMs.addAndGet(durationMs);
+            maxSendMs.accumulateAndGet(durationMs, Math::max);
+        }
+
+        private void close() {
+            try {
+                producer.close(CLOSE_TIMEOUT);
+                LOG.info("Closed Producer : " + bootstrapServers);
+            } catch (Exception ex) {
+                LOG.warn("Producer could not be closed : " + ex.toString());
+            }
+        }
+    }
+
+    private static class ConsumerEntry {
+
+        private final KafkaConsumer<Object, Object> consumer;
+        private final String bootstrapServers;
+        private final long since = System.currentTimeMillis();
+
+        private ConsumerEntry(KafkaConsumer<Object, Object> consumer, String bootstrapServers) {
+            this.consumer = consumer;
+            this.bootstrapServers = bootstrapServers;
+        }
+    }
+
+}
@@ -24,13 +24,11 @@ import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
-import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.clients.producer.RecordMetadata;
 import org.apache.kafka.common.PartitionInfo;
 import org.apache.kafka.common.TopicPartition;
-import org.apache.kafka.common.errors.WakeupException;
 import org.apache.kafka.common.header.Header;
 import org.apache.kafka.common.header.internals.RecordHeader;
 import org.apache.logging.log4j.Logger;
@@ -54,6 +52,7 @@ import org.cerberus.core.enums.MessageGeneralEnum;
 import org.cerberus.core.exception.CerberusEventException;
 import org.cerberus.core.exception.CerberusException;
 import org.cerberus.core.service.json.IJsonService;
+import org.cerberus.core.service.kafka.IKafkaClientPoolService;
 import org.cerberus.core.service.kafka.IKafkaService;
 import org.cerberus.core.service.proxy.IProxyService;
 import org.cerberus.core.util.StringUtil;
@@ -76,8 +75,8 @@ import org.apache.avro.generic.GenericRecord;
 import org.json.JSONException;
 
 /**
- * Producer is a one shot producer in that it writes a single record then closes
- * down
+ * Producers and consumers are taken from the shared IKafkaClientPoolService so
+ * that they are not opened and closed for every event.
  *
  * @author Pete
  */
@@ -102,6 +101,8 @@ public class KafkaService implements IKafkaService {
     IJsonService jsonService;
     @Autowired
     private IVariableService variableService;
+    @Autowired
+    private IKafkaClientPoolService kafkaClientPoolService;
 
     protected final Logger LOG = org.apache.logging.log4j.LogManager.getLogger(getClass());
 
@@ -157,12 +158,8 @@ public class KafkaService implements IKafkaService {
 
         int partition = -1;
         long offset = -1;
-        KafkaProducer<Object, Object> producer = null;
         try {
 
-            LOG.info("Open Producer : " + getKafkaConsumerKey(topic, bootstrapServers));
-            producer = new KafkaProducer<>(props);
-
             if (activateAvro) {
 //                String userSchema = "{\"type\":\"record\","
 //                        + "\"name\":\"myrecord\","
@@ -179,7 +176,7 @@ public class KafkaService implements IKafkaService {
                     }
                 }
                 LOG.debug("Producing Kafka message (Avro enable) - topic : " + topic + " key : " + key + " message : " + eventMessage);
-                RecordMetadata metadata = producer.send(record).get(); //Wait for a responses
+                RecordMetadata metadata = kafkaClientPoolService.send(props, record); //Wait for a responses
                 partition = metadata.partition();
                 offset = metadata.offset();
                 LOG.debug("Produced Kafka message (Avro enable) - topic : " + topic + " key : " + key + " partition : " + partition + " offset : " + offset);
@@ -192,7 +189,7 @@ public class KafkaService implements IKafkaService {
                     }
                 }
                 LOG.debug("Producing Kafka message - topic : " + topic + " key : " + key + " message : " + eventMessage);
-                RecordMetadata metadata = producer.send(record).get(); //Wait for a responses
+                RecordMetadata metadata = kafkaClientPoolService.send(props, record); //Wait for a responses
                 partition = metadata.partition();
                 offset = metadata.offset();
                 LOG.debug("Produced Kafka message - topic : " + topic + " key : " + key + " partition : " + partition + " offset : " + offset);
@@ -204,20 +201,6 @@ public class KafkaService implements IKafkaService {
             message = new MessageEvent(MessageEventEnum.ACTION_FAILED_CALLSERVICE_PRODUCEKAFKA);
             message.setDescription(message.getDescription().replace("%EX%", ex.toString() + " " + StringUtil.getExceptionCauseFromString(ex)));
             LOG.error(ex, ex);
-        } finally {
-            if (producer != null) {
-                producer.flush();
-                if (producer != null) {
-                    try {
-                        producer.close();
-                    } catch (Exception e) {
-                        LOG.error(e, e);
-                    }
-                }
-                LOG.info("Closed Producer : " + getKafkaConsumerKey(topic, bootstrapServers));
-            } else {
-                LOG.info("Producer not opened : " + getKafkaConsumerKey(topic, bootstrapServers));
-            }
         }
 
         serviceREST.setKafkaResponseOffset(offset);
@@ -243,10 +226,11 @@ public class KafkaService implements IKafkaService {
         AnswerItem<Map<TopicPartition, Long>> result = new AnswerItem<>();
 
         KafkaConsumer consumer = null;
+        Properties props = new Properties();
+        boolean consumerReusable = false;
 
         try {
 
-            Properties props = new Properties();
             serviceContent.add(factoryAppServiceContent.create(null, ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers, true, 0, "", "", null, "", null));
             serviceContent.add(factoryAppServiceContent.create(null, ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false", true, 0, "", "", null, "", null));
             serviceContent.add(factoryAppServiceContent.create(null, ConsumerConfig.MAX_POLL_RECORDS_CONFIG, "10", true, 0, "", "", null, "", null));
@@ -263,8 +247,7 @@ public class KafkaService implements IKafkaService {
                 }
             }
 
-            LOG.info("Open Consumer : " + getKafkaConsumerKey(topic, bootstrapServers));
-            consumer = new KafkaConsumer<>(props);
+            consumer = kafkaClientPoolService.borrowConsumer(props);
 
             //Get a list of the topics' partitions
             List<PartitionInfo> partitionList = consumer.partitionsFor(topic);
@@ -288,18 +271,14 @@ public class KafkaService implements IKafkaService {
                 result.setItem(partitionOffset);
 
             }
+            consumerReusable = true;
 
         } catch (Exception ex) {
             message = new MessageEvent(MessageEventEnum.ACTION_FAILED_CALLSERVICE_SEEKKAFKA);
             message.setDescription(message.getDescription().replace("%EX%", ex.toString() + " " + StringUtil.getExceptionCauseFromString(ex)).replace("%TOPIC%", topic).replace("%HOSTS%", bootstrapServers));
             LOG.debug(ex, ex);
         } finally {
-            if (consumer != null) {
-                consumer.close();
-                LOG.info("Closed Consumer : " + getKafkaConsumerKey(topic, bootstrapServers));
-            } else {
-                LOG.info("Consumer not opened : " + getKafkaConsumerKey(topic, bootstrapServers));
-            }
+            kafkaClientPoolService.releaseConsumer(props, consumer, consumerReusable);
         }
         result.setResultMessage(message);
         return result;
@@ -318,12 +297,13 @@ public class KafkaService implements IKafkaService {
         JSONArray resultJSON = new JSONArray();
 
         KafkaConsumer consumer = null;
+        Properties props = new Properties();
+        boolean consumerReusable = false;
         int nbFound = 0;
         int nbEvents = 0;
 
         try {
 
-            Properties props = new Properties();
             serviceContent.add(factoryAppServiceContent.create(null, ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers, true, 0, "", "", null, "", null));
             serviceContent.add(factoryAppServiceContent.create(null, ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false", true, 0, "", "", null, "", null));
             serviceContent.add(factoryAppServiceContent.create(null, ConsumerConfig.MAX_POLL_RECORDS_CONFIG, "10", true, 0, "", "", null, "", null));
@@ -342,8 +322,7 @@ public class KafkaService implements IKafkaService {
                 }
             }
 
-            LOG.info("Open Consumer : " + getKafkaConsumerKey(topic, bootstrapServers));
-            consumer = new KafkaConsumer<>(props);
+            consumer = kafkaClientPoolService.borrowConsumer(props);
 
             //Get a list of the topics' partitions
             List<PartitionInfo> partitionList = consumer.partitionsFor(topic);
@@ -365,11 +344,9 @@ public class KafkaService implements IKafkaService {
                 }
 
                 boolean consume = true;
+                boolean timedOut = false;
                 long timeoutTime = Instant.now().plusSeconds(targetNbSecInt).toEpochMilli(); //default to 30 seconds
-                int pollDurationSec = 5;
-                if (targetNbSecInt < pollDurationSec) {
-                    pollDurationSec = targetNbSecInt;
-                }
+                long pollDurationMs = 5000;
 
                 while (consume) {
                     LOG.debug("Start Poll.");
@@ -378,11 +355,12 @@ public class KafkaService implements IKafkaService {
 
                         // NON AVRO VERSION
                         @SuppressWarnings("unchecked")
-                        ConsumerRecords<String, String> records = consumer.poll(Duration.ofSeconds(pollDurationSec));
+                        ConsumerRecords<String, String> records = consumer.poll(Duration.ofMillis(Math.max(0, Math.min(pollDurationMs, timeoutTime - Instant.now().toEpochMilli()))));
                         LOG.debug("End Poll.");
-                        if (Instant.now().toEpochMilli() > timeoutTime) {
+                        if (Instant.now().toEpochMilli() >= timeoutTime) {
                             LOG.debug("Timed out searching for record");
-                            consumer.wakeup(); //exit
+                            consume = false;
+                            timedOut = true;
                         }
                         //Now for each record in the batch of records we got from Kafka
                         for (ConsumerRecord<String, String> record : records) {
@@ -431,7 +409,6 @@ public class KafkaService implements IKafkaService {
                                     nbFound++;
                                     if (nbFound >= targetNbEventsInt) {
                                         consume = false;  //exit the consume loop
-                                        consumer.wakeup(); //takes effect on the next poll loop so need to break.
                                         break; //if we've found a match, stop looping through the current record batch
                                     }
                                 }
@@ -447,11 +424,12 @@ public class KafkaService implements IKafkaService {
 
                         // AVRO VERSION
                         @SuppressWarnings("unchecked")
-                        ConsumerRecords<String, GenericRecord> recordsAvro = consumer.poll(Duration.ofSeconds(pollDurationSec));
+                        ConsumerRecords<String, GenericRecord> recordsAvro = consumer.poll(Duration.ofMillis(Math.max(0, Math.min(pollDurationMs, timeoutTime - Instant.now().toEpochMilli()))));
                         LOG.debug("End Poll.");
-                        if (Instant.now().toEpochMilli() > timeoutTime) {
+                        if (Instant.now().toEpochMilli() >= timeoutTime) {
                             LOG.debug("Timed out searching for record");
-                            consumer.wakeup(); //exit
+                            consume = false;
+                            timedOut = true;
                         }
                         //Now for each record in the batch of records we got from Kafka
                         for (ConsumerRecord<String, GenericRecord> record : recordsAvro) {
@@ -495,7 +473,6 @@ public class KafkaService implements IKafkaService {
                                     nbFound++;
                                     if (nbFound >= targetNbEventsInt) {
                                         consume = false;  //exit the consume loop
-                                        consumer.wakeup(); //takes effect on the next poll loop so need to break.
                                         break; //if we've found a match, stop looping through the current record batch
                                     }
                                 }
@@ -513,22 +490,15 @@ public class KafkaService implements IKafkaService {
                 result.setItem(resultJSON.toString());
                 Instant date2 = Instant.now();
                 Duration duration = Duration.between(date1, date2);
-                message = new MessageEvent(MessageEventEnum.ACTION_SUCCESS_CALLSERVICE_SEARCHKAFKA)
+                // Timeout reached before finding the target number of events.
+                message = new MessageEvent((timedOut && nbFound < targetNbEventsInt) ? MessageEventEnum.ACTION_SUCCESS_CALLSERVICE_SEARCHKAFKAPARTIALRESULT : MessageEventEnum.ACTION_SUCCESS_CALLSERVICE_SEARCHKAFKA)
                         .resolveDescription("NBEVENT", String.valueOf(nbFound))
                         .resolveDescription("NBTOT", String.valueOf(nbEvents))
                         .resolveDescription("NBSEC", String.valueOf(duration.getSeconds()));
 
             }
+            consumerReusable = true;
 
-        } catch (WakeupException e) {
-            result.setItem(resultJSON.toString());
-            Instant date2 = Instant.now();
-            Duration duration = Duration.between(date1, date2);
-            message = new MessageEvent(MessageEventEnum.ACTION_SUCCESS_CALLSERVICE_SEARCHKAFKAPARTIALRESULT)
-                    .resolveDescription("NBEVENT", String.valueOf(nbFound))
-                    .resolveDescription("NBTOT", String.valueOf(nbEvents))
-                    .resolveDescription("NBSEC", String.valueOf(duration.getSeconds()));
-            //Ignore
         } catch (NullPointerException ex) {
             message = new MessageEvent(MessageEventEnum.ACTION_FAILED_CALLSERVICE_SEARCHKAFKA);
             message.setDescription(message.getDescription().replace("%EX%", ex.toString()).replace("%TOPIC%", topic).replace("%HOSTS%", bootstrapServers));
@@ -538,12 +508,7 @@ public class KafkaService implements IKafkaService {
             message.setDescription(message.getDescription().replace("%EX%", ex.toString() + " " + StringUtil.getExceptionCauseFromString(ex)).replace("%TOPIC%", topic).replace("%HOSTS%", bootstrapServers));
             LOG.debug(ex, ex);
         } finally {
-            if (consumer != null) {
-                LOG.info("Closed Consumer : " + getKafkaConsumerKey(topic, bootstrapServers));
-                consumer.close();
-            } else {
-                LOG.info("Consumer not opened : " + getKafkaConsumerKey(topic, bootstrapServers));
-            }
+            kafkaClientPoolService.releaseConsumer(props, consumer, consumerReusable);
         }
 
         result.setItem(resultJSON.toString());
@@ -20,25 +20,13 @@
 package org.cerberus.core.service.notifications.googlechat.impl;
 
 import java.nio.charset.StandardCharsets;
-import java.security.cert.CertificateException;
-import java.security.cert.X509Certificate;
-import javax.net.ssl.SSLContext;
-import org.apache.http.HttpHost;
-import org.apache.http.HttpResponse;
-import org.apache.http.auth.AuthScope;
-import org.apache.http.auth.UsernamePasswordCredentials;
-import org.apache.http.client.CredentialsProvider;
+import org.apache.http.client.HttpResponseException;
+import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpPost;
-import org.apache.http.conn.ssl.NoopHostnameVerifier;
-import org.apache.http.conn.ssl.TrustSelfSignedStrategy;
 import org.apache.http.entity.StringEntity;
-import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClientBuilder;
-import org.apache.http.impl.client.ProxyAuthenticationStrategy;
-import org.apache.http.ssl.SSLContextBuilder;
-import org.cerberus.core.crud.service.IParameterService;
-import org.cerberus.core.service.proxy.IProxyService;
+import org.apache.http.util.EntityUtils;
+import org.cerberus.core.service.httpclient.IHttpClientPoolService;
 import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -55,69 +43,13 @@ public class ChatService implements IChatService {
     private static final org.apache.logging.log4j.Logger LOG = org.apache.logging.log4j.LogManager.getLogger(ChatService.class);
 
     @Autowired
-    private IParameterService parameterService;
-    @Autowired
-    private IProxyService proxyService;
-
-    private static final boolean DEFAULT_PROXY_ACTIVATE = false;
-    private static final String DEFAULT_PROXY_HOST = "proxy";
-    private static final int DEFAULT_PROXY_PORT = 80;
-    private static final boolean DEFAULT_PROXYAUTHENT_ACTIVATE = false;
-    private static final String DEFAULT_PROXYAUTHENT_USER = "squid";
-    private static final String DEFAULT_PROXYAUTHENT_PASSWORD = "squid";
+    private IHttpClientPoolService httpClientPoolService;
 
     @Override
     public void sendGoogleChatMessage(JSONObject cerberusMessage, String webHook, String threadKey) throws Exception {
 
-        CloseableHttpClient httpclient = null;
-        HttpClientBuilder httpclientBuilder;
-
-        if (proxyService.useProxy(webHook, "")) {
-
-            String proxyHost = parameterService.getParameterStringByKey("cerberus_proxy_host", "", DEFAULT_PROXY_HOST);
-            int proxyPort = parameterService.getParameterIntegerByKey("cerberus_proxy_port", "", DEFAULT_PROXY_PORT);
-
-            HttpHost proxyHostObject = new HttpHost(proxyHost, proxyPort);
-
-            if (parameterService.getParameterBooleanByKey("cerberus_proxyauthentification_active", "", DEFAULT_PROXYAUTHENT_ACTIVATE)) {
-
-                String proxyUser = parameterService.getParameterStringByKey("cerberus_proxyauthentification_user", "", DEFAULT_PROXYAUTHENT_USER);
-                String proxyPassword = parameterService.getParameterStringByKey("cerberus_proxyauthentification_password", "", DEFAULT_PROXYAUTHENT_PASSWORD);
-
-                CredentialsProvider credsProvider = new BasicCredentialsProvider();
-                credsProvider.setCredentials(new AuthScope(proxyHost, proxyPort), new UsernamePasswordCredentials(proxyUser, proxyPassword));
-
-                LOG.debug("Activating Proxy With Authentification.");
-                httpclientBuilder = HttpClientBuilder.create().setProxy(proxyHostObject)
-                        .setProxyAuthenticationStrategy(new ProxyAuthenticationStrategy())
-                        .setDefaultCredentialsProvider(credsProvider);
-
-            } else {
-
-                LOG.debug("Activating Proxy (No Authentification).");
-                httpclientBuilder = HttpClientBuilder.create().setProxy(proxyHostObject);
-            }
-        } else {
-            httpclientBuilder = HttpClientBuilder.create();
-        }
-
-        boolean acceptUnsignedSsl = parameterService.getParameterBooleanByKey("cerberus_accept_unsigned_ssl_certificate", "", true);
-
-        if (acceptUnsignedSsl) {
-            // authorize non valide certificat ssl
-            SSLContext sslContext = new SSLContextBuilder().loadTrustMaterial(null, new TrustSelfSignedStrategy() {
-                @Override
-                public boolean isTrusted(X509Certificate[] chain, String authType) throws CertificateException {
-                    return true;
-                }
-            }).build();
-
-            httpclientBuilder
-                    .setSSLContext(sslContext)
-                    .setSSLHostnameVerifier(NoopHostnameVerifier.INSTANCE);
-        }
-
-        httpclient = httpclientBuilder.build();
+        // Shared client (with proxy and ssl configuration) keeping its connections alive between calls.
+        CloseableHttpClient httpclient = httpClientPoolService.getClient("", webHook, true);
 
         if (!StringUtil.isEmpty(threadKey)) {
             webHook += "&threadKey=" + threadKey;
@@ -128,15 +60,20 @@ public class ChatService implements IChatService {
 
         post.setHeader("Content-Type", "application/json");
 
-        HttpResponse response = httpclient.execute(post);
-
-        int rc = response.getStatusLine().getStatusCode();
+        int rc;
+        try (CloseableHttpResponse response = httpclient.execute(post)) {
+            rc = response.getStatusLine().getStatusCode();
+            // Consume the answer so that the connection goes back to the pool.
+            EntityUtils.consume(response.getEntity());
+        }
         if (rc >= 200 && rc < 300) {
             LOG.debug("Google Chat request http return code : " + rc);
         } else {
             LOG.warn("Google Chat request http return code : " + rc);
             LOG.warn("Message sent to " + webHook + ":");
             LOG.warn(cerberusMessage.toString(1));
+            // Thrown so that the event bus retries the notification.
+            throw new HttpResponseException(rc, "Google Chat request to " + webHook + " failed");
         }
 
     }
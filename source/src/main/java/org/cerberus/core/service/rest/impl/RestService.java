@@ -21,12 +21,8 @@ package org.cerberus.core.service.rest.impl;
 
 import org.apache.http.Header;
 import org.apache.http.HttpEntity;
-import org.apache.http.HttpHost;
 import org.apache.http.HttpResponse;
 import org.apache.http.NameValuePair;
-import org.apache.http.auth.AuthScope;
-import org.apache.http.auth.UsernamePasswordCredentials;
-import org.apache.http.client.CredentialsProvider;
 import org.apache.http.client.ResponseHandler;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.entity.UrlEncodedFormEntity;
@@ -36,17 +32,12 @@ import org.apache.http.client.methods.HttpPatch;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpPut;
 import org.apache.http.client.methods.HttpRequestBase;
-import org.apache.http.conn.ssl.NoopHostnameVerifier;
-import org.apache.http.conn.ssl.TrustSelfSignedStrategy;
+import org.apache.http.client.protocol.HttpClientContext;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.BasicCookieStore;
-import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClientBuilder;
-import org.apache.http.impl.client.ProxyAuthenticationStrategy;
 import org.apache.http.impl.cookie.BasicClientCookie;
 import org.apache.http.message.BasicNameValuePair;
-import org.apache.http.ssl.SSLContextBuilder;
 import org.apache.http.util.EntityUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -62,6 +53,7 @@ import org.cerberus.core.crud.service.IParameterService;
 import org.cerberus.core.engine.entity.MessageEvent;
 import org.cerberus.core.engine.execution.IRecorderService;
 import org.cerberus.core.enums.MessageEventEnum;
+import org.cerberus.core.service.httpclient.IHttpClientPoolService;
 import org.cerberus.core.service.proxy.IProxyService;
 import org.cerberus.core.service.rest.IRestService;
 import org.cerberus.core.util.StringUtil;
@@ -71,13 +63,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.concurrent.NotThreadSafe;
-import javax.net.ssl.SSLContext;
-import java.io.IOException;
 import java.net.SocketTimeoutException;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
-import java.security.cert.CertificateException;
-import java.security.cert.X509Certificate;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -99,6 +87,8 @@ public class RestService implements IRestService {
     IAppServiceService AppServiceService;
     @Autowired
     IProxyService proxyService;
+    @Autowired
+    IHttpClientPoolService httpClientPoolService;
 
     /**
      * Proxy default config. (Should never be used as default config is inserted
@@ -138,7 +128,7 @@ public class RestService implements IRestService {
         }
     }
 
-    private AppService executeHTTPCall(CloseableHttpClient httpclient, HttpRequestBase httpget) throws Exception {
+    private AppService executeHTTPCall(CloseableHttpClient httpclient, HttpRequestBase httpget, HttpClientContext httpContext) throws Exception {
         try {
             // Create a custom response handler
             ResponseHandler<AppService> responseHandler = (final HttpResponse response) -> {
@@ -157,13 +147,12 @@ public class RestService implements IRestService {
                 myResponse.setResponseHTTPBody(entity != null ? EntityUtils.toString(entity) : null);
                 return myResponse;
             };
-            return httpclient.execute(httpget, responseHandler);
+            // Response handler consumes the entity so the connection goes back to the pool.
+            return httpclient.execute(httpget, responseHandler, httpContext);
 
         } catch (Exception ex) {
             LOG.error(ex.toString(), ex);
             throw ex;
-        } finally {
-            httpclient.close();
         }
     }
 
@@ -198,7 +187,6 @@ public class RestService implements IRestService {
         }
 
         CloseableHttpClient httpclient = null;
-        HttpClientBuilder httpclientBuilder;
         if (proxyService.useProxy(servicePath, system)) {
 
             String proxyHost = parameterService.getParameterStringByKey("cerberus_proxy_host", system, DEFAULT_PROXY_HOST);
@@ -208,35 +196,18 @@ public class RestService implements IRestService {
             serviceREST.setProxyHost(proxyHost);
             serviceREST.setProxyPort(proxyPort);
 
-            HttpHost proxyHostObject = new HttpHost(proxyHost, proxyPort);
-
             if (parameterService.getParameterBooleanByKey("cerberus_proxyauthentification_active", system,
                     DEFAULT_PROXYAUTHENT_ACTIVATE)) {
 
                 String proxyUser = parameterService.getParameterStringByKey("cerberus_proxyauthentification_user", system, DEFAULT_PROXYAUTHENT_USER);
-                String proxyPassword = parameterService.getParameterStringByKey("cerberus_proxyauthentification_password", system, DEFAULT_PROXYAUTHENT_PASSWORD);
 
                 serviceREST.setProxyWithCredential(true);
                 serviceREST.setProxyUser(proxyUser);
-
-                CredentialsProvider credsProvider = new BasicCredentialsProvider();
-                credsProvider.setCredentials(new AuthScope(proxyHost, proxyPort), new UsernamePasswordCredentials(proxyUser, proxyPassword));
-
-                LOG.debug("Activating Proxy With Authentification.");
-                httpclientBuilder = HttpClientBuilder.create().setProxy(proxyHostObject)
-                        .setProxyAuthenticationStrategy(new ProxyAuthenticationStrategy())
-                        .setDefaultCredentialsProvider(credsProvider);
-
-            } else {
-
-                LOG.debug("Activating Proxy (No Authentification).");
-                httpclientBuilder = HttpClientBuilder.create().setProxy(proxyHostObject);
             }
-        } else {
-            httpclientBuilder = HttpClientBuilder.create();
         }
 
-        // if it is an GUI REST, share the GUI context with api call
+        // Cookies are never shared between 2 calls. If it is an GUI REST, share the GUI context with api call
+        HttpClientContext httpContext = HttpClientContext.create();
         if ((tcexecution != null) && (tcexecution.getApplicationObj().getType().equalsIgnoreCase(Application.TYPE_GUI))) {
             WebDriver driver = tcexecution.getSession().getDriver();
 
@@ -250,40 +221,18 @@ public class RestService implements IRestService {
                 cookieStore.addCookie(cookie);
             });
 
-            httpclientBuilder.setDefaultCookieStore(cookieStore);
+            httpContext.setCookieStore(cookieStore);
         }
 
         try {
 
-            boolean acceptUnsignedSsl = parameterService.getParameterBooleanByKey("cerberus_accept_unsigned_ssl_certificate", system, true);
-
-            if (acceptUnsignedSsl) {
-                LOG.debug("Trusting all SSL Certificates.");
-                // authorize non valide certificat ssl
-                SSLContext sslContext = new SSLContextBuilder().loadTrustMaterial(null, new TrustSelfSignedStrategy() {
-                    @Override
-                    public boolean isTrusted(X509Certificate[] chain, String authType) throws CertificateException {
-                        return true;
-                    }
-                }).build();
-
-                httpclientBuilder
-                        .setSSLContext(sslContext)
-                        .setSSLHostnameVerifier(NoopHostnameVerifier.INSTANCE);
-            }
+            serviceREST.setFollowRedir(isFollowRedir);
 
-            // Disable redir if required. 
-            if (isFollowRedir) {
-                serviceREST.setFollowRedir(true);
-            } else {
-                httpclientBuilder.disableRedirectHandling();
-                serviceREST.setFollowRedir(false);
-            }
-
-            httpclient = httpclientBuilder.build();
+            // Shared client (with proxy, ssl and redirect configuration) keeping its connections alive between calls.
+            httpclient = httpClientPoolService.getClient(system, servicePath, isFollowRedir);
 
             RequestConfig requestConfig;
-            // Timeout setup.
+            // Timeout setup (on each request as the client is shared).
             requestConfig = RequestConfig.custom().setConnectTimeout(timeOutMs).setConnectionRequestTimeout(timeOutMs)
                     .setSocketTimeout(timeOutMs).build();
 
@@ -319,7 +268,7 @@ public class RestService implements IRestService {
                     result.setItem(serviceREST);
 
                     LOG.info("Executing request " + httpGet.getRequestLine());
-                    responseHttp = executeHTTPCall(httpclient, httpGet);
+                    responseHttp = executeHTTPCall(httpclient, httpGet, httpContext);
 
                     if (responseHttp != null) {
                         serviceREST.setResponseHTTPBody(responseHttp.getResponseHTTPBody());
@@ -364,7 +313,7 @@ public class RestService implements IRestService {
                     result.setItem(serviceREST);
 
                     LOG.info("Executing request " + httpPost.getRequestLine());
-                    responseHttp = executeHTTPCall(httpclient, httpPost);
+                    responseHttp = executeHTTPCall(httpclient, httpPost, httpContext);
 
                     if (responseHttp != null) {
                         serviceREST.setResponseHTTPBody(responseHttp.getResponseHTTPBody());
@@ -418,7 +367,7 @@ public class RestService implements IRestService {
                     result.setItem(serviceREST);
 
                     LOG.info("Executing request " + httpDelete.getRequestLine());
-                    responseHttp = executeHTTPCall(httpclient, httpDelete);
+                    responseHttp = executeHTTPCall(httpclient, httpDelete, httpContext);
 
                     if (responseHttp != null) {
                         serviceREST.setResponseHTTPBody(responseHttp.getResponseHTTPBody());
@@ -463,7 +412,7 @@ public class RestService implements IRestService {
                     result.setItem(serviceREST);
 
                     LOG.info("Executing request " + httpPut.getRequestLine());
-                    responseHttp = executeHTTPCall(httpclient, httpPut);
+                    responseHttp = executeHTTPCall(httpclient, httpPut, httpContext);
 
                     if (responseHttp != null) {
                         serviceREST.setResponseHTTPBody(responseHttp.getResponseHTTPBody());
@@ -516,7 +465,7 @@ public class RestService implements IRestService {
                     result.setItem(serviceREST);
 
                     LOG.info("Executing request " + httpPatch.getRequestLine());
-                    responseHttp = executeHTTPCall(httpclient, httpPatch);
+                    responseHttp = executeHTTPCall(httpclient, httpPatch, httpContext);
 
                     if (responseHttp != null) {
                         serviceREST.setResponseHTTPBody(responseHttp.getResponseHTTPBody());
@@ -563,14 +512,6 @@ public class RestService implements IRestService {
                     message.getDescription().replace("%DESCRIPTION%", "Error on CallREST : " + ex.toString()));
             result.setResultMessage(message);
             return result;
-        } finally {
-            try {
-                if (httpclient != null) {
-                    httpclient.close();
-                }
-            } catch (IOException ex) {
-                LOG.error(ex.toString(), ex);
-            }
         }
 
         return result;
@@ -0,0 +1,305 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.service.robotextension.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.io.IOUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tika.mime.MimeTypeException;
+import org.apache.tika.mime.MimeTypes;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.springframework.stereotype.Component;
+
+/**
+ * Content addressed cache of the pictures sent to the Sikuli extension.
+ * <p>
+ * Pictures are stored once per content (sha-256 of the bytes) already encoded
+ * in Base64. Each picture url points to a content together with the ETag and
+ * Last-Modified returned by the server so that, once FRESHNESS_MS is reached,
+ * the url is revalidated with a conditional request instead of being
+ * downloaded again. The total size of the encoded contents is bounded to
+ * MAX_SIZE (least recently used contents are removed first).
+ * <p>
+ * The cache also keeps, for each Sikuli extension, the digests of the
+ * pictures that were already sent to it so that only the digest can be sent
+ * on the next actions.
+ */
+@Component
+public class SikuliPictureCache {
+
+    private static final Logger LOG = LogManager.getLogger(SikuliPictureCache.class);
+
+    // Max size in characters of all the Base64 contents.
+    private static final long MAX_SIZE = 64L * 1024 * 1024;
+    // Duration during which a url is used without being revalidated.
+    private static final long FRESHNESS_MS = 60000;
+    private static final int CONNECT_TIMEOUT_MS = 10000;
+    private static final int READ_TIMEOUT_MS = 30000;
+    // Max number of digests remembered per Sikuli extension.
+    private static final int MAX_DIGEST_PER_EXTENSION = 2000;
+
+    /**
+     * Picture content already encoded.
+     */
+    public static final class Picture {
+
+        private final String digest;
+        private final String extension;
+        private final String content;
+
+        private Picture(String digest, String extension, String content) {
+            this.digest = digest;
+            this.extension = extension;
+            this.content = content;
+        }
+
+        public String getDigest() {
+            return digest;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public String getContent() {
+            return content;
+        }
+    }
+
+    private static final class UrlEntry {
+
+        private final String digest;
+        private final String eTag;
+        private final long lastModified;
+        private long checkedAt;
+
+        private UrlEntry(String digest, String eTag, long lastModified) {
+            this.digest = digest;
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+            this.checkedAt = System.currentTimeMillis();
+        }
+    }
+
+    private final Map<String, UrlEntry> urls = new HashMap<>();
+    private final LinkedHashMap<String, Picture> contents = new LinkedHashMap<>(16, 0.75f, true);
+    private long contentsSize = 0;
+
+    private final Map<String, Set<String>> extensionDigests = new ConcurrentHashMap<>();
+
+    private final AtomicLong nbHit = new AtomicLong();
+    private final AtomicLong nbNotModified = new AtomicLong();
+    private final AtomicLong nbDownload = new AtomicLong();
+    private final AtomicLong nbDigestOnly = new AtomicLong();
+    private final AtomicLong nbMissingOnExtension = new AtomicLong();
+
+    /**
+     * Get the picture from the cache, revalidating or downloading it if
+     * needed.
+     *
+     * @param locator url of the picture (anything after # is ignored)
+     * @return the picture
+     * @throws IOException
+     * @throws MimeTypeException
+     */
+    public Picture get(String locator) throws IOException, MimeTypeException {
+        String key = getKey(locator);
+        UrlEntry urlEntry;
+        Picture picture = null;
+        synchronized (this) {
+            urlEntry = urls.get(key);
+            if (urlEntry != null) {
+                picture = contents.get(urlEntry.digest);
+                if (picture == null) {
+                    urls.remove(key);
+                    urlEntry = null;
+                } else if (urlEntry.checkedAt + FRESHNESS_MS > System.currentTimeMillis()) {
+                    nbHit.incrementAndGet();
+                    return picture;
+                }
+            }
+        }
+
+        URLConnection connection = new URL(key).openConnection();
+        connection.setConnectTimeout(CONNECT_TIMEOUT_MS);
+        connection.setReadTimeout(READ_TIMEOUT_MS);
+        if (urlEntry != null) {
+            if (urlEntry.eTag != null) {
+                connection.setRequestProperty("If-None-Match", urlEntry.eTag);
+            }
+            if (urlEntry.lastModified > 0) {
+                connection.setIfModifiedSince(urlEntry.lastModified);
+            }
+        }
+        if (urlEntry != null && connection instanceof HttpURLConnection
+                && ((HttpURLConnection) connection).getResponseCode() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+            synchronized (this) {
+                urlEntry.checkedAt = System.currentTimeMillis();
+            }
+            nbNotModified.incrementAndGet();
+            return picture;
+        }
+
+        byte[] bytes;
+        try (InputStream istream = connection.getInputStream()) {
+            bytes = IOUtils.toByteArray(istream);
+        }
+        nbDownload.incrementAndGet();
+        String digest = getDigest(bytes);
+
+        synchronized (this) {
+            picture = contents.get(digest);
+        }
+        if (picture == null) {
+            /**
+             * Get the MimeType and the extension
+             */
+            String mimeType = URLConnection.guessContentTypeFromStream(new ByteArrayInputStream(bytes));
+            String extension = MimeTypes.getDefaultMimeTypes().forName(mimeType).getExtension();
+            picture = new Picture(digest, extension, Base64.encodeBase64URLSafeString(bytes));
+        }
+
+        String eTag = connection.getHeaderField("ETag");
+        long lastModified = connection.getLastModified();
+        synchronized (this) {
+            if (!contents.containsKey(digest)) {
+                contents.put(digest, picture);
+                contentsSize += picture.content.length();
+                evict();
+            }
+            urls.put(key, new UrlEntry(digest, eTag, lastModified));
+        }
+        LOG.debug("Sikuli picture downloaded from " + key + " (" + bytes.length + " bytes, digest " + digest + ").");
+        return picture;
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<String, Picture>> it = contents.entrySet().iterator();
+        while (contentsSize > MAX_SIZE && it.hasNext()) {
+            Map.Entry<String, Picture> eldest = it.next();
+            contentsSize -= eldest.getValue().content.length();
+            it.remove();
+        }
+        urls.values().removeIf(entry -> !contents.containsKey(entry.digest));
+    }
+
+    /**
+     * @param extension url of the Sikuli extension
+     * @param digest
+     * @return true if the picture was already sent to the extension.
+     */
+    public boolean isKnownByExtension(String extension, String digest) {
+        Set<String> digests = extensionDigests.get(extension);
+        boolean known = digests != null && digests.contains(digest);
+        if (known) {
+            nbDigestOnly.incrementAndGet();
+        }
+        return known;
+    }
+
+    /**
+     * Remember that the picture was sent to the extension.
+     *
+     * @param extension url of the Sikuli extension
+     * @param digest
+     */
+    public void setKnownByExtension(String extension, String digest) {
+        extensionDigests.computeIfAbsent(extension, k -> Collections.synchronizedSet(Collections.newSetFromMap(new LinkedHashMap<String, Boolean>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > MAX_DIGEST_PER_EXTENSION;
+            }
+        }))).add(digest);
+    }
+
+    /**
+     * Forget the pictures sent to the extension (the extension reported that
+     * it does not have a picture anymore, ex : after a restart).
+     *
+     * @param extension url of the Sikuli extension
+     */
+    public void forgetExtension(String extension) {
+        nbMissingOnExtension.incrementAndGet();
+        extensionDigests.remove(extension);
+    }
+
+    public synchronized void purge() {
+        urls.clear();
+        contents.clear();
+        contentsSize = 0;
+        extensionDigests.clear();
+        LOG.info("Sikuli picture cache purged.");
+    }
+
+    public synchronized JSONObject getStatistics() {
+        JSONObject stats = new JSONObject();
+        try {
+            stats.put("nbUrl", urls.size());
+            stats.put("nbPicture", contents.size());
+            stats.put("size", contentsSize);
+            stats.put("maxSize", MAX_SIZE);
+            stats.put("nbExtension", extensionDigests.size());
+            stats.put("nbHit", nbHit.get());
+            stats.put("nbNotModified", nbNotModified.get());
+            stats.put("nbDownload", nbDownload.get());
+            stats.put("nbDigestOnly", nbDigestOnly.get());
+            stats.put("nbMissingOnExtension", nbMissingOnExtension.get());
+        } catch (JSONException ex) {
+            LOG.warn(ex, ex);
+        }
+        return stats;
+    }
+
+    private static String getDigest(byte[] bytes) throws IOException {
+        try {
+            StringBuilder digest = new StringBuilder();
+            for (byte b : MessageDigest.getInstance("SHA-256").digest(bytes)) {
+                digest.append(String.format("%02x", b));
+            }
+            return digest.toString();
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IOException(ex);
+        }
+    }
+
+    private static String getKey(String locator) {
+        int index = locator.indexOf('#');
+        return index >= 0 ? locator.substring(0, index) : locator;
+    }
+
+}
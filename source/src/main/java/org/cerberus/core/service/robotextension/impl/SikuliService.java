@@ -19,12 +19,10 @@
  */
 package org.cerberus.core.service.robotextension.impl;
 
-import java.io.BufferedInputStream;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.PrintStream;
 import java.net.HttpURLConnection;
@@ -32,16 +30,12 @@ import java.net.InetSocketAddress;
 import java.net.MalformedURLException;
 import java.net.Proxy;
 import java.net.URL;
-import java.net.URLConnection;
 import java.util.UUID;
 import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.io.FileUtils;
-import org.apache.commons.io.IOUtils;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.LogManager;
-import org.apache.tika.mime.MimeType;
 import org.apache.tika.mime.MimeTypeException;
-import org.apache.tika.mime.MimeTypes;
 import org.cerberus.core.crud.service.IParameterService;
 import org.cerberus.core.engine.entity.Identifier;
 import org.cerberus.core.engine.entity.MessageEvent;
@@ -64,6 +58,8 @@ public class SikuliService implements ISikuliService {
 
     @Autowired
     private IParameterService parameterService;
+    @Autowired
+    private SikuliPictureCache pictureCache;
 
     private static final Logger LOG = LogManager.getLogger(SikuliService.class);
 
@@ -95,8 +91,11 @@ public class SikuliService implements ISikuliService {
     public static final String SIKULI_IDENTIFIER_PICTURE = "picture";
     public static final String SIKULI_IDENTIFIER_TEXT = "text";
 
+    // Status returned by the extension when it does not have the picture of a digest.
+    public static final String SIKULI_STATUS_MISSINGPICTURE = "MISSINGPICTURE";
+
     private JSONObject generatePostParameters(String action, String locator, String locator2, String text, String text2,
-            long defaultWait, String minSimilarity, Integer highlightElement, String typeDelay) throws JSONException, IOException, MalformedURLException, MimeTypeException {
+            long defaultWait, String minSimilarity, Integer highlightElement, String typeDelay, String extensionUrl, boolean pictureHash) throws JSONException, IOException, MalformedURLException, MimeTypeException {
         JSONObject result = new JSONObject();
         String picture = "";
         String extension = "";
@@ -113,13 +112,13 @@ public class SikuliService implements ISikuliService {
         JSONObject pic2 = getContentBase64FromLocator(locator2);
 
         if (pic != null) {
-            picture = pic.getString("content");
+            picture = getPictureContent(pic, extensionUrl, pictureHash);
             extension = pic.getString("extension");
             xOffset = pic.getInt("xOffset");
             yOffset = pic.getInt("yOffset");
         }
         if (pic2 != null) {
-            picture2 = pic2.getString("content");
+            picture2 = getPictureContent(pic2, extensionUrl, pictureHash);
             extension2 = pic2.getString("extension");
             xOffset2 = pic2.getInt("xOffset");
             yOffset2 = pic2.getInt("yOffset");
@@ -146,9 +145,26 @@ public class SikuliService implements ISikuliService {
         result.put("minSimilarity", minSimilarity);
         result.put("highlightElement", highlightElement);
         result.put("typeDelay", typeDelay);
+        if (pictureHash) {
+            // Sikuli extension uses the picture it already has for that digest when picture is empty.
+            result.put("pictureHash", pic != null ? pic.getString("hash") : "");
+            result.put("picture2Hash", pic2 != null ? pic2.getString("hash") : "");
+        }
         return result;
     }
 
+    /**
+     * @return the Base64 content of the picture or an empty string if only
+     * the digest needs to be sent (picture already sent to that extension).
+     */
+    private String getPictureContent(JSONObject pic, String extensionUrl, boolean pictureHash) throws JSONException {
+        String hash = pic.getString("hash");
+        if (pictureHash && !StringUtil.isEmpty(hash) && pictureCache.isKnownByExtension(extensionUrl, hash)) {
+            return "";
+        }
+        return pic.getString("content");
+    }
+
     private JSONObject getContentBase64FromLocator(String locator) {
         String extension = "";
         String picture = "";
@@ -156,6 +172,7 @@ public class SikuliService implements ISikuliService {
         int yOffset = 0;
         String xOffsetS = null;
         String yOffsetS = null;
+        String hash = "";
 
         JSONObject result = new JSONObject();
         if (locator != null && !"".equals(locator)) {
@@ -192,23 +209,13 @@ public class SikuliService implements ISikuliService {
                     }
                 }
 
-                URLConnection connection = url.openConnection();
-
-                InputStream istream = new BufferedInputStream(connection.getInputStream());
-
-                /**
-                 * Get the MimeType and the extension
-                 */
-                String mimeType = URLConnection.guessContentTypeFromStream(istream);
-                MimeTypes allTypes = MimeTypes.getDefaultMimeTypes();
-                MimeType mt = allTypes.forName(mimeType);
-                extension = mt.getExtension();
-
                 /**
-                 * Encode in Base64
+                 * Get the picture (extension and Base64 content) from cache
                  */
-                byte[] bytes = IOUtils.toByteArray(istream);
-                picture = Base64.encodeBase64URLSafeString(bytes);
+                SikuliPictureCache.Picture cachedPicture = pictureCache.get(url.toString());
+                extension = cachedPicture.getExtension();
+                picture = cachedPicture.getContent();
+                hash = cachedPicture.getDigest();
 
             } catch (MalformedURLException ex) {
                 picture = "";
@@ -219,6 +226,7 @@ public class SikuliService implements ISikuliService {
             } finally {
                 try {
                     result.put("content", picture);
+                    result.put("hash", hash);
                     result.put("extension", extension);
                     result.put("xOffset", xOffset);
                     result.put("yOffset", yOffset);
@@ -315,6 +323,24 @@ public class SikuliService implements ISikuliService {
 
     @Override
     public AnswerItem<JSONObject> doSikuliAction(Session session, String action, String locator, String locator2, String text, String text2) {
+        boolean pictureHash = (!StringUtil.isEmpty(locator) || !StringUtil.isEmpty(locator2))
+                && parameterService.getParameterBooleanByKey("cerberus_sikuli_picturehash_enable", "", false);
+        AnswerItem<JSONObject> answer = doSikuliAction(session, action, locator, locator2, text, text2, pictureHash);
+        if (pictureHash && answer.getItem() != null && SIKULI_STATUS_MISSINGPICTURE.equals(answer.getItem().optString("status"))) {
+            // Extension does not have the picture of the digest (ex : it was restarted). We send the action again with the pictures.
+            LOG.info("Sikuli extension is missing a picture. Sending the pictures again.");
+            pictureCache.forgetExtension(getExtensionUrl(session));
+            answer = doSikuliAction(session, action, locator, locator2, text, text2, pictureHash);
+        }
+        return answer;
+    }
+
+    private String getExtensionUrl(Session session) {
+        String host = StringUtil.cleanHostURL(session.getNodeHost());
+        return host + ":" + session.getNodePort() + "/extra/ExecuteSikuliAction";
+    }
+
+    private AnswerItem<JSONObject> doSikuliAction(Session session, String action, String locator, String locator2, String text, String text2, boolean pictureHash) {
         AnswerItem<JSONObject> answer = new AnswerItem<>();
         MessageEvent msg = new MessageEvent(MessageEventEnum.ACTION_SUCCESS);
         HttpURLConnection connection = null;
@@ -323,8 +349,7 @@ public class SikuliService implements ISikuliService {
 
         StringBuilder response = new StringBuilder();
         URL url;
-        String host = StringUtil.cleanHostURL(session.getNodeHost());
-        String urlToConnect = host + ":" + session.getNodePort() + "/extra/ExecuteSikuliAction";
+        String urlToConnect = getExtensionUrl(session);
         try {
             /**
              * Connect to ExecuteSikuliAction Servlet Through SeleniumServer
@@ -352,7 +377,8 @@ public class SikuliService implements ISikuliService {
                     session.getCerberus_sikuli_wait_element(),
                     session.getCerberus_sikuli_minSimilarity(),
                     session.getCerberus_selenium_highlightElement(),
-                    session.getCerberus_sikuli_typeDelay()
+                    session.getCerberus_sikuli_typeDelay(),
+                    urlToConnect, pictureHash
             );
             connection.setDoOutput(true);
 
@@ -396,6 +422,14 @@ public class SikuliService implements ISikuliService {
                  */
                 JSONObject objReceived = new JSONObject(response.toString());
                 answer.setItem(objReceived);
+                if (pictureHash && ("OK".equals(objReceived.optString("status")) || "KO".equals(objReceived.optString("status")))) {
+                    // Pictures were processed by the extension so it now knows them.
+                    for (String hashKey : new String[]{"pictureHash", "picture2Hash"}) {
+                        if (!StringUtil.isEmpty(postParameters.getString(hashKey))) {
+                            pictureCache.setKnownByExtension(urlToConnect, postParameters.getString(hashKey));
+                        }
+                    }
+                }
                 if (objReceived.has("status")) {
                     if ("OK".equals(objReceived.getString("status"))) {
                         msg = new MessageEvent(MessageEventEnum.ACTION_SUCCESS);
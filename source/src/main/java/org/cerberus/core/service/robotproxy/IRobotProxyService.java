@@ -23,8 +23,11 @@ import org.cerberus.core.crud.entity.TestCaseExecution;
 import org.cerberus.core.engine.entity.MessageEvent;
 import org.cerberus.core.exception.CerberusEventException;
 import org.cerberus.core.exception.CerberusException;
+import org.cerberus.core.service.har.entity.NetworkTrafficIndex;
 import org.json.JSONObject;
 
+import java.util.List;
+
 /**
  *
  * @author vertigo17
@@ -55,6 +58,9 @@ public interface IRobotProxyService {
     public MessageEvent waitForIdleNetwork(String exHost, Integer exPort, String exUuid, String system) throws CerberusEventException;
 
     /**
+     * Get the HAR from the executor filtered from indexFrom and by urlFilter
+     * and enriched with stat. HAR is streamed from the executor entry by
+     * entry.
      *
      * @param urlFilter
      * @param withContent
@@ -63,10 +69,27 @@ public interface IRobotProxyService {
      * @param exUuid
      * @param system
      * @param indexFrom
-     * @return
+     * @param domains
+     * @param indexList
+     * @return the HAR content
+     * @throws CerberusException
+     */
+    public String getHarWithStat(String urlFilter, boolean withContent, String exHost, Integer exPort, String exUuid, String system, Integer indexFrom, String domains, List<NetworkTrafficIndex> indexList) throws CerberusException;
+
+    /**
+     * Get only the stat of the HAR from the executor. HAR is streamed from
+     * the executor entry by entry and never kept in memory.
+     *
+     * @param exHost
+     * @param exPort
+     * @param exUuid
+     * @param system
+     * @param domains
+     * @param indexList
+     * @return JSON with the stat entry
      * @throws CerberusException
      */
-    public JSONObject getHar(String urlFilter, boolean withContent, String exHost, Integer exPort, String exUuid, String system, Integer indexFrom) throws CerberusException;
+    public JSONObject getHarStat(String exHost, Integer exPort, String exUuid, String system, String domains, List<NetworkTrafficIndex> indexList) throws CerberusException;
 
     /**
      *
@@ -20,18 +20,30 @@
 package org.cerberus.core.service.robotproxy.impl;
 
 import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.net.URL;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.List;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
 import org.cerberus.core.crud.entity.AppService;
 import org.cerberus.core.crud.entity.TestCaseExecution;
 import org.cerberus.core.crud.service.IParameterService;
 import org.cerberus.core.engine.entity.MessageEvent;
+import org.cerberus.core.engine.entity.MessageGeneral;
 import org.cerberus.core.enums.MessageEventEnum;
+import org.cerberus.core.enums.MessageGeneralEnum;
 import org.cerberus.core.exception.CerberusEventException;
+import org.cerberus.core.exception.CerberusException;
 import org.cerberus.core.service.har.IHarService;
+import org.cerberus.core.service.har.entity.NetworkTrafficIndex;
+import org.cerberus.core.service.httpclient.IHttpClientPoolService;
 import org.cerberus.core.service.rest.IRestService;
 import org.cerberus.core.util.StringUtil;
 import org.cerberus.core.util.answer.AnswerItem;
@@ -54,9 +66,13 @@ public class RobotProxyService implements IRobotProxyService {
     private IRestService restService;
     @Autowired
     private IHarService harService;
+    @Autowired
+    private IHttpClientPoolService httpClientPoolService;
 
     private static final org.apache.logging.log4j.Logger LOG = org.apache.logging.log4j.LogManager.getLogger(RobotProxyService.class);
 
+    private static final int HAR_TIMEOUT_MS = 10000;
+
     @Override
     public void startRemoteProxy(TestCaseExecution tce) {
 
@@ -184,30 +200,55 @@ public class RobotProxyService implements IRobotProxyService {
     }
 
     @Override
-    public JSONObject getHar(String urlFilter, boolean withContent, String exHost, Integer exPort, String exUuid, String system, Integer indexFrom) {
+    public String getHarWithStat(String urlFilter, boolean withContent, String exHost, Integer exPort, String exUuid, String system, Integer indexFrom, String domains, List<NetworkTrafficIndex> indexList) throws CerberusException {
+        StringWriter har = new StringWriter();
+        streamHar(urlFilter, withContent, exHost, exPort, exUuid, system, indexFrom, domains, indexList, har);
+        return har.toString();
+    }
 
-        JSONObject har = new JSONObject();
+    @Override
+    public JSONObject getHarStat(String exHost, Integer exPort, String exUuid, String system, String domains, List<NetworkTrafficIndex> indexList) throws CerberusException {
         try {
+            return new JSONObject().put("stat", streamHar(null, false, exHost, exPort, exUuid, system, 0, domains, indexList, null));
+        } catch (JSONException ex) {
+            throw new CerberusException(new MessageGeneral(MessageGeneralEnum.EXECUTION_FA), ex);
+        }
+    }
 
-            // Generate URL to Cerberus executor with parameter to reduce the answer size by removing response content.
-            String url = getExecutorURL("", withContent, exHost, exPort, exUuid);
-
-            LOG.debug("Getting Network Traffic content from URL : " + url);
-            AnswerItem<AppService> result = new AnswerItem<>();
-            result = restService.callREST(url, "", AppService.METHOD_HTTPGET, new ArrayList<>(), new ArrayList<>(), null, 10000, "", true, null);
-
-            AppService appSrv = result.getItem();
-            har = new JSONObject(appSrv.getResponseHTTPBody());
-
-            // remove the 1st entries and filter them based on the url.
-            har = harService.removeFirstHitsandFilterURL(har, indexFrom, urlFilter);
-
-            return har;
+    /**
+     * Call the executor and process the HAR while it is downloaded so that
+     * the full HAR is never loaded in memory.
+     */
+    private JSONObject streamHar(String urlFilter, boolean withContent, String exHost, Integer exPort, String exUuid, String system, Integer indexFrom, String domains, List<NetworkTrafficIndex> indexList, Writer out) throws CerberusException {
+        // Generate URL to Cerberus executor with parameter to reduce the answer size by removing response content.
+        String url = getExecutorURL("", withContent, exHost, exPort, exUuid);
+
+        LOG.debug("Streaming Network Traffic content from URL : " + url);
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(HAR_TIMEOUT_MS)
+                .setConnectionRequestTimeout(HAR_TIMEOUT_MS)
+                .setSocketTimeout(HAR_TIMEOUT_MS)
+                .build();
+        HttpGet httpGet = new HttpGet(url);
+        httpGet.setConfig(requestConfig);
+        try (CloseableHttpResponse response = httpClientPoolService.getClient("", url, true).execute(httpGet)) {
+
+            int rc = response.getStatusLine().getStatusCode();
+            if (rc < 200 || rc >= 300 || response.getEntity() == null) {
+                MessageGeneral msg = new MessageGeneral(MessageGeneralEnum.EXECUTION_FA);
+                msg.setDescription(msg.getDescription() + " Failed getting Network Traffic from URL '" + url + "' (http return code : " + rc + ").");
+                throw new CerberusException(msg);
+            }
+            try (InputStream is = response.getEntity().getContent()) {
+                return harService.streamWithStats(is, indexFrom, urlFilter, domains, system, indexList, out);
+            }
 
-        } catch (JSONException ex) {
-            LOG.error("Exception when parsing JSON.", ex);
+        } catch (IOException | JSONException ex) {
+            LOG.error("Exception when streaming HAR from URL : " + url, ex);
+            MessageGeneral msg = new MessageGeneral(MessageGeneralEnum.EXECUTION_FA);
+            msg.setDescription(msg.getDescription() + " Failed getting Network Traffic from URL '" + url + "' : " + ex.toString());
+            throw new CerberusException(msg, ex);
         }
-        return har;
     }
 
     @Override
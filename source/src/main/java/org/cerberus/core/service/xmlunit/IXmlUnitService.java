@@ -131,10 +131,11 @@ public interface IXmlUnitService {
 
     /**
      * Method that retrieves a XML document from the ExecutionSOAP of the
-     * testCaseExecution
+     * testCaseExecution. Document is shared with the other parsings of the
+     * same response done by the execution so it must not be modified.
      *
      * @param SOAPResponse - String of the last Soap Response
-     * @return XML Document
+     * @return XML Document (read only)
      */
     Document getXmlDocument(String SOAPResponse);
 }
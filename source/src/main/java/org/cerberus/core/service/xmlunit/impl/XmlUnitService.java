@@ -178,7 +178,7 @@ public class XmlUnitService implements IXmlUnitService {
 
         try {
             
-            final Document document = StringUtil.isURL(xmlToParse) ? XmlUtil.fromURL(new URL(xmlToParse)) : XmlUtil.fromString(xmlToParse);
+            final Document document = StringUtil.isURL(xmlToParse) ? XmlUtil.fromURL(new URL(xmlToParse)) : XmlUtil.fromStringCached(xmlToParse);
             final String result = XmlUtil.evaluateString(document, xpath);
             
             // Not that in case of multiple values then send the first one
@@ -201,7 +201,7 @@ public class XmlUnitService implements IXmlUnitService {
         }
 
         try {
-            final Document document = StringUtil.isURL(xmlToParse) ? XmlUtil.fromURL(new URL(xmlToParse)) : XmlUtil.fromString(xmlToParse);
+            final Document document = StringUtil.isURL(xmlToParse) ? XmlUtil.fromURL(new URL(xmlToParse)) : XmlUtil.fromStringCached(xmlToParse);
             Node node = XmlUtil.evaluateNode(document, xpath);
             String result = XmlUtil.toString(node);
             // Not that in case of multiple values then send the first one
@@ -318,7 +318,7 @@ public class XmlUnitService implements IXmlUnitService {
     public Document getXmlDocument(String lastSOAPResponse) {
         Document document = null;
         try {
-            document = XmlUtil.fromString(lastSOAPResponse);
+            document = XmlUtil.fromStringCached(lastSOAPResponse);
             return document;
         } catch (XmlUtilException ex) {
             LOG.warn(ex);
@@ -41,16 +41,29 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.cerberus.core.config.Property;
 import org.cerberus.core.crud.entity.Parameter;
+import org.cerberus.core.database.DatabaseSpring;
 import org.cerberus.core.database.dao.ICerberusInformationDAO;
 import org.cerberus.core.engine.entity.ExecutionUUID;
+import org.cerberus.core.engine.execution.IRobotSessionPoolService;
+import org.cerberus.core.engine.gwt.impl.PropertyResultCache;
+import org.cerberus.core.service.robotextension.impl.SikuliPictureCache;
+import org.cerberus.core.crud.service.IDocumentationService;
 import org.cerberus.core.session.SessionCounter;
 import org.cerberus.core.crud.entity.TestCaseExecution;
 import org.cerberus.core.crud.service.IMyVersionService;
 import org.cerberus.core.crud.service.IParameterService;
 import org.cerberus.core.crud.service.ITagSystemService;
+import org.cerberus.core.crud.service.ITestCaseDefinitionCacheService;
+import org.cerberus.core.crud.service.IApplicationObjectCatalogService;
 import org.cerberus.core.database.IDatabaseVersioningService;
 import org.cerberus.core.engine.queuemanagement.IExecutionThreadPoolService;
 import org.cerberus.core.engine.scheduler.SchedulerInit;
+import org.cerberus.core.event.impl.EventBus;
+import org.cerberus.core.event.impl.EventHookIndex;
+import org.cerberus.core.service.datalib.impl.DataLibReservationLedger;
+import org.cerberus.core.service.groovy.IGroovyService;
+import org.cerberus.core.service.httpclient.IHttpClientPoolService;
+import org.cerberus.core.service.kafka.IKafkaClientPoolService;
 import org.cerberus.core.service.xray.IXRayService;
 import org.cerberus.core.util.answer.AnswerItem;
 import org.cerberus.core.version.Infos;
@@ -77,8 +90,10 @@ public class ReadCerberusDetailInformation extends HttpServlet {
     private IMyVersionService myVersionService;
     private IParameterService parameterService;
     private ITagSystemService tagSystemService;
+    private ITestCaseDefinitionCacheService testCaseDefinitionCacheService;
     private IExecutionThreadPoolService executionThreadPoolService;
     private IXRayService xrayService;
+    private IKafkaClientPoolService kafkaClientPoolService;
 
     /**
      * Processes requests for both HTTP <code>GET</code> and <code>POST</code>
@@ -235,6 +250,41 @@ public class ReadCerberusDetailInformation extends HttpServlet {
             xrayService = appContext.getBean(IXRayService.class);
             objCache.put("cacheXRayEntries", xrayService.getAllCacheEntries());
 
+            // Cache TestCase definition data and status
+            testCaseDefinitionCacheService = appContext.getBean(ITestCaseDefinitionCacheService.class);
+            objCache.put("cacheTestCaseDefinitionEntries", testCaseDefinitionCacheService.getAllCacheEntries());
+
+            // Kafka clients pool and send statistics
+            kafkaClientPoolService = appContext.getBean(IKafkaClientPoolService.class);
+            objCache.put("cacheKafkaClientEntries", kafkaClientPoolService.getAllEntries());
+
+            // External datasources statistics
+            objCache.put("cacheExternalDataSourceEntries", appContext.getBean(DatabaseSpring.class).getExternalDataSourceStatistics());
+
+            // Robot session pool
+            objCache.put("cacheRobotSessionEntries", appContext.getBean(IRobotSessionPoolService.class).getAllEntries());
+
+            // Event hooks index
+            objCache.put("cacheEventHookEntries", appContext.getBean(EventHookIndex.class).getAllEntries());
+
+            // Groovy compiled scripts
+            objCache.put("cacheGroovyScript", appContext.getBean(IGroovyService.class).getStatistics());
+
+            // HTTP clients pool and statistics per route
+            objCache.put("cacheHttpClientEntries", appContext.getBean(IHttpClientPoolService.class).getAllEntries());
+
+            // Property results (cacheExpire)
+            objCache.put("cachePropertyResult", appContext.getBean(PropertyResultCache.class).getStatistics());
+
+            // Application object catalogs
+            objCache.put("cacheApplicationObjectCatalogEntries", appContext.getBean(IApplicationObjectCatalogService.class).getAllCacheEntries());
+
+            // Sikuli pictures
+            objCache.put("cacheSikuliPicture", appContext.getBean(SikuliPictureCache.class).getStatistics());
+
+            // Documentation labels
+            objCache.put("cacheDocumentationCatalog", appContext.getBean(IDocumentationService.class).getCatalogStatistics());
+
             jsonResponse.put("cache", objCache);
 
             // Credit Limit Consumption
@@ -247,6 +297,12 @@ public class ReadCerberusDetailInformation extends HttpServlet {
             executionThreadPoolService = appContext.getBean(IExecutionThreadPoolService.class);
             jsonResponse.put("executionThreadPoolInstanceActive", executionThreadPoolService.isInstanceActive());
 
+            // Event bus queue and notification statistics
+            jsonResponse.put("eventBus", appContext.getBean(EventBus.class).getStatistics());
+
+            // Datalib values reserved by running executions (NOTINUSE and RANDOMNEW natures)
+            jsonResponse.put("dataLibReservation", appContext.getBean(DataLibReservationLedger.class).getStatistics());
+
         } catch (JSONException ex) {
             LOG.warn(ex);
         } catch (Exception ex) {
@@ -72,11 +72,14 @@ import java.net.URLDecoder;
 import java.sql.Timestamp;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Add a test case to the execution queue (so to be executed later).
@@ -642,9 +645,17 @@ public class AddToExecutionQueueV003 extends HttpServlet {
 
                 // Part 2a: Try to insert all these test cases to the execution queue.
                 List<Long> queueInsertedIds = new ArrayList<>();
+                AnswerList<TestCaseExecutionQueue> inserted = inQueueService.createList(toInserts, TestCaseExecutionQueue.State.QUTEMP);
+                Set<TestCaseExecutionQueue> insertedSet = Collections.newSetFromMap(new IdentityHashMap<>());
+                insertedSet.addAll(inserted.getDataList());
                 for (TestCaseExecutionQueue toInsert : toInserts) {
+                    if (!insertedSet.contains(toInsert)) {
+                        String errorMessageTmp = "Unable to insert " + toInsert.toString() + " due to " + inserted.getMessageDescription();
+                        LOG.warn(errorMessageTmp);
+                        errorMessages.add(errorMessageTmp);
+                        continue;
+                    }
                     try {
-                        inQueueService.convert(inQueueService.create(toInsert, true, 0, TestCaseExecutionQueue.State.QUTEMP));
                         nbExe++;
                         JSONObject value = new JSONObject();
                         value.put("queueId", toInsert.getId());
@@ -655,10 +666,6 @@ public class AddToExecutionQueueV003 extends HttpServlet {
                         queueInsertedIds.add(toInsert.getId());
 
                         jsonArray.put(value);
-                    } catch (CerberusException e) {
-                        String errorMessageTmp = "Unable to insert " + toInsert.toString() + " due to " + e.getMessage();
-                        LOG.warn(errorMessageTmp);
-                        errorMessages.add(errorMessageTmp);
                     } catch (JSONException ex) {
                         LOG.error(ex, ex);
                     }
@@ -30,18 +30,29 @@ import javax.servlet.http.HttpServletResponse;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.cerberus.core.crud.entity.Parameter;
+import org.cerberus.core.crud.service.IDocumentationService;
 import org.cerberus.core.crud.service.ILogEventService;
 import org.cerberus.core.crud.service.IMyVersionService;
 import org.cerberus.core.crud.service.IParameterService;
 import org.cerberus.core.crud.service.ITagSystemService;
+import org.cerberus.core.crud.service.ITestCaseDefinitionCacheService;
+import org.cerberus.core.crud.service.IApplicationObjectCatalogService;
 import org.cerberus.core.crud.service.ITestCaseExecutionQueueService;
+import org.cerberus.core.database.DatabaseSpring;
 import org.cerberus.core.database.IDatabaseVersioningService;
 import org.cerberus.core.engine.entity.ExecutionUUID;
+import org.cerberus.core.engine.execution.IRobotSessionPoolService;
+import org.cerberus.core.engine.gwt.impl.PropertyResultCache;
+import org.cerberus.core.service.robotextension.impl.SikuliPictureCache;
 import org.cerberus.core.engine.queuemanagement.IExecutionThreadPoolService;
 import org.cerberus.core.engine.queuemanagement.entity.TestCaseExecutionQueueToTreat;
 import org.cerberus.core.engine.scheduler.SchedulerInit;
+import org.cerberus.core.event.impl.EventHookIndex;
 import org.cerberus.core.exception.CerberusException;
 import org.cerberus.core.service.authentification.IAPIKeyService;
+import org.cerberus.core.service.groovy.IGroovyService;
+import org.cerberus.core.service.httpclient.IHttpClientPoolService;
+import org.cerberus.core.service.kafka.IKafkaClientPoolService;
 import org.cerberus.core.service.xray.IXRayService;
 import org.cerberus.core.session.SessionCounter;
 import org.cerberus.core.util.answer.AnswerList;
@@ -74,6 +85,8 @@ public class ManageV001 extends HttpServlet {
     private IAPIKeyService apiKeyService;
     private IXRayService xrayService;
     private ITagSystemService tagSystemService;
+    private ITestCaseDefinitionCacheService testCaseDefinitionCacheService;
+    private IKafkaClientPoolService kafkaClientPoolService;
 
     private IDatabaseVersioningService databaseVersionService;
     private IMyVersionService myVersionService;
@@ -108,6 +121,8 @@ public class ManageV001 extends HttpServlet {
             apiKeyService = appContext.getBean(IAPIKeyService.class);
             xrayService = appContext.getBean(IXRayService.class);
             tagSystemService = appContext.getBean(ITagSystemService.class);
+            testCaseDefinitionCacheService = appContext.getBean(ITestCaseDefinitionCacheService.class);
+            kafkaClientPoolService = appContext.getBean(IKafkaClientPoolService.class);
 
             String message = "";
             String returnCode = "OK";
@@ -140,6 +155,28 @@ public class ManageV001 extends HttpServlet {
                     parameterService.purgeCacheEntry(null);
                     //TagSystem
                     tagSystemService.purgeTagSystemCache();
+                    //TestCase definitions
+                    testCaseDefinitionCacheService.purgeAllCacheEntries();
+                    //Kafka clients
+                    kafkaClientPoolService.purgeAllEntries();
+                    //External datasources
+                    appContext.getBean(DatabaseSpring.class).invalidateAllExternalDataSources();
+                    //Idle robot sessions
+                    appContext.getBean(IRobotSessionPoolService.class).purgeAllEntries();
+                    //Event hooks index
+                    appContext.getBean(EventHookIndex.class).invalidate();
+                    //Groovy compiled scripts
+                    appContext.getBean(IGroovyService.class).purgeCache();
+                    //HTTP clients
+                    appContext.getBean(IHttpClientPoolService.class).purgeAllEntries();
+                    //Property results (cacheExpire)
+                    appContext.getBean(PropertyResultCache.class).purge();
+                    //Application object catalogs
+                    appContext.getBean(IApplicationObjectCatalogService.class).purgeAllCacheEntries();
+                    //Sikuli pictures
+                    appContext.getBean(SikuliPictureCache.class).purge();
+                    //Documentation labels
+                    appContext.getBean(IDocumentationService.class).purgeCatalog();
 
                     message = "Cache Purged.";
                     returnCode = "OK";
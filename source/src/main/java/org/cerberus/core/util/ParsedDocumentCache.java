@@ -0,0 +1,138 @@
+/**
+ * Cerberus Copyright (C) 2013 - 2017 cerberustesting
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This file is part of Cerberus.
+ *
+ * Cerberus is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cerberus is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cerberus.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cerberus.core.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache of parsed documents (JSON, DOM, compiled XPath) scoped to the
+ * execution running on the current thread.
+ * <p>
+ * Entries are keyed by the identity of the source object (the response
+ * content of an AppService for example) so that extracting several values
+ * from the same response parses it only once. The cache is opened at the
+ * start of the execution and released at the end. Outside of an execution
+ * (no cache opened on the thread), values are always computed. Cached objects
+ * are shared by all the calls of the execution and must not be modified.
+ */
+public final class ParsedDocumentCache {
+
+    /**
+     * Maximum number of source objects kept per execution (least recently
+     * used are removed first).
+     */
+    private static final int MAX_SOURCES = 10;
+
+    private static final ThreadLocal<ParsedDocumentCache> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Computes the value to cache.
+     *
+     * @param <T> value type
+     * @param <E> exception raised when the value cannot be computed
+     */
+    @FunctionalInterface
+    public interface Loader<T, E extends Exception> {
+
+        T load() throws E;
+    }
+
+    private static final class Entry {
+
+        private final Object source;
+        private final Map<String, Object> values = new HashMap<>();
+
+        private Entry(Object source) {
+            this.source = source;
+        }
+    }
+
+    // Most recently used at the end.
+    private final List<Entry> entries = new ArrayList<>();
+
+    /**
+     * Open a new cache for the execution running on the current thread.
+     */
+    public static void open() {
+        CURRENT.set(new ParsedDocumentCache());
+    }
+
+    /**
+     * Release the cache of the current thread.
+     */
+    public static void close() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Get the value of the given type for the source object, computing it
+     * with the loader if not already available.
+     *
+     * @param <T>
+     * @param <E>
+     * @param source object the value is computed from (compared by identity)
+     * @param type type of value computed from the source
+     * @param loader computation of the value
+     * @return
+     * @throws E if the value cannot be computed
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, E extends Exception> T get(Object source, String type, Loader<T, E> loader) throws E {
+        ParsedDocumentCache cache = CURRENT.get();
+        if (cache == null || source == null) {
+            return loader.load();
+        }
+        Entry entry = cache.getEntry(source);
+        Object value = entry.values.get(type);
+        if (value == null) {
+            value = loader.load();
+            if (value != null) {
+                entry.values.put(type, value);
+            }
+        }
+        return (T) value;
+    }
+
+    private Entry getEntry(Object source) {
+        Iterator<Entry> it = entries.iterator();
+        while (it.hasNext()) {
+            Entry entry = it.next();
+            if (entry.source == source) {
+                it.remove();
+                entries.add(entry);
+                return entry;
+            }
+        }
+        Entry entry = new Entry(source);
+        entries.add(entry);
+        if (entries.size() > MAX_SOURCES) {
+            entries.remove(0);
+        }
+        return entry;
+    }
+
+    private ParsedDocumentCache() {
+    }
+
+}
@@ -72,6 +72,14 @@ public final class XmlUtil {
      */
     public static final boolean DEFAULT_NAMESPACE_AWARENESS = true;
 
+    /**
+     * Factories and parsers are expensive to create and not thread safe, so
+     * one instance is kept per thread
+     */
+    private static final ThreadLocal<XPathFactory> XPATH_FACTORY = ThreadLocal.withInitial(XPathFactory::newInstance);
+    private static final ThreadLocal<TransformerFactory> TRANSFORMER_FACTORY = ThreadLocal.withInitial(TransformerFactory::newInstance);
+    private static final ThreadLocal<Map<String, DocumentBuilder>> DOCUMENT_BUILDERS = ThreadLocal.withInitial(HashMap::new);
+
     /**
      * An {@link Iterable} {@link NodeList}
      *
@@ -259,9 +267,7 @@ public final class XmlUtil {
      */
     public static Document newDocument() throws XmlUtilException {
         try {
-            DocumentBuilderFactory resultDocFactory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder resultDocBuilder = resultDocFactory.newDocumentBuilder();
-            return resultDocBuilder.newDocument();
+            return newDocumentBuilder(false, false).newDocument();
         } catch (ParserConfigurationException e) {
             throw new XmlUtilException(e);
         }
@@ -285,7 +291,7 @@ public final class XmlUtil {
 
         try {
             StreamResult xmlOutput = new StreamResult(new StringWriter());
-            Transformer transformer = TransformerFactory.newInstance().newTransformer();
+            Transformer transformer = TRANSFORMER_FACTORY.get().newTransformer();
             transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
             transformer.transform(new DOMSource(node), xmlOutput);
             return xmlOutput.getWriter().toString();
@@ -312,10 +318,14 @@ public final class XmlUtil {
             throw new XmlUtilException("Cannot parse a null XML file");
         }
 
+        DocumentBuilder builder = null;
         try {
-            return newDocumentBuilder(namespaceAwareness, true).parse(new InputSource(new StringReader(xml)));
+            builder = newDocumentBuilder(namespaceAwareness, true);
+            return builder.parse(new InputSource(new StringReader(xml)));
         } catch (SAXException | IOException | ParserConfigurationException e) {
             throw new XmlUtilException(e);
+        } finally {
+            releaseDocumentBuilder(builder);
         }
     }
 
@@ -327,6 +337,16 @@ public final class XmlUtil {
         return fromString(xml, DEFAULT_NAMESPACE_AWARENESS);
     }
 
+    /**
+     * The {@link #fromString(String)} version that reuses the {@link Document}
+     * already parsed from the same xml by the current execution (see
+     * {@link ParsedDocumentCache}). Returned {@link Document} must not be
+     * modified.
+     */
+    public static Document fromStringCached(String xml) throws XmlUtilException {
+        return ParsedDocumentCache.get(xml, "XML", () -> fromString(xml));
+    }
+
     /**
      * Returns a {@link Document} representation of the {@link URL} given in
      * argument
@@ -345,10 +365,14 @@ public final class XmlUtil {
             throw new XmlUtilException("Cannot parse a null URL");
         }
 
+        DocumentBuilder builder = null;
         try {
-            return newDocumentBuilder(namespaceAwareness, true).parse(new BufferedInputStream(url.openStream()));
+            builder = newDocumentBuilder(namespaceAwareness, true);
+            return builder.parse(new BufferedInputStream(url.openStream()));
         } catch (SAXException | IOException | ParserConfigurationException e) {
             throw new XmlUtilException(e);
+        } finally {
+            releaseDocumentBuilder(builder);
         }
     }
 
@@ -377,14 +401,9 @@ public final class XmlUtil {
             throw new XmlUtilException("Unable to evaluate null document or xpath");
         }
 
-        XPathFactory xpathFactory = XPathFactory.newInstance();
-        XPath xpathObject = xpathFactory.newXPath();
-        xpathObject.setNamespaceContext(new UniversalNamespaceCache(document));
-
         NodeList nodeList = null;
         try {
-            XPathExpression expr = xpathObject.compile(xpath);
-            nodeList = (NodeList) expr.evaluate(document, XPathConstants.NODESET);
+            nodeList = (NodeList) compile(document, xpath).evaluate(document, XPathConstants.NODESET);
         } catch (XPathExpressionException xpee) {
             throw new XmlUtilException(xpee);
         }
@@ -411,14 +430,9 @@ public final class XmlUtil {
             throw new XmlUtilException("Unable to evaluate null document or xpath");
         }
 
-        XPathFactory xpathFactory = XPathFactory.newInstance();
-        XPath xpathObject = xpathFactory.newXPath();
-        xpathObject.setNamespaceContext(new UniversalNamespaceCache(document));
-
         String result = null;
         try {
-            XPathExpression expr = xpathObject.compile(xpath);
-            result = (String) expr.evaluate(document, XPathConstants.STRING);
+            result = (String) compile(document, xpath).evaluate(document, XPathConstants.STRING);
         } catch (XPathExpressionException xpee) {
             throw new XmlUtilException(xpee);
         }
@@ -435,13 +449,9 @@ public final class XmlUtil {
             throw new XmlUtilException("Unable to evaluate null document or xpath");
         }
 
-        XPathFactory xpathFactory = XPathFactory.newInstance();
-        XPath xpathObject = xpathFactory.newXPath();
-        xpathObject.setNamespaceContext(new UniversalNamespaceCache(doc));
         Node node = null;
         try {
-            XPathExpression expr = xpathObject.compile(xpath);
-            node = (Node) expr.evaluate(doc, XPathConstants.NODE);
+            node = (Node) compile(doc, xpath).evaluate(doc, XPathConstants.NODE);
         } catch (XPathExpressionException xpee) {
             throw new XmlUtilException(xpee);
         }
@@ -459,7 +469,7 @@ public final class XmlUtil {
      * @see #evaluate(Document, String)
      */
     public static NodeList evaluate(String xml, String xpath) throws XmlUtilException {
-        return evaluate(XmlUtil.fromString(xml), xpath);
+        return evaluate(XmlUtil.fromStringCached(xml), xpath);
     }
 
     /**
@@ -500,7 +510,7 @@ public final class XmlUtil {
     }
 
     public static boolean isXmlWellFormed(String xmlString) {
-        DocumentBuilder dBuilder;
+        DocumentBuilder dBuilder = null;
         try {
             dBuilder = newDocumentBuilder(true, true);
             dBuilder.parse(xmlString);
@@ -509,26 +519,58 @@ public final class XmlUtil {
         } catch (IOException e) {
             LOG.error("Unable to evaluate the document");
             return false;
+        } finally {
+            releaseDocumentBuilder(dBuilder);
         }
         return true;
     }
 
     /**
-     * Create a new {@link DocumentBuilder} according to the given configuration
-     * parameters
+     * Get the {@link DocumentBuilder} of the current thread according to the
+     * given configuration parameters
      *
      * @param namespaceAwareness if the created {@link DocumentBuilder} has to
      *                           be aware of namespaces
      * @param ignoringComment    if the created {@link DocumentBuilder} has to
      *                           ignore comments
-     * @return a new {@link DocumentBuilder} configured by the given
+     * @return a {@link DocumentBuilder} configured by the given
      * configuration parameters
      */
     private static DocumentBuilder newDocumentBuilder(final boolean namespaceAwareness, final boolean ignoringComment) throws ParserConfigurationException {
-        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-        factory.setNamespaceAware(namespaceAwareness);
-        factory.setIgnoringComments(ignoringComment);
-        return factory.newDocumentBuilder();
+        String key = namespaceAwareness + "/" + ignoringComment;
+        DocumentBuilder builder = DOCUMENT_BUILDERS.get().get(key);
+        if (builder == null) {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setNamespaceAware(namespaceAwareness);
+            factory.setIgnoringComments(ignoringComment);
+            builder = factory.newDocumentBuilder();
+            DOCUMENT_BUILDERS.get().put(key, builder);
+        }
+        return builder;
+    }
+
+    /**
+     * Reset the {@link DocumentBuilder} after a parsing so that it does not
+     * keep a reference to the last parsed document
+     */
+    private static void releaseDocumentBuilder(DocumentBuilder builder) {
+        if (builder != null) {
+            builder.reset();
+        }
+    }
+
+    /**
+     * Compile the xpath against the namespaces of the given document. Both
+     * namespaces and compiled expression are reused by the current execution
+     * (see {@link ParsedDocumentCache}).
+     */
+    private static XPathExpression compile(Document document, String xpath) throws XPathExpressionException {
+        NamespaceContext namespaceContext = ParsedDocumentCache.get(document, "XMLNS", () -> new UniversalNamespaceCache(document));
+        return ParsedDocumentCache.get(document, "XPATH " + xpath, () -> {
+            XPath xpathObject = XPATH_FACTORY.get().newXPath();
+            xpathObject.setNamespaceContext(namespaceContext);
+            return xpathObject.compile(xpath);
+        });
     }
 
     /**
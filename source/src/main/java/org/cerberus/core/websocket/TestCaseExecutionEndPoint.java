@@ -19,15 +19,18 @@
  */
 package org.cerberus.core.websocket;
 
-import com.google.common.base.Predicates;
-import com.google.common.collect.Maps;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import javax.websocket.EndpointConfig;
@@ -42,12 +45,22 @@ import javax.websocket.server.ServerEndpointConfig;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.cerberus.core.crud.entity.TestCaseExecution;
+import org.cerberus.core.crud.entity.TestCaseStepExecution;
 import org.cerberus.core.websocket.decoders.TestCaseExecutionDecoder;
-import org.cerberus.core.websocket.encoders.TestCaseExecutionEncoder;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
 
 /**
  * {@link ServerEndpoint} to be kept informed about {@link TestCaseExecution}
  * changes
+ * <p>
+ * Pushes are asynchronous : the execution thread only builds a snapshot of the
+ * execution and hands it to every registered session. Each session sends its
+ * snapshots one at a time and only keeps the latest one pending, so a slow
+ * client never blocks the execution and never receives outdated intermediate
+ * states. Steps that are already finished are only sent once per session
+ * (delta payload with the testCaseStepExecutionListFrom index).
  *
  * @author corentin
  * @author abourdon
@@ -55,8 +68,7 @@ import org.cerberus.core.websocket.encoders.TestCaseExecutionEncoder;
 @ServerEndpoint(
         value = "/execution/{execution-id}",
         configurator = TestCaseExecutionEndPoint.SingletonConfigurator.class,
-        decoders = {TestCaseExecutionDecoder.class},
-        encoders = {TestCaseExecutionEncoder.class}
+        decoders = {TestCaseExecutionDecoder.class}
 )
 public class TestCaseExecutionEndPoint {
 
@@ -101,9 +113,15 @@ public class TestCaseExecutionEndPoint {
      * All open WebSocket sessions, grouped by executions
      */
     private Lock mainLock = new ReentrantLock();
-    private Map<String, Session> sessions = new HashMap<>();
+    private Map<String, SessionPusher> sessions = new HashMap<>();
     private Map<Long, Set<String>> executions = new HashMap<>();
 
+    /**
+     * JSON of the finished steps of each execution. A step is finished as soon
+     * as a next step has been started so it is only serialized once.
+     */
+    private Map<Long, List<JSONObject>> finishedSteps = new ConcurrentHashMap<>();
+
     /**
      * Send the given {@link TestCaseExecution} for all session opened to this
      * execution.
@@ -135,29 +153,16 @@ public class TestCaseExecutionEndPoint {
         }
 
         // Get registered sessions
-        Collection<Session> registeredSessions = new ArrayList<>();
-        mainLock.lock();
-        try {
-            Set<String> registeredSessionIds = executions.get(execution.getId());
-            if (registeredSessionIds != null) {
-                registeredSessions = Maps.filterKeys(sessions, Predicates.in(registeredSessionIds)).values();
-            }
-        } finally {
-            mainLock.unlock();
-        }
+        Collection<SessionPusher> registeredSessions = getRegisteredSessions(execution.getId(), false);
 
-        // Send the given TestCaseExecution to all registered sessions
-        if (LOG.isDebugEnabled()) {
-            LOG.debug("Trying to send execution " + execution.getId() + " to sessions");
-        }
-        for (Session registeredSession : registeredSessions) {
-            try {
-                registeredSession.getBasicRemote().sendObject(execution);
-                if (LOG.isDebugEnabled()) {
-                    LOG.debug("Execution " + execution.getId() + " sent to session " + registeredSession.getId());
-                }
-            } catch (Exception e) {
-                LOG.warn("Unable to send execution " + execution.getId() + " to session " + registeredSession.getId() + " due to " + e.getMessage());
+        // Build the snapshot only if somebody is listening
+        if (!registeredSessions.isEmpty()) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Trying to send execution " + execution.getId() + " to sessions");
+            }
+            ExecutionSnapshot snapshot = buildSnapshot(execution, forcePush);
+            for (SessionPusher registeredSession : registeredSessions) {
+                registeredSession.push(snapshot);
             }
         }
 
@@ -173,30 +178,74 @@ public class TestCaseExecutionEndPoint {
      */
     public void end(TestCaseExecution execution) {
         // Get the registered sessions to the given TestCaseExecution
-        Collection<Session> registeredSessions = new ArrayList<>();
+        Collection<SessionPusher> registeredSessions = getRegisteredSessions(execution.getId(), true);
+        finishedSteps.remove(execution.getId());
+
+        // Close registered sessions once their last pending snapshot is sent
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Clean execution " + execution.getId());
+        }
+        for (SessionPusher registeredSession : registeredSessions) {
+            registeredSession.requestClose();
+        }
+    }
+
+    /**
+     * Get the sessions registered to the given execution
+     *
+     * @param executionId the execution identifier
+     * @param unregister if sessions have to be unregistered from the execution
+     * @return the registered sessions
+     */
+    private Collection<SessionPusher> getRegisteredSessions(long executionId, boolean unregister) {
+        Collection<SessionPusher> registeredSessions = new ArrayList<>();
         mainLock.lock();
         try {
-            Set<String> registeredSessionIds = executions.remove(execution.getId());
+            Set<String> registeredSessionIds = unregister ? executions.remove(executionId) : executions.get(executionId);
             if (registeredSessionIds != null) {
                 for (String registeredSessionId : registeredSessionIds) {
-                    registeredSessions.add(sessions.remove(registeredSessionId));
+                    SessionPusher registeredSession = unregister ? sessions.remove(registeredSessionId) : sessions.get(registeredSessionId);
+                    if (registeredSession != null) {
+                        registeredSessions.add(registeredSession);
+                    }
                 }
             }
         } finally {
             mainLock.unlock();
         }
+        return registeredSessions;
+    }
 
-        // Close registered sessions
-        if (LOG.isDebugEnabled()) {
-            LOG.debug("Clean execution " + execution.getId());
+    /**
+     * Build the snapshot of the given {@link TestCaseExecution} to push.
+     * <p>
+     * Finished steps are serialized only once per execution (unless a full
+     * refresh is requested), the current (last) step is serialized on every
+     * snapshot.
+     *
+     * @param execution the {@link TestCaseExecution} to snapshot
+     * @param full if all steps have to be serialized again and fully sent
+     * @return the snapshot
+     */
+    private ExecutionSnapshot buildSnapshot(TestCaseExecution execution, boolean full) {
+        JSONObject header = execution.toJson(true, false);
+
+        List<TestCaseStepExecution> steps = execution.getTestCaseStepExecutionList();
+        if (steps == null) {
+            steps = new ArrayList<>();
         }
-        for (Session registeredSession : registeredSessions) {
-            try {
-                registeredSession.close();
-            } catch (Exception e) {
-                LOG.warn("Unable to close session " + registeredSession.getId() + " for execution " + execution.getId() + " due to " + e.getMessage());
-            }
+        int nbFinished = Math.max(steps.size() - 1, 0);
+
+        List<JSONObject> executionFinishedSteps = finishedSteps.computeIfAbsent(execution.getId(), k -> new ArrayList<>());
+        if (full || executionFinishedSteps.size() > nbFinished) {
+            executionFinishedSteps.clear();
         }
+        for (int i = executionFinishedSteps.size(); i < nbFinished; i++) {
+            executionFinishedSteps.add(steps.get(i).toJson(true, false, execution.getSecrets()));
+        }
+        JSONObject currentStep = steps.isEmpty() ? null : steps.get(steps.size() - 1).toJson(true, false, execution.getSecrets());
+
+        return new ExecutionSnapshot(header, new ArrayList<>(executionFinishedSteps), currentStep, full);
     }
 
     /**
@@ -227,7 +276,7 @@ public class TestCaseExecutionEndPoint {
         }
         mainLock.lock();
         try {
-            sessions.put(session.getId(), session);
+            sessions.put(session.getId(), new SessionPusher(session, executionId));
             Set<String> registeredSessions = executions.get(executionId);
             if (registeredSessions == null) {
                 registeredSessions = new HashSet<>();
@@ -257,6 +306,9 @@ public class TestCaseExecutionEndPoint {
             Set<String> registeredSessions = executions.get(executionId);
             if (registeredSessions != null) {
                 registeredSessions.remove(session.getId());
+                if (registeredSessions.isEmpty()) {
+                    executions.remove(executionId);
+                }
             }
         } finally {
             mainLock.unlock();
@@ -279,4 +331,161 @@ public class TestCaseExecutionEndPoint {
         }
     }
 
+    /**
+     * Immutable state of an execution to push to sessions
+     */
+    private static class ExecutionSnapshot {
+
+        private final JSONObject header;
+        private final List<JSONObject> finishedSteps;
+        private final JSONObject currentStep;
+        private final boolean full;
+
+        ExecutionSnapshot(JSONObject header, List<JSONObject> finishedSteps, JSONObject currentStep, boolean full) {
+            this.header = header;
+            this.finishedSteps = finishedSteps;
+            this.currentStep = currentStep;
+            this.full = full;
+        }
+
+        ExecutionSnapshot asFull() {
+            return full ? this : new ExecutionSnapshot(header, finishedSteps, currentStep, true);
+        }
+
+    }
+
+    /**
+     * Asynchronous sender of the snapshots of one session.
+     * <p>
+     * Only one message is in flight per session and only the latest snapshot
+     * is kept pending (intermediate ones are dropped).
+     */
+    private static class SessionPusher {
+
+        private final Session session;
+        private final long executionId;
+        private final AtomicReference<ExecutionSnapshot> pending = new AtomicReference<>();
+        private final AtomicBoolean sending = new AtomicBoolean(false);
+        private final AtomicBoolean closed = new AtomicBoolean(false);
+        private volatile boolean closeRequested = false;
+        // Number of finished steps already sent to the session (only accessed by the sending flow).
+        private int finishedStepsSent = 0;
+
+        SessionPusher(Session session, long executionId) {
+            this.session = session;
+            this.executionId = executionId;
+        }
+
+        /**
+         * Replace the pending snapshot by the given one and send it if no
+         * message is in flight
+         *
+         * @param snapshot
+         */
+        void push(ExecutionSnapshot snapshot) {
+            // A full refresh must not be lost when coalescing with a newer snapshot.
+            pending.accumulateAndGet(snapshot, (previous, next) -> (previous != null && previous.full) ? next.asFull() : next);
+            drain();
+        }
+
+        /**
+         * Close the session as soon as the pending snapshot is sent
+         */
+        void requestClose() {
+            closeRequested = true;
+            drain();
+        }
+
+        private void drain() {
+            while (sending.compareAndSet(false, true)) {
+                ExecutionSnapshot snapshot = pending.getAndSet(null);
+                if (snapshot == null) {
+                    sending.set(false);
+                    if (pending.get() != null) {
+                        // A snapshot has been pushed in the meantime.
+                        continue;
+                    }
+                    if (closeRequested) {
+                        close();
+                    }
+                    return;
+                }
+                if (!session.isOpen()) {
+                    sending.set(false);
+                    return;
+                }
+                boolean sent = false;
+                try {
+                    session.getAsyncRemote().sendText(buildPayload(snapshot), result -> {
+                        if (!result.isOK()) {
+                            LOG.warn("Unable to send execution " + executionId + " to session " + session.getId() + " due to " + (result.getException() == null ? "" : result.getException().getMessage()));
+                            // Same as a synchronous failure : snapshot is kept as full and retried on next push (not right away to avoid looping on a broken session).
+                            pending.accumulateAndGet(snapshot.asFull(), (current, failed) -> current == null ? failed : current.asFull());
+                            sending.set(false);
+                            if (closeRequested) {
+                                close();
+                            }
+                            return;
+                        }
+                        if (LOG.isDebugEnabled()) {
+                            LOG.debug("Execution " + executionId + " sent to session " + session.getId());
+                        }
+                        sending.set(false);
+                        drain();
+                    });
+                    sent = true;
+                } catch (Exception e) {
+                    LOG.warn("Unable to send execution " + executionId + " to session " + session.getId() + " due to " + e.getMessage());
+                    // Snapshot is kept for next push unless a newer one is pending. Steps may not have been received so next send is full.
+                    pending.accumulateAndGet(snapshot.asFull(), (current, failed) -> current == null ? failed : current.asFull());
+                    sending.set(false);
+                } finally {
+                    if (!sent && closeRequested) {
+                        close();
+                    }
+                }
+                return;
+            }
+        }
+
+        /**
+         * Build the message from the snapshot. Only the steps that were not
+         * already sent to the session are included, starting at index
+         * testCaseStepExecutionListFrom.
+         */
+        private String buildPayload(ExecutionSnapshot snapshot) throws JSONException {
+            int from = snapshot.full ? 0 : Math.min(finishedStepsSent, snapshot.finishedSteps.size());
+
+            JSONObject payload = new JSONObject();
+            Iterator<?> keys = snapshot.header.keys();
+            while (keys.hasNext()) {
+                String key = (String) keys.next();
+                payload.put(key, snapshot.header.get(key));
+            }
+            JSONArray steps = new JSONArray();
+            for (int i = from; i < snapshot.finishedSteps.size(); i++) {
+                steps.put(snapshot.finishedSteps.get(i));
+            }
+            if (snapshot.currentStep != null) {
+                steps.put(snapshot.currentStep);
+            }
+            payload.put("testCaseStepExecutionList", steps);
+            payload.put("testCaseStepExecutionListFrom", from);
+
+            finishedStepsSent = snapshot.finishedSteps.size();
+            return payload.toString();
+        }
+
+        private void close() {
+            if (closed.compareAndSet(false, true)) {
+                try {
+                    session.close();
+                } catch (Exception e) {
+                    LOG.warn("Unable to close session " + session.getId() + " for execution " + executionId + " due to " + e.getMessage());
+                }
+            }
+        }
+
+    }
+
 }
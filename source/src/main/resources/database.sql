@@ -6173,3 +6173,29 @@ INSERT INTO `invariant` (`idname`, `value`, `sort`, `description`, `VeryShortDes
 -- 1739-1740
 UPDATE invariant set idname = 'ROBOTPROXYHOST' where idname = 'EXECUTOREXTENSIONHOST';
 UPDATE invariant set value = 'ROBOTPROXYHOST' where idname = 'INVARIANTPUBLIC' and value = 'EXECUTOREXTENSIONHOST' ;
+
+-- 1741
+INSERT into myversion values('parameter_version',0,'INIT');
+
+-- 1742
+CREATE TABLE `tagresultdetail` (`Tag` VARCHAR(255) NOT NULL DEFAULT '',`Test` VARCHAR(45) NOT NULL DEFAULT '',`TestCase` VARCHAR(45) NOT NULL DEFAULT '',`Country` VARCHAR(45) NOT NULL DEFAULT '',`Environment` VARCHAR(45) NOT NULL DEFAULT '',`RobotDecli` VARCHAR(100) NOT NULL DEFAULT '',`System` VARCHAR(45) NOT NULL DEFAULT '',`Application` VARCHAR(200) NOT NULL DEFAULT '',`Priority` INT NOT NULL DEFAULT 0,`ControlStatus` VARCHAR(2) NOT NULL DEFAULT '',`NbExecutions` INT NOT NULL DEFAULT 0,`ExeId` BIGINT NOT NULL DEFAULT 0,`ExeStart` BIGINT NOT NULL DEFAULT 0,`QueueId` BIGINT NOT NULL DEFAULT 0,`Start` BIGINT NOT NULL DEFAULT 0,`End` BIGINT NOT NULL DEFAULT 0, PRIMARY KEY (`Tag`,`Test`,`TestCase`,`Country`,`Environment`,`RobotDecli`), KEY `IX_tagresultdetail_01` (`ControlStatus`), CONSTRAINT `FK_tagresultdetail_01` FOREIGN KEY (`Tag`) REFERENCES `tag` (`Tag`) ON DELETE CASCADE ON UPDATE CASCADE) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+-- 1743
+ALTER TABLE `tag` ADD COLUMN `nbKOPrio1` INT NULL DEFAULT 0 AFTER `nbCA`, ADD COLUMN `nbKOPrio2` INT NULL DEFAULT 0 AFTER `nbKOPrio1`, ADD COLUMN `nbKOPrio3` INT NULL DEFAULT 0 AFTER `nbKOPrio2`, ADD COLUMN `nbKOPrio4` INT NULL DEFAULT 0 AFTER `nbKOPrio3`, ADD COLUMN `nbKOPrio5` INT NULL DEFAULT 0 AFTER `nbKOPrio4`, ADD COLUMN `nbRetry` INT NULL DEFAULT 0 AFTER `nbKOPrio5`, ADD COLUMN `isResultAggregated` BOOLEAN NOT NULL DEFAULT 0 AFTER `nbRetry`, ADD COLUMN `ResultVersion` BIGINT NOT NULL DEFAULT 0 AFTER `isResultAggregated`;
+
+-- 1744
+INSERT INTO `parameter` (`system`, `param`, `value`, `description`)
+  VALUES ('', 'cerberus_robot_sessionpool_active', 'false', 'Boolean in order to activate the reuse of browser sessions between executions on the same robot with the same capabilities. Only applies to GUI applications executed on desktop browsers without Cerberus Robot Proxy nor cloud provider.'),
+        ('', 'cerberus_robot_sessionpool_maxuse', '20', 'Number of executions after which a reused browser session is closed and replaced by a new one.'),
+        ('', 'cerberus_robot_sessionpool_idletimeout', '120000', 'Time in ms after which an idle browser session is closed. Must be lower than the session timeout of the robot.');
+
+-- 1745
+INSERT INTO `parameter` (`system`, `param`, `value`, `description`)
+  VALUES ('', 'cerberus_property_maxparallelcalculation', '1', 'Maximum number of independent properties (getFromSql with no variable inside and no cache) that a single execution can calculate at the same time. 1 means that properties are calculated one after the other.');
+
+-- 1746
+INSERT INTO `parameter` (`system`, `param`, `value`, `description`)
+  VALUES ('', 'cerberus_sikuli_picturehash_enable', 'false', 'Boolean in order to send only the digest (sha-256) of the pictures already sent to the Sikuli extension instead of the full picture. The Sikuli extension must support it (answering MISSINGPICTURE status when it does not know a digest).');
+
+-- 1747
+INSERT into myversion values('documentation_checksum',0,'');
@@ -212,8 +212,14 @@ function loadExecutionInformation(executionId, steps, sockets) {
 
                     socket.onopen = function (e) {
                     } //on "écoute" pour savoir si la connexion vers le serveur websocket s'est bien faite
+                    var socketSteps = [];
                     socket.onmessage = function (e) {
                         var data = JSON.parse(e.data);
+                        // Server only sends the steps from testCaseStepExecutionListFrom, previous ones are already known.
+                        if (data.testCaseStepExecutionListFrom !== undefined) {
+                            socketSteps = socketSteps.slice(0, data.testCaseStepExecutionListFrom).concat(data.testCaseStepExecutionList);
+                            data.testCaseStepExecutionList = socketSteps.slice();
+                        }
                         updatePage(data, steps);
                     } //on récupère les messages provenant du serveur websocket
                     socket.onclose = function (e) {